@@ -0,0 +1,97 @@
+package pt.feup.tvvs.pacman.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import pt.feup.tvvs.pacman.audio.AudioManager;
+import pt.feup.tvvs.pacman.controller.game.element.CollisionController;
+import pt.feup.tvvs.pacman.controller.game.element.GhostController;
+import pt.feup.tvvs.pacman.controller.game.element.PacmanController;
+import pt.feup.tvvs.pacman.gui.GUI;
+import pt.feup.tvvs.pacman.model.game.Arena;
+import pt.feup.tvvs.pacman.model.game.ArenaLoader;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+//measures one game tick (pacmans, ghosts and collisions) per map, run with -prof gc to get the bytes allocated per tick
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ArenaTickBenchmark {
+    //every key the pacmans get over the scripted input, one list is fed every INPUT_PERIOD ticks
+    private static final List<List<GUI.ACTION>> SCRIPT = List.of(
+            List.of(GUI.ACTION.LEFT, GUI.ACTION.W),
+            List.of(GUI.ACTION.UP, GUI.ACTION.D),
+            List.of(GUI.ACTION.RIGHT, GUI.ACTION.S),
+            List.of(GUI.ACTION.DOWN, GUI.ACTION.A),
+            List.of(GUI.ACTION.RIGHT, GUI.ACTION.W),
+            List.of(GUI.ACTION.UP, GUI.ACTION.A)
+    );
+    private static final int INPUT_PERIOD = 45;
+
+    @Param({
+            "singleplayer/1 Normal Map", "singleplayer/2 Spirals", "singleplayer/3 Stripes",
+            "singleplayer/4 Islands", "singleplayer/5 Final Boss",
+            "multiplayer/1 Normal Map", "multiplayer/2 Spirals", "multiplayer/3 Stripes",
+            "multiplayer/4 Islands", "multiplayer/5 Final Boss"
+    })
+    private String map;
+
+    private Arena arena;
+    private PacmanController pacmanController;
+    private GhostController ghostController;
+    private CollisionController collisionController;
+    private long tick;
+    private boolean roundOver;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        reset();
+    }
+
+    //start the map over when the round ends so every tick measures live gameplay, outside of the measured call
+    @Setup(Level.Invocation)
+    public void rollover() throws IOException {
+        if (roundOver) reset();
+    }
+
+    private void reset() throws IOException {
+        arena = new Arena(29, 16);
+        new ArenaLoader(arena).loadMap("src/main/resources/Maps/" + map + ".txt");
+        pacmanController = new PacmanController(arena);
+        ghostController = new GhostController(arena);
+        collisionController = new CollisionController(arena, AudioManager.createMuted());
+        tick = 0;
+        roundOver = false;
+    }
+
+    @Benchmark
+    public boolean tick(Blackhole blackhole) throws IOException {
+        List<GUI.ACTION> actions = tick % INPUT_PERIOD == 0
+                ? SCRIPT.get((int) (tick / INPUT_PERIOD % SCRIPT.size()))
+                : Collections.emptyList();
+        pacmanController.step(null, actions, tick);
+        ghostController.step(null, actions, tick);
+        boolean caught = collisionController.update();
+        blackhole.consume(arena.getScore());
+        tick++;
+        roundOver = caught || arena.getCollectibles().isEmpty();
+        return caught;
+    }
+}
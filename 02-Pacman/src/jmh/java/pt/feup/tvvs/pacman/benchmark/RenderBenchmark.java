@@ -0,0 +1,91 @@
+package pt.feup.tvvs.pacman.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import pt.feup.tvvs.pacman.gui.GUI;
+import pt.feup.tvvs.pacman.gui.OffscreenGUI;
+import pt.feup.tvvs.pacman.model.game.Arena;
+import pt.feup.tvvs.pacman.model.game.MapRepository;
+import pt.feup.tvvs.pacman.model.menu.AlertMenu;
+import pt.feup.tvvs.pacman.model.menu.MainMenu;
+import pt.feup.tvvs.pacman.viewer.Viewer;
+import pt.feup.tvvs.pacman.viewer.game.ArenaViewer;
+import pt.feup.tvvs.pacman.viewer.menu.AlertMenuViewer;
+import pt.feup.tvvs.pacman.viewer.menu.MainMenuViewer;
+
+import java.io.IOException;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+//measures drawing one frame of a viewer into an offscreen framebuffer, so it runs without a terminal or a display;
+//redraw=true clears the screen before every frame, which makes the retained arena viewer draw the whole maze again
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RenderBenchmark {
+    @Param({"arena", "mainMenu", "alertMenu"})
+    private String viewer;
+
+    @Param({"false", "true"})
+    private boolean redraw;
+
+    private OffscreenGUI gui;
+    private Viewer<Object> drawing;
+    private Object model;
+    private long frameCount;
+
+    @Setup(Level.Trial)
+    @SuppressWarnings("unchecked")
+    public void setup() throws IOException {
+        gui = new OffscreenGUI();
+        MapRepository maps = MapRepository.getInstance();
+        Arena arena = maps.createArena("singleplayer", maps.getMapNames("singleplayer").get(0));
+        switch (viewer) {
+            case "arena":
+                drawing = (Viewer<Object>) (Viewer<?>) new ArenaViewer();
+                model = arena;
+                break;
+            case "mainMenu":
+                drawing = (Viewer<Object>) (Viewer<?>) new MainMenuViewer();
+                model = new MainMenu(GUI.SCREEN_RESOLUTION._360p, 1f);
+                break;
+            case "alertMenu":
+                drawing = (Viewer<Object>) (Viewer<?>) new AlertMenuViewer("PNGs/gameover.png");
+                model = new AlertMenu(arena, "PNGs/gameover.png");
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown viewer " + viewer);
+        }
+        frameCount = 0;
+    }
+
+    @Benchmark
+    public long frame() {
+        if (redraw) gui.clear();
+        drawing.drawElement(gui, model, frameCount++);
+        return gui.getDrawCalls();
+    }
+
+    //the average cost of a frame besides its time, jmh only reports the time
+    @TearDown(Level.Trial)
+    public void report() {
+        long frames = Math.max(1, gui.getFrameCount());
+        System.out.printf(Locale.ROOT, "%n%s redraw=%s: %.1f draw calls, %.0f pixels written, %.0f overdrawn per frame%n", viewer, redraw,
+                (double) gui.getTotalDrawCalls() / frames, (double) gui.getTotalWrittenPixels() / frames,
+                (double) gui.getTotalOverdrawnPixels() / frames);
+    }
+}
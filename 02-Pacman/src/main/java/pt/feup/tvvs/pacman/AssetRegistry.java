@@ -0,0 +1,156 @@
+package pt.feup.tvvs.pacman;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+//images, sounds and whatever is built from them, decoded once per key and shared, so they must never be changed
+//preload() decodes every image and sound in the background at launch, asking for an asset still being decoded waits for it
+public class AssetRegistry {
+    public static final List<String> IMAGE_FOLDERS = List.of("PNGs", "Fonts");
+    public static final List<String> SOUND_FOLDERS = List.of("Audio");
+    private static AssetRegistry instance;
+
+    private final Executor executor;
+    private final ConcurrentMap<String, CompletableFuture<Object>> assets; //classpath path or derived key -> asset
+
+    public AssetRegistry(Executor executor) {
+        this.executor = executor;
+        this.assets = new ConcurrentHashMap<>();
+    }
+
+    public static synchronized AssetRegistry getInstance() {
+        if (instance == null) {
+            int threads = Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors() - 1));
+            instance = new AssetRegistry(Executors.newFixedThreadPool(threads, runnable -> {
+                Thread thread = new Thread(runnable, "asset-loader");
+                thread.setDaemon(true); //never keeps the game from closing
+                return thread;
+            }));
+        }
+        return instance;
+    }
+
+    @FunctionalInterface
+    public interface Decoder<T> {
+        T decode(String key) throws IOException;
+    }
+
+    //the asset under the key, decoded right here by the first caller when nothing was loading it yet
+    @SuppressWarnings("unchecked")
+    public <T> T get(String key, Decoder<T> decoder) throws IOException {
+        CompletableFuture<Object> created = new CompletableFuture<>();
+        CompletableFuture<Object> asset = assets.putIfAbsent(key, created);
+        if (asset == null) {
+            asset = created;
+            decodeInto(created, key, decoder);
+        }
+        try {
+            return (T) asset.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) throw (IOException) cause;
+            if (cause instanceof RuntimeException) throw (RuntimeException) cause;
+            if (cause instanceof Error) throw (Error) cause;
+            throw e;
+        }
+    }
+
+    //starts decoding the asset on the executor unless it is already there or on its way
+    public <T> CompletableFuture<Object> load(String key, Decoder<T> decoder) {
+        CompletableFuture<Object> created = new CompletableFuture<>();
+        CompletableFuture<Object> asset = assets.putIfAbsent(key, created);
+        if (asset != null) return asset;
+        executor.execute(() -> decodeInto(created, key, decoder));
+        return created;
+    }
+
+    private <T> void decodeInto(CompletableFuture<Object> asset, String key, Decoder<T> decoder) {
+        try {
+            asset.complete(decoder.decode(key));
+        } catch (Throwable e) {
+            assets.remove(key, asset); //failures aren't kept, the next call tries again
+            asset.completeExceptionally(e);
+        }
+    }
+
+    public boolean isLoaded(String key) {
+        CompletableFuture<Object> asset = assets.get(key);
+        return asset != null && asset.isDone() && !asset.isCompletedExceptionally();
+    }
+
+    public BufferedImage getImage(String path) throws IOException {
+        return get(path, AssetRegistry::readImage);
+    }
+
+    //whole file contents, sounds are kept encoded and opened from these bytes
+    public byte[] getBytes(String path) throws IOException {
+        return get(path, AssetRegistry::readBytes);
+    }
+
+    //completes once every image and sound on the classpath is decoded, a missing or broken one doesn't stop the others
+    public CompletableFuture<Void> preload() {
+        List<CompletableFuture<Object>> loading = new ArrayList<>();
+        for (String folder : IMAGE_FOLDERS) {
+            for (String path : listResources(folder, ".png")) loading.add(load(path, AssetRegistry::readImage));
+            for (String path : listResources(folder, ".txt")) loading.add(load(path, AssetRegistry::readBytes));
+        }
+        for (String folder : SOUND_FOLDERS) {
+            for (String path : listResources(folder, ".wav")) loading.add(load(path, AssetRegistry::readBytes));
+        }
+        return CompletableFuture.allOf(loading.stream()
+                .map(asset -> asset.handle((value, error) -> null))
+                .toArray(CompletableFuture[]::new));
+    }
+
+    private static BufferedImage readImage(String path) throws IOException {
+        URL resource = AssetRegistry.class.getClassLoader().getResource(path);
+        if (resource == null) throw new FileNotFoundException(path);
+        BufferedImage image = ImageIO.read(resource);
+        if (image == null) throw new IOException("Not an image: " + path);
+        return image;
+    }
+
+    private static byte[] readBytes(String path) throws IOException {
+        try (InputStream input = AssetRegistry.class.getClassLoader().getResourceAsStream(path)) {
+            if (input == null) throw new FileNotFoundException(path);
+            return input.readAllBytes();
+        }
+    }
+
+    //classpath paths of the files under the folder in every classpath root, subfolders included, ending in the extension
+    static List<String> listResources(String folder, String extension) {
+        Set<String> resources = new TreeSet<>();
+        ClasspathFolders.forEach(folder, root -> resources.addAll(listResources(root, folder, extension)));
+        return new ArrayList<>(resources);
+    }
+
+    private static List<String> listResources(Path root, String folder, String extension) {
+        try (Stream<Path> paths = Files.walk(root)) {
+            return paths.filter(Files::isRegularFile)
+                    .map(path -> folder + "/" + root.relativize(path).toString().replace(root.getFileSystem().getSeparator(), "/"))
+                    .filter(path -> path.endsWith(extension))
+                    .collect(Collectors.toList());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
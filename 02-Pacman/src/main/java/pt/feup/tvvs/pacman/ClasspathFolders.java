@@ -0,0 +1,50 @@
+package pt.feup.tvvs.pacman;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystemAlreadyExistsException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.function.Consumer;
+
+//a resource folder can be in more than one classpath root (the test resources next to the main ones, several jars),
+//so listing it has to look in every root and not only in the first one, which would hide the others
+public class ClasspathFolders {
+    public static void forEach(String folder, Consumer<Path> action) {
+        forEach(ClasspathFolders.class.getClassLoader(), folder, action);
+    }
+
+    //calls the action with the folder of every classpath root that has it, in classpath order, directories and jars alike
+    //a jar's folder can only be read during the call, the jar is closed after it
+    public static void forEach(ClassLoader loader, String folder, Consumer<Path> action) {
+        Enumeration<URL> roots;
+        try {
+            roots = loader.getResources(folder);
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not find the classpath folders " + folder, e);
+        }
+        while (roots.hasMoreElements()) {
+            URL root = roots.nextElement();
+            try {
+                URI uri = root.toURI();
+                if (!"jar".equals(uri.getScheme())) {
+                    action.accept(Paths.get(uri));
+                    continue;
+                }
+                try (FileSystem jar = FileSystems.newFileSystem(uri, Collections.emptyMap())) {
+                    action.accept(jar.getPath(folder));
+                } catch (FileSystemAlreadyExistsException e) {
+                    action.accept(FileSystems.getFileSystem(uri).getPath(folder));
+                }
+            } catch (URISyntaxException | IOException e) {
+                throw new IllegalStateException("Could not list " + root, e);
+            }
+        }
+    }
+}
@@ -0,0 +1,213 @@
+package pt.feup.tvvs.pacman;
+
+import pt.feup.tvvs.pacman.gui.GUI;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+//times the phases of each frame and counts what they allocate, apart for every map and resolution played, to find where
+//frame time goes; off unless run with -Dpacman.profile=<file> (exported when the game closes, .json or else csv) or
+//-Dpacman.profileOverlay=true (rolling averages drawn over the screen), and then start and end return right away
+public class FrameProfiler {
+    public enum Phase {INPUT, PACMAN, GHOSTS, COLLISIONS, DRAW, REFRESH}
+
+    private static final Phase[] PHASES = Phase.values();
+    private static final int ROLLING_SHIFT = 5; //rolling averages weigh the newest sample 1/32
+    private static FrameProfiler instance;
+
+    private final boolean enabled;
+    private final boolean overlayShown;
+    private final com.sun.management.ThreadMXBean allocations; //null when the jvm can't count allocated bytes per thread
+    private final long allocationOverhead; //bytes reading the allocated bytes allocates itself
+    private final Map<String, Section> sections; //by context and resolution, in the order first profiled
+    private final long[] startNanos, startBytes; //each phase starts and ends on one thread, the loop or the render thread
+    private volatile Section current;
+    private String context; //only touched by the loop
+    private GUI.SCREEN_RESOLUTION resolution;
+
+    public FrameProfiler(boolean enabled, boolean overlayShown) {
+        this.enabled = enabled || overlayShown;
+        this.overlayShown = overlayShown;
+        this.sections = new LinkedHashMap<>();
+        this.startNanos = new long[PHASES.length];
+        this.startBytes = new long[PHASES.length];
+        this.allocations = this.enabled ? allocationCounter() : null;
+        this.allocationOverhead = allocations == null ? 0 : measureOverhead(allocations);
+        this.current = new Section("none", null);
+    }
+
+    public static synchronized FrameProfiler getInstance() {
+        if (instance == null) {
+            instance = new FrameProfiler(System.getProperty("pacman.profile") != null, Boolean.getBoolean("pacman.profileOverlay"));
+        }
+        return instance;
+    }
+
+    private static com.sun.management.ThreadMXBean allocationCounter() {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        if (!(threads instanceof com.sun.management.ThreadMXBean)) return null;
+        com.sun.management.ThreadMXBean counter = (com.sun.management.ThreadMXBean) threads;
+        if (!counter.isThreadAllocatedMemorySupported()) return null;
+        counter.setThreadAllocatedMemoryEnabled(true);
+        return counter;
+    }
+
+    //the smallest of a few back to back readings, so the samples only count what the phase allocated
+    private static long measureOverhead(com.sun.management.ThreadMXBean counter) {
+        long id = Thread.currentThread().getId(), overhead = Long.MAX_VALUE;
+        for (int i = 0; i < 16; ++i) {
+            long before = counter.getThreadAllocatedBytes(id);
+            overhead = Math.min(overhead, counter.getThreadAllocatedBytes(id) - before);
+        }
+        return Math.max(0, overhead);
+    }
+
+    //what the next frames are profiled under, e.g. the map being played; only a change of context or resolution looks up a section
+    public void setContext(String context, GUI.SCREEN_RESOLUTION resolution) {
+        if (!enabled || (context.equals(this.context) && resolution == this.resolution)) return;
+        this.context = context;
+        this.resolution = resolution;
+        synchronized (sections) {
+            current = sections.computeIfAbsent(context + " " + resolution, key -> new Section(context, resolution));
+        }
+    }
+
+    public void start(Phase phase) {
+        if (!enabled) return;
+        startBytes[phase.ordinal()] = allocatedBytes();
+        startNanos[phase.ordinal()] = System.nanoTime();
+    }
+
+    public void end(Phase phase) {
+        if (!enabled) return;
+        long nanos = System.nanoTime() - startNanos[phase.ordinal()];
+        long bytes = allocations == null ? 0 : Math.max(0, allocatedBytes() - startBytes[phase.ordinal()] - allocationOverhead);
+        current.phases[phase.ordinal()].record(nanos, bytes);
+    }
+
+    private long allocatedBytes() {
+        return allocations == null ? 0 : allocations.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public boolean isOverlayShown() {
+        return overlayShown;
+    }
+
+    //rolling average of the phase's duration on the current context, readable from any thread
+    public long getRollingNanos(Phase phase) {
+        return current.phases[phase.ordinal()].rollingNanos;
+    }
+
+    //rolling average of the bytes the phase allocates on the current context
+    public long getRollingBytes(Phase phase) {
+        return current.phases[phase.ordinal()].rollingBytes;
+    }
+
+    //one row per context, resolution and phase; call it once the frames stopped
+    public void export(Path file) throws IOException {
+        boolean json = file.getFileName().toString().toLowerCase(Locale.ROOT).endsWith(".json");
+        List<Section> profiled;
+        synchronized (sections) {
+            profiled = new ArrayList<>(sections.values());
+        }
+        try (Writer writer = Files.newBufferedWriter(file)) {
+            if (json) writeJson(writer, profiled);
+            else writeCsv(writer, profiled);
+        }
+    }
+
+    //exports to the file given by -Dpacman.profile, if any
+    public void exportIfAsked() throws IOException {
+        String file = System.getProperty("pacman.profile");
+        if (file != null && !file.isEmpty()) export(Paths.get(file));
+    }
+
+    private static void writeCsv(Writer writer, List<Section> profiled) throws IOException {
+        writer.write("context,resolution,phase,count,mean_us,p50_us,p99_us,max_us,allocated_bytes_per_call\n");
+        for (Section section : profiled) {
+            for (Phase phase : PHASES) {
+                PhaseStats stats = section.phases[phase.ordinal()];
+                if (stats.times.getCount() == 0) continue;
+                writer.write(String.format(Locale.ROOT, "%s,%s,%s,%d,%.1f,%.1f,%.1f,%.1f,%d\n", csv(section.context), section.resolution, phase,
+                        stats.times.getCount(), stats.times.getMeanNanos() / 1e3, stats.times.getPercentileNanos(0.5) / 1e3,
+                        stats.times.getPercentileNanos(0.99) / 1e3, stats.times.getMaxNanos() / 1e3, stats.getBytesPerCall()));
+            }
+        }
+    }
+
+    private static void writeJson(Writer writer, List<Section> profiled) throws IOException {
+        writer.write("[\n");
+        boolean first = true;
+        for (Section section : profiled) {
+            for (Phase phase : PHASES) {
+                PhaseStats stats = section.phases[phase.ordinal()];
+                if (stats.times.getCount() == 0) continue;
+                if (!first) writer.write(",\n");
+                first = false;
+                writer.write(String.format(Locale.ROOT, "  {\"context\": \"%s\", \"resolution\": \"%s\", \"phase\": \"%s\", \"count\": %d, \"meanUs\": %.1f, "
+                                + "\"p50Us\": %.1f, \"p99Us\": %.1f, \"maxUs\": %.1f, \"allocatedBytesPerCall\": %d}", json(section.context), section.resolution,
+                        phase, stats.times.getCount(), stats.times.getMeanNanos() / 1e3, stats.times.getPercentileNanos(0.5) / 1e3,
+                        stats.times.getPercentileNanos(0.99) / 1e3, stats.times.getMaxNanos() / 1e3, stats.getBytesPerCall()));
+            }
+        }
+        writer.write("\n]\n");
+    }
+
+    private static String csv(String value) {
+        return value.contains(",") || value.contains("\"") ? "\"" + value.replace("\"", "\"\"") + "\"" : value;
+    }
+
+    private static String json(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"");
+    }
+
+    private static class Section {
+        private final String context;
+        private final GUI.SCREEN_RESOLUTION resolution;
+        private final PhaseStats[] phases;
+
+        private Section(String context, GUI.SCREEN_RESOLUTION resolution) {
+            this.context = context;
+            this.resolution = resolution;
+            this.phases = new PhaseStats[PHASES.length];
+            for (Phase phase : PHASES) phases[phase.ordinal()] = new PhaseStats(phase);
+        }
+    }
+
+    //written by the one thread running the phase, the rolling averages are also read by the overlay
+    private static class PhaseStats {
+        private final FrameTimeHistogram times;
+        private long totalBytes;
+        private volatile long rollingNanos, rollingBytes;
+
+        private PhaseStats(Phase phase) {
+            this.times = new FrameTimeHistogram(phase.name().toLowerCase(Locale.ROOT));
+        }
+
+        private void record(long nanos, long bytes) {
+            boolean first = times.getCount() == 0;
+            times.record(nanos);
+            totalBytes += bytes;
+            rollingNanos = first ? nanos : rollingNanos + ((nanos - rollingNanos) >> ROLLING_SHIFT);
+            rollingBytes = first ? bytes : rollingBytes + ((bytes - rollingBytes) >> ROLLING_SHIFT);
+        }
+
+        private long getBytesPerCall() {
+            return times.getCount() == 0 ? 0 : totalBytes / times.getCount();
+        }
+    }
+}
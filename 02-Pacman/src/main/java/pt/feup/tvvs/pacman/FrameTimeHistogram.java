@@ -0,0 +1,81 @@
+package pt.feup.tvvs.pacman;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+//log-linear histogram of durations: exact below 64us, then 32 buckets per power of two (about 3% error), no allocation per sample
+public class FrameTimeHistogram {
+    private static final int LINEAR_BUCKETS = 64;
+    private static final int SUB_BUCKETS = 32;
+
+    private final String name;
+    private final long[] counts;
+    private long count;
+    private long totalNanos;
+    private long maxNanos;
+
+    public FrameTimeHistogram(String name) {
+        this.name = name;
+        this.counts = new long[LINEAR_BUCKETS + 64 * SUB_BUCKETS];
+    }
+
+    public void record(long nanos) {
+        if (nanos < 0) nanos = 0;
+        ++counts[bucketOf(nanos / 1000)];
+        ++count;
+        totalNanos += nanos;
+        if (nanos > maxNanos) maxNanos = nanos;
+    }
+
+    private static int bucketOf(long micros) {
+        if (micros < LINEAR_BUCKETS) return (int) micros;
+        int shift = 63 - Long.numberOfLeadingZeros(micros) - 5; //keeps micros >> shift in [32, 64)
+        return LINEAR_BUCKETS + (shift - 1) * SUB_BUCKETS + (int) ((micros >> shift) - SUB_BUCKETS);
+    }
+
+    private static long upperMicrosOf(int bucket) {
+        if (bucket < LINEAR_BUCKETS) return bucket;
+        int shift = (bucket - LINEAR_BUCKETS) / SUB_BUCKETS + 1;
+        long sub = (bucket - LINEAR_BUCKETS) % SUB_BUCKETS + SUB_BUCKETS;
+        return ((sub + 1) << shift) - 1;
+    }
+
+    //smallest recorded duration that at least the given fraction of the samples don't exceed, rounded up to its bucket
+    public long getPercentileNanos(double fraction) {
+        if (count == 0) return 0;
+        long rank = Math.max(1, (long) Math.ceil(fraction * count));
+        long seen = 0;
+        for (int bucket = 0; bucket < counts.length; ++bucket) {
+            seen += counts[bucket];
+            if (seen >= rank) return Math.min(upperMicrosOf(bucket) * 1000 + 999, maxNanos);
+        }
+        return maxNanos;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public long getMaxNanos() {
+        return maxNanos;
+    }
+
+    public long getMeanNanos() {
+        return count == 0 ? 0 : totalNanos / count;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void reset() {
+        Arrays.fill(counts, 0);
+        count = totalNanos = maxNanos = 0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.ROOT, "%s: n=%d mean=%.3fms p50=%.3fms p99=%.3fms max=%.3fms", name, count,
+                getMeanNanos() / 1e6, getPercentileNanos(0.5) / 1e6, getPercentileNanos(0.99) / 1e6, maxNanos / 1e6);
+    }
+}
@@ -4,13 +4,18 @@ import pt.feup.tvvs.pacman.audio.AudioManager;
 import pt.feup.tvvs.pacman.audio.AudioPlayer;
 import pt.feup.tvvs.pacman.gui.GUI;
 import pt.feup.tvvs.pacman.gui.LanternaGUI;
+import pt.feup.tvvs.pacman.gui.SwingGUI;
+import pt.feup.tvvs.pacman.model.game.MapRepository;
 import pt.feup.tvvs.pacman.model.menu.MainMenu;
+import pt.feup.tvvs.pacman.simulation.GameRecorder;
 import pt.feup.tvvs.pacman.states.State;
 import pt.feup.tvvs.pacman.states.menu.MainMenuState;
 
 import java.awt.*;
 import java.io.IOException;
 import java.net.URISyntaxException;
+import java.nio.file.Paths;
+import java.util.concurrent.locks.LockSupport;
 
 public class Game {
     private static final int SCREEN_WIDTH = 320;
@@ -18,6 +23,8 @@ public class Game {
     private static Game instance;
     private final GUI gui;
     private final AudioManager audioManager;
+    private final GameRecorder recorder; //null unless the games are recorded
+    private RenderThread renderThread; //null while the frames are drawn on the game loop
     private State state;
 
 
@@ -25,6 +32,9 @@ public class Game {
         this.gui = gui;
         this.audioManager = audioManager;
         this.audioManager.setMasterVolume(1f);
+        //run with -Dpacman.record=<directory> to save the input of every game played, Replayer plays them again
+        String recordDirectory = System.getProperty("pacman.record");
+        this.recorder = recordDirectory == null ? null : new GameRecorder(Paths.get(recordDirectory));
         this.state = createInitialState();
     }
 
@@ -36,12 +46,24 @@ public class Game {
     }
 
     public static void main(String[] args) throws IOException, URISyntaxException, FontFormatException, InterruptedException {
-        GUI gui = new LanternaGUI(SCREEN_WIDTH, SCREEN_HEIGHT, GUI.SCREEN_RESOLUTION._900p);
+        AssetRegistry.getInstance().preload(); //sprites, fonts and sounds decode in the background while the window opens
+        MapRepository.getInstance(); //lists the maps once, before the menus need them
+        GUI gui = createGUI();
         AudioManager audioManager = AudioManager.getInstance();
         Game game = Game.getInstance(gui, audioManager);
+        game.renderThread = new RenderThread(gui); //a slow terminal delays the drawing, not the ticks
         game.start();
     }
 
+    //run with -Dpacman.gui=swing to draw real pixels in a window instead of emulating a terminal
+    private static GUI createGUI() throws IOException, URISyntaxException, FontFormatException {
+        if ("swing".equals(System.getProperty("pacman.gui")))
+            return new SwingGUI(SCREEN_WIDTH, SCREEN_HEIGHT, GUI.SCREEN_RESOLUTION._900p);
+        LanternaGUI gui = new LanternaGUI(SCREEN_WIDTH, SCREEN_HEIGHT, GUI.SCREEN_RESOLUTION._900p);
+        gui.startInputThread(); //keys are read as they come instead of polling the terminal inside every tick
+        return gui;
+    }
+
     // User only for tests
     public static void main(GUI gui, AudioManager audioManager) throws IOException, URISyntaxException, FontFormatException, InterruptedException {
         Game game = Game.getInstance(gui, audioManager);
@@ -63,6 +85,10 @@ public class Game {
         return audioManager;
     }
 
+    public GameRecorder getRecorder() {
+        return recorder;
+    }
+
     public State getState() {
         return state;
     }
@@ -72,29 +98,51 @@ public class Game {
     }
 
     public GUI.SCREEN_RESOLUTION getResolution() {
-        return gui.getResolution();
+        return renderThread != null ? renderThread.getResolution() : gui.getResolution();
     }
 
     public void setResolution(GUI.SCREEN_RESOLUTION newResolution) throws URISyntaxException, IOException, FontFormatException {
-        gui.resizeScreen(SCREEN_WIDTH, SCREEN_HEIGHT, newResolution);
+        if (renderThread != null) renderThread.resize(SCREEN_WIDTH, SCREEN_HEIGHT, newResolution);
+        else gui.resizeScreen(SCREEN_WIDTH, SCREEN_HEIGHT, newResolution);
+    }
+
+    //clears the screen before the next frame, on the render thread when there is one as the screen is its own then
+    public void clearScreen() {
+        if (renderThread != null) renderThread.clear();
+        else gui.clear();
     }
 
     private void start() throws IOException, InterruptedException {
         GameLoop gameLoop = new GameLoop(60);
+        FrameProfiler profiler = FrameProfiler.getInstance();
         AudioPlayer mainMusic = initializeMusic();
+        if (renderThread != null) renderThread.start();
 
         try {
             while (this.state != null) {
                 gameLoop.update(() -> {
+                    if (state == null) return; //a previous tick of this frame quit the game
+                    profiler.setContext(state.getProfileContext(), getResolution());
                     try {
-                        state.step(this, gui, gameLoop.getFrameCount());
+                        state.tick(this, gui, gameLoop.getFrameCount());
                     } catch (IOException | URISyntaxException | FontFormatException e) {
                         throw new RuntimeException(e);
                     }
+                }, () -> {
+                    if (state == null) return;
+                    if (renderThread != null) renderThread.publish(state, gameLoop.getFrameCount());
+                    else state.render(gui, gameLoop.getFrameCount());
                 });
             }
         } finally {
             cleanup(mainMusic);
+            profiler.exportIfAsked();
+            //run with -Dpacman.frameStats=true to get the tick and render times when the game closes
+            if (Boolean.getBoolean("pacman.frameStats")) {
+                System.out.println(gameLoop.getTickTimes());
+                System.out.println(gameLoop.getRenderTimes());
+                if (renderThread != null) System.out.println(renderThread.getDrawTimes());
+            }
         }
     }
 
@@ -106,33 +154,86 @@ public class Game {
         return mainMusic;
     }
 
-    private void cleanup(AudioPlayer mainMusic) throws IOException {
+    private void cleanup(AudioPlayer mainMusic) throws IOException, InterruptedException {
         mainMusic.stopPlaying();
+        if (renderThread != null) renderThread.stop();
         gui.close();
+        if (recorder != null) recorder.finish();
     }
 }
 
+//fixed timestep loop: the game logic always advances in steps of 1/fps seconds of real time, catching up after slow frames,
+//and each update draws once after the ticks that were due
 class GameLoop {
-    private final long frameTime;
-    private long frameCount;
+    private static final int MAX_TICKS_PER_UPDATE = 5; //further behind than this the game slows down instead of freezing the screen
+    private final long tickNanos;
+    private final FrameTimeHistogram tickTimes;
+    private final FrameTimeHistogram renderTimes;
+    private long previousTime; //0 until the first update starts the clock
+    private long lag; //real time not yet simulated
+    private long frameCount; //ticks simulated so far
 
     public GameLoop(int fps) {
-        this.frameTime = 1000 / fps;
+        this.tickNanos = 1_000_000_000L / fps;
+        this.tickTimes = new FrameTimeHistogram("tick");
+        this.renderTimes = new FrameTimeHistogram("render");
+        this.previousTime = 0;
+        this.lag = 0;
         this.frameCount = 0;
     }
 
+    //waits for the next tick, then runs every tick that is due (at most MAX_TICKS_PER_UPDATE) and renders once
+    public void update(Runnable tickLogic, Runnable renderLogic) throws InterruptedException {
+        runTicks(tickLogic, MAX_TICKS_PER_UPDATE);
+
+        long startTime = System.nanoTime();
+        renderLogic.run();
+        renderTimes.record(System.nanoTime() - startTime);
+    }
+
+    //runs exactly one tick, used when drawing is part of the logic itself
     public void update(Runnable updateLogic) throws InterruptedException {
-        long startTime = System.currentTimeMillis();
-        updateLogic.run();
+        runTicks(updateLogic, 1);
+    }
+
+    private void runTicks(Runnable tickLogic, int maxTicks) throws InterruptedException {
+        waitForNextTick();
+        int ticks = 0;
+        while (lag >= tickNanos && ticks < maxTicks) {
+            long startTime = System.nanoTime();
+            tickLogic.run();
+            tickTimes.record(System.nanoTime() - startTime);
+            lag -= tickNanos;
+            ++frameCount;
+            ++ticks;
+        }
+        if (lag >= tickNanos) lag %= tickNanos; //drop the backlog that couldn't be caught up, keeping the phase
+    }
 
-        long elapsedTime = System.currentTimeMillis() - startTime;
-        long sleepTime = frameTime - elapsedTime;
+    private void waitForNextTick() throws InterruptedException {
+        advanceClock();
+        while (lag < tickNanos) {
+            LockSupport.parkNanos(tickNanos - lag);
+            if (Thread.interrupted()) throw new InterruptedException();
+            advanceClock();
+        }
+    }
 
-        if (sleepTime > 0) Thread.sleep(sleepTime);
-        ++frameCount;
+    private void advanceClock() {
+        long now = System.nanoTime();
+        if (previousTime != 0) lag += now - previousTime;
+        previousTime = now;
     }
 
     public long getFrameCount() {
         return frameCount;
     }
+
+    public FrameTimeHistogram getTickTimes() {
+        return tickTimes;
+    }
+
+    public FrameTimeHistogram getRenderTimes() {
+        return renderTimes;
+    }
 }
@@ -0,0 +1,126 @@
+package pt.feup.tvvs.pacman;
+
+import pt.feup.tvvs.pacman.gui.GUI;
+import pt.feup.tvvs.pacman.states.State;
+
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+
+//draws the frames the game loop publishes on a thread of its own, so a slow terminal never holds back the game logic
+//three frames go round without locks: the loop fills one, this thread draws another and the newest finished one waits
+//in between; each side swaps its frame with the waiting one, so a frame nobody got to draw is just filled again
+public class RenderThread {
+    private static final long IDLE_NANOS = 1_000_000; //nap while no new frame was published, the loop wakes it up anyway
+
+    private final GUI gui;
+    private final AtomicReference<Frame> waiting;
+    private final AtomicReference<Resize> resize; //asked by the loop, done here between two frames
+    private final FrameTimeHistogram drawTimes;
+    private final Thread thread;
+    private Frame filling; //only touched by the loop
+    private Frame drawing; //only touched by this thread
+    private volatile GUI.SCREEN_RESOLUTION resolution; //asked for last, null until the first resize
+    private volatile boolean running;
+    private volatile RuntimeException failure;
+
+    public RenderThread(GUI gui) {
+        this.gui = gui;
+        this.waiting = new AtomicReference<>(new Frame());
+        this.resize = new AtomicReference<>();
+        this.drawTimes = new FrameTimeHistogram("draw");
+        this.filling = new Frame();
+        this.drawing = new Frame();
+        this.thread = new Thread(this::run, "render");
+        this.thread.setDaemon(true);
+    }
+
+    public void start() {
+        running = true;
+        thread.start();
+    }
+
+    //takes the snapshot of the state and hands it over, never waits for the drawing; throws what the drawing failed with
+    public void publish(State<?> state, long frameTime) {
+        if (failure != null) throw failure;
+        filling.state = state;
+        filling.snapshot = state.snapshot(filling.snapshot);
+        filling.frameTime = frameTime;
+        filling.fresh = true;
+        filling = waiting.getAndSet(filling);
+        LockSupport.unpark(thread);
+    }
+
+    //the screen belongs to this thread, so it is cleared here right before drawing the next frame the loop publishes;
+    //a frame that is skipped hands the clear over to the one filled after it
+    public void clear() {
+        filling.clear = true;
+    }
+
+    //the screen belongs to this thread, so it is resized here before the next frame is drawn
+    public void resize(int width, int height, GUI.SCREEN_RESOLUTION resolution) {
+        this.resolution = resolution;
+        resize.set(new Resize(width, height, resolution));
+        LockSupport.unpark(thread);
+    }
+
+    //the resolution asked for last, even if the screen wasn't resized yet
+    public GUI.SCREEN_RESOLUTION getResolution() {
+        GUI.SCREEN_RESOLUTION asked = resolution;
+        return asked != null ? asked : gui.getResolution();
+    }
+
+    private void run() {
+        while (running) {
+            try {
+                Resize pending = resize.getAndSet(null);
+                if (pending != null) gui.resizeScreen(pending.width, pending.height, pending.resolution);
+                if (!waiting.get().fresh) {
+                    LockSupport.parkNanos(IDLE_NANOS);
+                    continue;
+                }
+                drawing.fresh = false;
+                drawing = waiting.getAndSet(drawing); //only the loop swaps meanwhile and it only puts fresh frames
+                long start = System.nanoTime();
+                if (drawing.clear) {
+                    gui.clear();
+                    drawing.clear = false;
+                }
+                drawing.state.render(gui, drawing.snapshot, drawing.frameTime);
+                drawTimes.record(System.nanoTime() - start);
+            } catch (Exception e) {
+                failure = e instanceof RuntimeException ? (RuntimeException) e : new RuntimeException(e);
+                running = false;
+            }
+        }
+    }
+
+    //lets the frame being drawn finish, the gui can be closed afterwards
+    public void stop() throws InterruptedException {
+        running = false;
+        LockSupport.unpark(thread);
+        thread.join();
+    }
+
+    public FrameTimeHistogram getDrawTimes() {
+        return drawTimes;
+    }
+
+    private static class Frame {
+        private State<?> state;
+        private Object snapshot;
+        private long frameTime;
+        private boolean clear; //asked by the loop while filling the frame, done before drawing it
+        private volatile boolean fresh; //published and not drawn yet
+    }
+
+    private static class Resize {
+        private final int width, height;
+        private final GUI.SCREEN_RESOLUTION resolution;
+
+        private Resize(int width, int height, GUI.SCREEN_RESOLUTION resolution) {
+            this.width = width;
+            this.height = height;
+            this.resolution = resolution;
+        }
+    }
+}
@@ -6,24 +6,33 @@ import java.util.Map;
 public class AudioManager {
     private static AudioManager instance;
     private final Map<String, AudioPlayer> audios;
+    private final AudioMixer mixer; //every sound effect plays through it, its line only opens with the first one
     private AudioPlayer mainMusic;
     private float masterVolume;
+    private final boolean muted;
 
-    private AudioManager() {
+    private AudioManager(boolean muted) {
         this.audios = new HashMap<>();
         this.masterVolume = 1f;
+        this.muted = muted;
+        this.mixer = muted ? null : new AudioMixer(AudioMixer.MAX_VOICES);
     }
 
     public static AudioManager getInstance() {
         if (instance == null) {
-            instance = new AudioManager();
+            instance = new AudioManager(false);
         }
         return instance;
     }
 
+    //standalone manager whose audios never open a sound line, for running the game rules without a sound device
+    public static AudioManager createMuted() {
+        return new AudioManager(true);
+    }
+
     public void addAudio(String key, String audioPath) {
         if (!audios.containsKey(key)) {
-            AudioPlayer audio = new AudioPlayer(audioPath);
+            AudioPlayer audio = muted ? AudioPlayer.silent() : new AudioPlayer(audioPath, mixer);
             audios.put(key, audio);
             audio.setVolume(audio.getVolume() * masterVolume);
         }
@@ -0,0 +1,178 @@
+package pt.feup.tvvs.pacman.audio;
+
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioInputStream;
+import javax.sound.sampled.AudioSystem;
+import javax.sound.sampled.LineUnavailableException;
+import javax.sound.sampled.SourceDataLine;
+import javax.sound.sampled.UnsupportedAudioFileException;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
+//mixes up to maxVoices sounds in software onto one output line, every sound is decoded once to 16 bit stereo pcm and shared
+//starting a sound with every voice busy takes the voice of the oldest one shot sound, or of the oldest loop when all of them loop
+public class AudioMixer {
+    public static final AudioFormat FORMAT = new AudioFormat(48000, 16, 2, true, false);
+    public static final int MAX_VOICES = 16;
+    private static final int BLOCK_FRAMES = 512; //about 10ms written to the line at a time
+    private static final int LINE_BLOCKS = 4; //blocks the line buffers, more survive longer hiccups but sounds start later
+
+    private final Voice[] voices;
+    private final int[] accumulator; //one block of samples summed before clamping
+    private long started; //sounds started so far, gives the voices their age
+    private SourceDataLine line; //opened by the first player, null until then
+    private Thread output;
+
+    public AudioMixer(int maxVoices) {
+        this.voices = new Voice[maxVoices];
+        for (int i = 0; i < maxVoices; ++i) voices[i] = new Voice();
+        this.accumulator = new int[BLOCK_FRAMES * 2];
+    }
+
+    //pcm of a sound file in the mixer's format, interleaved left and right
+    public static short[] decode(byte[] file) throws IOException {
+        try (AudioInputStream input = AudioSystem.getAudioInputStream(new ByteArrayInputStream(file));
+             AudioInputStream converted = input.getFormat().matches(FORMAT) ? input : AudioSystem.getAudioInputStream(FORMAT, input)) {
+            byte[] bytes = converted.readAllBytes();
+            short[] pcm = new short[bytes.length / 4 * 2];
+            ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN).asShortBuffer().get(pcm);
+            return pcm;
+        } catch (UnsupportedAudioFileException | IllegalArgumentException e) {
+            throw new IOException("Can't decode audio: " + e.getMessage(), e);
+        }
+    }
+
+    //opens the output line and starts feeding it, does nothing once it is open
+    public synchronized void open() {
+        if (line != null) return;
+        try {
+            SourceDataLine opened = AudioSystem.getSourceDataLine(FORMAT);
+            opened.open(FORMAT, BLOCK_FRAMES * FORMAT.getFrameSize() * LINE_BLOCKS);
+            opened.start();
+            line = opened;
+        } catch (LineUnavailableException | IllegalArgumentException e) { //busy, or no sound device at all
+            throw new RuntimeException("Could not open the audio output", e);
+        }
+        output = new Thread(this::feed, "audio-mixer");
+        output.setDaemon(true);
+        output.start();
+    }
+
+    public synchronized void close() {
+        if (line == null) return;
+        output.interrupt();
+        line.close();
+        line = null;
+    }
+
+    //mixes a block under the lock and writes it outside, the write blocks while the line is full which paces the loop
+    private void feed() {
+        short[] block = new short[BLOCK_FRAMES * 2];
+        byte[] bytes = new byte[block.length * 2];
+        SourceDataLine target;
+        synchronized (this) {
+            target = line;
+        }
+        while (!Thread.currentThread().isInterrupted()) {
+            mix(block, BLOCK_FRAMES);
+            ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN).asShortBuffer().put(block);
+            target.write(bytes, 0, bytes.length);
+            if (!target.isOpen()) return;
+        }
+    }
+
+    //starts the sound on a free voice, or a stolen one, returns which
+    public synchronized int play(Object owner, short[] pcm, float gain, boolean loop) {
+        int chosen = -1;
+        for (int i = 0; i < voices.length && chosen == -1; ++i)
+            if (!voices[i].active) chosen = i;
+        if (chosen == -1) chosen = oldest(false);
+        if (chosen == -1) chosen = oldest(true);
+
+        Voice voice = voices[chosen];
+        voice.active = true;
+        voice.owner = owner;
+        voice.pcm = pcm;
+        voice.position = 0;
+        voice.gain = gain;
+        voice.loop = loop;
+        voice.age = started++;
+        return chosen;
+    }
+
+    private int oldest(boolean loop) {
+        int oldest = -1;
+        for (int i = 0; i < voices.length; ++i)
+            if (voices[i].loop == loop && (oldest == -1 || voices[i].age < voices[oldest].age)) oldest = i;
+        return oldest;
+    }
+
+    public synchronized void stop(Object owner) {
+        for (Voice voice : voices)
+            if (voice.active && voice.owner == owner) release(voice);
+    }
+
+    public synchronized boolean isPlaying(Object owner) {
+        for (Voice voice : voices)
+            if (voice.active && voice.owner == owner) return true;
+        return false;
+    }
+
+    //changes the gain of the owner's sounds already playing
+    public synchronized void setGain(Object owner, float gain) {
+        for (Voice voice : voices)
+            if (voice.active && voice.owner == owner) voice.gain = gain;
+    }
+
+    public synchronized int getActiveVoices() {
+        int active = 0;
+        for (Voice voice : voices)
+            if (voice.active) ++active;
+        return active;
+    }
+
+    //next frames of every voice summed into out, clamped to 16 bits, one shot voices that end are freed
+    public synchronized void mix(short[] out, int frames) {
+        int samples = frames * 2;
+        int[] sum = samples <= accumulator.length ? accumulator : new int[samples];
+        Arrays.fill(sum, 0, samples, 0);
+        for (Voice voice : voices) {
+            if (!voice.active) continue;
+            if (voice.pcm.length == 0) {
+                release(voice);
+                continue;
+            }
+            int position = voice.position;
+            for (int i = 0; i < samples; ++i) {
+                if (position == voice.pcm.length) {
+                    if (!voice.loop) break;
+                    position = 0;
+                }
+                sum[i] += (int) (voice.pcm[position++] * voice.gain);
+            }
+            voice.position = position;
+            if (position == voice.pcm.length && !voice.loop) release(voice);
+        }
+        for (int i = 0; i < samples; ++i)
+            out[i] = (short) Math.max(Short.MIN_VALUE, Math.min(Short.MAX_VALUE, sum[i]));
+    }
+
+    private static void release(Voice voice) {
+        voice.active = false;
+        voice.owner = null;
+        voice.pcm = null;
+    }
+
+    private static class Voice {
+        private boolean active;
+        private Object owner; //player that started it
+        private short[] pcm;
+        private int position; //next sample
+        private float gain;
+        private boolean loop;
+        private long age;
+    }
+}
@@ -1,26 +1,52 @@
 package pt.feup.tvvs.pacman.audio;
 
+import pt.feup.tvvs.pacman.AssetRegistry;
+
 import javax.sound.sampled.AudioInputStream;
 import javax.sound.sampled.AudioSystem;
 import javax.sound.sampled.Clip;
 import javax.sound.sampled.FloatControl;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
 import java.io.InputStream;
 
 public class AudioPlayer {
-    private final Clip audio;
+    private final Clip audio; //own clip, null for mixed and silent players
+    private final AudioMixer mixer; //null for clip and silent players
+    private final short[] sample; //decoded pcm shared by every player of the same file
     private float volume;
 
     public AudioPlayer(String audioFilepath) {
         this.audio = loadAudioFile(audioFilepath);
+        this.mixer = null;
+        this.sample = null;
+        this.volume = 1f;
+    }
+
+    //player of a sound mixed by the mixer, each playOnce starts another voice so quick repeats overlap instead of cutting each other
+    public AudioPlayer(String audioFilepath, AudioMixer mixer) {
+        this.audio = null;
+        this.mixer = mixer;
+        this.sample = loadSample(audioFilepath);
+        this.volume = 1f;
+        mixer.open();
+    }
+
+    private AudioPlayer() {
+        this.audio = null;
+        this.mixer = null;
+        this.sample = null;
         this.volume = 1f;
     }
 
+    public static AudioPlayer silent() {
+        return new AudioPlayer();
+    }
+
     private Clip loadAudioFile(String audioFilepath) {
         try {
-            InputStream inputStream = getClass().getClassLoader().getResourceAsStream(audioFilepath);
-            if (inputStream == null) {
-                throw new IllegalArgumentException("Audio file not found: " + audioFilepath);
-            }
+            //the file is read once and kept by the asset registry, which usually did it in the background at launch
+            InputStream inputStream = new ByteArrayInputStream(AssetRegistry.getInstance().get(audioFilepath, this::readAudioFile));
             AudioInputStream audioInputStream = AudioSystem.getAudioInputStream(inputStream);
             Clip audio = AudioSystem.getClip();
             audio.open(audioInputStream);
@@ -32,24 +58,60 @@ public class AudioPlayer {
         }
     }
 
+    private short[] loadSample(String audioFilepath) {
+        try {
+            AssetRegistry assets = AssetRegistry.getInstance();
+            byte[] file = assets.get(audioFilepath, this::readAudioFile);
+            return assets.get("pcm:" + audioFilepath, key -> AudioMixer.decode(file));
+        } catch (Exception e) {
+            throw new RuntimeException("Could not open audio: " + audioFilepath, e);
+        }
+    }
+
+    private byte[] readAudioFile(String audioFilepath) throws IOException {
+        try (InputStream inputStream = getClass().getClassLoader().getResourceAsStream(audioFilepath)) {
+            if (inputStream == null) {
+                throw new IllegalArgumentException("Audio file not found: " + audioFilepath);
+            }
+            return inputStream.readAllBytes();
+        }
+    }
+
     public void playOnce() {
+        if (mixer != null) {
+            mixer.play(this, sample, volume, false);
+            return;
+        }
+        if (audio == null) return;
         audio.stop();
         audio.setFramePosition(0);
         audio.start();
     }
 
     public void stopPlaying() {
+        if (mixer != null) {
+            mixer.stop(this);
+            return;
+        }
+        if (audio == null) return;
         audio.stop();
     }
 
     public void playInLoop() {
+        if (mixer != null) {
+            mixer.stop(this);
+            mixer.play(this, sample, volume, true);
+            return;
+        }
+        if (audio == null) return;
         audio.stop();
         audio.setFramePosition(0);
         audio.loop(Clip.LOOP_CONTINUOUSLY);
     }
 
     public boolean isPlaying() {
-        return audio.isActive();
+        if (mixer != null) return mixer.isPlaying(this);
+        return audio != null && audio.isActive();
     }
 
     public float getVolume() {
@@ -59,6 +121,11 @@ public class AudioPlayer {
     public void setVolume(float volume) {
         if (volume < 0 || volume > 1) return;
         this.volume = volume;
+        if (mixer != null) {
+            mixer.setGain(this, volume);
+            return;
+        }
+        if (audio == null) return;
         FloatControl gainControl = (FloatControl) audio.getControl(FloatControl.Type.MASTER_GAIN);
         gainControl.setValue(20f * (float) Math.log10(volume));
     }
@@ -1,5 +1,6 @@
 package pt.feup.tvvs.pacman.controller.game;
 
+import pt.feup.tvvs.pacman.FrameProfiler;
 import pt.feup.tvvs.pacman.Game;
 import pt.feup.tvvs.pacman.audio.AudioManager;
 import pt.feup.tvvs.pacman.controller.game.element.CollisionController;
@@ -20,13 +21,16 @@ public class ArenaController extends GameController {
     private final PacmanController pacmanController;
     private final CollisionController collisionController;
     private final GhostController ghostController;
+    private final FrameProfiler profiler;
 
     public ArenaController(Arena arena, AudioManager audioManager) {
         super(arena);
 
         this.pacmanController = new PacmanController(arena);
         this.collisionController = new CollisionController(arena, audioManager);
-        this.ghostController = new GhostController(arena);
+        //run with -Dpacman.ghostPathfinding=true to make the ghosts follow the maze towards their targets
+        this.ghostController = new GhostController(arena, Boolean.getBoolean("pacman.ghostPathfinding"));
+        this.profiler = FrameProfiler.getInstance();
     }
 
     @Override
@@ -38,14 +42,21 @@ public class ArenaController extends GameController {
                 return;
             }
         }
-        if (getModel().getCollectibles().isEmpty()) {
+        getModel().updateChunks();
+        if (!getModel().hasCollectiblesLeft()) {
             game.getAudioManager().stopAllAudios();
             game.setState(new AlertMenuState(new AlertMenu(getModel(), "PNGs/youwin.png"), game.getAudioManager()));
             return;
         }
         //all the controllers here me thinks
+        profiler.start(FrameProfiler.Phase.PACMAN);
         pacmanController.step(game, actions, time);
+        profiler.end(FrameProfiler.Phase.PACMAN);
+        profiler.start(FrameProfiler.Phase.GHOSTS);
         ghostController.step(game, actions, time);
+        profiler.end(FrameProfiler.Phase.GHOSTS);
+        profiler.start(FrameProfiler.Phase.COLLISIONS);
         collisionController.step(game, actions, time);
+        profiler.end(FrameProfiler.Phase.COLLISIONS);
     }
 }
@@ -16,11 +16,12 @@ import java.net.URISyntaxException;
 import java.util.List;
 
 public class DyingStateController extends GameController {
+    public static final int DYING_TICKS = 110; //frames the death animation lasts
     private int stateTimeCounter;
 
     public DyingStateController(Arena arena, AudioManager audioManager) {
         super(arena);
-        this.stateTimeCounter = 110;
+        this.stateTimeCounter = DYING_TICKS;
 
         audioManager.addAudio("deathAudio", "Audio/pacmanDeath.wav");
         AudioPlayer deathAudio = audioManager.getAudio("deathAudio");
@@ -31,29 +32,35 @@ public class DyingStateController extends GameController {
     @Override
     public void step(Game game, List<GUI.ACTION> actions, long time) throws IOException, URISyntaxException {
         if (--stateTimeCounter == 0) {
-            int alivePacmans = 0; //number of still alive pacmans
-            for (Pacman pacman : getModel().getPacmans()) {
-                if (pacman.getLife() > 0) {
-                    pacman.setSpeed(Arena.PACMAN_NORMAL_SPEED);
-                    pacman.setPosition(pacman.getRespawnPosition());
-                    pacman.setCounter(0);
-                    pacman.setDying(false);
-                    ++alivePacmans;
-                }
-            }
-            if (alivePacmans <= 0) { //no pacman alive: game over
+            if (!respawn(getModel())) { //no pacman alive: game over
                 game.getAudioManager().stopAllAudios();
                 game.setState(new AlertMenuState(new AlertMenu(getModel(), "PNGs/gameover.png"), game.getAudioManager()));
             } else { //there is still at least one pacman with more than one life: keep playing
-                getModel().getGhosts().forEach(ghost -> {
-                    ghost.setState(GhostState.ALIVE);
-                    ghost.setSpeed(Arena.GHOST_NORMAL_SPEED);
-                    ghost.setPosition(ghost.getRespawnPosition());
-                    ghost.setCounter(0);
-                    ghost.setInsideGate();
-                });
                 game.setState(new GameState(getModel(), game.getAudioManager()));
             }
         }
     }
+
+    //puts the pacmans with lives left and every ghost back on their spawns, returns false when no pacman is left
+    public static boolean respawn(Arena arena) {
+        int alivePacmans = 0; //number of still alive pacmans
+        for (Pacman pacman : arena.getPacmans()) {
+            if (pacman.getLife() > 0) {
+                pacman.setSpeed(Arena.PACMAN_NORMAL_SPEED);
+                pacman.setPosition(pacman.getRespawnPosition());
+                pacman.setCounter(0);
+                pacman.setDying(false);
+                ++alivePacmans;
+            }
+        }
+        if (alivePacmans <= 0) return false;
+        arena.getGhosts().forEach(ghost -> {
+            ghost.setState(GhostState.ALIVE);
+            ghost.setSpeed(Arena.GHOST_NORMAL_SPEED);
+            ghost.setPosition(ghost.getRespawnPosition());
+            ghost.setCounter(0);
+            ghost.setInsideGate();
+        });
+        return true;
+    }
 }
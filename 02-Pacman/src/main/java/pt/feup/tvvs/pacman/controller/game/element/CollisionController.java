@@ -7,6 +7,8 @@ import pt.feup.tvvs.pacman.controller.game.GameController;
 import pt.feup.tvvs.pacman.gui.GUI;
 import pt.feup.tvvs.pacman.model.Position;
 import pt.feup.tvvs.pacman.model.game.Arena;
+import pt.feup.tvvs.pacman.model.game.SpatialIndex;
+import pt.feup.tvvs.pacman.model.game.element.collectibles.Collectible;
 import pt.feup.tvvs.pacman.model.game.element.collectibles.PowerUp;
 import pt.feup.tvvs.pacman.model.game.element.ghost.Ghost;
 import pt.feup.tvvs.pacman.model.game.element.ghost.GhostState;
@@ -22,12 +24,14 @@ public class CollisionController extends GameController {
     private final AudioPlayer collectibleEatenAudio;
     private final AudioPlayer ghostsAliveSiren;
     private final AudioPlayer ghostsScaredSiren;
+    private final SpatialIndex<Ghost> ghostIndex; //rebuilt every tick, pacmans only test the ghosts on the tiles around them
     private int deadPacmanTimeCounter; //counter for one dead pacman on multiplayer
     private int ghostsEaten; //ghosts eaten in current scared state
     private int scaredTimeLeft;
 
     public CollisionController(Arena arena, AudioManager audioManager) {
         super(arena);
+        this.ghostIndex = new SpatialIndex<>(arena.getWidth(), arena.getHeight());
 
         audioManager.addAudio("ghostEaten", "Audio/ghostEaten.wav");
         this.ghostEatenAudio = audioManager.getAudio("ghostEaten");
@@ -50,11 +54,15 @@ public class CollisionController extends GameController {
         this.scaredTimeLeft = 0;
     }
 
-    private void checkPacmanGhostCollision(Game game) throws IOException, URISyntaxException {
+    private boolean checkPacmanGhostCollision() {
+        boolean allPacmansCaught = false;
+        ghostIndex.rebuild(getModel().getGhosts());
         for (Pacman pacman : getModel().getPacmans()) {
             if (pacman.isDying()) continue; //don't process collisions with dead pacmans
+            int nearGhosts = ghostIndex.findNear(pacman);
             outer:
-            for (Ghost ghost : getModel().getGhosts()) {
+            for (int i = 0; i < nearGhosts; ++i) {
+                Ghost ghost = ghostIndex.getFound(i);
                 if (ghost.collidingWith(pacman)) {
                     switch (ghost.getState()) {
                         case ALIVE:
@@ -63,10 +71,7 @@ public class CollisionController extends GameController {
                             pacman.setSpeed(Arena.PACMAN_NORMAL_SPEED);
                             long alivePacmans = getModel().getPacmans().stream().filter(pacman1 -> !pacman1.isDying()).count();
                             //first condition is for multiplayer, second is for single player
-                            if (alivePacmans == 0) {
-                                game.getAudioManager().stopAllAudios();
-                                game.setState(new DyingState(getModel(), game.getAudioManager()));
-                            }
+                            if (alivePacmans == 0) allPacmansCaught = true;
                             //if no pacman is dead before set counter to freeze the dead pacman (multiplayer only)
                             else deadPacmanTimeCounter = 110;
                             break outer;
@@ -83,42 +88,52 @@ public class CollisionController extends GameController {
                 }
             }
         }
+        return allPacmansCaught;
     }
 
     private void checkPacmanCollectibleCollision() {
         for (Pacman pacman : getModel().getPacmans()) {
-            if (pacman.isDying()) continue;
-            getModel().getCollectibles().removeIf(collectible -> { //safe remove while iterating
-                if (pacman.getPosition().equals(collectible.getPosition())) {
-                    if (collectible.getClass() == PowerUp.class) {
-                        scaredTimeLeft = 1500;
-                        ghostsEaten = 0;
-                        ghostsAliveSiren.stopPlaying();
-                        if (!ghostsScaredSiren.isPlaying()) ghostsScaredSiren.playInLoop();
-
-                        getModel().getGhosts().forEach(ghost -> {
-                            if (!ghost.isDead()) {
-                                ghost.setState(GhostState.SCARED);
-                                ghost.setSpeed(Arena.GHOST_SCARED_SPEED);
-                                if (!ghost.getPosition().equals(getModel().getGhostGate().getPosition()))
-                                    ghost.invertDirection();
-                            }
-                        });
-                        for (Pacman p : getModel().getPacmans()) p.setSpeed(Arena.PACMAN_BOOSTED_SPEED);
-                    }
-                    collectibleEatenAudio.playOnce();
-                    getModel().addBlankPosition(new Position(collectible.getPosition())); //new position to be cleared
-                    getModel().incrementScore(collectible.getValue());
-                    getModel().incrementCollectedCollectibles();
-                    return true;
+            Position position = pacman.getPosition();
+            if (pacman.isDying() || position == null) continue; //not placed in the arena yet, nothing under it
+            Collectible eaten = getModel().getCollectible(position.getX(), position.getY());
+            if (eaten != null) eatCollectible(eaten);
+        }
+    }
+
+    private void eatCollectible(Collectible collectible) {
+        if (collectible.getClass() == PowerUp.class) {
+            scaredTimeLeft = 1500;
+            ghostsEaten = 0;
+            ghostsAliveSiren.stopPlaying();
+            if (!ghostsScaredSiren.isPlaying()) ghostsScaredSiren.playInLoop();
+
+            getModel().getGhosts().forEach(ghost -> {
+                if (!ghost.isDead()) {
+                    ghost.setState(GhostState.SCARED);
+                    ghost.setSpeed(Arena.GHOST_SCARED_SPEED);
+                    if (!getModel().isGhostGate(ghost.getPosition()))
+                        ghost.invertDirection();
                 }
-                return false;
             });
+            for (Pacman p : getModel().getPacmans()) p.setSpeed(Arena.PACMAN_BOOSTED_SPEED);
         }
+        collectibleEatenAudio.playOnce();
+        getModel().removeCollectible(collectible);
+        getModel().addBlankPosition(new Position(collectible.getPosition())); //new position to be cleared
+        getModel().incrementScore(collectible.getValue());
+        getModel().incrementCollectedCollectibles();
     }
 
     @Override
     public void step(Game game, List<GUI.ACTION> actions, long time) throws IOException, URISyntaxException {
+        if (update()) {
+            game.getAudioManager().stopAllAudios();
+            game.setState(new DyingState(getModel(), game.getAudioManager()));
+        }
+    }
+
+    //applies one tick of the collision rules without touching the game, returns true when every pacman got caught
+    public boolean update() {
         if (!ghostsAliveSiren.isPlaying() && !ghostsScaredSiren.isPlaying()) {
             if (scaredTimeLeft == 0) ghostsAliveSiren.playInLoop(); //start of the game or leaving pause menu
             else ghostsScaredSiren.playInLoop(); //leaving pause menu and scared state was on before
@@ -148,8 +163,9 @@ public class CollisionController extends GameController {
             ghostsEaten = 0;
         }
 
-        checkPacmanGhostCollision(game); //check and process collisions between ghosts and pacmans
+        boolean allPacmansCaught = checkPacmanGhostCollision(); //check and process collisions between ghosts and pacmans
         checkPacmanCollectibleCollision(); //check and process collisions between collectibles and pacmans
+        return allPacmansCaught;
 
     }
 }
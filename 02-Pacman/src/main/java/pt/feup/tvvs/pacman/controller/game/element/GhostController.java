@@ -8,6 +8,7 @@ import pt.feup.tvvs.pacman.controller.game.element.behaviours.*;
 import pt.feup.tvvs.pacman.gui.GUI;
 import pt.feup.tvvs.pacman.model.Position;
 import pt.feup.tvvs.pacman.model.game.Arena;
+import pt.feup.tvvs.pacman.model.game.DistanceFields;
 import pt.feup.tvvs.pacman.model.game.element.Direction;
 import pt.feup.tvvs.pacman.model.game.element.ghost.*;
 
@@ -15,37 +16,35 @@ import java.util.List;
 import java.util.Map;
 
 public class GhostController extends GameController {
+    private static final Direction[] DIRECTIONS = Direction.values(); //values() copies the array on every call
     private final Map<Class<?>, GhostMovementBehaviour> movementBehaviours;
+    private final GhostTuning tuning;
+    private final boolean pathfinding; //steer by walking distance along the maze instead of straight line distance
     private int frameCount; //useful for alternating between chase and scatter states when ghosts are alive
     private int targetPacman;
 
     public GhostController(Arena arena) {
+        this(arena, false);
+    }
+
+    public GhostController(Arena arena, boolean pathfinding) {
+        this(arena, pathfinding, GhostTuning.DEFAULT);
+    }
+
+    public GhostController(Arena arena, boolean pathfinding, GhostTuning tuning) {
         super(arena);
+        this.tuning = tuning;
+        this.pathfinding = pathfinding;
         this.movementBehaviours = Map.of(
                 Blinky.class, new BlinkyMovementBehaviour(),
                 Pinky.class, new PinkyMovementBehaviour(),
-                Inky.class, new InkyMovementBehaviour(),
-                Clyde.class, new ClydeMovementBehaviour()
+                Inky.class, new InkyMovementBehaviour(tuning),
+                Clyde.class, new ClydeMovementBehaviour(tuning)
         );
         this.frameCount = 0;
         this.targetPacman = 0;
     }
 
-
-    private Position getNextPosition(Position position, Direction direction) {
-        switch (direction) {
-            case UP:
-                return position.getUp();
-            case DOWN:
-                return position.getDown();
-            case LEFT:
-                return position.getLeft();
-            case RIGHT:
-                return position.getRight();
-        }
-        return null;
-    }
-
     private void moveGhost(Ghost ghost) {//checks if the ghost can move in newDirection and moves it if it can
         if (ghost.getCounter() > 0) {
             ghost.incrementCounter();
@@ -54,7 +53,7 @@ public class GhostController extends GameController {
         Position targetPosition = movementBehaviours.get(ghost.getClass()).getTargetPosition(ghost, getModel(), getModel().getPacmans().get(targetPacman), isChaseMode());
         Direction nextDirection = getDirectionTowards(ghost, targetPosition);
         ghost.setDirection(nextDirection);
-        if (ghost.getPosition().equals(getModel().getGhostGate().getPosition())) {
+        if (getModel().isGhostGate(ghost.getPosition())) {
             if (ghost.isDead()) { //dead ghost arrives at the ghost gate
                 ghost.setState(GhostState.ALIVE);
                 ghost.setInsideGate();
@@ -65,20 +64,25 @@ public class GhostController extends GameController {
     }
 
     private boolean isChaseMode() {
-        return ((frameCount >= 450 && frameCount < 2700) || frameCount >= 3200);
+        return tuning.isChaseMode(frameCount);
     }
 
-    private Direction getDirectionTowards(Ghost ghost, Position targetPosition) {//choose new direction to follow (the one with the minimum linear distance from target)
+    private Direction getDirectionTowards(Ghost ghost, Position targetPosition) {//choose new direction to follow (the one with the minimum distance from target)
         Direction currentDirection = ghost.getDirection();
         Direction nextDirection = Direction.UP;
         double minimumDistance = Double.MAX_VALUE;
         double tempDistance;
-        for (Direction direction : Direction.values()) {
-            Position testPosition = getNextPosition(ghost.getPosition(), direction);
+        DistanceFields distanceFields = pathfinding ? getModel().getDistanceFields(ghost.isInsideGate() || ghost.isDead()) : null;
+        //targets on walls or outside the arena (e.g. scatter corners) have no path, aim at them in a straight line
+        if (distanceFields != null && !distanceFields.isReachable(targetPosition.getX(), targetPosition.getY()))
+            distanceFields = null;
+        int x = ghost.getPosition().getX(), y = ghost.getPosition().getY();
+        for (Direction direction : DIRECTIONS) {
+            int testX = x + direction.getDx(), testY = y + direction.getDy();
             if (!direction.isOpposite(currentDirection) && //can't move in opposite direction
-                    (tempDistance = testPosition.squaredDistance(targetPosition)) < minimumDistance && //can't move in a direction that is farther away from target
-                    getModel().isEmpty(testPosition) && //can't move in a direction where there is a wall
-                    (!testPosition.equals(getModel().getGhostGate().getPosition()) || ghost.isInsideGate() || ghost.isDead())) //can't move to the ghost gate, unless the ghost is inside
+                    (tempDistance = distanceTo(distanceFields, testX, testY, targetPosition)) < minimumDistance && //can't move in a direction that is farther away from target
+                    getModel().isEmpty(testX, testY) && //can't move in a direction where there is a wall
+                    (!getModel().isGhostGate(testX, testY) || ghost.isInsideGate() || ghost.isDead())) //can't move to the ghost gate, unless the ghost is inside
             {
                 minimumDistance = tempDistance;
                 nextDirection = direction;
@@ -87,12 +91,17 @@ public class GhostController extends GameController {
         return nextDirection;
     }
 
+    private double distanceTo(DistanceFields distanceFields, int x, int y, Position targetPosition) {
+        if (distanceFields == null) return Position.squaredDistance(x, y, targetPosition.getX(), targetPosition.getY());
+        return distanceFields.distance(x, y, targetPosition.getX(), targetPosition.getY());
+    }
+
     @Override
     public void step(Game game, List<GUI.ACTION> actions, long time) {
-        if (frameCount == 450 || frameCount == 2700 || frameCount == 3200)
+        if (tuning.isModeSwitch(frameCount))
             //toggle between chase and scatter modes
             getModel().getGhosts().forEach(ghost -> {
-                if (!ghost.getPosition().equals(getModel().getGhostGate().getPosition())) ghost.invertDirection();
+                if (!getModel().isGhostGate(ghost.getPosition())) ghost.invertDirection();
             });
 
         //change the target pacman from time to time on multiplayer
@@ -0,0 +1,74 @@
+package pt.feup.tvvs.pacman.controller.game.element;
+
+//the constants that decide how hard the ghosts are, DEFAULT holds the ones the game plays with
+public class GhostTuning {
+    public static final GhostTuning DEFAULT = new GhostTuning(450, 2700, 3200, 36, 60, 25);
+
+    private final int chaseStart; //frame the first scatter ends and the ghosts start chasing
+    private final int scatterStart; //frame they scatter again
+    private final int chaseResume; //frame they chase for good
+    private final int clydeShyDistance; //squared distance under which clyde runs to his corner instead of chasing
+    private final int clydeRelease; //collectibles eaten before clyde leaves the ghost house
+    private final int inkyRelease; //same for inky
+
+    public GhostTuning(int chaseStart, int scatterStart, int chaseResume, int clydeShyDistance, int clydeRelease, int inkyRelease) {
+        if (chaseStart > scatterStart || scatterStart > chaseResume)
+            throw new IllegalArgumentException("Mode switches must be in order: " + chaseStart + ", " + scatterStart + ", " + chaseResume);
+        this.chaseStart = chaseStart;
+        this.scatterStart = scatterStart;
+        this.chaseResume = chaseResume;
+        this.clydeShyDistance = clydeShyDistance;
+        this.clydeRelease = clydeRelease;
+        this.inkyRelease = inkyRelease;
+    }
+
+    //the defaults, each one replaced by its -Dpacman.ghost.<name> property when given (e.g. -Dpacman.ghost.chaseStart=300)
+    public static GhostTuning fromProperties() {
+        return new GhostTuning(
+                Integer.getInteger("pacman.ghost.chaseStart", DEFAULT.chaseStart),
+                Integer.getInteger("pacman.ghost.scatterStart", DEFAULT.scatterStart),
+                Integer.getInteger("pacman.ghost.chaseResume", DEFAULT.chaseResume),
+                Integer.getInteger("pacman.ghost.clydeShyDistance", DEFAULT.clydeShyDistance),
+                Integer.getInteger("pacman.ghost.clydeRelease", DEFAULT.clydeRelease),
+                Integer.getInteger("pacman.ghost.inkyRelease", DEFAULT.inkyRelease));
+    }
+
+    public boolean isChaseMode(int frame) {
+        return (frame >= chaseStart && frame < scatterStart) || frame >= chaseResume;
+    }
+
+    //frames on which the ghosts turn around because the mode changed
+    public boolean isModeSwitch(int frame) {
+        return frame == chaseStart || frame == scatterStart || frame == chaseResume;
+    }
+
+    public int getChaseStart() {
+        return chaseStart;
+    }
+
+    public int getScatterStart() {
+        return scatterStart;
+    }
+
+    public int getChaseResume() {
+        return chaseResume;
+    }
+
+    public int getClydeShyDistance() {
+        return clydeShyDistance;
+    }
+
+    public int getClydeRelease() {
+        return clydeRelease;
+    }
+
+    public int getInkyRelease() {
+        return inkyRelease;
+    }
+
+    @Override
+    public String toString() {
+        return "chase " + chaseStart + "-" + scatterStart + " and from " + chaseResume + ", clyde shy under " + clydeShyDistance
+                + ", clyde out at " + clydeRelease + ", inky out at " + inkyRelease;
+    }
+}
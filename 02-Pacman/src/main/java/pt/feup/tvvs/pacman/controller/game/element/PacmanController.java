@@ -14,10 +14,12 @@ import java.util.List;
 
 public class PacmanController extends GameController {
     private final List<Direction> desiredDirections; //one for each pacman
+    private final Pacman probe; //stands on the tile a pacman wants to enter to test it against the others
 
     public PacmanController(Arena arena) {
         super(arena);
         this.desiredDirections = Arrays.asList(null, null);
+        this.probe = new Pacman(new Position(0, 0));
     }
 
     private void movePacman(Pacman pacman, Direction desiredDirection) {
@@ -33,15 +35,11 @@ public class PacmanController extends GameController {
         }
 
         if (desiredDirection != null) { //try to go in the desired direction
-            Position nextDesiredPosition = calculateNextPosition(pacman.getPosition(), desiredDirection);
+            int desiredX = pacman.getPosition().getX() + desiredDirection.getDx();
+            int desiredY = pacman.getPosition().getY() + desiredDirection.getDy();
 
-            boolean isPositionValid = getModel().isEmpty(nextDesiredPosition) &&
-                    getModel().getPacmans().stream()
-                            .filter(other -> !other.isDying()) // Ignore the current Pacman
-                            .noneMatch(other -> other.collidingWith(new Pacman(nextDesiredPosition)));
-
-            if (isPositionValid &&
-                    !getModel().getGhostGate().getPosition().equals(nextDesiredPosition)) {
+            if (canEnter(desiredX, desiredY) &&
+                    !collidesWithAlivePacman(desiredX, desiredY)) {
                 pacman.setDirection(desiredDirection);
                 pacman.incrementCounter();
                 return;
@@ -49,31 +47,28 @@ public class PacmanController extends GameController {
         }
 
         //if the desired direction was invalid, try to go the in the current direction
-        Position nextPosition = pacman.getNextPosition();
+        int nextX = pacman.getNextX(), nextY = pacman.getNextY();
 
         // Ensure the next position is valid for movement
-        if (getModel().isEmpty(nextPosition) &&
-                !getModel().getGhostGate().getPosition().equals(nextPosition) &&
-                getModel().getPacmans().stream()
-                        .filter(other -> !other.isDying()) // Ignore the dead pacmans
-                        .noneMatch(other -> other.collidingWith(new Pacman(nextPosition)))) {
+        if (canEnter(nextX, nextY) &&
+                !collidesWithAlivePacman(nextX, nextY)) {
             pacman.incrementCounter();
         }
     }
 
+    //the arena has no tunnels, so its edge blocks pacmans like a wall even where the map leaves it open
+    private boolean canEnter(int x, int y) {
+        return getModel().isInside(x, y) && getModel().isEmpty(x, y) && !getModel().isGhostGate(x, y);
+    }
 
-    private Position calculateNextPosition(Position position, Direction direction) {
-        switch (direction) {
-            case UP:
-                return position.getUp();
-            case DOWN:
-                return position.getDown();
-            case LEFT:
-                return position.getLeft();
-            case RIGHT:
-                return position.getRight();
+    private boolean collidesWithAlivePacman(int x, int y) {
+        probe.setPosition(x, y);
+        List<Pacman> pacmans = getModel().getPacmans();
+        for (int i = 0; i < pacmans.size(); ++i) {
+            Pacman other = pacmans.get(i);
+            if (!other.isDying() && other.collidingWith(probe)) return true; // Ignore the dead pacmans
         }
-        return null;
+        return false;
     }
 
     @Override
@@ -9,7 +9,7 @@ public class BlinkyMovementBehaviour extends GhostMovementBehaviour {
     @Override
     protected Position getAlivePosition(Ghost ghost, Arena arena, Pacman targetPacman, boolean chaseMode) {
         if (ghost.isInsideGate()) return arena.getGhostGate().getPosition();
-        if (!chaseMode) return new Position(arena.getWidth(), 0);
+        if (!chaseMode) return target(arena.getWidth(), 0);
         return targetPacman.getPosition();
     }
 }
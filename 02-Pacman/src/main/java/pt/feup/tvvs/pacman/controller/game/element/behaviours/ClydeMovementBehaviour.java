@@ -1,21 +1,32 @@
 package pt.feup.tvvs.pacman.controller.game.element.behaviours;
 
+import pt.feup.tvvs.pacman.controller.game.element.GhostTuning;
 import pt.feup.tvvs.pacman.model.Position;
 import pt.feup.tvvs.pacman.model.game.Arena;
 import pt.feup.tvvs.pacman.model.game.element.ghost.Ghost;
 import pt.feup.tvvs.pacman.model.game.element.pacman.Pacman;
 
 public class ClydeMovementBehaviour extends GhostMovementBehaviour {
+    private final GhostTuning tuning;
+
+    public ClydeMovementBehaviour() {
+        this(GhostTuning.DEFAULT);
+    }
+
+    public ClydeMovementBehaviour(GhostTuning tuning) {
+        this.tuning = tuning;
+    }
+
     @Override
     protected Position getAlivePosition(Ghost ghost, Arena arena, Pacman targetPacman, boolean chaseMode) {
-        if (arena.getCollectedCollectibles() < 60) return new Position(10, 11);
+        if (arena.getCollectedCollectibles() < tuning.getClydeRelease()) return target(10, 11);
         if (ghost.isInsideGate()) return arena.getGhostGate().getPosition();
-        if (!chaseMode) return new Position(0, arena.getHeight());
+        if (!chaseMode) return target(0, arena.getHeight());
 
-        if (ghost.getPosition().squaredDistance(targetPacman.getPosition()) >= 36) {//6 or more tiles away
+        if (ghost.getPosition().squaredDistance(targetPacman.getPosition()) >= tuning.getClydeShyDistance()) {//6 or more tiles away by default
             return targetPacman.getPosition();
         } else {
-            return new Position(0, arena.getHeight());
+            return target(0, arena.getHeight());
         }
     }
 }
@@ -7,6 +7,8 @@ import pt.feup.tvvs.pacman.model.game.element.pacman.Pacman;
 
 
 public abstract class GhostMovementBehaviour {
+    private final Position target = new Position(0, 0);
+
     public Position getTargetPosition(Ghost ghost, Arena arena, Pacman targetPacman, boolean chaseMode) {
         switch (ghost.getState()) {
             case ALIVE:
@@ -14,10 +16,17 @@ public abstract class GhostMovementBehaviour {
             case DEAD:
                 return arena.getGhostGate().getPosition();
             case SCARED:
-                return (ghost.isInsideGate() ? getAlivePosition(ghost, arena, targetPacman, chaseMode) : new Position((int) (Math.random() * 29), (int) (Math.random() * 16)));
+                return (ghost.isInsideGate() ? getAlivePosition(ghost, arena, targetPacman, chaseMode) : target(arena.getRandom().nextInt(arena.getWidth()), arena.getRandom().nextInt(arena.getHeight())));
         }
         return null;
     }
 
+    //computed targets share one position per behaviour, it is only valid until the next target is asked for
+    protected Position target(int x, int y) {
+        target.setX(x);
+        target.setY(y);
+        return target;
+    }
+
     protected abstract Position getAlivePosition(Ghost ghost, Arena arena, Pacman targetPacman, boolean chaseMode);
 }
@@ -1,5 +1,6 @@
 package pt.feup.tvvs.pacman.controller.game.element.behaviours;
 
+import pt.feup.tvvs.pacman.controller.game.element.GhostTuning;
 import pt.feup.tvvs.pacman.model.Position;
 import pt.feup.tvvs.pacman.model.game.Arena;
 import pt.feup.tvvs.pacman.model.game.element.ghost.Blinky;
@@ -7,11 +8,21 @@ import pt.feup.tvvs.pacman.model.game.element.ghost.Ghost;
 import pt.feup.tvvs.pacman.model.game.element.pacman.Pacman;
 
 public class InkyMovementBehaviour extends GhostMovementBehaviour {
+    private final GhostTuning tuning;
+
+    public InkyMovementBehaviour() {
+        this(GhostTuning.DEFAULT);
+    }
+
+    public InkyMovementBehaviour(GhostTuning tuning) {
+        this.tuning = tuning;
+    }
+
     @Override
     protected Position getAlivePosition(Ghost ghost, Arena arena, Pacman targetPacman, boolean chaseMode) {
-        if (arena.getCollectedCollectibles() < 25) return new Position(8, 11);
+        if (arena.getCollectedCollectibles() < tuning.getInkyRelease()) return target(8, 11);
         if (ghost.isInsideGate()) return arena.getGhostGate().getPosition();
-        if (!chaseMode) return new Position(arena.getWidth(), arena.getHeight());
+        if (!chaseMode) return target(arena.getWidth(), arena.getHeight());
 
         Ghost blinky = null;
         for (Ghost g : arena.getGhosts())
@@ -31,7 +42,7 @@ public class InkyMovementBehaviour extends GhostMovementBehaviour {
         if (newY < 0) newY = 0;
         if (newY > arena.getHeight()) newY = arena.getHeight();
 
-        return new Position(newX, newY);
+        return target(newX, newY);
     }
 
 }
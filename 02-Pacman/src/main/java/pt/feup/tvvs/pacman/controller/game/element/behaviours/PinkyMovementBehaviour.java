@@ -9,7 +9,7 @@ public class PinkyMovementBehaviour extends GhostMovementBehaviour {
     @Override
     protected Position getAlivePosition(Ghost ghost, Arena arena, Pacman targetPacman, boolean chaseMode) {
         if (ghost.isInsideGate()) return arena.getGhostGate().getPosition();
-        if (!chaseMode) return new Position(0, 0);
+        if (!chaseMode) return target(0, 0);
 
         int newX = targetPacman.getPosition().getX(), newY = targetPacman.getPosition().getY();
         switch (targetPacman.getDirection()) {
@@ -22,6 +22,6 @@ public class PinkyMovementBehaviour extends GhostMovementBehaviour {
             case LEFT:
                 newX = Math.max(0, newX - 3); break;
         }
-        return new Position(newX, newY);
+        return target(newX, newY);
     }
 }
@@ -4,7 +4,7 @@ import pt.feup.tvvs.pacman.Game;
 import pt.feup.tvvs.pacman.audio.AudioManager;
 import pt.feup.tvvs.pacman.gui.GUI;
 import pt.feup.tvvs.pacman.model.game.Arena;
-import pt.feup.tvvs.pacman.model.game.ArenaLoader;
+import pt.feup.tvvs.pacman.model.game.MapRepository;
 import pt.feup.tvvs.pacman.model.menu.MainMenu;
 import pt.feup.tvvs.pacman.model.menu.MapSelectionMenu;
 import pt.feup.tvvs.pacman.states.game.GameState;
@@ -26,11 +26,9 @@ public class MapSelectionMenuController extends MenuController<MapSelectionMenu>
         for (GUI.ACTION action : actions) {
             if (action == GUI.ACTION.SELECT) {
                 menuConfirmSelection.playOnce();
-                Arena arena = new Arena(29, 16);
-                ArenaLoader arenaLoader = new ArenaLoader(arena);
-
-                arenaLoader.loadMap("src/main/resources/Maps/" + model.getFolderstring() + "/" +
-                        model.getOptions().get(model.getSelectedOption()).getText() + ".txt");
+                String map = model.getOptions().get(model.getSelectedOption()).getText();
+                Arena arena = MapRepository.getInstance().createArena(model.getFolderstring(), map);
+                if (game.getRecorder() != null) game.getRecorder().start(model.getFolderstring(), map, arena);
 
                 game.setState(new GameState(arena, game.getAudioManager()));
             } else if (action == GUI.ACTION.QUIT) {
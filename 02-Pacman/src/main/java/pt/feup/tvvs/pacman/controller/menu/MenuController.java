@@ -30,7 +30,7 @@ public abstract class MenuController<T extends Menu> extends Controller<T> {
     }
 
     protected float handleVolumeChange(Game game) {
-        game.getGui().clear();
+        game.clearScreen();
         float newVolume = game.getAudioManager().getMasterVolume() == 1f ? 0.1f
                 : Math.round((game.getAudioManager().getMasterVolume() + 0.1f) * 10) / 10f;
 
@@ -61,7 +61,7 @@ public abstract class MenuController<T extends Menu> extends Controller<T> {
             game.getAudioManager().setMasterVolume(newVolume);
             menuOptions.setMasterVolume(newVolume);
 
-            game.getGui().clear();
+            game.clearScreen();
 
             menuSelect.playOnce();
         }
@@ -0,0 +1,181 @@
+package pt.feup.tvvs.pacman.gui;
+
+import com.googlecode.lanterna.TextCharacter;
+import com.googlecode.lanterna.TextColor;
+import com.googlecode.lanterna.graphics.BasicTextImage;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.util.Arrays;
+
+//the logical screen as argb pixels, one per terminal cell, drawn with the same rules LanternaGUI follows for its cells:
+//image pixels with rgb 0 are transparent, text images copy every cell and the default color is black; all writes are clipped
+public class Framebuffer {
+    public static final int OPAQUE = 0xFF000000;
+    public static final int BLACK = OPAQUE;
+
+    private final int width, height;
+    private final BufferedImage image;
+    private final int[] pixels; //the image's own raster, so drawing it to the screen needs no copy
+    private TextColor lastColor; //text is drawn in few colors, the last conversion is kept
+    private int lastArgb;
+    private int[] writtenFrame; //counted frame each pixel was last written on, null unless the writes are counted
+    private int countedFrame;
+    private long writtenPixels, overdrawnPixels;
+
+    public Framebuffer(int width, int height) {
+        this.width = width;
+        this.height = height;
+        this.image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        this.pixels = ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
+        clear();
+    }
+
+    public static int toArgb(TextColor color) {
+        if (color == null) return BLACK;
+        return OPAQUE | color.getRed() << 16 | color.getGreen() << 8 | color.getBlue();
+    }
+
+    private int argbOf(TextColor color) {
+        if (color != lastColor) {
+            lastArgb = toArgb(color);
+            lastColor = color;
+        }
+        return lastArgb;
+    }
+
+    public void clear() {
+        Arrays.fill(pixels, BLACK);
+        if (writtenFrame != null) for (int i = 0; i < pixels.length; ++i) count(i);
+    }
+
+    //from now on every pixel written is counted, and written again on the same frame counts as overdraw
+    public void countWrites() {
+        if (writtenFrame == null) writtenFrame = new int[pixels.length];
+        resetCounts();
+    }
+
+    //starts counting a new frame
+    public void resetCounts() {
+        ++countedFrame;
+        writtenPixels = 0;
+        overdrawnPixels = 0;
+    }
+
+    private void put(int index, int argb) {
+        pixels[index] = argb;
+        if (writtenFrame != null) count(index);
+    }
+
+    private void count(int index) {
+        ++writtenPixels;
+        if (writtenFrame[index] == countedFrame) ++overdrawnPixels;
+        else writtenFrame[index] = countedFrame;
+    }
+
+    public void fill(int x, int y, int fillWidth, int fillHeight, int argb) {
+        int fromX = Math.max(0, x), toX = Math.min(width, x + fillWidth);
+        int fromY = Math.max(0, y), toY = Math.min(height, y + fillHeight);
+        if (fromX >= toX) return;
+        for (int row = fromY; row < toY; ++row) {
+            Arrays.fill(pixels, row * width + fromX, row * width + toX, argb);
+            if (writtenFrame != null) for (int i = row * width + fromX; i < row * width + toX; ++i) count(i);
+        }
+    }
+
+    public void drawImage(int x, int y, BufferedImage source, int sourceWidth, int sourceHeight) {
+        for (int row = 0; row < sourceHeight; ++row) {
+            int targetY = y + row;
+            if (targetY < 0 || targetY >= height) continue;
+            for (int column = 0; column < sourceWidth; ++column) {
+                int targetX = x + column;
+                if (targetX < 0 || targetX >= width) continue;
+                int rgb = source.getRGB(column, row);
+                if (rgb != 0) put(targetY * width + targetX, OPAQUE | rgb);
+            }
+        }
+    }
+
+    public void drawTextImage(int x, int y, BasicTextImage source) {
+        int sourceWidth = source.getSize().getColumns(), sourceHeight = source.getSize().getRows();
+        for (int row = 0; row < sourceHeight; ++row) {
+            int targetY = y + row;
+            if (targetY < 0 || targetY >= height) continue;
+            for (int column = 0; column < sourceWidth; ++column) {
+                int targetX = x + column;
+                if (targetX < 0 || targetX >= width) continue;
+                TextCharacter cell = source.getCharacterAt(column, row);
+                put(targetY * width + targetX, cell == null ? BLACK : argbOf(cell.getBackgroundColor()));
+            }
+        }
+    }
+
+    public void drawSprite(int x, int y, Sprite sprite) {
+        for (int row = 0; row < sprite.getHeight(); ++row) {
+            int targetY = y + row;
+            if (targetY < 0 || targetY >= height) continue;
+            for (int column = 0; column < sprite.getWidth(); ++column) {
+                int targetX = x + column;
+                if (targetX < 0 || targetX >= width) continue;
+                TextCharacter cell = sprite.getCell(column, row);
+                if (cell != null) put(targetY * width + targetX, argbOf(cell.getBackgroundColor()));
+            }
+        }
+    }
+
+    public void drawGlyph(int x, int y, GlyphAtlas.Glyph glyph, TextColor color) {
+        int argb = argbOf(color);
+        long mask = glyph.getMask();
+        while (mask != 0) {
+            int bit = Long.numberOfTrailingZeros(mask);
+            int targetX = x + bit % GlyphAtlas.Glyph.WIDTH, targetY = y + bit / GlyphAtlas.Glyph.WIDTH;
+            if (targetX >= 0 && targetX < width && targetY >= 0 && targetY < height) put(targetY * width + targetX, argb);
+            mask &= mask - 1;
+        }
+    }
+
+    public void drawCharacter(int x, int y, BufferedImage character, TextColor color) {
+        int argb = argbOf(color);
+        for (int row = 0; row < GlyphAtlas.Glyph.HEIGHT; ++row) {
+            int targetY = y + row;
+            if (targetY < 0 || targetY >= height) continue;
+            for (int column = 0; column < GlyphAtlas.Glyph.WIDTH; ++column) {
+                int targetX = x + column;
+                if (targetX < 0 || targetX >= width) continue;
+                if (character.getRGB(column, row) != 0) put(targetY * width + targetX, argb);
+            }
+        }
+    }
+
+    //pixels written since the counts were last reset
+    public long getWrittenPixels() {
+        return writtenPixels;
+    }
+
+    //pixels written again after already being written since the counts were last reset
+    public long getOverdrawnPixels() {
+        return overdrawnPixels;
+    }
+
+    public int getPixel(int x, int y) {
+        return pixels[y * width + x];
+    }
+
+    //the pixels row by row, written in place by every draw
+    public int[] getPixels() {
+        return pixels;
+    }
+
+    //backed by the same pixels
+    public BufferedImage getImage() {
+        return image;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+}
@@ -19,10 +19,25 @@ public interface GUI {
 
     void drawImage(Position position, BufferedImage image, int width, int height);
 
+    //implementations that can't blit pre-decoded cells fall back to drawing the source image
+    default void drawSprite(Position position, Sprite sprite) {
+        drawImage(position, sprite.getImage(), sprite.getWidth(), sprite.getHeight());
+    }
+
     void drawCharacter(Position position, BufferedImage character, TextColor color);
 
+    //implementations that can't use the rasterized mask fall back to drawing the glyph's image
+    default void drawGlyph(Position position, GlyphAtlas.Glyph glyph, TextColor color) {
+        drawCharacter(position, glyph.getImage(), color);
+    }
+
     void clear();
 
+    //changes every time the screen contents are lost (clear, resize), so retained viewers know when to draw everything again
+    default long getGeneration() {
+        return 0;
+    }
+
     void erase(Position position);
 
     void refresh() throws IOException;
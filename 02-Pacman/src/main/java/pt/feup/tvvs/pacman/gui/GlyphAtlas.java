@@ -0,0 +1,57 @@
+package pt.feup.tvvs.pacman.gui;
+
+import java.awt.image.BufferedImage;
+import java.util.Map;
+
+//the font's characters rasterized once into bit masks, looked up by character code instead of through a map of boxed characters
+//the font only has capitals, so lower case letters get the glyph of their capital
+public class GlyphAtlas {
+    private static final int CHARACTERS = 128; //the font map is plain ascii
+
+    private final Glyph[] glyphs;
+
+    public GlyphAtlas(Map<Character, BufferedImage> characters) {
+        this.glyphs = new Glyph[CHARACTERS];
+        for (Map.Entry<Character, BufferedImage> entry : characters.entrySet()) {
+            char character = entry.getKey();
+            if (character >= CHARACTERS) continue;
+            Glyph glyph = new Glyph(entry.getValue());
+            glyphs[character] = glyph;
+            char lower = Character.toLowerCase(character);
+            if (lower != character && lower < CHARACTERS && !characters.containsKey(lower)) glyphs[lower] = glyph;
+        }
+    }
+
+    //glyph of the character or null when the font doesn't have it
+    public Glyph getGlyph(char character) {
+        return character < CHARACTERS ? glyphs[character] : null;
+    }
+
+    public static class Glyph {
+        public static final int WIDTH = 5, HEIGHT = 11;
+
+        private final BufferedImage image;
+        private final long mask; //bit y * WIDTH + x is set for every opaque pixel
+
+        public Glyph(BufferedImage image) {
+            this.image = image;
+            long mask = 0;
+            for (int y = 0; y < Math.min(HEIGHT, image.getHeight()); y++)
+                for (int x = 0; x < Math.min(WIDTH, image.getWidth()); x++)
+                    if (image.getRGB(x, y) != 0) mask |= 1L << (y * WIDTH + x);
+            this.mask = mask;
+        }
+
+        public BufferedImage getImage() {
+            return image;
+        }
+
+        public long getMask() {
+            return mask;
+        }
+
+        public boolean isSet(int x, int y) {
+            return (mask >>> (y * WIDTH + x) & 1) != 0;
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package pt.feup.tvvs.pacman.gui;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+//ring buffer of timestamped actions with one thread offering and one draining, neither of them locks or allocates
+//the producer only moves head and the consumer only moves tail, a slot is published by the head moving past it
+public class InputQueue {
+    private static final GUI.ACTION[] ACTIONS = GUI.ACTION.values();
+
+    private final byte[] actions;
+    private final long[] times; //System.nanoTime() of each action
+    private final int mask;
+    private final AtomicLong head; //next slot to write
+    private final AtomicLong tail; //next slot to read
+    private long dropped; //actions offered while the buffer was full, only touched by the producer
+    private long oldestDrained; //time of the oldest action in the last drain, only touched by the consumer
+
+    //capacity is rounded up to a power of two
+    public InputQueue(int capacity) {
+        int size = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1;
+        this.actions = new byte[size];
+        this.times = new long[size];
+        this.mask = size - 1;
+        this.head = new AtomicLong();
+        this.tail = new AtomicLong();
+    }
+
+    //producer side, returns false and drops the action when the consumer is a whole buffer behind
+    public boolean offer(GUI.ACTION action, long time) {
+        long position = head.get();
+        if (position - tail.get() > mask) {
+            ++dropped;
+            return false;
+        }
+        int slot = (int) position & mask;
+        actions[slot] = (byte) action.ordinal();
+        times[slot] = time;
+        head.lazySet(position + 1); //ordered after the slot writes
+        return true;
+    }
+
+    //consumer side, appends every queued action to out in the order offered and returns how many
+    public int drain(List<GUI.ACTION> out) {
+        long start = tail.get();
+        long end = head.get();
+        if (start == end) return 0;
+        oldestDrained = times[(int) start & mask];
+        for (long position = start; position < end; ++position) out.add(ACTIONS[actions[(int) position & mask]]);
+        tail.lazySet(end); //frees the slots only after they were read
+        return (int) (end - start);
+    }
+
+    //how long the oldest action of the last drain waited for it, the input latency the game loop adds
+    public long getLatency(long now) {
+        return now - oldestDrained;
+    }
+
+    public long getDropped() {
+        return dropped;
+    }
+
+    public int getCapacity() {
+        return actions.length;
+    }
+}
@@ -2,6 +2,7 @@ package pt.feup.tvvs.pacman.gui;
 
 
 import com.googlecode.lanterna.TerminalSize;
+import com.googlecode.lanterna.TextCharacter;
 import com.googlecode.lanterna.TextColor;
 import com.googlecode.lanterna.graphics.BasicTextImage;
 import com.googlecode.lanterna.graphics.TextGraphics;
@@ -22,21 +23,50 @@ import java.net.URISyntaxException;
 import java.net.URL;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.locks.LockSupport;
 
 public class LanternaGUI implements GUI {
+    private static final int INPUT_CAPACITY = 256;
     private Screen screen;
     private SCREEN_RESOLUTION resolution;
+    private long generation;
+    private final List<ACTION> actions; //handed out by getNextAction, filled again on the next call
+    private final InputQueue input;
+    private Thread inputThread; //null while the keys are polled on the game loop
+    private volatile Screen inputScreen; //screen the input thread reads, null while it is replaced
+    private volatile boolean closed;
+    private TextCharacter glyphCell; //cell of the last glyph color, text is drawn in few colors
+    private TextColor glyphColor;
+    private final TerminalPalette palette; //true or 256 colors, the sprites were quantised by the same one when loaded
+    private final TextColor eraseColor;
+    private final Map<BufferedImage, GlyphAtlas.Glyph> characterGlyphs; //opaque pixels of the characters drawn so far
 
     public LanternaGUI(int width, int height, SCREEN_RESOLUTION resolution) throws IOException, FontFormatException, URISyntaxException {
         AWTTerminalFontConfiguration fontConfig = loadSquareFont(resolutionToFontSize(resolution));
         Terminal terminal = createTerminal(width, height, fontConfig);
         this.screen = createScreen(terminal);
         this.resolution = resolution;
+        this.actions = new ArrayList<>();
+        this.input = new InputQueue(INPUT_CAPACITY);
+        this.palette = TerminalPalette.getInstance();
+        this.eraseColor = palette.toColor(0);
+        this.characterGlyphs = new WeakHashMap<>();
     }
 
     public LanternaGUI(Screen screen, SCREEN_RESOLUTION resolution) {
+        this(screen, resolution, TerminalPalette.getInstance());
+    }
+
+    public LanternaGUI(Screen screen, SCREEN_RESOLUTION resolution, TerminalPalette palette) {
         this.screen = screen;
         this.resolution = resolution;
+        this.actions = new ArrayList<>();
+        this.input = new InputQueue(INPUT_CAPACITY);
+        this.palette = palette;
+        this.eraseColor = palette.toColor(0);
+        this.characterGlyphs = new WeakHashMap<>();
     }
 
     private Screen createScreen(Terminal terminal) throws IOException {
@@ -71,14 +101,21 @@ public class LanternaGUI implements GUI {
 
     @Override
     public void resizeScreen(int width, int height, SCREEN_RESOLUTION newResolution) throws URISyntaxException, IOException, FontFormatException {
+        inputScreen = null; //whatever the old screen still gives the input thread is thrown away
         screen.close();
         AWTTerminalFontConfiguration fontConfig = loadSquareFont(resolutionToFontSize(newResolution));
         Terminal terminal = createTerminal(width, height, fontConfig);
         this.screen = createScreen(terminal);
         this.resolution = newResolution;
+        ++generation;
+        if (inputThread != null) {
+            inputScreen = screen;
+            inputThread.interrupt(); //wakes it up from the old screen
+        }
     }
 
-    private int resolutionToFontSize(SCREEN_RESOLUTION resolution) {
+    //pixels per cell side, also the integer scale SwingGUI draws its pixels at
+    static int resolutionToFontSize(SCREEN_RESOLUTION resolution) {
         switch (resolution) {
             case _360p:
                 return 2;
@@ -103,37 +140,89 @@ public class LanternaGUI implements GUI {
         return resolution;
     }
 
+    //the list is reused, it only holds this frame's actions until the next call
     @Override
     public List<ACTION> getNextAction() throws IOException {
-        List<ACTION> actions = new ArrayList<>();
+        actions.clear();
+        if (inputThread != null) {
+            input.drain(actions);
+            return actions;
+        }
         KeyStroke keyStroke;
         while ((keyStroke = screen.pollInput()) != null) {
-            if (keyStroke.getKeyType() == KeyType.EOF || keyStroke.getKeyType() == KeyType.Escape)
-                actions.add(ACTION.QUIT);
-            else if (keyStroke.getKeyType() == KeyType.Character && keyStroke.getCharacter() == 'q')
-                actions.add(ACTION.QUIT);
-
-            else if (keyStroke.getKeyType() == KeyType.ArrowUp) actions.add(ACTION.UP);
-            else if (keyStroke.getKeyType() == KeyType.ArrowRight) actions.add(ACTION.RIGHT);
-            else if (keyStroke.getKeyType() == KeyType.ArrowDown) actions.add(ACTION.DOWN);
-            else if (keyStroke.getKeyType() == KeyType.ArrowLeft) actions.add(ACTION.LEFT);
-
-            else if (keyStroke.getKeyType() == KeyType.Character && keyStroke.getCharacter() == 'w')
-                actions.add(ACTION.W);
-            else if (keyStroke.getKeyType() == KeyType.Character && keyStroke.getCharacter() == 'a')
-                actions.add(ACTION.A);
-            else if (keyStroke.getKeyType() == KeyType.Character && keyStroke.getCharacter() == 's')
-                actions.add(ACTION.S);
-            else if (keyStroke.getKeyType() == KeyType.Character && keyStroke.getCharacter() == 'd')
-                actions.add(ACTION.D);
-
-
-            else if (keyStroke.getKeyType() == KeyType.Enter) actions.add(ACTION.SELECT);
+            ACTION action = toAction(keyStroke);
+            if (action != null) actions.add(action);
         }
-
         return actions;
     }
 
+    //from now on the keys are read on a thread of their own, blocked on the terminal, and the game loop only drains what it queued
+    public void startInputThread() {
+        if (inputThread != null) return;
+        inputScreen = screen;
+        inputThread = new Thread(this::readInput, "lanterna-input");
+        inputThread.setDaemon(true);
+        inputThread.start();
+    }
+
+    private void readInput() {
+        while (!closed) {
+            Screen source = inputScreen;
+            if (source == null) { //being replaced by a resize
+                LockSupport.parkNanos(1_000_000);
+                continue;
+            }
+            KeyStroke keyStroke;
+            try {
+                keyStroke = source.readInput();
+            } catch (IOException | RuntimeException e) {
+                //resizes and close swap the screen before interrupting the read, so a failed read of a swapped screen is expected
+                if (closed) return;
+                if (source != inputScreen) {
+                    Thread.interrupted(); //the interrupt was meant for the old screen, not for reading the new one
+                    continue;
+                }
+                //the terminal itself failed, the game is asked to quit like on EOF
+                input.offer(ACTION.QUIT, System.nanoTime());
+                return;
+            }
+            if (keyStroke == null || source != inputScreen) continue; //a key left on a screen that was closed meanwhile
+            ACTION action = toAction(keyStroke);
+            if (action != null) input.offer(action, System.nanoTime());
+            if (keyStroke.getKeyType() == KeyType.EOF) return; //the window is gone, reading again would only get more EOFs
+        }
+    }
+
+    //the key bindings, SwingGUI turns its key events into key strokes to share them
+    static ACTION toAction(KeyStroke keyStroke) {
+        if (keyStroke.getKeyType() == KeyType.EOF || keyStroke.getKeyType() == KeyType.Escape)
+            return ACTION.QUIT;
+        else if (keyStroke.getKeyType() == KeyType.Character && keyStroke.getCharacter() == 'q')
+            return ACTION.QUIT;
+
+        else if (keyStroke.getKeyType() == KeyType.ArrowUp) return ACTION.UP;
+        else if (keyStroke.getKeyType() == KeyType.ArrowRight) return ACTION.RIGHT;
+        else if (keyStroke.getKeyType() == KeyType.ArrowDown) return ACTION.DOWN;
+        else if (keyStroke.getKeyType() == KeyType.ArrowLeft) return ACTION.LEFT;
+
+        else if (keyStroke.getKeyType() == KeyType.Character && keyStroke.getCharacter() == 'w')
+            return ACTION.W;
+        else if (keyStroke.getKeyType() == KeyType.Character && keyStroke.getCharacter() == 'a')
+            return ACTION.A;
+        else if (keyStroke.getKeyType() == KeyType.Character && keyStroke.getCharacter() == 's')
+            return ACTION.S;
+        else if (keyStroke.getKeyType() == KeyType.Character && keyStroke.getCharacter() == 'd')
+            return ACTION.D;
+
+
+        else if (keyStroke.getKeyType() == KeyType.Enter) return ACTION.SELECT;
+        return null;
+    }
+
+    public InputQueue getInputQueue() {
+        return input;
+    }
+
     @Override
     public void drawImage(Position position, BasicTextImage image) {
         screen.newTextGraphics().drawImage(position.toTerminalPosition(), image);
@@ -147,14 +236,10 @@ public class LanternaGUI implements GUI {
 
         for (int y = 0; y < 11; y++) {
             for (int x = 0; x < 11; x++) {
-                if (image.getRGB(x, y) == 0) continue;
-
-                int RGB = image.getRGB(x, y);
-                int red = RGB >> 16 & 0xFF;
-                int green = RGB >> 8 & 0xFF;
-                int blue = RGB & 0xFF;
+                int rgb = image.getRGB(x, y);
+                if (rgb == 0) continue;
 
-                tg.setBackgroundColor(new TextColor.RGB(red, green, blue));
+                tg.setBackgroundColor(palette.toColor(rgb));
                 tg.setCharacter(posX + x, posY + y, ' ');
             }
         }
@@ -168,44 +253,74 @@ public class LanternaGUI implements GUI {
 
         for (int y = 0; y < height; y++) {
             for (int x = 0; x < width; x++) {
-                if (image.getRGB(x, y) == 0) continue;
+                int rgb = image.getRGB(x, y);
+                if (rgb == 0) continue;
 
-                int RGB = image.getRGB(x, y);
-                int red = RGB >> 16 & 0xFF;
-                int green = RGB >> 8 & 0xFF;
-                int blue = RGB & 0xFF;
-
-                tg.setBackgroundColor(new TextColor.RGB(red, green, blue));
+                tg.setBackgroundColor(palette.toColor(rgb));
                 tg.setCharacter(posX + x, posY + y, ' ');
             }
         }
     }
 
+    @Override
+    public void drawSprite(Position position, Sprite sprite) {
+        int posX = position.getX();
+        int posY = position.getY();
+
+        for (int y = 0; y < sprite.getHeight(); y++) {
+            for (int x = 0; x < sprite.getWidth(); x++) {
+                TextCharacter cell = sprite.getCell(x, y);
+                if (cell != null) screen.setCharacter(posX + x, posY + y, cell);
+            }
+        }
+    }
+
     @Override
     public void drawCharacter(Position position, BufferedImage character, TextColor color) {
         TextGraphics tg = screen.newTextGraphics();
-        tg.setBackgroundColor(color);
+        tg.setBackgroundColor(palette.toColor(color));
         int posX = position.getX();
         int posY = position.getY();
+        long mask = characterGlyphs.computeIfAbsent(character, GlyphAtlas.Glyph::new).getMask();
+        while (mask != 0) {
+            int bit = Long.numberOfTrailingZeros(mask);
+            tg.setCharacter(posX + bit % GlyphAtlas.Glyph.WIDTH, posY + bit / GlyphAtlas.Glyph.WIDTH, ' ');
+            mask &= mask - 1;
+        }
+    }
 
-        for (int y = 0; y < 11; y++) {
-            for (int x = 0; x < 5; x++) {
-                if (character.getRGB(x, y) == 0) continue;
-                tg.setCharacter(posX + x, posY + y, ' ');
-            }
+    @Override
+    public void drawGlyph(Position position, GlyphAtlas.Glyph glyph, TextColor color) {
+        if (glyphCell == null || !glyphColor.equals(color)) {
+            glyphCell = TextCharacter.fromCharacter(' ', TextColor.ANSI.DEFAULT, palette.toColor(color))[0];
+            glyphColor = color;
+        }
+        int posX = position.getX();
+        int posY = position.getY();
+        long mask = glyph.getMask();
+        while (mask != 0) {
+            int bit = Long.numberOfTrailingZeros(mask);
+            screen.setCharacter(posX + bit % GlyphAtlas.Glyph.WIDTH, posY + bit / GlyphAtlas.Glyph.WIDTH, glyphCell);
+            mask &= mask - 1;
         }
     }
 
     @Override
     public void erase(Position position) {
         TextGraphics tg = screen.newTextGraphics();
-        tg.setBackgroundColor(new TextColor.RGB(0, 0, 0));
+        tg.setBackgroundColor(eraseColor);
         tg.fillRectangle(position.toTerminalPosition(), new TerminalSize(11, 11), ' ');
     }
 
     @Override
     public void clear() {
         screen.clear();
+        ++generation;
+    }
+
+    @Override
+    public long getGeneration() {
+        return generation;
     }
 
     @Override
@@ -215,6 +330,9 @@ public class LanternaGUI implements GUI {
 
     @Override
     public void close() throws IOException {
+        closed = true;
+        inputScreen = null;
+        if (inputThread != null) inputThread.interrupt();
         screen.close();
     }
 }
@@ -0,0 +1,192 @@
+package pt.feup.tvvs.pacman.gui;
+
+import com.googlecode.lanterna.TextColor;
+import com.googlecode.lanterna.graphics.BasicTextImage;
+import pt.feup.tvvs.pacman.model.Position;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+//draws into a framebuffer in memory and never opens a terminal or a window, so the viewers can be benchmarked and
+//compared against golden frames without a display; counts the draw calls and overdrawn pixels of every frame and can
+//dump each refreshed frame as a png
+public class OffscreenGUI implements GUI {
+    public static final int WIDTH = 320, HEIGHT = 180; //the logical screen the game draws on
+
+    private final List<ACTION> pressed; //handed out by the next getNextAction
+    private final List<ACTION> actions;
+    private Framebuffer framebuffer;
+    private SCREEN_RESOLUTION resolution;
+    private long generation;
+    private Path dumpDirectory; //null unless the frames are dumped
+    private long frameCount;
+    private long drawCalls, frameDrawCalls, frameWrittenPixels, frameOverdrawnPixels;
+    private long totalDrawCalls, totalWrittenPixels, totalOverdrawnPixels;
+
+    public OffscreenGUI() {
+        this(WIDTH, HEIGHT, SCREEN_RESOLUTION._360p);
+    }
+
+    public OffscreenGUI(int width, int height, SCREEN_RESOLUTION resolution) {
+        this.pressed = new ArrayList<>();
+        this.actions = new ArrayList<>();
+        this.framebuffer = createFramebuffer(width, height);
+        this.resolution = resolution;
+    }
+
+    private static Framebuffer createFramebuffer(int width, int height) {
+        Framebuffer framebuffer = new Framebuffer(width, height);
+        framebuffer.countWrites();
+        return framebuffer;
+    }
+
+    //the action is returned by the next getNextAction, as if its key was pressed
+    public void press(ACTION action) {
+        pressed.add(action);
+    }
+
+    @Override
+    public List<ACTION> getNextAction() {
+        actions.clear();
+        actions.addAll(pressed);
+        pressed.clear();
+        return actions;
+    }
+
+    @Override
+    public void drawImage(Position position, BasicTextImage image) {
+        ++drawCalls;
+        framebuffer.drawTextImage(position.getX(), position.getY(), image);
+    }
+
+    @Override
+    public void drawImage(Position position, BufferedImage image) {
+        ++drawCalls;
+        framebuffer.drawImage(position.getX(), position.getY(), image, 11, 11);
+    }
+
+    @Override
+    public void drawImage(Position position, BufferedImage image, int width, int height) {
+        ++drawCalls;
+        framebuffer.drawImage(position.getX(), position.getY(), image, width, height);
+    }
+
+    @Override
+    public void drawSprite(Position position, Sprite sprite) {
+        ++drawCalls;
+        framebuffer.drawSprite(position.getX(), position.getY(), sprite);
+    }
+
+    @Override
+    public void drawCharacter(Position position, BufferedImage character, TextColor color) {
+        ++drawCalls;
+        framebuffer.drawCharacter(position.getX(), position.getY(), character, color);
+    }
+
+    @Override
+    public void drawGlyph(Position position, GlyphAtlas.Glyph glyph, TextColor color) {
+        ++drawCalls;
+        framebuffer.drawGlyph(position.getX(), position.getY(), glyph, color);
+    }
+
+    @Override
+    public void clear() {
+        ++drawCalls;
+        framebuffer.clear();
+        ++generation;
+    }
+
+    @Override
+    public long getGeneration() {
+        return generation;
+    }
+
+    @Override
+    public void erase(Position position) {
+        ++drawCalls;
+        framebuffer.fill(position.getX(), position.getY(), 11, 11, Framebuffer.BLACK);
+    }
+
+    //ends the frame: its counts become the ones returned by the getters and, if asked, the frame is written to the dump directory
+    @Override
+    public void refresh() throws IOException {
+        frameDrawCalls = drawCalls;
+        frameWrittenPixels = framebuffer.getWrittenPixels();
+        frameOverdrawnPixels = framebuffer.getOverdrawnPixels();
+        totalDrawCalls += frameDrawCalls;
+        totalWrittenPixels += frameWrittenPixels;
+        totalOverdrawnPixels += frameOverdrawnPixels;
+        if (dumpDirectory != null) writePng(dumpDirectory.resolve(String.format("frame-%05d.png", frameCount)));
+        ++frameCount;
+        drawCalls = 0;
+        framebuffer.resetCounts();
+    }
+
+    //writes what was drawn so far
+    public void writePng(Path file) throws IOException {
+        if (!ImageIO.write(framebuffer.getImage(), "png", file.toFile())) throw new IOException("No png writer for " + file);
+    }
+
+    //every refreshed frame is written there from now on, null stops it
+    public void dumpFrames(Path directory) throws IOException {
+        if (directory != null) Files.createDirectories(directory);
+        this.dumpDirectory = directory;
+    }
+
+    @Override
+    public void close() {
+    }
+
+    @Override
+    public void resizeScreen(int width, int height, SCREEN_RESOLUTION newResolution) {
+        if (width != framebuffer.getWidth() || height != framebuffer.getHeight()) framebuffer = createFramebuffer(width, height);
+        else framebuffer.clear();
+        resolution = newResolution;
+        ++generation;
+    }
+
+    @Override
+    public SCREEN_RESOLUTION getResolution() {
+        return resolution;
+    }
+
+    public Framebuffer getFramebuffer() {
+        return framebuffer;
+    }
+
+    public long getFrameCount() {
+        return frameCount;
+    }
+
+    //draw calls of the last refreshed frame
+    public long getDrawCalls() {
+        return frameDrawCalls;
+    }
+
+    //pixels written on the last refreshed frame
+    public long getWrittenPixels() {
+        return frameWrittenPixels;
+    }
+
+    //pixels written on the last refreshed frame that had already been written on it
+    public long getOverdrawnPixels() {
+        return frameOverdrawnPixels;
+    }
+
+    public long getTotalDrawCalls() {
+        return totalDrawCalls;
+    }
+
+    public long getTotalWrittenPixels() {
+        return totalWrittenPixels;
+    }
+
+    public long getTotalOverdrawnPixels() {
+        return totalOverdrawnPixels;
+    }
+}
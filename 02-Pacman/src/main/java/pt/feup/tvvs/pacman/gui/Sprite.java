@@ -0,0 +1,59 @@
+package pt.feup.tvvs.pacman.gui;
+
+import com.googlecode.lanterna.TextCharacter;
+import com.googlecode.lanterna.TextColor;
+
+import java.awt.image.BufferedImage;
+import java.util.HashMap;
+import java.util.Map;
+
+//image decoded once into ready to blit cells, transparent pixels (rgb 0) are left null so they can be skipped
+public class Sprite {
+    private final BufferedImage image;
+    private final int width, height;
+    private final TextCharacter[] cells;
+
+    public Sprite(BufferedImage image, int width, int height) {
+        this(image, width, height, TerminalPalette.getInstance());
+    }
+
+    //the cells get their colors from the palette, quantised once here instead of on every draw
+    public Sprite(BufferedImage image, int width, int height, TerminalPalette terminalPalette) {
+        this.image = image;
+        this.width = width;
+        this.height = height;
+        this.cells = new TextCharacter[width * height];
+
+        Map<Integer, TextCharacter> palette = new HashMap<>(); //sprites only use a handful of colors, share their cells
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                int RGB = image.getRGB(x, y);
+                if (RGB == 0) continue;
+                cells[y * width + x] = palette.computeIfAbsent(RGB & 0xFFFFFF, color ->
+                        TextCharacter.fromCharacter(' ', TextColor.ANSI.DEFAULT, terminalPalette.toColor(color))[0]);
+            }
+        }
+    }
+
+    //element sprites are drawn on 11*11 tiles
+    public Sprite(BufferedImage image) {
+        this(image, Math.min(image.getWidth(), 11), Math.min(image.getHeight(), 11));
+    }
+
+    public BufferedImage getImage() {
+        return image;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    //cell at (x, y) or null when that pixel is transparent
+    public TextCharacter getCell(int x, int y) {
+        return cells[y * width + x];
+    }
+}
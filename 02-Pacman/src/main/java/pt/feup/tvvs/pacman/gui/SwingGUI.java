@@ -0,0 +1,222 @@
+package pt.feup.tvvs.pacman.gui;
+
+import com.googlecode.lanterna.TextColor;
+import com.googlecode.lanterna.graphics.BasicTextImage;
+import com.googlecode.lanterna.input.KeyStroke;
+import com.googlecode.lanterna.input.KeyType;
+import pt.feup.tvvs.pacman.model.Position;
+
+import javax.swing.JFrame;
+import javax.swing.WindowConstants;
+import java.awt.*;
+import java.awt.event.KeyAdapter;
+import java.awt.event.KeyEvent;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+import java.awt.image.BufferStrategy;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.List;
+
+//draws into a framebuffer of real pixels and flips it to a window scaled by a whole factor, instead of emulating a terminal
+//with a cell per pixel; the keys come from the event thread through the same queue and bindings LanternaGUI uses
+//run with -Dpacman.gui=swing to play on it
+public class SwingGUI implements GUI {
+    private static final int INPUT_CAPACITY = 256;
+
+    private final InputQueue input;
+    private final List<ACTION> actions; //handed out by getNextAction, filled again on the next call
+    private Framebuffer framebuffer;
+    private SCREEN_RESOLUTION resolution;
+    private long generation;
+    private JFrame frame;
+    private Canvas canvas;
+    private volatile BufferStrategy strategy; //made again on the event thread when the window is resized
+
+    public SwingGUI(int width, int height, SCREEN_RESOLUTION resolution) throws IOException {
+        this.input = new InputQueue(INPUT_CAPACITY);
+        this.actions = new ArrayList<>();
+        this.framebuffer = new Framebuffer(width, height);
+        this.resolution = resolution;
+        onEventThread(this::createWindow);
+    }
+
+    private void createWindow() {
+        canvas = new Canvas();
+        canvas.setIgnoreRepaint(true); //every frame is flipped by refresh, the event thread never paints
+        canvas.setBackground(Color.BLACK);
+        canvas.setFocusTraversalKeysEnabled(false);
+        canvas.addKeyListener(new KeyAdapter() {
+            @Override
+            public void keyPressed(KeyEvent event) {
+                ACTION action = toAction(event);
+                if (action != null) input.offer(action, System.nanoTime());
+            }
+        });
+        frame = new JFrame("Pacman");
+        frame.setDefaultCloseOperation(WindowConstants.DO_NOTHING_ON_CLOSE);
+        frame.addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowClosing(WindowEvent event) { //like the terminal's EOF, the game quits and closes the window itself
+                input.offer(ACTION.QUIT, System.nanoTime());
+            }
+        });
+        frame.setResizable(false);
+        frame.add(canvas);
+        sizeCanvas();
+        frame.setLocationRelativeTo(null);
+        frame.setVisible(true);
+        createStrategy();
+        canvas.requestFocus();
+    }
+
+    private void sizeCanvas() {
+        int scale = LanternaGUI.resolutionToFontSize(resolution);
+        canvas.setPreferredSize(new Dimension(framebuffer.getWidth() * scale, framebuffer.getHeight() * scale));
+        frame.pack();
+        if (strategy != null) createStrategy();
+    }
+
+    private void createStrategy() {
+        canvas.createBufferStrategy(2); //page flipping on accelerated volatile images where the platform has them
+        strategy = canvas.getBufferStrategy();
+    }
+
+    private static void onEventThread(Runnable task) throws IOException {
+        if (EventQueue.isDispatchThread()) {
+            task.run();
+            return;
+        }
+        try {
+            EventQueue.invokeAndWait(task);
+        } catch (InvocationTargetException e) {
+            throw new IOException("Could not set up the window", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while setting up the window", e);
+        }
+    }
+
+    //turns the key into the key stroke the terminal would have read, so both guis bind the same keys
+    static ACTION toAction(KeyEvent event) {
+        switch (event.getKeyCode()) {
+            case KeyEvent.VK_ESCAPE:
+                return LanternaGUI.toAction(new KeyStroke(KeyType.Escape));
+            case KeyEvent.VK_UP:
+                return LanternaGUI.toAction(new KeyStroke(KeyType.ArrowUp));
+            case KeyEvent.VK_RIGHT:
+                return LanternaGUI.toAction(new KeyStroke(KeyType.ArrowRight));
+            case KeyEvent.VK_DOWN:
+                return LanternaGUI.toAction(new KeyStroke(KeyType.ArrowDown));
+            case KeyEvent.VK_LEFT:
+                return LanternaGUI.toAction(new KeyStroke(KeyType.ArrowLeft));
+            case KeyEvent.VK_ENTER:
+                return LanternaGUI.toAction(new KeyStroke(KeyType.Enter));
+        }
+        char character = event.getKeyChar();
+        if (character == KeyEvent.CHAR_UNDEFINED) return null;
+        return LanternaGUI.toAction(new KeyStroke(character, false, false));
+    }
+
+    @Override
+    public List<ACTION> getNextAction() {
+        actions.clear();
+        input.drain(actions);
+        return actions;
+    }
+
+    public InputQueue getInputQueue() {
+        return input;
+    }
+
+    @Override
+    public void drawImage(Position position, BasicTextImage image) {
+        framebuffer.drawTextImage(position.getX(), position.getY(), image);
+    }
+
+    @Override
+    public void drawImage(Position position, BufferedImage image) {
+        framebuffer.drawImage(position.getX(), position.getY(), image, 11, 11);
+    }
+
+    @Override
+    public void drawImage(Position position, BufferedImage image, int width, int height) {
+        framebuffer.drawImage(position.getX(), position.getY(), image, width, height);
+    }
+
+    @Override
+    public void drawSprite(Position position, Sprite sprite) {
+        framebuffer.drawSprite(position.getX(), position.getY(), sprite);
+    }
+
+    @Override
+    public void drawCharacter(Position position, BufferedImage character, TextColor color) {
+        framebuffer.drawCharacter(position.getX(), position.getY(), character, color);
+    }
+
+    @Override
+    public void drawGlyph(Position position, GlyphAtlas.Glyph glyph, TextColor color) {
+        framebuffer.drawGlyph(position.getX(), position.getY(), glyph, color);
+    }
+
+    @Override
+    public void clear() {
+        framebuffer.clear();
+        ++generation;
+    }
+
+    @Override
+    public long getGeneration() {
+        return generation;
+    }
+
+    @Override
+    public void erase(Position position) {
+        framebuffer.fill(position.getX(), position.getY(), 11, 11, Framebuffer.BLACK);
+    }
+
+    //scales the framebuffer onto the back page and flips it, drawing again if the platform lost the pages meanwhile
+    @Override
+    public void refresh() {
+        BufferStrategy strategy = this.strategy;
+        int width = canvas.getWidth(), height = canvas.getHeight();
+        do {
+            do {
+                Graphics graphics = strategy.getDrawGraphics();
+                try {
+                    graphics.drawImage(framebuffer.getImage(), 0, 0, width, height, null);
+                } finally {
+                    graphics.dispose();
+                }
+            } while (strategy.contentsRestored());
+            strategy.show();
+        } while (strategy.contentsLost());
+        Toolkit.getDefaultToolkit().sync();
+    }
+
+    @Override
+    public void close() throws IOException {
+        onEventThread(frame::dispose);
+    }
+
+    //only the window's scale changes for a new resolution, the framebuffer is made again only for another logical size
+    @Override
+    public void resizeScreen(int width, int height, SCREEN_RESOLUTION newResolution) throws IOException {
+        if (width != framebuffer.getWidth() || height != framebuffer.getHeight()) framebuffer = new Framebuffer(width, height);
+        else framebuffer.clear();
+        resolution = newResolution;
+        onEventThread(this::sizeCanvas);
+        ++generation;
+    }
+
+    @Override
+    public SCREEN_RESOLUTION getResolution() {
+        return resolution;
+    }
+
+    public Framebuffer getFramebuffer() {
+        return framebuffer;
+    }
+}
@@ -0,0 +1,76 @@
+package pt.feup.tvvs.pacman.gui;
+
+import com.googlecode.lanterna.TextColor;
+
+//the colors cells are drawn with: true colors by default, or with -Dpacman.colors=256 the closest of xterm's 256 color
+//palette, so a changed cell costs a short indexed escape sequence instead of a true color one and neighbouring cells of
+//nearly the same color end up sharing one; the 16 system colors are left out as every terminal theme changes them
+public class TerminalPalette {
+    private static final int[] CUBE_LEVELS = {0, 95, 135, 175, 215, 255};
+    private static final int CUBE_START = 16, GRAY_START = 232, GRAYS = 24;
+    private static final TextColor.Indexed[] INDEXED = new TextColor.Indexed[256];
+    private static final int[] INDEXED_RGB = new int[256];
+    private static final int TRUE_COLOR_BITS = 8; //the images only use a few dozen colors, so they rarely share a slot
+    private static TerminalPalette instance;
+
+    static {
+        for (int index = CUBE_START; index < INDEXED.length; ++index) {
+            INDEXED[index] = new TextColor.Indexed(index);
+            INDEXED_RGB[index] = INDEXED[index].getRed() << 16 | INDEXED[index].getGreen() << 8 | INDEXED[index].getBlue();
+        }
+    }
+
+    private final boolean indexed;
+    //last true color made for each slot, colors are immutable so threads sharing the palette at worst make one again
+    private final TextColor[] trueColors = new TextColor[1 << TRUE_COLOR_BITS];
+
+    public TerminalPalette(boolean indexed) {
+        this.indexed = indexed;
+    }
+
+    public static synchronized TerminalPalette getInstance() {
+        if (instance == null) instance = new TerminalPalette("256".equals(System.getProperty("pacman.colors")));
+        return instance;
+    }
+
+    public boolean isIndexed() {
+        return indexed;
+    }
+
+    //color of the rgb pixel, shared instances so drawing an image pixel by pixel doesn't allocate a color per pixel
+    public TextColor toColor(int rgb) {
+        if (indexed) return INDEXED[nearestIndex(rgb)];
+        rgb &= 0xFFFFFF;
+        int slot = rgb * 0x9E3779B1 >>> (32 - TRUE_COLOR_BITS);
+        TextColor color = trueColors[slot];
+        if (color == null || (color.getRed() << 16 | color.getGreen() << 8 | color.getBlue()) != rgb)
+            trueColors[slot] = color = new TextColor.RGB(rgb >> 16, rgb >> 8 & 0xFF, rgb & 0xFF);
+        return color;
+    }
+
+    public TextColor toColor(TextColor color) {
+        if (!indexed || color instanceof TextColor.Indexed) return color;
+        return INDEXED[nearestIndex(color.getRed() << 16 | color.getGreen() << 8 | color.getBlue())];
+    }
+
+    //the closest of the color cube's and of the gray ramp's entries, whichever is closer
+    public static int nearestIndex(int rgb) {
+        int red = rgb >> 16 & 0xFF, green = rgb >> 8 & 0xFF, blue = rgb & 0xFF;
+        int cube = CUBE_START + 36 * nearestLevel(red) + 6 * nearestLevel(green) + nearestLevel(blue);
+        int gray = GRAY_START + Math.max(0, Math.min(GRAYS - 1, ((red + green + blue) / 3 - 8 + 5) / 10));
+        return distance(rgb, INDEXED_RGB[gray]) < distance(rgb, INDEXED_RGB[cube]) ? gray : cube;
+    }
+
+    private static int nearestLevel(int value) {
+        int level = 0;
+        while (level < CUBE_LEVELS.length - 1 && value > (CUBE_LEVELS[level] + CUBE_LEVELS[level + 1]) / 2) ++level;
+        return level;
+    }
+
+    private static int distance(int first, int second) {
+        int red = (first >> 16 & 0xFF) - (second >> 16 & 0xFF);
+        int green = (first >> 8 & 0xFF) - (second >> 8 & 0xFF);
+        int blue = (first & 0xFF) - (second & 0xFF);
+        return red * red + green * green + blue * blue;
+    }
+}
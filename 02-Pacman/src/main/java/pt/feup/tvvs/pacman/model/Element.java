@@ -23,6 +23,15 @@ public abstract class Element {
         position.setPosition(other);
     }
 
+    //moves the element without going through a temporary position
+    public void setPosition(int x, int y) {
+        if (y < 0 || x < 0) {
+            throw new IllegalArgumentException("Element position cannot have negatives values: (" + x + ", " + y + ")");
+        }
+        position.x = x;
+        position.y = y;
+    }
+
     @Override
     public boolean equals(Object obj) {
         if (this == obj) return true;
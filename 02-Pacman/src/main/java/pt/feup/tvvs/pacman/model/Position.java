@@ -2,8 +2,6 @@ package pt.feup.tvvs.pacman.model;
 
 import com.googlecode.lanterna.TerminalPosition;
 
-import java.util.Objects;
-
 public class Position {
     int x;
     int y;
@@ -56,7 +54,12 @@ public class Position {
     }
 
     public double squaredDistance(Position other) {
-        return Math.pow(this.x - other.x, 2) + Math.pow(this.y - other.y, 2);
+        return squaredDistance(x, y, other.x, other.y);
+    }
+
+    public static int squaredDistance(int x1, int y1, int x2, int y2) {
+        int dx = x1 - x2, dy = y1 - y2;
+        return dx * dx + dy * dy;
     }
 
     public TerminalPosition toTerminalPosition() {
@@ -65,7 +68,7 @@ public class Position {
 
     @Override
     public int hashCode() {
-        return Objects.hash(x, y);
+        return 31 * x + y; //same spread as Objects.hash without boxing into a varargs array
     }
 
     @Override
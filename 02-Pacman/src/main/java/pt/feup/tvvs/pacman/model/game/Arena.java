@@ -4,12 +4,21 @@ import pt.feup.tvvs.pacman.model.Position;
 import pt.feup.tvvs.pacman.model.game.element.GhostGate;
 import pt.feup.tvvs.pacman.model.game.element.Wall;
 import pt.feup.tvvs.pacman.model.game.element.collectibles.Collectible;
+import pt.feup.tvvs.pacman.model.game.element.ghost.Blinky;
+import pt.feup.tvvs.pacman.model.game.element.ghost.Clyde;
 import pt.feup.tvvs.pacman.model.game.element.ghost.Ghost;
+import pt.feup.tvvs.pacman.model.game.element.ghost.Inky;
+import pt.feup.tvvs.pacman.model.game.element.ghost.Pinky;
 import pt.feup.tvvs.pacman.model.game.element.pacman.Pacman;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 public class Arena {
@@ -20,10 +29,35 @@ public class Arena {
     public static final int GHOST_SCARED_SPEED = 2;
     public static final int GHOST_DEAD_SPEED = 1;
 
+    //flags of the occupancy grid, a tile can hold more than one of them (e.g. a blank tile that later gets a collectible)
+    public static final byte TILE_WALL = 1;
+    public static final byte TILE_GHOST_GATE = 1 << 1;
+    public static final byte TILE_COLLECTIBLE = 1 << 2;
+    public static final byte TILE_BLANK = 1 << 3;
+
     private final List<Pacman> pacmans;
     private final int width, height;
     private final GhostGate ghostGate;
-    private final Set<Position> blankPositions;
+    private Set<Position> blankPositions;
+    private byte[] tiles; //occupancy grid indexed by y * width + x, kept in sync with the element sets
+    private Collectible[] collectibleTiles; //collectible on each tile, indexed like the occupancy grid
+    private Map<Class<? extends Collectible>, int[]> collectibleTally; //collectibles left of each type
+    //copies of a map template share its grids and sets until they first write to them
+    private boolean tilesShared, wallsShared, blanksShared, collectiblesShared;
+    private DistanceFields[] distanceFields; //kept out of the gate and through it, built on first use, dropped when the walls or the gate change
+    private ArenaChunks chunks; //set when the map is streamed, then the element sets only hold the loaded chunks
+    private RandomSource random; //every random choice of the game rules comes from here, seeded when the game is recorded
+    private final Arena origin; //arena a snapshot was taken of, null for the arenas that are played
+    private long snapshotChunksVersion;
+    private static final int CHANGED_TILES = 1 << 14; //changes the snapshots can catch up on, a few chunk loads' worth
+    //ring of the last tiles changed, for the snapshots to catch up on; only kept once a snapshot was taken
+    private int[] changedTiles;
+    private long changedCount; //tiles ever logged, the ring holds the last CHANGED_TILES of them
+    private long layoutVersion; //changes with the wall tiles and the collectible set, snapshots then copy it all
+    private long syncedLayout = -1; //layout version and changed tiles a snapshot was last filled up to
+    private long syncedChanges;
+    private List<Ghost> ghostCopies; //a snapshot's ghosts in order, reused by the next fill
+    private String name; //folder/map it was loaded from, null when built by hand
     private long score;
     private int collectedCollectibles;
     private Set<Ghost> ghosts;
@@ -34,18 +68,193 @@ public class Arena {
         this.width = width;
         this.height = height;
 
+        this.random = RandomSource.unseeded();
+        this.origin = null;
         this.score = 0;
         this.collectedCollectibles = 0;
 
+        this.tiles = new byte[width * height];
+        this.collectibleTiles = new Collectible[width * height];
+        this.collectibleTally = new HashMap<>();
+
         this.pacmans = new ArrayList<>();
         this.ghostGate = new GhostGate(new Position(10, 10));
+        setTile(10, 10, TILE_GHOST_GATE);
 
-        this.ghosts = new HashSet<>();
+        this.ghosts = new LinkedHashSet<>(); //ghosts move in the order they spawned, the same on every run
         this.walls = new HashSet<>();
         this.collectibles = new HashSet<>();
         this.blankPositions = new HashSet<>();
     }
 
+    //copy of a template arena for a new game, its pacmans and ghosts are left out; the template must never change afterwards
+    Arena(Arena template) {
+        this.width = template.width;
+        this.height = template.height;
+
+        this.tiles = template.tiles;
+        this.collectibleTiles = template.collectibleTiles;
+        this.collectibleTally = template.collectibleTally;
+        this.walls = Collections.unmodifiableSet(template.walls);
+        this.collectibles = Collections.unmodifiableSet(template.collectibles);
+        this.blankPositions = Collections.unmodifiableSet(template.blankPositions);
+        this.tilesShared = this.wallsShared = this.blanksShared = this.collectiblesShared = true;
+
+        this.random = RandomSource.unseeded();
+        this.origin = null;
+        this.name = template.name;
+        this.pacmans = new ArrayList<>();
+        this.ghosts = new LinkedHashSet<>(); //ghosts move in the order they spawned, the same on every run
+        this.ghostGate = new GhostGate(new Position(template.ghostGate.getPosition()));
+        if (template.chunks != null) this.chunks = new ArenaChunks(this, template.chunks);
+    }
+
+    //empty snapshot, filled by snapshot(); the flag only tells it apart from the template copy
+    private Arena(Arena origin, boolean snapshot) {
+        this.width = origin.width;
+        this.height = origin.height;
+        this.origin = origin;
+        this.random = origin.random;
+        this.pacmans = new ArrayList<>();
+        this.ghosts = new LinkedHashSet<>();
+        this.ghostCopies = new ArrayList<>();
+        this.ghostGate = new GhostGate(new Position(origin.ghostGate.getPosition()));
+    }
+
+    //copy of everything the viewers draw, to be drawn on another thread while the game goes on; the snapshot shares the walls,
+    //which this arena copies before it next writes them, and has its own grids, collectibles, blanks, pacmans and ghosts
+    //a snapshot of this arena passed as reuse is filled again instead of allocating one, it must not be in use anymore; it only
+    //copies the tiles changed since its last fill, chunk loads included, so the collectibles and blanks must be changed
+    //through the arena's methods
+    public Arena snapshot(Arena reuse) {
+        Arena snapshot = reuse != null && reuse.origin == this ? reuse : new Arena(this, true);
+        if (changedTiles == null) changedTiles = new int[CHANGED_TILES];
+        if (snapshot.syncedLayout != layoutVersion || changedCount - snapshot.syncedChanges > CHANGED_TILES) copyLayers(snapshot);
+        else for (long i = snapshot.syncedChanges; i < changedCount; ++i) copyTile(snapshot, changedTiles[(int) (i % CHANGED_TILES)]);
+        wallsShared = snapshot.wallsShared = true; //streamed maps only copy their loaded walls, the others never change them
+        snapshot.walls = walls;
+        snapshot.syncedLayout = layoutVersion;
+        snapshot.syncedChanges = changedCount;
+        snapshot.snapshotChunksVersion = getChunksVersion();
+        snapshot.name = name;
+        snapshot.score = score;
+        snapshot.collectedCollectibles = collectedCollectibles;
+        snapshot.ghostGate.setPosition(ghostGate.getPosition().getX(), ghostGate.getPosition().getY());
+
+        for (int i = 0; i < pacmans.size(); ++i) {
+            Pacman pacman = pacmans.get(i);
+            if (i == snapshot.pacmans.size()) snapshot.pacmans.add(new Pacman(new Position(pacman.getPosition())));
+            Pacman copy = snapshot.pacmans.get(i);
+            copy.copyMovement(pacman);
+            copy.setLife(pacman.getLife());
+            copy.setDying(pacman.isDying());
+        }
+        while (snapshot.pacmans.size() > pacmans.size()) snapshot.pacmans.remove(snapshot.pacmans.size() - 1);
+
+        //the ghost copies are kept in the order of this arena's ghosts and only made again when a ghost of another type takes the place
+        List<Ghost> copies = snapshot.ghostCopies;
+        snapshot.ghosts.clear(); //the copies move, so they are put back in the set only after
+        int i = 0;
+        for (Ghost ghost : ghosts) {
+            if (i == copies.size()) copies.add(copyOf(ghost));
+            else if (copies.get(i).getClass() != ghost.getClass()) copies.set(i, copyOf(ghost));
+            Ghost copy = copies.get(i++);
+            copy.copyMovement(ghost);
+            copy.setState(ghost.getState());
+            if (ghost.isInsideGate()) copy.setInsideGate();
+            else copy.setOutsideGate();
+            snapshot.ghosts.add(copy);
+        }
+        while (copies.size() > i) copies.remove(copies.size() - 1);
+        return snapshot;
+    }
+
+    private void copyLayers(Arena snapshot) {
+        if (snapshot.tiles == null) {
+            snapshot.tiles = new byte[tiles.length];
+            snapshot.collectibleTiles = new Collectible[collectibleTiles.length];
+        }
+        System.arraycopy(tiles, 0, snapshot.tiles, 0, tiles.length);
+        System.arraycopy(collectibleTiles, 0, snapshot.collectibleTiles, 0, collectibleTiles.length);
+        snapshot.collectibles = new HashSet<>(collectibles);
+        snapshot.blankPositions = new HashSet<>(blankPositions);
+        snapshot.collectibleTally = new HashMap<>();
+        collectibleTally.forEach((type, count) -> snapshot.collectibleTally.put(type, count.clone()));
+    }
+
+    //brings one tile of the snapshot, with its collectible and blank position, up to date with this arena
+    private void copyTile(Arena snapshot, int index) {
+        Collectible had = snapshot.collectibleTiles[index], has = collectibleTiles[index];
+        if (had != has) {
+            if (had != null && snapshot.collectibles.remove(had)) {
+                int[] count = snapshot.collectibleTally.get(had.getClass());
+                if (count != null && count[0] > 0) --count[0];
+            }
+            if (has != null && snapshot.collectibles.add(has))
+                ++snapshot.collectibleTally.computeIfAbsent(has.getClass(), type -> new int[1])[0];
+            snapshot.collectibleTiles[index] = has;
+        }
+        if (((snapshot.tiles[index] ^ tiles[index]) & TILE_BLANK) != 0) {
+            Position position = new Position(index % width, index / width);
+            if ((tiles[index] & TILE_BLANK) != 0) snapshot.blankPositions.add(position);
+            else snapshot.blankPositions.remove(position);
+        }
+        snapshot.tiles[index] = tiles[index];
+    }
+
+    //notes a tile the snapshots have to copy again, once one was taken
+    private void logChange(int x, int y) {
+        if (changedTiles == null) return;
+        if (!isInside(x, y)) layoutChanged();
+        else changedTiles[(int) (changedCount++ % CHANGED_TILES)] = y * width + x;
+    }
+
+    //the snapshots copy everything again on their next fill
+    private void layoutChanged() {
+        ++layoutVersion;
+    }
+
+    private static Ghost copyOf(Ghost ghost) {
+        Position position = new Position(ghost.getPosition());
+        if (ghost instanceof Pinky) return new Pinky(position);
+        if (ghost instanceof Inky) return new Inky(position);
+        if (ghost instanceof Clyde) return new Clyde(position);
+        return new Blinky(position);
+    }
+
+    //the arena a snapshot was taken of, the arena itself when it isn't a snapshot
+    public Arena getOrigin() {
+        return origin == null ? this : origin;
+    }
+
+    private void ownTiles() {
+        if (!tilesShared) return;
+        tiles = tiles.clone();
+        tilesShared = false;
+    }
+
+    private void ownWalls() {
+        if (!wallsShared) return;
+        walls = new HashSet<>(walls);
+        wallsShared = false;
+    }
+
+    private void ownBlankPositions() {
+        if (!blanksShared) return;
+        blankPositions = new HashSet<>(blankPositions);
+        blanksShared = false;
+    }
+
+    private void ownCollectibles() {
+        if (!collectiblesShared) return;
+        collectibles = new HashSet<>(collectibles);
+        collectibleTiles = collectibleTiles.clone();
+        Map<Class<? extends Collectible>, int[]> tally = new HashMap<>();
+        collectibleTally.forEach((type, count) -> tally.put(type, count.clone()));
+        collectibleTally = tally;
+        collectiblesShared = false;
+    }
+
     public List<Pacman> getPacmans() {
         return pacmans;
     }
@@ -63,7 +272,12 @@ public class Arena {
     }
 
     public void setWalls(Set<Wall> walls) {
+        clearTiles(TILE_WALL);
         this.walls = walls;
+        this.wallsShared = false;
+        walls.forEach(wall -> setTile(wall.getPosition().getX(), wall.getPosition().getY(), TILE_WALL));
+        distanceFields = null;
+        layoutChanged();
     }
 
     public Set<Collectible> getCollectibles() {
@@ -71,7 +285,12 @@ public class Arena {
     }
 
     public void setCollectibles(Set<Collectible> collectibles) {
+        clearTiles(TILE_COLLECTIBLE);
+        ownCollectibles();
+        Arrays.fill(collectibleTiles, null);
+        collectibleTally.clear();
         this.collectibles = collectibles;
+        collectibles.forEach(this::indexCollectible);
     }
 
     public int getWidth() {
@@ -83,11 +302,65 @@ public class Arena {
     }
 
     public void addWall(Wall wall) {
+        ownWalls();
+        walls.add(wall);
+        setTile(wall.getPosition().getX(), wall.getPosition().getY(), TILE_WALL);
+        distanceFields = null;
+        layoutChanged();
+    }
+
+    //wall tile of a streamed map, its element only exists while the chunk is loaded
+    void setWallTile(int x, int y) {
+        setTile(x, y, TILE_WALL);
+        distanceFields = null;
+        layoutChanged();
+    }
+
+    void loadWall(Wall wall) {
+        ownWalls();
         walls.add(wall);
     }
 
+    void unloadWall(Wall wall) {
+        ownWalls();
+        walls.remove(wall);
+    }
+
     public void addCollectible(Collectible collectible) {
-        collectibles.add(collectible);
+        ownCollectibles();
+        if (collectibles.add(collectible)) indexCollectible(collectible);
+    }
+
+    public boolean removeCollectible(Collectible collectible) {
+        ownCollectibles();
+        if (!collectibles.remove(collectible)) return false;
+        int x = collectible.getPosition().getX(), y = collectible.getPosition().getY();
+        clearTile(x, y, TILE_COLLECTIBLE);
+        if (isInside(x, y)) collectibleTiles[y * width + x] = null;
+        int[] count = collectibleTally.get(collectible.getClass());
+        if (count != null && count[0] > 0) --count[0]; //the set may have been filled behind the arena's back
+        logChange(x, y);
+        return true;
+    }
+
+    //a tile holds at most one collectible, the maps never place two on the same spot
+    private void indexCollectible(Collectible collectible) {
+        int x = collectible.getPosition().getX(), y = collectible.getPosition().getY();
+        setTile(x, y, TILE_COLLECTIBLE);
+        if (isInside(x, y)) collectibleTiles[y * width + x] = collectible;
+        ++collectibleTally.computeIfAbsent(collectible.getClass(), type -> new int[1])[0];
+        logChange(x, y);
+    }
+
+    //collectible lying on the tile, null when there is none
+    public Collectible getCollectible(int x, int y) {
+        return isInside(x, y) ? collectibleTiles[y * width + x] : null;
+    }
+
+    //how many collectibles of exactly the given type are left to pick up
+    public int countCollectibles(Class<? extends Collectible> type) {
+        int[] count = collectibleTally.get(type);
+        return count == null ? 0 : count[0];
     }
 
     public void addGhost(Ghost ghost) {
@@ -99,11 +372,78 @@ public class Arena {
     }
 
     public boolean isEmpty(Position position) {
-        for (Wall wall : walls) {
-            if (wall.getPosition().equals(position))
-                return false;
-        }
-        return true;
+        return !hasTile(position.getX(), position.getY(), TILE_WALL);
+    }
+
+    public boolean isEmpty(int x, int y) {
+        return !hasTile(x, y, TILE_WALL);
+    }
+
+    public boolean isGhostGate(Position position) {
+        return isGhostGate(position.getX(), position.getY());
+    }
+
+    public boolean isGhostGate(int x, int y) {
+        if (isInside(x, y)) return hasTile(x, y, TILE_GHOST_GATE);
+        //the gate may be left outside of small arenas, so compare against it directly
+        Position gatePosition = ghostGate.getPosition();
+        return gatePosition.getX() == x && gatePosition.getY() == y;
+    }
+
+    public boolean hasCollectible(Position position) {
+        return hasTile(position.getX(), position.getY(), TILE_COLLECTIBLE);
+    }
+
+    public boolean isBlank(Position position) {
+        return hasTile(position.getX(), position.getY(), TILE_BLANK);
+    }
+
+    public boolean isInside(int x, int y) {
+        return x >= 0 && y >= 0 && x < width && y < height;
+    }
+
+    //walking distances for the ghosts kept out of the ghost gate, or for the ones that may cross it; null when the arena is
+    //too big to have them, the ghosts then steer in a straight line
+    public DistanceFields getDistanceFields(boolean throughGate) {
+        if (!DistanceFields.fits(this)) return null;
+        if (distanceFields == null) distanceFields = new DistanceFields[2];
+        int index = throughGate ? 1 : 0;
+        if (distanceFields[index] == null) distanceFields[index] = new DistanceFields(this, throughGate);
+        return distanceFields[index];
+    }
+
+    public byte getTile(int x, int y) {
+        return isInside(x, y) ? tiles[y * width + x] : 0;
+    }
+
+    private boolean hasTile(int x, int y, byte flag) {
+        return isInside(x, y) && (tiles[y * width + x] & flag) != 0;
+    }
+
+    private void setTile(int x, int y, byte flag) {
+        if (!isInside(x, y) || (tiles[y * width + x] & flag) == flag) return;
+        ownTiles();
+        tiles[y * width + x] |= flag;
+    }
+
+    private void clearTile(int x, int y, byte flag) {
+        if (!isInside(x, y) || (tiles[y * width + x] & flag) == 0) return;
+        ownTiles();
+        tiles[y * width + x] &= (byte) ~flag;
+    }
+
+    private void clearTiles(byte flag) {
+        ownTiles();
+        for (int i = 0; i < tiles.length; ++i) tiles[i] &= (byte) ~flag;
+        layoutChanged();
+    }
+
+    public RandomSource getRandom() {
+        return random;
+    }
+
+    public void setRandom(RandomSource random) {
+        this.random = random;
     }
 
     public long getScore() {
@@ -118,6 +458,14 @@ public class Arena {
         this.score += increment;
     }
 
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
     public int getCollectedCollectibles() {
         return collectedCollectibles;
     }
@@ -131,7 +479,13 @@ public class Arena {
     }
 
     public void setGhostGatePosition(Position position) {
+        int oldX = ghostGate.getPosition().getX(), oldY = ghostGate.getPosition().getY();
         this.ghostGate.setPosition(position);
+        clearTile(oldX, oldY, TILE_GHOST_GATE);
+        setTile(position.getX(), position.getY(), TILE_GHOST_GATE);
+        distanceFields = null;
+        logChange(oldX, oldY);
+        logChange(position.getX(), position.getY());
     }
 
     public Set<Position> getBlankPositions() {
@@ -139,7 +493,37 @@ public class Arena {
     }
 
     public void addBlankPosition(Position position) {
+        ownBlankPositions();
         blankPositions.add(position);
+        setTile(position.getX(), position.getY(), TILE_BLANK);
+        logChange(position.getX(), position.getY());
+    }
+
+    void unloadBlankPosition(Position position) {
+        ownBlankPositions();
+        blankPositions.remove(position);
+        clearTile(position.getX(), position.getY(), TILE_BLANK);
+        logChange(position.getX(), position.getY());
+    }
+
+    void setChunks(ArenaChunks chunks) {
+        this.chunks = chunks;
+    }
+
+    //loads the chunks around the pacmans and releases the far ones, arenas loaded whole have nothing to do
+    public void updateChunks() {
+        if (chunks != null) chunks.update();
+    }
+
+    //changes whenever chunks are loaded or released, so viewers know to redraw the maze
+    public long getChunksVersion() {
+        if (origin != null) return snapshotChunksVersion;
+        return chunks == null ? 0 : chunks.getVersion();
+    }
+
+    //whether there is still something to collect, counting the chunks that aren't loaded
+    public boolean hasCollectiblesLeft() {
+        return !collectibles.isEmpty() || (chunks != null && chunks.getUnloadedCollectibles() > 0);
     }
 
 }
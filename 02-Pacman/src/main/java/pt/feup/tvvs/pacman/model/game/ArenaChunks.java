@@ -0,0 +1,162 @@
+package pt.feup.tvvs.pacman.model.game;
+
+import pt.feup.tvvs.pacman.model.Position;
+import pt.feup.tvvs.pacman.model.game.element.Wall;
+import pt.feup.tvvs.pacman.model.game.element.collectibles.Collectible;
+import pt.feup.tvvs.pacman.model.game.element.pacman.Pacman;
+
+import static pt.feup.tvvs.pacman.model.game.MapCompiler.*;
+
+//tiles of a streamed map in square chunks, only the chunks around the pacmans have their walls, collectibles and blank tiles as elements
+//the arena always has every wall and the gate on its tile grid, so ghosts move anywhere without their chunks being loaded
+public class ArenaChunks {
+    public static final int CHUNK_SIZE = 16;
+    private static final int LOAD_RADIUS = 1; //chunks around a pacman's one that get loaded
+    private static final int KEEP_RADIUS = 2; //loaded chunks are only released further than this, so walking on a chunk edge doesn't thrash
+
+    private final Arena arena;
+    private final int width, height, columns, rows;
+    private final byte[] codes; //4 bit tile codes as in the compiled map, high nibble first; collectibles eaten are written back as blank
+    private final int[] collectibles; //collectibles in the codes of each chunk
+    private final boolean[] loaded;
+    private final int[] loadedChunks;
+    private int loadedCount;
+    private int unloadedCollectibles;
+    private long version;
+
+    public ArenaChunks(Arena arena) {
+        this.arena = arena;
+        this.width = arena.getWidth();
+        this.height = arena.getHeight();
+        this.columns = (width + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        this.rows = (height + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        this.codes = new byte[(int) (((long) width * height + 1) / 2)];
+        this.collectibles = new int[columns * rows];
+        this.loaded = new boolean[columns * rows];
+        this.loadedChunks = new int[columns * rows];
+    }
+
+    //chunks of a copy of the template's arena, the template must not have loaded any chunk
+    ArenaChunks(Arena arena, ArenaChunks template) {
+        this.arena = arena;
+        this.width = template.width;
+        this.height = template.height;
+        this.columns = template.columns;
+        this.rows = template.rows;
+        this.codes = template.codes.clone();
+        this.collectibles = template.collectibles.clone();
+        this.loaded = new boolean[columns * rows];
+        this.loadedChunks = new int[columns * rows];
+        this.unloadedCollectibles = template.unloadedCollectibles;
+    }
+
+    //only meant for filling the chunks while the map is read, before any of them is loaded
+    void setTile(int x, int y, int code) {
+        int index = y * width + x;
+        codes[index >> 1] |= (index & 1) == 0 ? code << 4 : code;
+        if (code >= COIN) {
+            ++collectibles[chunkOf(x, y)];
+            ++unloadedCollectibles;
+        }
+    }
+
+    public int getTile(int x, int y) {
+        int index = y * width + x;
+        int pair = codes[index >> 1];
+        return (index & 1) == 0 ? pair >> 4 & 0xF : pair & 0xF;
+    }
+
+    private void writeTile(int x, int y, int code) {
+        int index = y * width + x;
+        if ((index & 1) == 0) codes[index >> 1] = (byte) (codes[index >> 1] & 0x0F | code << 4);
+        else codes[index >> 1] = (byte) (codes[index >> 1] & 0xF0 | code);
+    }
+
+    private int chunkOf(int x, int y) {
+        return y / CHUNK_SIZE * columns + x / CHUNK_SIZE;
+    }
+
+    public void update() {
+        for (int i = loadedCount - 1; i >= 0; --i) {
+            int chunk = loadedChunks[i];
+            if (!isNearPacman(chunk % columns, chunk / columns)) {
+                unload(chunk);
+                loadedChunks[i] = loadedChunks[--loadedCount];
+            }
+        }
+        for (Pacman pacman : arena.getPacmans()) {
+            int column = Math.floorDiv(pacman.getPosition().getX(), CHUNK_SIZE);
+            int row = Math.floorDiv(pacman.getPosition().getY(), CHUNK_SIZE);
+            for (int y = Math.max(0, row - LOAD_RADIUS); y <= Math.min(rows - 1, row + LOAD_RADIUS); ++y)
+                for (int x = Math.max(0, column - LOAD_RADIUS); x <= Math.min(columns - 1, column + LOAD_RADIUS); ++x)
+                    if (!loaded[y * columns + x]) load(y * columns + x);
+        }
+    }
+
+    private boolean isNearPacman(int column, int row) {
+        for (Pacman pacman : arena.getPacmans()) {
+            int pacmanColumn = Math.floorDiv(pacman.getPosition().getX(), CHUNK_SIZE);
+            int pacmanRow = Math.floorDiv(pacman.getPosition().getY(), CHUNK_SIZE);
+            if (Math.abs(pacmanColumn - column) <= KEEP_RADIUS && Math.abs(pacmanRow - row) <= KEEP_RADIUS) return true;
+        }
+        return false;
+    }
+
+    private void load(int chunk) {
+        int fromX = chunk % columns * CHUNK_SIZE, fromY = chunk / columns * CHUNK_SIZE;
+        for (int y = fromY; y < Math.min(height, fromY + CHUNK_SIZE); ++y) {
+            for (int x = fromX; x < Math.min(width, fromX + CHUNK_SIZE); ++x) {
+                int code = getTile(x, y);
+                if (code == WALL) arena.loadWall(new Wall(new Position(x, y)));
+                else if (code == BLANK) arena.addBlankPosition(new Position(x, y));
+                else if (code >= COIN) arena.addCollectible(ArenaLoader.createCollectible(code, new Position(x, y)));
+            }
+        }
+        unloadedCollectibles -= collectibles[chunk];
+        loaded[chunk] = true;
+        loadedChunks[loadedCount++] = chunk;
+        ++version;
+    }
+
+    //drops the chunk's elements from the arena, keeping in the codes what was eaten meanwhile
+    private void unload(int chunk) {
+        int fromX = chunk % columns * CHUNK_SIZE, fromY = chunk / columns * CHUNK_SIZE;
+        int left = 0;
+        for (int y = fromY; y < Math.min(height, fromY + CHUNK_SIZE); ++y) {
+            for (int x = fromX; x < Math.min(width, fromX + CHUNK_SIZE); ++x) {
+                int code = getTile(x, y);
+                if (code == WALL) arena.unloadWall(new Wall(new Position(x, y)));
+                else if (code >= COIN) {
+                    Collectible collectible = arena.getCollectible(x, y);
+                    if (collectible != null) {
+                        arena.removeCollectible(collectible);
+                        ++left;
+                        continue;
+                    }
+                    writeTile(x, y, BLANK); //eaten, the collision left a blank position there
+                    arena.unloadBlankPosition(new Position(x, y));
+                } else if (code == BLANK) arena.unloadBlankPosition(new Position(x, y));
+            }
+        }
+        collectibles[chunk] = left;
+        unloadedCollectibles += left;
+        loaded[chunk] = false;
+        ++version;
+    }
+
+    public boolean isLoaded(int x, int y) {
+        return loaded[chunkOf(x, y)];
+    }
+
+    public int getLoadedCount() {
+        return loadedCount;
+    }
+
+    public int getUnloadedCollectibles() {
+        return unloadedCollectibles;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+}
@@ -9,11 +9,24 @@ import pt.feup.tvvs.pacman.model.game.element.ghost.*;
 import pt.feup.tvvs.pacman.model.game.element.pacman.Pacman;
 
 import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+import static pt.feup.tvvs.pacman.model.game.MapCompiler.*;
 
 public class ArenaLoader {
+    public static final int STREAMING_THRESHOLD = 256 * 256; //maps with more tiles than this are streamed in chunks
+    private static final int MAX_TILES = 1 << 26;
+    private static final int READ_BUFFER_SIZE = 1 << 13;
+
     private final Arena arena;
     private final int width;
     private final int height;
@@ -24,89 +37,228 @@ public class ArenaLoader {
         this.height = arena.getHeight();
     }
 
+    //loads a compiled .pmap map, anything else is read as a text map
     public void loadMap(String mapFile) throws IOException {
+        if (mapFile.endsWith(COMPILED_EXTENSION)) {
+            try (FileChannel channel = FileChannel.open(Paths.get(mapFile), StandardOpenOption.READ)) {
+                loadMap(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+            }
+            return;
+        }
         try (BufferedReader reader = Files.newBufferedReader(Paths.get(mapFile))) {
-            String line;
-            int row = 0;
-
-            while ((line = reader.readLine()) != null && row < height) {
-                for (int col = 0; col < Math.min(line.length(), width); col++) {
-                    char currentChar = line.charAt(col);
-                    loadElementAt(col, row, currentChar);
-                }
-                row++;
+            loadMap(ByteBuffer.wrap(new MapCompiler(width, height).compile(reader)));
+        }
+    }
+
+    //builds an arena the size of the map, reading text maps through the compiler
+    public static Arena load(String mapFile) throws IOException {
+        return loadTemplate(mapFile).createArena();
+    }
+
+    public static Arena load(ReadableByteChannel channel) throws IOException {
+        return loadTemplate(channel).createArena();
+    }
+
+    public static MapTemplate loadTemplate(String mapFile) throws IOException {
+        if (mapFile.endsWith(COMPILED_EXTENSION)) {
+            try (FileChannel channel = FileChannel.open(Paths.get(mapFile), StandardOpenOption.READ)) {
+                return loadTemplate(channel);
             }
         }
+        try (BufferedReader reader = Files.newBufferedReader(Paths.get(mapFile))) {
+            return compileTemplate(reader);
+        }
     }
 
-    private void loadElementAt(int col, int row, char element) {
-        Position position = new Position(col, row);
+    public static MapTemplate compileTemplate(BufferedReader textMap) throws IOException {
+        byte[] map = new MapCompiler(Integer.MAX_VALUE, Integer.MAX_VALUE).compile(textMap);
+        return loadTemplate(Channels.newChannel(new ByteArrayInputStream(map)));
+    }
+
+    //reads a compiled map sequentially through a small buffer; maps past STREAMING_THRESHOLD tiles only get the walls and
+    //the gate on the tile grid, their other elements are created chunk by chunk around the pacmans of each game
+    public static MapTemplate loadTemplate(ReadableByteChannel channel) throws IOException {
+        ByteBuffer header = read(channel, ByteBuffer.allocate(HEADER_SIZE));
+        if (header.remaining() < HEADER_SIZE || header.getInt() != MAGIC || header.getShort() != VERSION)
+            throw new IOException("Not a compiled map");
+        int mapWidth = header.getInt(), mapHeight = header.getInt(), spawns = header.getInt();
+        if (mapWidth < 0 || mapHeight < 0 || (long) mapWidth * mapHeight > MAX_TILES)
+            throw new IOException("Map too large: " + mapWidth + "x" + mapHeight);
+
+        Arena arena = new Arena(mapWidth, mapHeight);
+        ArenaLoader loader = new ArenaLoader(arena);
+        ArenaChunks chunks = mapWidth * mapHeight > STREAMING_THRESHOLD ? new ArenaChunks(arena) : null;
+        ByteBuffer buffer = ByteBuffer.allocate(READ_BUFFER_SIZE);
+        buffer.flip();
+        int index = 0;
+        while (index < mapWidth * mapHeight) {
+            refill(channel, buffer, 1);
+            int tiles = buffer.get();
+            for (int half = 0; half < 2 && index < mapWidth * mapHeight; ++half, ++index) {
+                int tile = half == 0 ? tiles >> 4 & 0xF : tiles & 0xF;
+                int col = index % mapWidth, row = index / mapWidth;
+                if (chunks == null) loader.loadTileAt(col, row, tile);
+                else loader.streamTileAt(chunks, col, row, tile);
+            }
+        }
+
+        ByteBuffer spawnList = ByteBuffer.allocate(spawns * 9);
+        while (spawnList.hasRemaining()) {
+            refill(channel, buffer, 1);
+            int bytes = Math.min(buffer.remaining(), spawnList.remaining());
+            spawnList.put(buffer.array(), buffer.position(), bytes);
+            buffer.position(buffer.position() + bytes);
+        }
+        if (chunks != null) arena.setChunks(chunks);
+        return new MapTemplate(arena, spawnList.array());
+    }
+
+    //places the pacmans and ghosts listed as in the compiled map, leaving out those outside the arena
+    static void loadSpawns(Arena arena, byte[] spawnList) {
+        ArenaLoader loader = new ArenaLoader(arena);
+        ByteBuffer spawns = ByteBuffer.wrap(spawnList);
+        while (spawns.remaining() >= 9) {
+            byte kind = spawns.get();
+            int col = spawns.getInt(), row = spawns.getInt();
+            if (arena.isInside(col, row)) loader.loadSpawnAt(col, row, kind);
+        }
+    }
+
+    //makes sure the buffer has at least the given bytes left to read
+    private static void refill(ReadableByteChannel channel, ByteBuffer buffer, int bytes) throws IOException {
+        if (buffer.remaining() >= bytes) return;
+        buffer.compact();
+        if (read(channel, buffer).remaining() < bytes) throw new IOException("Truncated map");
+    }
+
+    //fills the buffer as far as the channel goes, then flips it for reading
+    private static ByteBuffer read(ReadableByteChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining() && channel.read(buffer) >= 0) ;
+        buffer.flip();
+        return buffer;
+    }
+
+    //the compiled copy of a text map when it was compiled from the text map as it is now, otherwise the text map itself
+    //file times aren't trusted, a checkout or a copy gives the compiled maps and their text maps arbitrary ones
+    public static String preferCompiled(String textMapFile) {
+        Path textMap = Paths.get(textMapFile);
+        Path compiledMap = MapCompiler.compiledPathOf(textMap);
+        if (!Files.isRegularFile(compiledMap)) return textMapFile;
+        if (!Files.isRegularFile(textMap)) return compiledMap.toString();
+        try (FileChannel compiled = FileChannel.open(compiledMap, StandardOpenOption.READ);
+             BufferedReader text = Files.newBufferedReader(textMap)) {
+            if (isCompiledFrom(compiled, text)) return compiledMap.toString();
+        } catch (IOException e) { //unreadable or from another version, the text map is the one to trust
+        }
+        return textMapFile;
+    }
+
+    //whether the compiled map holds the source hash of the text map
+    public static boolean isCompiledFrom(ReadableByteChannel compiledMap, BufferedReader textMap) throws IOException {
+        ByteBuffer header = read(compiledMap, ByteBuffer.allocate(HEADER_SIZE));
+        if (header.remaining() < HEADER_SIZE || header.getInt() != MAGIC || header.getShort() != VERSION)
+            throw new IOException("Not a compiled map");
+        return header.getInt(SOURCE_HASH_OFFSET) == MapCompiler.sourceHash(textMap);
+    }
+
+    //reads a compiled map, whatever doesn't fit in the arena is left out
+    public void loadMap(ByteBuffer map) throws IOException {
+        if (map.remaining() < HEADER_SIZE || map.getInt() != MAGIC || map.getShort() != VERSION)
+            throw new IOException("Not a compiled map");
+        int mapWidth = map.getInt(), mapHeight = map.getInt(), spawns = map.getInt();
+        map.getInt(); //source hash
+        int tilesStart = map.position();
+        for (int row = 0; row < Math.min(mapHeight, height); row++) {
+            for (int col = 0; col < Math.min(mapWidth, width); col++) {
+                int index = row * mapWidth + col;
+                int tiles = map.get(tilesStart + (index >> 1));
+                loadTileAt(col, row, (index & 1) == 0 ? tiles >> 4 & 0xF : tiles & 0xF);
+            }
+        }
+        map.position(tilesStart + (int) (((long) mapWidth * mapHeight + 1) / 2));
+        for (int i = 0; i < spawns; i++) {
+            byte kind = map.get();
+            int col = map.getInt(), row = map.getInt();
+            if (col < width && row < height) loadSpawnAt(col, row, kind);
+        }
+    }
 
-        switch (element) {
-            case 'W':
-                arena.addWall(new Wall(position));
+    private void loadTileAt(int col, int row, int tile) {
+        switch (tile) {
+            case NONE:
                 break;
-            case 'P':
+            case WALL:
+                arena.addWall(new Wall(new Position(col, row)));
+                break;
+            case GATE:
+                arena.setGhostGatePosition(new Position(col, row));
+                break;
+            default:
+                Collectible collectible = createCollectible(tile, new Position(col, row));
+                if (collectible != null) arena.addCollectible(collectible);
+                else arena.addBlankPosition(new Position(col, row)); //blank, also under the spawns
+                break;
+        }
+    }
+
+    private void streamTileAt(ArenaChunks chunks, int col, int row, int tile) {
+        if (tile == WALL) arena.setWallTile(col, row);
+        else if (tile == GATE) arena.setGhostGatePosition(new Position(col, row));
+        chunks.setTile(col, row, tile > POWER_UP ? BLANK : tile);
+    }
+
+    //null when the tile code isn't a collectible
+    static Collectible createCollectible(int tile, Position position) {
+        switch (tile) {
+            case COIN:
+                return new Coin(position);
+            case ORANGE:
+                return new Orange(position);
+            case APPLE:
+                return new Apple(position);
+            case CHERRY:
+                return new Cherry(position);
+            case KEY:
+                return new Key(position);
+            case STRAWBERRY:
+                return new Strawberry(position);
+            case POWER_UP:
+                return new PowerUp(position);
+            default:
+                return null;
+        }
+    }
+
+    private void loadSpawnAt(int col, int row, byte kind) {
+        Position position = new Position(col, row);
+        switch (kind) {
+            case PACMAN:
                 if (arena.getPacmans().size() == 2) return;
                 Pacman pacman = new Pacman(position);
                 pacman.setRespawnPosition(new Position(position));
                 arena.addPacman(pacman);
-                arena.addBlankPosition(new Position(position));
-                break;
-            case 'o':
-                arena.addCollectible(new Coin(position));
-                break;
-            case 'O':
-                arena.addCollectible(new Orange(position));
                 break;
-            case 'A':
-                arena.addCollectible(new Apple(position));
-                break;
-            case 'C':
-                arena.addCollectible(new Cherry(position));
-                break;
-            case 'K':
-                arena.addCollectible(new Key(position));
-                break;
-            case 'S':
-                arena.addCollectible(new Strawberry(position));
-                break;
-            case 'p':
+            case PINKY:
                 Pinky pinky = new Pinky(position);
                 pinky.setRespawnPosition(new Position(position));
                 arena.addGhost(pinky);
-                arena.addBlankPosition(new Position(position));
                 break;
-            case 'i':
+            case INKY:
                 Ghost inky = new Inky(position);
                 inky.setRespawnPosition(new Position(position));
                 arena.addGhost(inky);
-                arena.addBlankPosition(new Position(position));
                 break;
-            case 'c':
+            case CLYDE:
                 Clyde clyde = new Clyde(position);
                 clyde.setRespawnPosition(new Position(position));
                 arena.addGhost(clyde);
-                arena.addBlankPosition(new Position(position));
                 break;
-            case 'b':
+            case BLINKY:
                 Blinky blinky = new Blinky(position);
                 blinky.setRespawnPosition(new Position(position));
                 arena.addGhost(blinky);
-                arena.addBlankPosition(new Position(position));
-                break;
-            case 'D':
-                arena.setGhostGatePosition(position);
-                break;
-            case 'u':
-                arena.addCollectible(new PowerUp(position));
-                break;
-            case ' ':
-                arena.addBlankPosition(position);
                 break;
             default:
-                arena.addBlankPosition(position);
-                System.out.println("Unknown element '" + element + "' at (" + position.getX() + ", " + position.getY() + ")");
                 break;
         }
     }
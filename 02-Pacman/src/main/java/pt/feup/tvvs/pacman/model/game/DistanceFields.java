@@ -0,0 +1,69 @@
+package pt.feup.tvvs.pacman.model.game;
+
+import java.util.Arrays;
+
+//walking distances between the tiles of an arena, one BFS field per walkable target tile, all computed when the fields are
+//built so the ghosts only ever look them up; the ghost gate is only walkable in the fields of the ghosts that may cross it
+public class DistanceFields {
+    public static final int UNREACHABLE = Integer.MAX_VALUE;
+    //bigger arenas, the streamed maps among them, get no fields: a field per tile would take tiles * tiles ints
+    public static final int MAX_TILES = 2048;
+
+    private final int width, height;
+    private final boolean[] walkable; //snapshot of the non wall tiles, indexed like the arena grid
+    private final int[][] fields; //fields[target][from], null for the targets that aren't walkable
+
+    public DistanceFields(Arena arena, boolean throughGate) {
+        this.width = arena.getWidth();
+        this.height = arena.getHeight();
+        this.walkable = new boolean[width * height];
+        for (int y = 0; y < height; ++y)
+            for (int x = 0; x < width; ++x)
+                walkable[y * width + x] = arena.isEmpty(x, y) && (throughGate || !arena.isGhostGate(x, y));
+        this.fields = new int[width * height][];
+        int[] queue = new int[width * height];
+        for (int target = 0; target < fields.length; ++target)
+            if (walkable[target]) fields[target] = computeField(target, queue);
+    }
+
+    //whether an arena is small enough to get distance fields
+    public static boolean fits(Arena arena) {
+        return (long) arena.getWidth() * arena.getHeight() <= MAX_TILES;
+    }
+
+    public boolean isReachable(int x, int y) {
+        return x >= 0 && y >= 0 && x < width && y < height && walkable[y * width + x];
+    }
+
+    //number of steps to walk from one tile to another, UNREACHABLE when either is a wall, outside, or they aren't connected
+    public int distance(int fromX, int fromY, int toX, int toY) {
+        if (!isReachable(toX, toY) || fromX < 0 || fromY < 0 || fromX >= width || fromY >= height)
+            return UNREACHABLE;
+        return fields[toY * width + toX][fromY * width + fromX];
+    }
+
+    private int[] computeField(int target, int[] queue) {
+        int[] field = new int[width * height];
+        Arrays.fill(field, UNREACHABLE);
+        field[target] = 0;
+        int head = 0, tail = 0;
+        queue[tail++] = target;
+        while (head < tail) {
+            int tile = queue[head++];
+            int x = tile % width, y = tile / width, next = field[tile] + 1;
+            if (x > 0) tail = visit(field, queue, tile - 1, next, tail);
+            if (x < width - 1) tail = visit(field, queue, tile + 1, next, tail);
+            if (y > 0) tail = visit(field, queue, tile - width, next, tail);
+            if (y < height - 1) tail = visit(field, queue, tile + width, next, tail);
+        }
+        return field;
+    }
+
+    private int visit(int[] field, int[] queue, int tile, int distance, int tail) {
+        if (walkable[tile] && field[tile] == UNREACHABLE) {
+            field[tile] = distance;
+            queue[tail++] = tile;
+        }
+        return tail;
+    }
+}
@@ -0,0 +1,202 @@
+package pt.feup.tvvs.pacman.model.game;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/*
+    Compiled map layout (big endian):
+    int   magic "PMAP"
+    short version
+    int   width, height
+    int   number of spawns
+    int   source hash, crc32 of the text map's lines each ended by a newline, to tell if it changed since
+    byte  tiles[(width * height + 1) / 2], one 4 bit tile code per tile in row order, high nibble first
+    spawns, each one byte kind then int x, int y, in the order they appear on the text map
+*/
+//turns the text maps into the compact binary format ArenaLoader reads straight into an arena
+public class MapCompiler {
+    public static final int MAGIC = 0x504D4150;
+    public static final short VERSION = 2;
+    public static final int HEADER_SIZE = 22;
+    public static final int SOURCE_HASH_OFFSET = 18;
+    public static final String TEXT_EXTENSION = ".txt";
+    public static final String COMPILED_EXTENSION = ".pmap";
+
+    //tile codes
+    public static final int NONE = 0; //past the end of a short line
+    public static final int BLANK = 1;
+    public static final int WALL = 2;
+    public static final int GATE = 3;
+    public static final int COIN = 4;
+    public static final int ORANGE = 5;
+    public static final int APPLE = 6;
+    public static final int CHERRY = 7;
+    public static final int KEY = 8;
+    public static final int STRAWBERRY = 9;
+    public static final int POWER_UP = 10;
+
+    //spawn kinds, their tiles are blank
+    public static final byte PACMAN = 0;
+    public static final byte BLINKY = 1;
+    public static final byte PINKY = 2;
+    public static final byte INKY = 3;
+    public static final byte CLYDE = 4;
+
+    private final int maxWidth, maxHeight;
+    private final List<String> warnings;
+
+    public MapCompiler(int maxWidth, int maxHeight) {
+        this.maxWidth = maxWidth;
+        this.maxHeight = maxHeight;
+        this.warnings = new ArrayList<>();
+    }
+
+    //reads at most maxWidth * maxHeight tiles of a text map
+    public byte[] compile(BufferedReader reader) throws IOException {
+        List<String> lines = new ArrayList<>();
+        CRC32 sourceHash = new CRC32();
+        String line;
+        int width = 0;
+        while (lines.size() < maxHeight && (line = reader.readLine()) != null) {
+            lines.add(line);
+            hashLine(sourceHash, line);
+            width = Math.max(width, Math.min(line.length(), maxWidth));
+        }
+        int height = lines.size();
+
+        byte[] tiles = new byte[(width * height + 1) / 2];
+        ByteArrayOutputStream spawnBytes = new ByteArrayOutputStream();
+        DataOutputStream spawns = new DataOutputStream(spawnBytes);
+        int spawnCount = 0, pacmans = 0;
+        for (int row = 0; row < height; ++row) {
+            line = lines.get(row);
+            for (int col = 0; col < Math.min(line.length(), width); ++col) {
+                char element = line.charAt(col);
+                byte spawn = spawnOf(element);
+                int tile;
+                if (spawn < 0) tile = tileOf(col, row, element);
+                else if (spawn == PACMAN && pacmans == 2) tile = NONE; //only two players
+                else {
+                    if (spawn == PACMAN) ++pacmans;
+                    spawns.writeByte(spawn);
+                    spawns.writeInt(col);
+                    spawns.writeInt(row);
+                    ++spawnCount;
+                    tile = BLANK;
+                }
+                int index = row * width + col;
+                tiles[index >> 1] |= (index & 1) == 0 ? tile << 4 : tile;
+            }
+        }
+
+        ByteBuffer map = ByteBuffer.allocate(HEADER_SIZE + tiles.length + spawnBytes.size());
+        map.putInt(MAGIC).putShort(VERSION).putInt(width).putInt(height).putInt(spawnCount).putInt((int) sourceHash.getValue());
+        map.put(tiles).put(spawnBytes.toByteArray());
+        return map.array();
+    }
+
+    //the hash a map compiled from the whole text map holds; lines are hashed without their line endings, so checking the
+    //text map out with other line endings doesn't make its compiled copy look stale
+    public static int sourceHash(BufferedReader reader) throws IOException {
+        CRC32 sourceHash = new CRC32();
+        String line;
+        while ((line = reader.readLine()) != null) hashLine(sourceHash, line);
+        return (int) sourceHash.getValue();
+    }
+
+    private static void hashLine(CRC32 sourceHash, String line) {
+        sourceHash.update(line.getBytes(StandardCharsets.UTF_8));
+        sourceHash.update('\n');
+    }
+
+    private static byte spawnOf(char element) {
+        switch (element) {
+            case 'P':
+                return PACMAN;
+            case 'b':
+                return BLINKY;
+            case 'p':
+                return PINKY;
+            case 'i':
+                return INKY;
+            case 'c':
+                return CLYDE;
+            default:
+                return -1;
+        }
+    }
+
+    private int tileOf(int col, int row, char element) {
+        switch (element) {
+            case 'W':
+                return WALL;
+            case 'D':
+                return GATE;
+            case 'o':
+                return COIN;
+            case 'O':
+                return ORANGE;
+            case 'A':
+                return APPLE;
+            case 'C':
+                return CHERRY;
+            case 'K':
+                return KEY;
+            case 'S':
+                return STRAWBERRY;
+            case 'u':
+                return POWER_UP;
+            case ' ':
+                return BLANK;
+            default:
+                warnings.add("Unknown element '" + element + "' at (" + col + ", " + row + ")");
+                return BLANK;
+        }
+    }
+
+    //unknown characters found by the last compilations, they were turned into blank tiles
+    public List<String> getWarnings() {
+        return warnings;
+    }
+
+    public static Path compiledPathOf(Path textMap) {
+        String name = textMap.getFileName().toString();
+        if (name.endsWith(TEXT_EXTENSION)) name = name.substring(0, name.length() - TEXT_EXTENSION.length());
+        return textMap.resolveSibling(name + COMPILED_EXTENSION);
+    }
+
+    public void compile(Path textMap, Path compiledMap) throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(textMap)) {
+            Files.write(compiledMap, compile(reader));
+        }
+    }
+
+    //compiles every text map given, directories are searched for them, writing each next to its source
+    public static void main(String[] args) throws IOException {
+        MapCompiler compiler = new MapCompiler(Integer.MAX_VALUE, Integer.MAX_VALUE);
+        for (String arg : args) {
+            List<Path> textMaps;
+            try (Stream<Path> paths = Files.walk(Paths.get(arg))) {
+                textMaps = paths.filter(path -> path.toString().endsWith(TEXT_EXTENSION)).sorted().collect(Collectors.toList());
+            }
+            for (Path textMap : textMaps) {
+                compiler.compile(textMap, compiledPathOf(textMap));
+                System.out.println("Compiled " + textMap);
+                compiler.getWarnings().forEach(warning -> System.err.println("  " + warning));
+                compiler.getWarnings().clear();
+            }
+        }
+    }
+}
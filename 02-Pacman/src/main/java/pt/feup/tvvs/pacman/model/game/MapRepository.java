@@ -0,0 +1,210 @@
+package pt.feup.tvvs.pacman.model.game;
+
+import pt.feup.tvvs.pacman.ClasspathFolders;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static pt.feup.tvvs.pacman.model.game.MapCompiler.COMPILED_EXTENSION;
+import static pt.feup.tvvs.pacman.model.game.MapCompiler.TEXT_EXTENSION;
+
+//maps on the classpath and in external directories, listed once and kept parsed in a small LRU cache of templates
+//maps are grouped in folders (singleplayer, multiplayer...), a directory map replaces a classpath one of the same name
+//the game only reads the shipped maps unless a directory is asked for, so where it is launched from never matters
+public class MapRepository {
+    public static final String CLASSPATH_ROOT = "Maps";
+    public static final int CACHE_SIZE = 8;
+    private static MapRepository instance;
+
+    private final String classpathRoot;
+    private final List<Path> directories;
+    private final Map<String, Map<String, MapSource>> folders; //folder -> map name -> where to read it from, names sorted
+    private final Map<String, CachedTemplate> cache; //"folder/name" -> template, least recently used first
+
+    public MapRepository(String classpathRoot, List<Path> directories, int cacheSize) {
+        this.classpathRoot = classpathRoot;
+        this.directories = new ArrayList<>(directories);
+        this.folders = new HashMap<>();
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedTemplate> eldest) {
+                return size() > cacheSize;
+            }
+        };
+        indexClasspath();
+        for (Path directory : this.directories) {
+            for (Path folder : list(directory, Files::isDirectory))
+                indexDirectory(folder.getFileName().toString(), folder);
+        }
+    }
+
+    //the shipped maps, plus the directory in -Dpacman.maps when given (e.g. src/main/resources/Maps, so edited maps show up
+    //without a rebuild)
+    public static synchronized MapRepository getInstance() {
+        if (instance == null) {
+            List<Path> directories = new ArrayList<>();
+            String extra = System.getProperty("pacman.maps");
+            if (extra != null) directories.add(Paths.get(extra));
+            instance = new MapRepository(CLASSPATH_ROOT, directories, CACHE_SIZE);
+        }
+        return instance;
+    }
+
+    //the maps of every classpath root, a map in more than one of them is read from the first like any resource
+    private void indexClasspath() {
+        ClasspathFolders.forEach(classpathRoot, this::indexClasspath);
+    }
+
+    private void indexClasspath(Path root) {
+        for (Path folder : list(root, Files::isDirectory)) {
+            String folderName = stripSlash(folder.getFileName().toString());
+            for (Path map : list(folder, Files::isRegularFile)) {
+                String file = map.getFileName().toString();
+                String name = nameOf(file);
+                if (name == null) continue;
+                MapSource source = folders.computeIfAbsent(folderName, key -> new TreeMap<>())
+                        .computeIfAbsent(name, key -> new MapSource());
+                String resource = classpathRoot + "/" + folderName + "/" + file;
+                if (file.endsWith(COMPILED_EXTENSION)) source.compiledResource = resource;
+                else source.textResource = resource;
+            }
+        }
+    }
+
+    private void indexDirectory(String folderName, Path folder) {
+        for (Path map : list(folder, Files::isRegularFile)) {
+            String name = nameOf(map.getFileName().toString());
+            if (name == null) continue;
+            MapSource source = folders.computeIfAbsent(folderName, key -> new TreeMap<>())
+                    .computeIfAbsent(name, key -> new MapSource());
+            if (map.getFileName().toString().endsWith(COMPILED_EXTENSION)) source.compiledFile = map;
+            else source.textFile = map;
+        }
+    }
+
+    //jar directories are listed with a trailing slash
+    private static String stripSlash(String name) {
+        return name.endsWith("/") ? name.substring(0, name.length() - 1) : name;
+    }
+
+    private static String nameOf(String file) {
+        if (file.endsWith(TEXT_EXTENSION)) return file.substring(0, file.length() - TEXT_EXTENSION.length());
+        if (file.endsWith(COMPILED_EXTENSION)) return file.substring(0, file.length() - COMPILED_EXTENSION.length());
+        return null;
+    }
+
+    private static List<Path> list(Path directory, Predicate<Path> filter) {
+        if (!Files.isDirectory(directory)) return Collections.emptyList();
+        try (Stream<Path> paths = Files.list(directory)) {
+            return paths.filter(filter).collect(Collectors.toList());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    //names of the maps in a folder, sorted; folders created after startup are looked for in the directories
+    public synchronized List<String> getMapNames(String folder) {
+        if (!folders.containsKey(folder)) {
+            for (Path directory : directories) indexDirectory(folder, directory.resolve(folder));
+        }
+        return new ArrayList<>(folders.getOrDefault(folder, Collections.emptyMap()).keySet());
+    }
+
+    //parses the map only when it isn't cached, or when its directory file changed since
+    public synchronized MapTemplate getTemplate(String folder, String name) throws IOException {
+        MapSource source = folders.getOrDefault(folder, Collections.emptyMap()).get(name);
+        if (source == null) throw new NoSuchFileException(folder + "/" + name);
+        String key = folder + "/" + name;
+        long stamp = source.stamp();
+        CachedTemplate cached = cache.get(key);
+        if (cached != null && cached.stamp == stamp) return cached.template;
+        MapTemplate template = source.load();
+        template.setName(key);
+        cache.put(key, new CachedTemplate(template, stamp));
+        return template;
+    }
+
+    public Arena createArena(String folder, String name) throws IOException {
+        return getTemplate(folder, name).createArena();
+    }
+
+    private static class MapSource {
+        private Path textFile, compiledFile;
+        private String textResource, compiledResource;
+
+        //the directory file to read, a compiled map only when it was compiled from its text map as it is now
+        private Path file() {
+            if (textFile == null) return compiledFile;
+            return Paths.get(ArenaLoader.preferCompiled(textFile.toString()));
+        }
+
+        //changes whenever the map has to be read again, classpath maps never change
+        //both the text map and its compiled copy are looked at, so a cached map costs no hashing
+        private long stamp() throws IOException {
+            if (textFile == null) return stampOf(compiledFile);
+            return stampOf(textFile) * 31 + stampOf(MapCompiler.compiledPathOf(textFile));
+        }
+
+        private static long stampOf(Path file) throws IOException {
+            if (file == null || Files.notExists(file)) return 0;
+            return Files.getLastModifiedTime(file).toMillis() * 31 + Files.size(file) + file.hashCode();
+        }
+
+        //the classpath resource to read, a compiled map only when it was compiled from the shipped text map
+        private String resource() {
+            if (compiledResource == null) return textResource;
+            if (textResource == null) return compiledResource;
+            try (InputStream compiled = open(compiledResource); InputStream text = open(textResource)) {
+                BufferedReader reader = new BufferedReader(new InputStreamReader(text, StandardCharsets.UTF_8));
+                if (ArenaLoader.isCompiledFrom(Channels.newChannel(compiled), reader)) return compiledResource;
+            } catch (IOException e) { //unreadable or from another version, the text map is the one to trust
+            }
+            return textResource;
+        }
+
+        private static InputStream open(String resource) throws IOException {
+            InputStream input = MapRepository.class.getClassLoader().getResourceAsStream(resource);
+            if (input == null) throw new NoSuchFileException(resource);
+            return input;
+        }
+
+        private MapTemplate load() throws IOException {
+            Path file = file();
+            if (file != null) return ArenaLoader.loadTemplate(file.toString());
+            String resource = resource();
+            try (InputStream input = open(resource)) {
+                if (resource.endsWith(COMPILED_EXTENSION)) return ArenaLoader.loadTemplate(Channels.newChannel(input));
+                return ArenaLoader.compileTemplate(new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8)));
+            }
+        }
+    }
+
+    private static class CachedTemplate {
+        private final MapTemplate template;
+        private final long stamp;
+
+        private CachedTemplate(MapTemplate template, long stamp) {
+            this.template = template;
+            this.stamp = stamp;
+        }
+    }
+}
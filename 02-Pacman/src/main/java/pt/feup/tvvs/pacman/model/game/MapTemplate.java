@@ -0,0 +1,33 @@
+package pt.feup.tvvs.pacman.model.game;
+
+//a parsed map that is never played on, every game gets a copy-on-write arena of it
+public class MapTemplate {
+    private final Arena prototype; //walls, gate, collectibles and blank tiles
+    private final byte[] spawns; //pacmans and ghosts as listed in the compiled map
+
+    MapTemplate(Arena prototype, byte[] spawns) {
+        this.prototype = prototype;
+        this.spawns = spawns;
+    }
+
+    //shares the map's grids and element sets until the game first changes them, so it doesn't touch the disk or parse anything
+    public Arena createArena() {
+        Arena arena = new Arena(prototype);
+        ArenaLoader.loadSpawns(arena, spawns);
+        arena.updateChunks();
+        return arena;
+    }
+
+    //named before any arena is made of it, every arena made afterwards carries the name
+    void setName(String name) {
+        prototype.setName(name);
+    }
+
+    public int getWidth() {
+        return prototype.getWidth();
+    }
+
+    public int getHeight() {
+        return prototype.getHeight();
+    }
+}
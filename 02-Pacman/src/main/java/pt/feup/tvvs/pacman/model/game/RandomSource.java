@@ -0,0 +1,34 @@
+package pt.feup.tvvs.pacman.model.game;
+
+//splitmix64 generator, the same seed always gives the same numbers on every jvm, so recorded games can be played again
+public class RandomSource {
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+    private final long seed;
+    private long state;
+
+    public RandomSource(long seed) {
+        this.seed = seed;
+        this.state = seed;
+    }
+
+    //seeded from the clock, for games nobody records
+    public static RandomSource unseeded() {
+        return new RandomSource(System.nanoTime() ^ System.currentTimeMillis() * GOLDEN_GAMMA);
+    }
+
+    public long nextLong() {
+        long z = (state += GOLDEN_GAMMA);
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    //uniform in [0, bound), bound must be positive
+    public int nextInt(int bound) {
+        return (int) (((nextLong() >>> 32) * bound) >>> 32);
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+}
@@ -0,0 +1,93 @@
+package pt.feup.tvvs.pacman.model.game;
+
+import pt.feup.tvvs.pacman.model.game.element.MovableElement;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+//buckets movable elements by the tile their real position falls in, two elements can only collide when their tiles touch
+public class SpatialIndex<T extends MovableElement> {
+    private static final int CELL_SIZE = 11;
+
+    private final int columns, rows; //the arena plus a border of cells for elements sliding off its edges
+    private final int[] heads; //first element of each cell, -1 when empty
+    private final int[] touchedCells; //cells with elements, cleared on the next rebuild
+    private int touchedCount;
+    private Object[] elements; //in the order they were added
+    private int[] next; //next element in the same cell, -1 at the end
+    private int size;
+    private Object[] found;
+    private int[] foundOrder;
+
+    public SpatialIndex(int width, int height) {
+        this.columns = width + 2;
+        this.rows = height + 2;
+        this.heads = new int[columns * rows];
+        Arrays.fill(heads, -1);
+        this.touchedCells = new int[columns * rows];
+        this.elements = new Object[8];
+        this.next = new int[8];
+        this.found = new Object[8];
+        this.foundOrder = new int[8];
+    }
+
+    public void rebuild(Collection<? extends T> collection) {
+        for (int i = 0; i < touchedCount; ++i) heads[touchedCells[i]] = -1;
+        touchedCount = 0;
+        size = 0;
+        if (elements.length < collection.size()) grow(collection.size());
+
+        //cells are filled back to front so that each one lists its elements in the order they were added
+        for (T element : collection) elements[size++] = element;
+        for (int i = size - 1; i >= 0; --i) {
+            MovableElement element = (MovableElement) elements[i];
+            int cell = rowOf(element.getRealY()) * columns + columnOf(element.getRealX());
+            if (heads[cell] == -1) touchedCells[touchedCount++] = cell;
+            next[i] = heads[cell];
+            heads[cell] = i;
+        }
+    }
+
+    private void grow(int capacity) {
+        elements = new Object[capacity];
+        next = new int[capacity];
+        found = new Object[capacity];
+        foundOrder = new int[capacity];
+    }
+
+    private int columnOf(int realX) {
+        return Math.max(0, Math.min(columns - 1, Math.floorDiv(realX, CELL_SIZE) + 1));
+    }
+
+    private int rowOf(int realY) {
+        return Math.max(0, Math.min(rows - 1, Math.floorDiv(realY, CELL_SIZE) + 1));
+    }
+
+    //collects the indexed elements on the 3x3 cells around the given one, in the order they were added; returns how many
+    public int findNear(MovableElement element) {
+        int column = columnOf(element.getRealX()), row = rowOf(element.getRealY());
+        int count = 0;
+        for (int y = Math.max(0, row - 1); y <= Math.min(rows - 1, row + 1); ++y)
+            for (int x = Math.max(0, column - 1); x <= Math.min(columns - 1, column + 1); ++x)
+                for (int i = heads[y * columns + x]; i != -1; i = next[i]) {
+                    int at = count++; //insertion sort, there are only ever a handful of neighbours
+                    while (at > 0 && foundOrder[at - 1] > i) {
+                        foundOrder[at] = foundOrder[at - 1];
+                        --at;
+                    }
+                    foundOrder[at] = i;
+                }
+        for (int i = 0; i < count; ++i) found[i] = elements[foundOrder[i]];
+        return count;
+    }
+
+    //i-th element collected by the last findNear
+    @SuppressWarnings("unchecked")
+    public T getFound(int i) {
+        return (T) found[i];
+    }
+
+    public int size() {
+        return size;
+    }
+}
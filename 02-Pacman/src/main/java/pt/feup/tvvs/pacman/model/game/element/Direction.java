@@ -1,10 +1,25 @@
 package pt.feup.tvvs.pacman.model.game.element;
 
 public enum Direction {
-    UP,
-    LEFT,
-    DOWN,
-    RIGHT;
+    UP(0, -1),
+    LEFT(-1, 0),
+    DOWN(0, 1),
+    RIGHT(1, 0);
+
+    private final int dx, dy; //tile offset of one step in this direction
+
+    Direction(int dx, int dy) {
+        this.dx = dx;
+        this.dy = dy;
+    }
+
+    public int getDx() {
+        return dx;
+    }
+
+    public int getDy() {
+        return dy;
+    }
 
     public boolean isOpposite(Direction other) {
         return (this == UP && other == DOWN) || (this == DOWN && other == UP) || (this == LEFT && other == RIGHT) || (this == RIGHT && other == LEFT);
@@ -35,7 +35,7 @@ public abstract class MovableElement extends Element {
             this.counter++;
         else {
             counter = 0;
-            setPosition(getNextPosition());
+            setPosition(getNextX(), getNextY());
         }
     }
 
@@ -51,34 +51,40 @@ public abstract class MovableElement extends Element {
         return 0;
     }
 
+    public int getNextX() {
+        return getPosition().getX() + direction.getDx();
+    }
+
+    public int getNextY() {
+        return getPosition().getY() + direction.getDy();
+    }
+
     public Position getNextPosition() {
-        switch (direction) {
-            case UP:
-                return getPosition().getUp();
-            case DOWN:
-                return getPosition().getDown();
-            case LEFT:
-                return getPosition().getLeft();
-            case RIGHT:
-                return getPosition().getRight();
-        }
-        return null;
+        return new Position(getNextX(), getNextY());
     }
 
     public void invertDirection() {
         if (counter != 0) {
-            setPosition(getNextPosition());
+            setPosition(getNextX(), getNextY());
             setDirection(getDirection().getOpposite());
             setCounter(11 - getCounter());
         } else setDirection(getDirection().getOpposite());
     }
 
+    public int getRealX() {
+        return getPosition().getX() * 11 + getCounterX();
+    }
+
+    public int getRealY() {
+        return getPosition().getY() * 11 + getCounterY();
+    }
+
     public Position getRealPosition() {
-        return new Position(getPosition().getX() * 11 + getCounterX(), getPosition().getY() * 11 + getCounterY());
+        return new Position(getRealX(), getRealY());
     }
 
     public boolean collidingWith(MovableElement other) {
-        return getRealPosition().squaredDistance(other.getRealPosition()) < 121;
+        return Position.squaredDistance(getRealX(), getRealY(), other.getRealX(), other.getRealY()) < 121;
     }
 
     public int getSpeed() {
@@ -88,4 +94,12 @@ public abstract class MovableElement extends Element {
     public void setSpeed(int speed) {
         this.speed = speed;
     }
+
+    //takes the other element's place, direction, step and speed, for the copies drawn on the render thread
+    public void copyMovement(MovableElement other) {
+        setPosition(other.getPosition().getX(), other.getPosition().getY());
+        setDirection(other.getDirection());
+        setCounter(other.getCounter());
+        setSpeed(other.getSpeed());
+    }
 }
@@ -17,6 +17,17 @@ public class AlertMenu extends Menu {
         initializeOptions();
     }
 
+    //empty snapshot, filled by snapshot(); the arena of the finished game doesn't change anymore and is shared
+    private AlertMenu(AlertMenu origin) {
+        this.arena = origin.arena;
+        this.alertFilePath = origin.alertFilePath;
+    }
+
+    @Override
+    protected Menu createSnapshot() {
+        return new AlertMenu(this);
+    }
+
     @Override
     protected List<TextBox> createOptions() {
         return List.of(
@@ -42,6 +42,31 @@ public class MainMenu extends Menu implements MenuOptions {
         setMasterVolume(volume);
     }
 
+    //empty snapshot, filled by snapshot(); the blank positions never change and are shared
+    private MainMenu(MainMenu origin) {
+        blankPositions = origin.blankPositions;
+        pacman = new Pacman(new Position(origin.pacman.getPosition()));
+        blinky = new Blinky(new Position(origin.blinky.getPosition()));
+        inky = new Inky(new Position(origin.inky.getPosition()));
+        pinky = new Pinky(new Position(origin.pinky.getPosition()));
+        clyde = new Clyde(new Position(origin.clyde.getPosition()));
+    }
+
+    @Override
+    protected Menu createSnapshot() {
+        return new MainMenu(this);
+    }
+
+    @Override
+    protected void fillSnapshot(Menu snapshot) {
+        MainMenu copy = (MainMenu) snapshot;
+        copy.pacman.copyMovement(pacman);
+        copy.blinky.copyMovement(blinky);
+        copy.inky.copyMovement(inky);
+        copy.pinky.copyMovement(pinky);
+        copy.clyde.copyMovement(clyde);
+    }
+
     @Override
     public List<TextBox> createOptions() {
         return new ArrayList<>(List.of(
@@ -2,12 +2,11 @@ package pt.feup.tvvs.pacman.model.menu;
 
 import com.googlecode.lanterna.TextColor;
 import pt.feup.tvvs.pacman.model.Position;
+import pt.feup.tvvs.pacman.model.game.MapRepository;
 import pt.feup.tvvs.pacman.model.menu.element.TextBox;
 
-import java.io.File;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Objects;
 
 public class MapSelectionMenu extends Menu {
     private final String folderstring;
@@ -17,17 +16,19 @@ public class MapSelectionMenu extends Menu {
         initializeOptions();
     }
 
+    //empty snapshot, filled by snapshot() without listing the maps again
+    private MapSelectionMenu(MapSelectionMenu origin) {
+        this.folderstring = origin.folderstring;
+    }
+
     @Override
-    protected List<TextBox> createOptions() {
-        List<String> mapNames = new ArrayList<>();
-        File mapFolder = new File("src/main/resources/Maps/" + folderstring);
-        for (final File fileEntry : Objects.requireNonNull(mapFolder.listFiles())) {
-            if (!fileEntry.isDirectory() && fileEntry.getName().endsWith(".txt")) {
-                mapNames.add(fileEntry.getName().substring(0, fileEntry.getName().length() - 4));
-            }
-        }
+    protected Menu createSnapshot() {
+        return new MapSelectionMenu(this);
+    }
 
-        mapNames.sort(String::compareTo);
+    @Override
+    protected List<TextBox> createOptions() {
+        List<String> mapNames = MapRepository.getInstance().getMapNames(folderstring); //already sorted
         List<TextBox> options = new ArrayList<>();
         int y = 80;
         for (String mapName : mapNames) {
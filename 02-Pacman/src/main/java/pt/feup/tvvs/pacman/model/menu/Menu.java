@@ -1,14 +1,17 @@
 package pt.feup.tvvs.pacman.model.menu;
 
 import com.googlecode.lanterna.TextColor;
+import pt.feup.tvvs.pacman.model.Position;
 import pt.feup.tvvs.pacman.model.menu.element.TextBox;
 
+import java.util.ArrayList;
 import java.util.List;
 
 public abstract class Menu {
     private final TextBox title;
     private List<TextBox> options;
     private int selectedOption;
+    private Menu origin; //menu a snapshot was taken of, null for the menus that are shown
 
     public Menu() {
         selectedOption = 0;
@@ -52,6 +55,35 @@ public abstract class Menu {
         options.get(selectedOption).setColor(new TextColor.RGB(255, 255, 0));
     }
 
+    //copy of the options and the selection, to be drawn on another thread while the menu goes on; the title never changes,
+    //the snapshot makes its own. a snapshot of this menu passed as reuse is filled again instead of allocating one, it must not
+    //be in use anymore
+    public Menu snapshot(Menu reuse) {
+        Menu snapshot = reuse != null && reuse.origin == this ? reuse : createSnapshot();
+        snapshot.origin = this;
+        if (snapshot.options == null) snapshot.options = new ArrayList<>();
+        List<TextBox> copies = snapshot.options;
+        for (int i = 0; i < options.size(); ++i) {
+            TextBox option = options.get(i);
+            if (i == copies.size()) copies.add(new TextBox(option.getText(), new Position(option.getPosition()), option.getColor()));
+            TextBox copy = copies.get(i);
+            copy.setText(option.getText());
+            copy.setColor(option.getColor());
+            copy.setPosition(option.getPosition());
+        }
+        while (copies.size() > options.size()) copies.remove(copies.size() - 1);
+        snapshot.selectedOption = selectedOption;
+        fillSnapshot(snapshot);
+        return snapshot;
+    }
+
+    //empty menu of the same kind, sharing what never changes, for snapshot() to fill
+    protected abstract Menu createSnapshot();
+
+    //copies what the menu draws besides its options
+    protected void fillSnapshot(Menu snapshot) {
+    }
+
     protected abstract List<TextBox> createOptions();
 
     protected abstract TextBox createTitle();
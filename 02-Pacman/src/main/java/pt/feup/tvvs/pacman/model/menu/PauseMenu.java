@@ -21,6 +21,17 @@ public class PauseMenu extends Menu implements MenuOptions {
         setMasterVolume(volume);
     }
 
+    //empty snapshot, filled by snapshot(); the pause sign never changes and is shared
+    private PauseMenu(PauseMenu origin) {
+        this.pausedState = origin.pausedState;
+        this.pauseSign = origin.pauseSign;
+    }
+
+    @Override
+    protected Menu createSnapshot() {
+        return new PauseMenu(this);
+    }
+
     @Override
     public List<TextBox> createOptions() {
         return new ArrayList<>(List.of(
@@ -0,0 +1,79 @@
+package pt.feup.tvvs.pacman.simulation;
+
+import pt.feup.tvvs.pacman.gui.GUI;
+import pt.feup.tvvs.pacman.model.game.Arena;
+import pt.feup.tvvs.pacman.model.game.RandomSource;
+import pt.feup.tvvs.pacman.model.game.element.Direction;
+import pt.feup.tvvs.pacman.model.game.element.ghost.Ghost;
+import pt.feup.tvvs.pacman.model.game.element.ghost.GhostState;
+import pt.feup.tvvs.pacman.model.game.element.pacman.Pacman;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+//plays for the pacmans of a simulated game: follows the corridors, turns at random on junctions and turns back from chasing ghosts ahead
+//it is no good player, but the same seed always plays the same way so different ghost constants can be compared on the same games
+public class AutoPilot {
+    private static final Direction[] DIRECTIONS = Direction.values();
+    private static final GUI.ACTION[][] KEYS = { //keys of each pacman, in the order of the directions
+            {GUI.ACTION.UP, GUI.ACTION.LEFT, GUI.ACTION.DOWN, GUI.ACTION.RIGHT},
+            {GUI.ACTION.W, GUI.ACTION.A, GUI.ACTION.S, GUI.ACTION.D}
+    };
+    private static final int DANGER_DISTANCE = 16; //squared tiles
+
+    private final RandomSource random;
+    private final List<GUI.ACTION> actions;
+    private final int[] lastX, lastY; //tile each pacman last chose a direction on
+    private final Direction[] open; //scratch for the directions a pacman can take
+
+    public AutoPilot(long seed) {
+        this.random = new RandomSource(seed);
+        this.actions = new ArrayList<>();
+        this.lastX = new int[KEYS.length];
+        this.lastY = new int[KEYS.length];
+        Arrays.fill(lastX, Integer.MIN_VALUE);
+        this.open = new Direction[DIRECTIONS.length];
+    }
+
+    //keys pressed this tick, the list is reused by the next call
+    public List<GUI.ACTION> next(Arena arena) {
+        actions.clear();
+        List<Pacman> pacmans = arena.getPacmans();
+        for (int i = 0; i < pacmans.size() && i < KEYS.length; ++i) {
+            Pacman pacman = pacmans.get(i);
+            if (pacman.isDying()) continue;
+            Direction direction = choose(arena, pacman, i);
+            if (direction != null) actions.add(KEYS[i][direction.ordinal()]);
+        }
+        return actions;
+    }
+
+    private Direction choose(Arena arena, Pacman pacman, int index) {
+        int x = pacman.getPosition().getX(), y = pacman.getPosition().getY();
+        Direction current = pacman.getDirection();
+        if (isGhostAhead(arena, x, y, current)) return current.getOpposite();
+        if (x == lastX[index] && y == lastY[index]) return null; //already chose on this tile
+        lastX[index] = x;
+        lastY[index] = y;
+
+        int count = 0;
+        for (Direction direction : DIRECTIONS) {
+            int nextX = x + direction.getDx(), nextY = y + direction.getDy();
+            if (!direction.isOpposite(current) && arena.isEmpty(nextX, nextY) && !arena.isGhostGate(nextX, nextY))
+                open[count++] = direction;
+        }
+        if (count == 0) return current.getOpposite(); //dead end
+        return open[random.nextInt(count)];
+    }
+
+    //a chasing ghost close by, on the side the pacman is heading to
+    private static boolean isGhostAhead(Arena arena, int x, int y, Direction direction) {
+        for (Ghost ghost : arena.getGhosts()) {
+            if (ghost.getState() != GhostState.ALIVE) continue;
+            int dx = ghost.getPosition().getX() - x, dy = ghost.getPosition().getY() - y;
+            if (dx * dx + dy * dy <= DANGER_DISTANCE && dx * direction.getDx() + dy * direction.getDy() > 0) return true;
+        }
+        return false;
+    }
+}
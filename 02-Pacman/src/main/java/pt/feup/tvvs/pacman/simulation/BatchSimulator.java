@@ -0,0 +1,177 @@
+package pt.feup.tvvs.pacman.simulation;
+
+import pt.feup.tvvs.pacman.controller.game.element.GhostTuning;
+import pt.feup.tvvs.pacman.model.game.Arena;
+import pt.feup.tvvs.pacman.model.game.MapRepository;
+import pt.feup.tvvs.pacman.model.game.MapTemplate;
+import pt.feup.tvvs.pacman.model.game.RandomSource;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.LongSummaryStatistics;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+//plays many seeded games of a map at once with no gui, the auto pilot at the keys, to see how a set of ghost constants plays out
+//the seeds are split in halves until each fork join task has a few games left, every game gets its own arena and engine
+public class BatchSimulator {
+    public static final long MAX_TICKS = 60 * 60 * 10; //ten minutes of game, longer games are counted as unfinished
+    private static final int GAMES_PER_TASK = 8;
+
+    private final ForkJoinPool pool;
+    private final GhostTuning tuning;
+    private final boolean ghostPathfinding;
+    private final long maxTicks;
+
+    public BatchSimulator(ForkJoinPool pool, GhostTuning tuning, boolean ghostPathfinding, long maxTicks) {
+        this.pool = pool;
+        this.tuning = tuning;
+        this.ghostPathfinding = ghostPathfinding;
+        this.maxTicks = maxTicks;
+    }
+
+    //plays the games seeded firstSeed up to firstSeed + games - 1, the same seeds give the same statistics
+    public Stats simulate(String folder, String map, long firstSeed, int games) throws IOException {
+        return simulate(MapRepository.getInstance().getTemplate(folder, map), firstSeed, games);
+    }
+
+    public Stats simulate(MapTemplate template, long firstSeed, int games) {
+        return pool.invoke(new Games(this, template, firstSeed, firstSeed + games));
+    }
+
+    //one game from start to end, or to maxTicks
+    public Stats play(MapTemplate template, long seed) {
+        Arena arena = template.createArena();
+        arena.setRandom(new RandomSource(seed));
+        SimulationEngine engine = new SimulationEngine(arena, ghostPathfinding, tuning);
+        AutoPilot pilot = new AutoPilot(~seed); //its own numbers, so it doesn't shift the ghosts' ones
+        Stats stats = new Stats();
+        long[] firstCatch = {-1};
+        engine.addListener((event, tick) -> {
+            if (event != SimulationEvent.PACMANS_CAUGHT) return;
+            ++stats.catches;
+            if (firstCatch[0] < 0) firstCatch[0] = tick;
+        });
+        while (!engine.isFinished() && engine.getTick() < maxTicks) engine.step(pilot.next(arena));
+
+        ++stats.games;
+        if (engine.getStatus() == SimulationEngine.Status.WON) ++stats.wins;
+        else if (engine.getStatus() == SimulationEngine.Status.LOST) ++stats.losses;
+        stats.scores.accept(arena.getScore());
+        stats.ticks.accept(engine.getTick());
+        if (firstCatch[0] >= 0) stats.firstCatchTicks.accept(firstCatch[0]);
+        return stats;
+    }
+
+    //static so the task doesn't hold a hidden reference to the simulator; tasks are never serialized
+    private static class Games extends RecursiveTask<Stats> {
+        private static final long serialVersionUID = 1L;
+
+        private final transient BatchSimulator simulator;
+        private final transient MapTemplate template;
+        private final long from, to;
+
+        private Games(BatchSimulator simulator, MapTemplate template, long from, long to) {
+            this.simulator = simulator;
+            this.template = template;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Stats compute() {
+            if (to - from <= GAMES_PER_TASK) {
+                Stats stats = new Stats();
+                for (long seed = from; seed < to; ++seed) stats.merge(simulator.play(template, seed));
+                return stats;
+            }
+            long middle = from + (to - from) / 2;
+            Games second = new Games(simulator, template, middle, to);
+            second.fork();
+            Stats stats = new Games(simulator, template, from, middle).compute();
+            stats.merge(second.join());
+            return stats;
+        }
+    }
+
+    //plays every map of the given folders (singleplayer and multiplayer when none) and prints a line of statistics per map
+    //args: games per map, then the folders; the ghost constants come from -Dpacman.ghost.* and the pathfinding from -Dpacman.ghostPathfinding
+    public static void main(String[] args) throws IOException {
+        int games = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+        List<String> folders = new ArrayList<>();
+        for (int i = 1; i < args.length; ++i) folders.add(args[i]);
+        if (folders.isEmpty()) folders = List.of("singleplayer", "multiplayer");
+
+        GhostTuning tuning = GhostTuning.fromProperties();
+        BatchSimulator simulator = new BatchSimulator(ForkJoinPool.commonPool(), tuning, Boolean.getBoolean("pacman.ghostPathfinding"), MAX_TICKS);
+        System.out.println("ghosts: " + tuning + ", " + games + " games per map on " + ForkJoinPool.commonPool().getParallelism() + " threads");
+        for (String folder : folders) {
+            for (String map : MapRepository.getInstance().getMapNames(folder)) {
+                long start = System.nanoTime();
+                Stats stats = simulator.simulate(folder, map, 0, games);
+                System.out.println(String.format(Locale.ROOT, "%-28s %s  (%.1fs)", folder + "/" + map, stats, (System.nanoTime() - start) / 1e9));
+            }
+        }
+    }
+
+    //totals of a batch of games, batches played apart are merged into one
+    public static class Stats {
+        private long games, wins, losses, catches;
+        private final LongSummaryStatistics scores = new LongSummaryStatistics();
+        private final LongSummaryStatistics ticks = new LongSummaryStatistics(); //how long each game lasted
+        private final LongSummaryStatistics firstCatchTicks = new LongSummaryStatistics(); //tick of the first catch, of the games with one
+
+        public void merge(Stats other) {
+            games += other.games;
+            wins += other.wins;
+            losses += other.losses;
+            catches += other.catches;
+            scores.combine(other.scores);
+            ticks.combine(other.ticks);
+            firstCatchTicks.combine(other.firstCatchTicks);
+        }
+
+        public long getGames() {
+            return games;
+        }
+
+        public long getWins() {
+            return wins;
+        }
+
+        public long getLosses() {
+            return losses;
+        }
+
+        //games that hit the tick limit
+        public long getUnfinished() {
+            return games - wins - losses;
+        }
+
+        //times every pacman got caught at once, over all the games
+        public long getCatches() {
+            return catches;
+        }
+
+        public LongSummaryStatistics getScores() {
+            return scores;
+        }
+
+        public LongSummaryStatistics getTicks() {
+            return ticks;
+        }
+
+        public LongSummaryStatistics getFirstCatchTicks() {
+            return firstCatchTicks;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.ROOT, "%d games: %.1f%% won, %.1f%% lost, score %.0f (%d-%d), %.0f ticks, first caught at tick %.0f, %.2f catches a game",
+                    games, 100.0 * wins / Math.max(1, games), 100.0 * losses / Math.max(1, games), scores.getAverage(), scores.getMin(), scores.getMax(),
+                    ticks.getAverage(), firstCatchTicks.getAverage(), (double) catches / Math.max(1, games));
+        }
+    }
+}
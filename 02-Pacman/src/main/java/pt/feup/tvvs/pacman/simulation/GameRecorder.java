@@ -0,0 +1,61 @@
+package pt.feup.tvvs.pacman.simulation;
+
+import pt.feup.tvvs.pacman.gui.GUI;
+import pt.feup.tvvs.pacman.model.game.Arena;
+import pt.feup.tvvs.pacman.model.game.RandomSource;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+//records the input of the games being played, each one saved to its own input log file when the next starts or the game closes
+public class GameRecorder {
+    private static final DateTimeFormatter FILE_TIME = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    private final Path directory;
+    private String folder, map;
+    private long seed;
+    private Arena arena; //only the ticks of this arena are recorded
+    private InputLog log; //created on the first recorded tick, which gives the first frame time
+
+    public GameRecorder(Path directory) {
+        this.directory = directory;
+    }
+
+    //seeds the arena of a new game and records it from now on, saving the previous game
+    public void start(String folder, String map, Arena arena) throws IOException {
+        finish();
+        this.folder = folder;
+        this.map = map;
+        this.seed = RandomSource.unseeded().nextLong();
+        this.arena = arena;
+        arena.setRandom(new RandomSource(seed));
+    }
+
+    //a tick the arena advanced on, with its input and frame time
+    public void record(Arena arena, List<GUI.ACTION> actions, long time) {
+        if (arena != this.arena) return;
+        if (log == null) log = new InputLog(folder, map, seed, Boolean.getBoolean("pacman.ghostPathfinding"), time);
+        log.add(actions, time);
+    }
+
+    //saves the game being recorded, if it had any tick, returning its file
+    public Path finish() throws IOException {
+        Path file = null;
+        if (log != null) {
+            log.setFinalScore(arena.getScore());
+            Files.createDirectories(directory);
+            file = directory.resolve(folder + "-" + map + "-" + LocalDateTime.now().format(FILE_TIME) + InputLog.EXTENSION);
+            try (OutputStream output = Files.newOutputStream(file)) {
+                log.write(output);
+            }
+        }
+        log = null;
+        arena = null;
+        return file;
+    }
+}
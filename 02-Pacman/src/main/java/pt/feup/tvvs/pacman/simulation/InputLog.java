@@ -0,0 +1,225 @@
+package pt.feup.tvvs.pacman.simulation;
+
+import pt.feup.tvvs.pacman.gui.GUI;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/*
+    Input log layout (big endian):
+    int   magic "PREC"
+    short version
+    utf   map folder, utf map name
+    long  random seed
+    bool  ghost pathfinding
+    long  frame time of the first tick
+    long  ticks, long final score
+    int   number of entries, then the entries
+
+    Only ticks with input, or whose frame time doesn't follow the previous one (the game was paused), have an entry:
+    varint ticks since the previous entry, varint frame time skipped, byte number of actions, one byte per action
+*/
+//input of every tick of one recorded game, enough to play it again on a simulation engine
+public class InputLog implements Iterable<InputLog.Tick> {
+    public static final int MAGIC = 0x50524543;
+    public static final short VERSION = 1;
+    public static final String EXTENSION = ".prec";
+    private static final GUI.ACTION[] ACTIONS = GUI.ACTION.values();
+
+    private final String folder, map;
+    private final long seed;
+    private final boolean ghostPathfinding;
+    private final long firstTime;
+    private final ByteArrayOutputStream entries;
+    private int entryCount;
+    private long ticks;
+    private long lastEntryTick; //tick after the last entry, the next entry counts the ticks from here
+    private long previousTime;
+    private long finalScore;
+
+    public InputLog(String folder, String map, long seed, boolean ghostPathfinding, long firstTime) {
+        this.folder = folder;
+        this.map = map;
+        this.seed = seed;
+        this.ghostPathfinding = ghostPathfinding;
+        this.firstTime = firstTime;
+        this.entries = new ByteArrayOutputStream();
+        this.previousTime = firstTime - 1;
+    }
+
+    //adds the next tick, played with the given input at the given frame time
+    public void add(List<GUI.ACTION> actions, long time) {
+        long skipped = time - previousTime - 1;
+        if (!actions.isEmpty() || skipped != 0) {
+            writeVarLong(entries, ticks - lastEntryTick);
+            writeVarLong(entries, skipped);
+            int count = Math.min(actions.size(), 255);
+            entries.write(count);
+            for (int i = 0; i < count; ++i) entries.write(actions.get(i).ordinal());
+            ++entryCount;
+            lastEntryTick = ticks + 1;
+        }
+        previousTime = time;
+        ++ticks;
+    }
+
+    public void setFinalScore(long finalScore) {
+        this.finalScore = finalScore;
+    }
+
+    public void write(OutputStream output) throws IOException {
+        DataOutputStream data = new DataOutputStream(output);
+        data.writeInt(MAGIC);
+        data.writeShort(VERSION);
+        data.writeUTF(folder);
+        data.writeUTF(map);
+        data.writeLong(seed);
+        data.writeBoolean(ghostPathfinding);
+        data.writeLong(firstTime);
+        data.writeLong(ticks);
+        data.writeLong(finalScore);
+        data.writeInt(entryCount);
+        entries.writeTo(data);
+        data.flush();
+    }
+
+    public static InputLog read(InputStream input) throws IOException {
+        DataInputStream data = new DataInputStream(input);
+        if (data.readInt() != MAGIC) throw new IOException("Not an input log");
+        short version = data.readShort();
+        if (version != VERSION) throw new IOException("Unsupported input log version " + version);
+        InputLog log = new InputLog(data.readUTF(), data.readUTF(), data.readLong(), data.readBoolean(), data.readLong());
+        long ticks = data.readLong();
+        long finalScore = data.readLong();
+        int entryCount = data.readInt();
+        for (int i = 0; i < entryCount; ++i) { //checked while copied, so the iterator can trust them
+            long idle = readVarLong(data);
+            long skipped = readVarLong(data);
+            int count = data.readUnsignedByte();
+            writeVarLong(log.entries, idle);
+            writeVarLong(log.entries, skipped);
+            log.entries.write(count);
+            for (; count > 0; --count) {
+                int action = data.readUnsignedByte();
+                if (action >= ACTIONS.length) throw new IOException("Unknown action " + action);
+                log.entries.write(action);
+            }
+            log.ticks += idle + 1;
+            log.previousTime += idle + skipped + 1;
+        }
+        if (log.ticks > ticks) throw new IOException("Input log has more entries than ticks");
+        log.entryCount = entryCount;
+        log.lastEntryTick = log.ticks;
+        log.previousTime += ticks - log.ticks;
+        log.ticks = ticks;
+        log.finalScore = finalScore;
+        return log;
+    }
+
+    private static void writeVarLong(ByteArrayOutputStream output, long value) {
+        while ((value & ~0x7FL) != 0) {
+            output.write((int) (value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        output.write((int) value);
+    }
+
+    private static long readVarLong(DataInputStream input) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = input.readUnsignedByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) return value;
+        }
+        throw new IOException("Malformed varint");
+    }
+
+    //the recorded ticks in order, each one's input and frame time
+    @Override
+    public Iterator<Tick> iterator() {
+        DataInputStream data = new DataInputStream(new ByteArrayInputStream(entries.toByteArray()));
+        return new Iterator<>() {
+            private final Tick tick = new Tick();
+            private long index, nextEntry = -1, time = firstTime - 1;
+            private int entriesLeft = entryCount;
+            private long skipped;
+            private final List<GUI.ACTION> entryActions = new ArrayList<>();
+
+            @Override
+            public boolean hasNext() {
+                return index < ticks;
+            }
+
+            @Override
+            public Tick next() {
+                if (!hasNext()) throw new NoSuchElementException();
+                try {
+                    if (nextEntry < index && entriesLeft > 0) {
+                        nextEntry = index + readVarLong(data);
+                        skipped = readVarLong(data);
+                        entryActions.clear();
+                        for (int count = data.readUnsignedByte(); count > 0; --count) entryActions.add(ACTIONS[data.readUnsignedByte()]);
+                        --entriesLeft;
+                    }
+                } catch (IOException e) { //can't happen, the entries were checked when read
+                    throw new IllegalStateException(e);
+                }
+                tick.actions.clear();
+                if (index == nextEntry) {
+                    time += skipped;
+                    tick.actions.addAll(entryActions);
+                }
+                tick.time = ++time;
+                ++index;
+                return tick;
+            }
+        };
+    }
+
+    public String getFolder() {
+        return folder;
+    }
+
+    public String getMap() {
+        return map;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public boolean isGhostPathfinding() {
+        return ghostPathfinding;
+    }
+
+    public long getTicks() {
+        return ticks;
+    }
+
+    public long getFinalScore() {
+        return finalScore;
+    }
+
+    //one tick handed out by the iterator, reused for the next one
+    public static class Tick {
+        private final List<GUI.ACTION> actions = new ArrayList<>();
+        private long time;
+
+        public List<GUI.ACTION> getActions() {
+            return actions;
+        }
+
+        public long getTime() {
+            return time;
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package pt.feup.tvvs.pacman.simulation;
+
+import pt.feup.tvvs.pacman.model.game.Arena;
+import pt.feup.tvvs.pacman.model.game.MapRepository;
+import pt.feup.tvvs.pacman.model.game.RandomSource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Locale;
+
+//plays recorded games again with no gui as fast as possible, checking they end with the score they had
+public class Replayer {
+
+    public static Result replay(InputLog log) throws IOException {
+        return replay(log, MapRepository.getInstance().createArena(log.getFolder(), log.getMap()));
+    }
+
+    //the arena must be a fresh one of the recorded map
+    public static Result replay(InputLog log, Arena arena) {
+        arena.setRandom(new RandomSource(log.getSeed()));
+        SimulationEngine engine = new SimulationEngine(arena, log.isGhostPathfinding());
+        long start = System.nanoTime();
+        for (InputLog.Tick tick : log) engine.step(tick.getActions(), tick.getTime());
+        return new Result(log, engine, System.nanoTime() - start);
+    }
+
+    //replays every input log given, exits with 1 when any of them doesn't end with its recorded score
+    public static void main(String[] args) throws IOException {
+        boolean allMatch = true;
+        for (String arg : args) {
+            InputLog log;
+            try (InputStream input = Files.newInputStream(Paths.get(arg))) {
+                log = InputLog.read(input);
+            }
+            Result result = replay(log);
+            allMatch &= result.isMatching();
+            System.out.println(String.format(Locale.ROOT, "%s: %s/%s, %d ticks in %.1fms, %s, score %d (recorded %d)%s",
+                    arg, log.getFolder(), log.getMap(), result.getTicks(), result.getNanos() / 1e6, result.getStatus(),
+                    result.getScore(), log.getFinalScore(), result.isMatching() ? "" : " MISMATCH"));
+        }
+        if (!allMatch) System.exit(1);
+    }
+
+    public static class Result {
+        private final long ticks, score, recordedScore, nanos;
+        private final SimulationEngine.Status status;
+
+        private Result(InputLog log, SimulationEngine engine, long nanos) {
+            this.ticks = engine.getTick();
+            this.score = engine.getArena().getScore();
+            this.recordedScore = log.getFinalScore();
+            this.status = engine.getStatus();
+            this.nanos = nanos;
+        }
+
+        public boolean isMatching() {
+            return score == recordedScore;
+        }
+
+        public long getTicks() {
+            return ticks;
+        }
+
+        public long getScore() {
+            return score;
+        }
+
+        public long getRecordedScore() {
+            return recordedScore;
+        }
+
+        public SimulationEngine.Status getStatus() {
+            return status;
+        }
+
+        public long getNanos() {
+            return nanos;
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package pt.feup.tvvs.pacman.simulation;
+
+import pt.feup.tvvs.pacman.audio.AudioManager;
+import pt.feup.tvvs.pacman.controller.game.DyingStateController;
+import pt.feup.tvvs.pacman.controller.game.element.CollisionController;
+import pt.feup.tvvs.pacman.controller.game.element.GhostController;
+import pt.feup.tvvs.pacman.controller.game.element.GhostTuning;
+import pt.feup.tvvs.pacman.controller.game.element.PacmanController;
+import pt.feup.tvvs.pacman.gui.GUI;
+import pt.feup.tvvs.pacman.model.game.Arena;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+
+//runs the game rules on an arena tick by tick with no gui, audio or Game, mirroring GameState and DyingState
+public class SimulationEngine {
+    public enum Status {RUNNING, DYING, WON, LOST}
+
+    private final Arena arena;
+    private final AudioManager audioManager;
+    private final List<SimulationListener> listeners;
+    private final boolean ghostPathfinding;
+    private final GhostTuning ghostTuning;
+    private PacmanController pacmanController;
+    private GhostController ghostController;
+    private CollisionController collisionController;
+    private Status status;
+    private long tick;
+    private int dyingTicksLeft;
+
+    public SimulationEngine(Arena arena) {
+        this(arena, false);
+    }
+
+    public SimulationEngine(Arena arena, boolean ghostPathfinding) {
+        this(arena, ghostPathfinding, GhostTuning.DEFAULT);
+    }
+
+    //every engine owns its arena, controllers and muted audio, so engines on different threads share nothing they change
+    public SimulationEngine(Arena arena, boolean ghostPathfinding, GhostTuning ghostTuning) {
+        this.arena = arena;
+        this.ghostPathfinding = ghostPathfinding;
+        this.ghostTuning = ghostTuning;
+        this.audioManager = AudioManager.createMuted();
+        this.listeners = new ArrayList<>();
+        this.status = Status.RUNNING;
+        this.tick = 0;
+        createControllers();
+    }
+
+    //a new GameState builds new controllers, so do the same whenever the arena is played again
+    private void createControllers() {
+        this.pacmanController = new PacmanController(arena);
+        this.ghostController = new GhostController(arena, ghostPathfinding, ghostTuning);
+        this.collisionController = new CollisionController(arena, audioManager);
+    }
+
+    public void addListener(SimulationListener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(SimulationListener listener) {
+        listeners.remove(listener);
+    }
+
+    private void fire(SimulationEvent event) {
+        for (SimulationListener listener : listeners) listener.onEvent(event, tick);
+    }
+
+    public Arena getArena() {
+        return arena;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public long getTick() {
+        return tick;
+    }
+
+    public boolean isFinished() {
+        return status == Status.WON || status == Status.LOST;
+    }
+
+    //advances one tick with the given input, does nothing once the game is finished
+    public void step(List<GUI.ACTION> actions) {
+        step(actions, tick);
+    }
+
+    //same, with the frame time the game loop would give the controllers, ghosts skip their moves on it
+    public void step(List<GUI.ACTION> actions, long time) {
+        if (isFinished()) return;
+        arena.updateChunks();
+        if (status == Status.DYING) {
+            if (--dyingTicksLeft == 0) {
+                if (DyingStateController.respawn(arena)) {
+                    status = Status.RUNNING;
+                    createControllers();
+                    fire(SimulationEvent.RESPAWNED);
+                } else {
+                    status = Status.LOST;
+                    fire(SimulationEvent.LOST);
+                }
+            }
+        } else if (!arena.hasCollectiblesLeft()) {
+            status = Status.WON;
+            fire(SimulationEvent.WON);
+        } else {
+            pacmanController.step(null, actions, time);
+            ghostController.step(null, actions, time);
+            if (collisionController.update()) {
+                status = Status.DYING;
+                dyingTicksLeft = DyingStateController.DYING_TICKS;
+                fire(SimulationEvent.PACMANS_CAUGHT);
+            }
+        }
+        ++tick;
+    }
+
+    //advances up to maxTicks or until the game finishes, feeding no input once the script runs out; returns the ticks run
+    public long run(long maxTicks, Iterator<List<GUI.ACTION>> input) {
+        long ticksRun = 0;
+        while (ticksRun < maxTicks && !isFinished()) {
+            step(input.hasNext() ? input.next() : Collections.emptyList());
+            ++ticksRun;
+        }
+        return ticksRun;
+    }
+}
@@ -0,0 +1,8 @@
+package pt.feup.tvvs.pacman.simulation;
+
+public enum SimulationEvent {
+    PACMANS_CAUGHT, //every pacman got caught, the dying countdown starts
+    RESPAWNED, //dying countdown ended and at least one pacman had lives left
+    WON, //all the collectibles were eaten
+    LOST //dying countdown ended with no pacman lives left
+}
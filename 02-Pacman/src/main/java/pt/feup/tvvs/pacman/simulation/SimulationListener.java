@@ -0,0 +1,5 @@
+package pt.feup.tvvs.pacman.simulation;
+
+public interface SimulationListener {
+    void onEvent(SimulationEvent event, long tick);
+}
@@ -1,5 +1,6 @@
 package pt.feup.tvvs.pacman.states;
 
+import pt.feup.tvvs.pacman.FrameProfiler;
 import pt.feup.tvvs.pacman.Game;
 import pt.feup.tvvs.pacman.audio.AudioManager;
 import pt.feup.tvvs.pacman.controller.Controller;
@@ -16,12 +17,14 @@ public abstract class State<T> {
     private final Viewer<T> viewer;
     private final Controller<T> controller;
     private final AudioManager audioManager;
+    private final FrameProfiler profiler;
 
     public State(T model, AudioManager audioManager) throws IOException, URISyntaxException {
         this.model = model;
         this.viewer = createViewer();
         this.controller = createController(audioManager);
         this.audioManager = audioManager;
+        this.profiler = FrameProfiler.getInstance();
     }
 
     public T getModel() {
@@ -33,11 +36,45 @@ public abstract class State<T> {
     public abstract Controller<T> createController(AudioManager audioManager);
 
     public void step(Game game, GUI gui, long frameTime) throws IOException, URISyntaxException, FontFormatException {
+        tick(game, gui, frameTime);
+        render(gui, frameTime);
+    }
+
+    //reads the input and advances the controller one fixed step, without drawing
+    public void tick(Game game, GUI gui, long frameTime) throws IOException, URISyntaxException, FontFormatException {
+        profiler.start(FrameProfiler.Phase.INPUT);
         List<GUI.ACTION> actions = gui.getNextAction();
+        profiler.end(FrameProfiler.Phase.INPUT);
+        record(game, actions, frameTime);
         controller.step(game, actions, frameTime);
+    }
+
+    //states that advance a game hand their input to the game's recorder, when it has one
+    protected void record(Game game, List<GUI.ACTION> actions, long frameTime) {
+    }
+
+    public void render(GUI gui, long frameTime) {
         viewer.drawElement(gui, model, frameTime);
     }
 
+    //what the viewer needs to draw the frame on the render thread while the next ticks run; menus and arenas hand a copy,
+    //states with a model that never changes can hand it as is
+    //reuse is the snapshot of an earlier frame that is no longer drawn, or null
+    public Object snapshot(Object reuse) {
+        return model;
+    }
+
+    //what the frame profiler files this state's frames under
+    public String getProfileContext() {
+        return "menus";
+    }
+
+    //draws a snapshot this state took
+    @SuppressWarnings("unchecked")
+    public void render(GUI gui, Object snapshot, long frameTime) {
+        viewer.drawElement(gui, (T) snapshot, frameTime);
+    }
+
     public AudioManager getAudioManager() {
         return audioManager;
     }
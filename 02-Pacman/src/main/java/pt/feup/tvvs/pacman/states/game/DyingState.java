@@ -1,8 +1,10 @@
 package pt.feup.tvvs.pacman.states.game;
 
+import pt.feup.tvvs.pacman.Game;
 import pt.feup.tvvs.pacman.audio.AudioManager;
 import pt.feup.tvvs.pacman.controller.Controller;
 import pt.feup.tvvs.pacman.controller.game.DyingStateController;
+import pt.feup.tvvs.pacman.gui.GUI;
 import pt.feup.tvvs.pacman.model.game.Arena;
 import pt.feup.tvvs.pacman.states.State;
 import pt.feup.tvvs.pacman.viewer.Viewer;
@@ -10,6 +12,7 @@ import pt.feup.tvvs.pacman.viewer.game.ArenaViewer;
 
 import java.io.IOException;
 import java.net.URISyntaxException;
+import java.util.List;
 
 public class DyingState extends State<Arena> {
     public DyingState(Arena model, AudioManager audioManager) throws IOException, URISyntaxException {
@@ -26,4 +29,20 @@ public class DyingState extends State<Arena> {
         return new DyingStateController(getModel(), audioManager);
     }
 
+    @Override
+    public String getProfileContext() {
+        return getModel().getName() != null ? getModel().getName() : "arena";
+    }
+
+    @Override
+    public Object snapshot(Object reuse) {
+        return getModel().snapshot(reuse instanceof Arena ? (Arena) reuse : null);
+    }
+
+    @Override
+    protected void record(Game game, List<GUI.ACTION> actions, long frameTime) {
+        if (game == null || game.getRecorder() == null) return;
+        game.getRecorder().record(getModel(), actions, frameTime);
+    }
+
 }
@@ -1,8 +1,10 @@
 package pt.feup.tvvs.pacman.states.game;
 
+import pt.feup.tvvs.pacman.Game;
 import pt.feup.tvvs.pacman.audio.AudioManager;
 import pt.feup.tvvs.pacman.controller.Controller;
 import pt.feup.tvvs.pacman.controller.game.ArenaController;
+import pt.feup.tvvs.pacman.gui.GUI;
 import pt.feup.tvvs.pacman.model.game.Arena;
 import pt.feup.tvvs.pacman.states.State;
 import pt.feup.tvvs.pacman.viewer.Viewer;
@@ -10,6 +12,7 @@ import pt.feup.tvvs.pacman.viewer.game.ArenaViewer;
 
 import java.io.IOException;
 import java.net.URISyntaxException;
+import java.util.List;
 
 public class GameState extends State<Arena> {
 
@@ -26,4 +29,21 @@ public class GameState extends State<Arena> {
     public Controller<Arena> createController(AudioManager audioManager) {
         return new ArenaController(getModel(), audioManager);
     }
+
+    @Override
+    public String getProfileContext() {
+        return getModel().getName() != null ? getModel().getName() : "arena";
+    }
+
+    @Override
+    public Object snapshot(Object reuse) {
+        return getModel().snapshot(reuse instanceof Arena ? (Arena) reuse : null);
+    }
+
+    //pausing leaves the arena as it was, so that tick isn't part of the game
+    @Override
+    protected void record(Game game, List<GUI.ACTION> actions, long frameTime) {
+        if (game == null || game.getRecorder() == null || actions.contains(GUI.ACTION.QUIT)) return;
+        game.getRecorder().record(getModel(), actions, frameTime);
+    }
 }
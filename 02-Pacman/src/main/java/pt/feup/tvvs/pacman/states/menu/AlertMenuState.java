@@ -4,6 +4,7 @@ import pt.feup.tvvs.pacman.audio.AudioManager;
 import pt.feup.tvvs.pacman.controller.Controller;
 import pt.feup.tvvs.pacman.controller.menu.AlertMenuController;
 import pt.feup.tvvs.pacman.model.menu.AlertMenu;
+import pt.feup.tvvs.pacman.model.menu.Menu;
 import pt.feup.tvvs.pacman.states.State;
 import pt.feup.tvvs.pacman.viewer.Viewer;
 import pt.feup.tvvs.pacman.viewer.menu.AlertMenuViewer;
@@ -25,4 +26,9 @@ public class AlertMenuState extends State<AlertMenu> {
     public Controller<AlertMenu> createController(AudioManager audioManager) {
         return new AlertMenuController(getModel(), audioManager);
     }
+
+    @Override
+    public Object snapshot(Object reuse) {
+        return getModel().snapshot(reuse instanceof Menu ? (Menu) reuse : null);
+    }
 }
@@ -4,6 +4,7 @@ import pt.feup.tvvs.pacman.audio.AudioManager;
 import pt.feup.tvvs.pacman.controller.Controller;
 import pt.feup.tvvs.pacman.controller.menu.MainMenuController;
 import pt.feup.tvvs.pacman.model.menu.MainMenu;
+import pt.feup.tvvs.pacman.model.menu.Menu;
 import pt.feup.tvvs.pacman.states.State;
 import pt.feup.tvvs.pacman.viewer.Viewer;
 import pt.feup.tvvs.pacman.viewer.menu.MainMenuViewer;
@@ -26,4 +27,9 @@ public class MainMenuState extends State<MainMenu> {
     public Controller<MainMenu> createController(AudioManager audioManager) {
         return new MainMenuController(getModel(), audioManager);
     }
+
+    @Override
+    public Object snapshot(Object reuse) {
+        return getModel().snapshot(reuse instanceof Menu ? (Menu) reuse : null);
+    }
 }
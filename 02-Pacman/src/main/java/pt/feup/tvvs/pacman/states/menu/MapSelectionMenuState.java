@@ -4,6 +4,7 @@ import pt.feup.tvvs.pacman.audio.AudioManager;
 import pt.feup.tvvs.pacman.controller.Controller;
 import pt.feup.tvvs.pacman.controller.menu.MapSelectionMenuController;
 import pt.feup.tvvs.pacman.model.menu.MapSelectionMenu;
+import pt.feup.tvvs.pacman.model.menu.Menu;
 import pt.feup.tvvs.pacman.states.State;
 import pt.feup.tvvs.pacman.viewer.Viewer;
 import pt.feup.tvvs.pacman.viewer.menu.MapSelectionMenuViewer;
@@ -25,4 +26,9 @@ public class MapSelectionMenuState extends State<MapSelectionMenu> {
     public Controller<MapSelectionMenu> createController(AudioManager audioManager) {
         return new MapSelectionMenuController(getModel(), audioManager);
     }
+
+    @Override
+    public Object snapshot(Object reuse) {
+        return getModel().snapshot(reuse instanceof Menu ? (Menu) reuse : null);
+    }
 }
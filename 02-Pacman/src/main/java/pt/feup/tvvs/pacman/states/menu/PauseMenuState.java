@@ -3,6 +3,7 @@ package pt.feup.tvvs.pacman.states.menu;
 import pt.feup.tvvs.pacman.audio.AudioManager;
 import pt.feup.tvvs.pacman.controller.Controller;
 import pt.feup.tvvs.pacman.controller.menu.PauseMenuController;
+import pt.feup.tvvs.pacman.model.menu.Menu;
 import pt.feup.tvvs.pacman.model.menu.PauseMenu;
 import pt.feup.tvvs.pacman.states.State;
 import pt.feup.tvvs.pacman.viewer.Viewer;
@@ -25,4 +26,9 @@ public class PauseMenuState extends State<PauseMenu> {
     public Controller<PauseMenu> createController(AudioManager audioManager) {
         return new PauseMenuController(getModel(), audioManager);
     }
+
+    @Override
+    public Object snapshot(Object reuse) {
+        return getModel().snapshot(reuse instanceof Menu ? (Menu) reuse : null);
+    }
 }
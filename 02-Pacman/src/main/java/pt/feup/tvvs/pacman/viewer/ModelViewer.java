@@ -1,5 +1,6 @@
 package pt.feup.tvvs.pacman.viewer;
 
+import pt.feup.tvvs.pacman.FrameProfiler;
 import pt.feup.tvvs.pacman.gui.GUI;
 import pt.feup.tvvs.pacman.model.Element;
 
@@ -9,10 +10,13 @@ import java.util.Map;
 public abstract class ModelViewer<T> extends Viewer<T> {
     private final Map<Class<?>, Viewer<Element>> viewers;
     private boolean initialClear;
+    private final FrameProfiler profiler;
+    private ProfilerOverlayViewer overlay; //made on the first frame the profiler asks for it
 
     public ModelViewer(Map<Class<?>, Viewer<Element>> viewers) {
         this.viewers = viewers;
         this.initialClear = false;
+        this.profiler = FrameProfiler.getInstance();
     }
 
     public void drawElement(GUI gui, Element element, long frameCount) {
@@ -26,13 +30,21 @@ public abstract class ModelViewer<T> extends Viewer<T> {
 
     @Override
     public void drawElement(GUI gui, T model, long frameCount) {
+        profiler.start(FrameProfiler.Phase.DRAW);
         if (!initialClear) {
             gui.clear();
             initialClear = true;
         }
         drawElements(gui, model, frameCount);
+        profiler.end(FrameProfiler.Phase.DRAW);
         try {
+            if (profiler.isOverlayShown()) {
+                if (overlay == null) overlay = new ProfilerOverlayViewer();
+                overlay.drawElement(gui, profiler, frameCount);
+            }
+            profiler.start(FrameProfiler.Phase.REFRESH);
             gui.refresh();
+            profiler.end(FrameProfiler.Phase.REFRESH);
         } catch (IOException e) {
             throw new RuntimeException(e);
         }
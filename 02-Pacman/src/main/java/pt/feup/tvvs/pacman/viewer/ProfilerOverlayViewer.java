@@ -0,0 +1,48 @@
+package pt.feup.tvvs.pacman.viewer;
+
+import com.googlecode.lanterna.TextColor;
+import pt.feup.tvvs.pacman.FrameProfiler;
+import pt.feup.tvvs.pacman.gui.GUI;
+import pt.feup.tvvs.pacman.model.Position;
+import pt.feup.tvvs.pacman.model.menu.element.TextBox;
+import pt.feup.tvvs.pacman.viewer.game.ImageLoader;
+
+import java.io.IOException;
+
+//box in the top left corner with the rolling time and allocation of every profiled phase, drawn over whatever the screen shows
+//the texts are only made again every few frames, the font has no dot so the times are in microseconds
+public class ProfilerOverlayViewer extends Viewer<FrameProfiler> {
+    private static final FrameProfiler.Phase[] PHASES = FrameProfiler.Phase.values();
+    private static final int UPDATE_FRAMES = 15;
+    private static final int TILE_SIZE = 11;
+    private static final int LEFT = 0, TOP = TILE_SIZE; //under the hud row of the arena
+    private static final int COLUMNS = 9, ROWS = PHASES.length + 1; //tiles erased under the box
+    private static final TextColor COLOR = new TextColor.RGB(255, 255, 0);
+
+    private final TextBoxViewer textBoxViewer;
+    private final TextBox[] lines;
+    private long updatedFrame;
+
+    public ProfilerOverlayViewer() throws IOException {
+        this.textBoxViewer = new TextBoxViewer(ImageLoader.loadGlyphAtlas());
+        this.lines = new TextBox[ROWS];
+        for (int i = 0; i < ROWS; ++i) lines[i] = new TextBox("", new Position(LEFT + 1, TOP + i * TILE_SIZE), COLOR);
+        lines[0].setText("PHASE US BYTES");
+        this.updatedFrame = -UPDATE_FRAMES;
+    }
+
+    @Override
+    public void drawElement(GUI gui, FrameProfiler profiler, long frameCount) {
+        if (frameCount - updatedFrame >= UPDATE_FRAMES || frameCount < updatedFrame) {
+            updatedFrame = frameCount;
+            for (FrameProfiler.Phase phase : PHASES) {
+                String name = phase.name();
+                lines[phase.ordinal() + 1].setText(name.substring(0, Math.min(5, name.length())) + " " + profiler.getRollingNanos(phase) / 1000
+                        + " " + profiler.getRollingBytes(phase));
+            }
+        }
+        for (int y = 0; y < ROWS; ++y)
+            for (int x = 0; x < COLUMNS; ++x) gui.erase(new Position(LEFT + x * TILE_SIZE, TOP + y * TILE_SIZE));
+        for (TextBox line : lines) textBoxViewer.drawElement(gui, line, frameCount);
+    }
+}
@@ -1,6 +1,7 @@
 package pt.feup.tvvs.pacman.viewer;
 
 import pt.feup.tvvs.pacman.gui.GUI;
+import pt.feup.tvvs.pacman.gui.GlyphAtlas;
 import pt.feup.tvvs.pacman.model.Element;
 import pt.feup.tvvs.pacman.model.Position;
 import pt.feup.tvvs.pacman.model.menu.element.TextBox;
@@ -9,10 +10,14 @@ import java.awt.image.BufferedImage;
 import java.util.Map;
 
 public class TextBoxViewer extends Viewer<Element> {
-    private final Map<Character, BufferedImage> characters;
+    private final GlyphAtlas atlas;
 
     public TextBoxViewer(Map<Character, BufferedImage> characters) {
-        this.characters = characters;
+        this(new GlyphAtlas(characters));
+    }
+
+    public TextBoxViewer(GlyphAtlas atlas) {
+        this.atlas = atlas;
     }
 
     @Override
@@ -21,9 +26,9 @@ public class TextBoxViewer extends Viewer<Element> {
         String text = textBox.getText();
         int posX = textBox.getPosition().getX(), posY = textBox.getPosition().getY();
         for (int x = 0; x < text.length(); ++x) {
-            BufferedImage character = characters.get(Character.toUpperCase(text.charAt(x)));
-            if (character != null) {
-                gui.drawCharacter(new Position(posX + 5 * x, posY), character, textBox.getColor());
+            GlyphAtlas.Glyph glyph = atlas.getGlyph(text.charAt(x));
+            if (glyph != null) {
+                gui.drawCharacter(new Position(posX + 5 * x, posY), glyph.getImage(), textBox.getColor());
             }
         }
     }
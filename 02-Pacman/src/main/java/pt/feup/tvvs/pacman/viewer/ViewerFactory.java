@@ -35,7 +35,7 @@ public class ViewerFactory {
         viewers.put(Strawberry.class, new ElementViewer(ImageLoader.loadTextImage("PNGs/items/strawberry.png")));
         viewers.put(PowerUp.class, new ElementViewer(ImageLoader.loadTextImage("PNGs/items/powerup.png")));
 
-        viewers.put(TextBox.class, new TextBoxViewer(ImageLoader.loadFontImages()));
+        viewers.put(TextBox.class, new TextBoxViewer(ImageLoader.loadGlyphAtlas()));
 
         viewers.put(Pacman.class, new MovableElementViewer(new PacmanStrategy(), ImageLoader.loadPacmanImages()));
 
@@ -49,7 +49,7 @@ public class ViewerFactory {
 
     public static Map<Class<?>, Viewer<Element>> createMainMenuViewers() throws IOException {
         Map<Class<?>, Viewer<Element>> viewers = new HashMap<>();
-        viewers.put(TextBox.class, new TextBoxViewer(ImageLoader.loadFontImages()));
+        viewers.put(TextBox.class, new TextBoxViewer(ImageLoader.loadGlyphAtlas()));
 
         viewers.put(Pacman.class, new ElementViewer(ImageLoader.loadTextImage("PNGs/pacman/pacmanright.png")));
 
@@ -63,13 +63,13 @@ public class ViewerFactory {
 
     public static Map<Class<?>, Viewer<Element>> createPauseMenuViewers() throws IOException {
         Map<Class<?>, Viewer<Element>> viewers = new HashMap<>();
-        viewers.put(TextBox.class, new TextBoxViewer(ImageLoader.loadFontImages()));
+        viewers.put(TextBox.class, new TextBoxViewer(ImageLoader.loadGlyphAtlas()));
         return viewers;
     }
 
     public static Map<Class<?>, Viewer<Element>> createMapSelectionMenuViewers() throws IOException {
         Map<Class<?>, Viewer<Element>> viewers = new HashMap<>();
-        viewers.put(TextBox.class, new TextBoxViewer(ImageLoader.loadFontImages()));
+        viewers.put(TextBox.class, new TextBoxViewer(ImageLoader.loadGlyphAtlas()));
         return viewers;
     }
 
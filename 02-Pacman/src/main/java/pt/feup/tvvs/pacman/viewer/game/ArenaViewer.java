@@ -3,35 +3,204 @@ package pt.feup.tvvs.pacman.viewer.game;
 
 import com.googlecode.lanterna.TextColor;
 import pt.feup.tvvs.pacman.gui.GUI;
+import pt.feup.tvvs.pacman.gui.GlyphAtlas;
+import pt.feup.tvvs.pacman.model.Element;
 import pt.feup.tvvs.pacman.model.Position;
 import pt.feup.tvvs.pacman.model.game.Arena;
-import pt.feup.tvvs.pacman.model.menu.element.TextBox;
+import pt.feup.tvvs.pacman.model.game.element.MovableElement;
+import pt.feup.tvvs.pacman.model.game.element.pacman.Pacman;
 import pt.feup.tvvs.pacman.viewer.ModelViewer;
 import pt.feup.tvvs.pacman.viewer.ViewerFactory;
 
 import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
 
+//draws the maze once and afterwards only repaints the tiles under the moving elements and the hud texts that changed
 public class ArenaViewer extends ModelViewer<Arena> {
+    private static final int TILE_SIZE = 11;
+    private static final int CHARACTER_WIDTH = 5;
+    private static final TextColor HUD_COLOR = new TextColor.RGB(255, 255, 255);
+    private static final String SCORE_LABEL = "Score:", LIVES_LABEL = "Lives:", LIVES_P1_LABEL = "Lives P1:", LIVES_P2_LABEL = "Lives P2:";
+
+    private Arena drawnArena; //arena the maze was fully drawn for, the one played when drawing its snapshots
+    private long drawnGeneration; //gui generation the maze was fully drawn on
+    private long drawnChunksVersion; //streamed arenas change their elements as chunks are loaded
+    private Element[] background; //wall, gate or collectible drawn on each tile
+    private boolean[] dirtyTiles;
+    private int[] dirtyList;
+    private int dirtyCount;
+    private int[] movableTiles; //tiles covered by the moving elements on the last frame
+    private int movableTileCount;
+    private final GlyphAtlas glyphs;
+    private final HudText[] hudTexts;
+    private int hudCount;
+
     public ArenaViewer() throws IOException {
         super(ViewerFactory.createArenaViewers());
+        this.glyphs = ImageLoader.loadGlyphAtlas();
+        this.hudTexts = new HudText[3];
+        for (int i = 0; i < hudTexts.length; ++i) hudTexts[i] = new HudText();
     }
 
     @Override
     public void drawElements(GUI gui, Arena arena, long frameCount) {
+        if (arena.getOrigin() != drawnArena || gui.getGeneration() != drawnGeneration || arena.getChunksVersion() != drawnChunksVersion) {
+            drawMaze(gui, arena, frameCount);
+            return;
+        }
+
+        //repaint where the moving elements were and where they are now, then draw them on top
+        markMovableTiles(arena);
+        boolean hudChanged = updateHud(arena);
+        boolean hudRowRestored = restoreDirtyTiles(gui, arena, frameCount);
+        arena.getGhosts().forEach(ghost -> drawElement(gui, ghost, frameCount));
+        arena.getPacmans().forEach(pacman -> drawElement(gui, pacman, frameCount));
+        if (hudChanged || hudRowRestored) drawHud(gui);
+        clearDirtyTiles();
+    }
+
+    private void drawMaze(GUI gui, Arena arena, long frameCount) {
+        int tiles = arena.getWidth() * arena.getHeight();
+        if (background == null || background.length != tiles) {
+            background = new Element[tiles];
+            dirtyTiles = new boolean[tiles];
+            dirtyList = new int[tiles];
+            movableTiles = new int[tiles];
+        }
+        Arrays.fill(background, null);
+        Arrays.fill(dirtyTiles, false);
+        dirtyCount = 0;
+        movableTileCount = 0;
+        hudCount = 0;
+
         //before drawing all the elements erase the blank positions
-        arena.getBlankPositions().forEach(position -> gui.erase(new Position(position.getX() * 11, position.getY() * 11)));
+        arena.getBlankPositions().forEach(position -> gui.erase(new Position(position.getX() * TILE_SIZE, position.getY() * TILE_SIZE)));
 
-        arena.getWalls().forEach(wall -> drawElement(gui, wall, frameCount));
+        arena.getWalls().forEach(wall -> {
+            drawElement(gui, wall, frameCount);
+            setBackground(arena, wall);
+        });
         drawElement(gui, arena.getGhostGate(), frameCount);
-        arena.getCollectibles().forEach(collectible -> drawElement(gui, collectible, frameCount));
+        setBackground(arena, arena.getGhostGate());
+        arena.getCollectibles().forEach(collectible -> {
+            drawElement(gui, collectible, frameCount);
+            setBackground(arena, collectible);
+        });
         arena.getGhosts().forEach(ghost -> drawElement(gui, ghost, frameCount));
         arena.getPacmans().forEach(pacman -> drawElement(gui, pacman, frameCount));
-        drawElement(gui, new TextBox("Score:" + arena.getScore(), new Position(11, 0), new TextColor.RGB(255, 255, 255)), frameCount);
-        if (arena.getPacmans().size() == 2) {
-            drawElement(gui, new TextBox("Lives P1:" + arena.getPacmans().get(0).getLife(), new Position(199, 0), new TextColor.RGB(255, 255, 255)), frameCount);
-            drawElement(gui, new TextBox("Lives P2:" + arena.getPacmans().get(1).getLife(), new Position(259, 0), new TextColor.RGB(255, 255, 255)), frameCount);
-        } else
-            drawElement(gui, new TextBox("Lives:" + arena.getPacmans().get(0).getLife(), new Position(274, 0), new TextColor.RGB(255, 255, 255)), frameCount);
+        updateHud(arena);
+        drawHud(gui);
+
+        markMovableTiles(arena);
+        clearDirtyTiles();
+        drawnArena = arena.getOrigin();
+        drawnGeneration = gui.getGeneration();
+        drawnChunksVersion = arena.getChunksVersion();
+    }
+
+    private void setBackground(Arena arena, Element element) {
+        int x = element.getPosition().getX(), y = element.getPosition().getY();
+        if (arena.isInside(x, y)) background[y * arena.getWidth() + x] = element;
+    }
+
+    //marks the tiles the moving elements covered last frame and the ones they cover now, remembering the latter for the next frame
+    private void markMovableTiles(Arena arena) {
+        for (int i = 0; i < movableTileCount; ++i) markTile(movableTiles[i]);
+        movableTileCount = 0;
+        arena.getGhosts().forEach(ghost -> trackMovable(arena, ghost));
+        arena.getPacmans().forEach(pacman -> trackMovable(arena, pacman));
+    }
+
+    private void trackMovable(Arena arena, MovableElement element) {
+        int realX = element.getPosition().getX() * TILE_SIZE + element.getCounterX();
+        int realY = element.getPosition().getY() * TILE_SIZE + element.getCounterY();
+        int fromX = Math.floorDiv(realX, TILE_SIZE), toX = Math.floorDiv(realX + TILE_SIZE - 1, TILE_SIZE);
+        int fromY = Math.floorDiv(realY, TILE_SIZE), toY = Math.floorDiv(realY + TILE_SIZE - 1, TILE_SIZE);
+        for (int y = fromY; y <= toY; ++y)
+            for (int x = fromX; x <= toX; ++x)
+                if (arena.isInside(x, y)) {
+                    int tile = y * arena.getWidth() + x;
+                    if (movableTileCount < movableTiles.length) movableTiles[movableTileCount++] = tile;
+                    markTile(tile);
+                }
     }
 
+    private void markTile(int tile) {
+        if (!dirtyTiles[tile]) {
+            dirtyTiles[tile] = true;
+            dirtyList[dirtyCount++] = tile;
+        }
+    }
+
+    private void clearDirtyTiles() {
+        for (int i = 0; i < dirtyCount; ++i) dirtyTiles[dirtyList[i]] = false;
+        dirtyCount = 0;
+    }
+
+    //puts back what the maze shows on the dirty tiles, eaten collectibles turn into blank tiles; returns whether the hud row was touched
+    private boolean restoreDirtyTiles(GUI gui, Arena arena, long frameCount) {
+        int width = arena.getWidth();
+        boolean hudRowRestored = false;
+        for (int i = 0; i < dirtyCount; ++i) {
+            int tile = dirtyList[i], x = tile % width, y = tile / width;
+            if (y == 0) hudRowRestored = true;
+            gui.erase(new Position(x * TILE_SIZE, y * TILE_SIZE));
+            byte flags = arena.getTile(x, y);
+            Element element = background[tile];
+            if (element == null) continue;
+            if ((flags & (Arena.TILE_WALL | Arena.TILE_GHOST_GATE | Arena.TILE_COLLECTIBLE)) != 0)
+                drawElement(gui, element, frameCount);
+            else background[tile] = null;
+        }
+        return hudRowRestored;
+    }
+
+    //refreshes the hud texts, marking the tiles under the old and new texts when any of them changed
+    private boolean updateHud(Arena arena) {
+        List<Pacman> pacmans = arena.getPacmans();
+        if (pacmans.size() == 2) {
+            return setHudText(0, SCORE_LABEL, arena.getScore(), 11) | setHudText(1, LIVES_P1_LABEL, pacmans.get(0).getLife(), 199)
+                    | setHudText(2, LIVES_P2_LABEL, pacmans.get(1).getLife(), 259) | setHudCount(3);
+        }
+        return setHudText(0, SCORE_LABEL, arena.getScore(), 11) | setHudText(1, LIVES_LABEL, pacmans.get(0).getLife(), 274)
+                | setHudCount(2);
+    }
+
+    private boolean setHudCount(int count) {
+        if (count == hudCount) return false;
+        for (int i = count; i < hudCount; ++i) {
+            markHudTiles(i);
+            hudTexts[i].clear();
+        }
+        hudCount = count;
+        return true;
+    }
+
+    private boolean setHudText(int index, String label, long value, int x) {
+        if (hudTexts[index].shows(label, value, x)) return false;
+        markHudTiles(index);
+        hudTexts[index].set(label, value, x);
+        markHudTiles(index);
+        return true;
+    }
+
+    private void markHudTiles(int index) {
+        HudText hud = hudTexts[index];
+        if (hud.isUnset() || drawnArena == null) return;
+        int fromX = hud.getX() / TILE_SIZE;
+        int toX = (hud.getX() + hud.length() * CHARACTER_WIDTH - 1) / TILE_SIZE;
+        for (int x = fromX; x <= toX; ++x)
+            if (drawnArena.isInside(x, 0)) markTile(x);
+    }
+
+    private void drawHud(GUI gui) {
+        for (int i = 0; i < hudCount; ++i) {
+            HudText hud = hudTexts[i];
+            for (int c = 0; c < hud.length(); ++c) {
+                GlyphAtlas.Glyph glyph = glyphs.getGlyph(hud.charAt(c));
+                if (glyph != null) gui.drawGlyph(new Position(hud.getX() + c * CHARACTER_WIDTH, 0), glyph, HUD_COLOR);
+            }
+        }
+    }
 }
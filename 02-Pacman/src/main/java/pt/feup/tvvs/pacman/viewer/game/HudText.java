@@ -0,0 +1,76 @@
+package pt.feup.tvvs.pacman.viewer.game;
+
+//a hud label followed by a number, written into a reused buffer so that the hud never builds strings; the viewer checks
+//shows() every frame and only sets and draws the text again when the score or the lives changed
+class HudText implements CharSequence {
+    private final char[] buffer;
+    private int length;
+    private String label; //labels are constants, compared by identity
+    private long value;
+    private int x;
+
+    HudText() {
+        this.buffer = new char[32];
+    }
+
+    boolean shows(String label, long value, int x) {
+        return label == this.label && value == this.value && x == this.x;
+    }
+
+    void set(String label, long value, int x) {
+        this.label = label;
+        this.value = value;
+        this.x = x;
+        length = label.length();
+        label.getChars(0, length, buffer, 0);
+        appendNumber(value);
+    }
+
+    private void appendNumber(long number) {
+        if (number < 0) buffer[length++] = '-';
+        int start = length;
+        do {
+            buffer[length++] = (char) ('0' + Math.abs(number % 10));
+            number /= 10;
+        } while (number != 0);
+        for (int i = start, j = length - 1; i < j; ++i, --j) {
+            char digit = buffer[i];
+            buffer[i] = buffer[j];
+            buffer[j] = digit;
+        }
+    }
+
+    //forgets the text, it shows nothing until set again
+    void clear() {
+        label = null;
+        length = 0;
+    }
+
+    boolean isUnset() {
+        return label == null;
+    }
+
+    int getX() {
+        return x;
+    }
+
+    @Override
+    public int length() {
+        return length;
+    }
+
+    @Override
+    public char charAt(int index) {
+        return buffer[index];
+    }
+
+    @Override
+    public CharSequence subSequence(int start, int end) {
+        return new String(buffer, start, end - start);
+    }
+
+    @Override
+    public String toString() {
+        return new String(buffer, 0, length);
+    }
+}
@@ -1,20 +1,24 @@
 package pt.feup.tvvs.pacman.viewer.game;
 
 import com.googlecode.lanterna.TextCharacter;
-import com.googlecode.lanterna.TextColor;
 import com.googlecode.lanterna.graphics.BasicTextImage;
+import pt.feup.tvvs.pacman.AssetRegistry;
+import pt.feup.tvvs.pacman.gui.GlyphAtlas;
+import pt.feup.tvvs.pacman.gui.TerminalPalette;
 
-import javax.imageio.ImageIO;
 import java.awt.image.BufferedImage;
 import java.io.IOException;
-import java.io.InputStream;
-import java.net.URL;
 import java.nio.charset.StandardCharsets;
 import java.util.*;
 
+//every image goes through the asset registry, so each file is decoded once and every caller shares the same, unmodifiable, result
 public class ImageLoader {
 
     public static Map<Character, List<BufferedImage>> loadGhostImages(String ghostName) throws IOException {
+        return AssetRegistry.getInstance().get("ghost:" + ghostName, key -> decodeGhostImages(ghostName));
+    }
+
+    private static Map<Character, List<BufferedImage>> decodeGhostImages(String ghostName) throws IOException {
         BufferedImage leftResource1 = loadBufferedImage("PNGs/ghosts/" + ghostName + "/" + ghostName + "left1.png");
         BufferedImage upResource1 = loadBufferedImage("PNGs/ghosts/" + ghostName + "/" + ghostName + "up1.png");
         BufferedImage downResource1 = loadBufferedImage("PNGs/ghosts/" + ghostName + "/" + ghostName + "down1.png");
@@ -32,19 +36,23 @@ public class ImageLoader {
 
 
         return Map.of(
-                'L', Arrays.asList(leftResource1, leftResource2),
-                'U', Arrays.asList(upResource1, upResource2),
-                'D', Arrays.asList(downResource1, downResource2),
-                'R', Arrays.asList(rightResource1, rightResource2),
-                'S', Arrays.asList(scaredResource1, scaredResource2),
-                'r', Collections.singletonList(deadRightResource),
-                'l', Collections.singletonList(deadLeftResource),
-                'u', Collections.singletonList(deadUpResource),
-                'd', Collections.singletonList(deadDownResource)
+                'L', List.of(leftResource1, leftResource2),
+                'U', List.of(upResource1, upResource2),
+                'D', List.of(downResource1, downResource2),
+                'R', List.of(rightResource1, rightResource2),
+                'S', List.of(scaredResource1, scaredResource2),
+                'r', List.of(deadRightResource),
+                'l', List.of(deadLeftResource),
+                'u', List.of(deadUpResource),
+                'd', List.of(deadDownResource)
         );
     }
 
     public static Map<Character, List<BufferedImage>> loadPacmanImages() throws IOException {
+        return AssetRegistry.getInstance().get("pacman", key -> decodePacmanImages());
+    }
+
+    private static Map<Character, List<BufferedImage>> decodePacmanImages() throws IOException {
         BufferedImage leftResource = loadBufferedImage("PNGs/pacman/pacmanleft.png");
         BufferedImage upResource = loadBufferedImage("PNGs/pacman/pacmanup.png");
         BufferedImage downResource = loadBufferedImage("PNGs/pacman/pacmandown.png");
@@ -53,55 +61,53 @@ public class ImageLoader {
         BufferedImage deadResource = loadBufferedImage("PNGs/pacman/pacmandead.png");
 
         return Map.of(
-                'L', Arrays.asList(leftResource, closedResource),
-                'U', Arrays.asList(upResource, closedResource),
-                'D', Arrays.asList(downResource, closedResource),
-                'R', Arrays.asList(rightResource, closedResource),
-                'X', Collections.singletonList(deadResource)
+                'L', List.of(leftResource, closedResource),
+                'U', List.of(upResource, closedResource),
+                'D', List.of(downResource, closedResource),
+                'R', List.of(rightResource, closedResource),
+                'X', List.of(deadResource)
         );
     }
 
 
     public static BufferedImage loadBufferedImage(String filePath) throws IOException {
-        URL resource = ImageLoader.class.getClassLoader().getResource(filePath);
-        assert resource != null;
-        return ImageIO.read(resource);
+        return AssetRegistry.getInstance().getImage(filePath);
     }
 
     public static BasicTextImage loadTextImage(String filePath) throws IOException {
-        URL resource = ImageLoader.class.getClassLoader().getResource(filePath);
-        assert resource != null;
-        return toTextImage(ImageIO.read(resource));
+        return AssetRegistry.getInstance().get("text:" + filePath, key -> toTextImage(loadBufferedImage(filePath)));
     }
 
+    //the colors are quantised here when the terminal is drawn with 256 colors, so drawing never converts them
     private static BasicTextImage toTextImage(BufferedImage image) {
         BasicTextImage textImage = new BasicTextImage(11, 11);
+        TerminalPalette palette = TerminalPalette.getInstance();
 
         for (int y = 0; y < 11; y++) {
             for (int x = 0; x < 11; x++) {
                 if (image.getRGB(x, y) == 0) continue;
 
-                int RGB = image.getRGB(x, y);
-                int red = RGB >> 16 & 0xFF;
-                int green = RGB >> 8 & 0xFF;
-                int blue = RGB & 0xFF;
-
-                textImage.setCharacterAt(x, y, TextCharacter.fromCharacter(' ', null, new TextColor.RGB(red, green, blue))[0]);
+                textImage.setCharacterAt(x, y, TextCharacter.fromCharacter(' ', null, palette.toColor(image.getRGB(x, y)))[0]);
             }
         }
         return textImage;
     }
 
     public static Map<Character, BufferedImage> loadFontImages() throws IOException {
-        InputStream fontMapResource = ImageLoader.class.getClassLoader().getResourceAsStream("Fonts/ingamefontmap.txt");
-        URL fontResource = ImageLoader.class.getClassLoader().getResource("Fonts/ingamefont.png");
-        assert fontMapResource != null;
-        assert fontResource != null;
+        return AssetRegistry.getInstance().get("font", key -> decodeFontImages());
+    }
+
+    //the font rasterized for the hud and the text boxes, shared like the font images
+    public static GlyphAtlas loadGlyphAtlas() throws IOException {
+        return AssetRegistry.getInstance().get("glyphs", key -> new GlyphAtlas(loadFontImages()));
+    }
+
+    private static Map<Character, BufferedImage> decodeFontImages() throws IOException {
+        byte[] fontMapResource = AssetRegistry.getInstance().getBytes("Fonts/ingamefontmap.txt");
+        BufferedImage font = loadBufferedImage("Fonts/ingamefont.png");
 
         Map<Character, BufferedImage> characters = new HashMap<>();
-        String fontMap = new Scanner(fontMapResource, StandardCharsets.UTF_8).next();
-        fontMapResource.close();
-        BufferedImage font = ImageIO.read(fontResource);
+        String fontMap = new Scanner(new String(fontMapResource, StandardCharsets.UTF_8)).next();
 
         int x = 0, y = 0;
         for (int i = 0; i < fontMap.length(); ++i) {
@@ -110,6 +116,6 @@ public class ImageLoader {
             x += 5;
         }
 
-        return characters;
+        return Collections.unmodifiableMap(characters);
     }
 }
@@ -1,6 +1,7 @@
 package pt.feup.tvvs.pacman.viewer.game;
 
 import pt.feup.tvvs.pacman.gui.GUI;
+import pt.feup.tvvs.pacman.gui.Sprite;
 import pt.feup.tvvs.pacman.model.Element;
 import pt.feup.tvvs.pacman.model.Position;
 import pt.feup.tvvs.pacman.model.game.element.MovableElement;
@@ -8,16 +9,24 @@ import pt.feup.tvvs.pacman.viewer.Viewer;
 import pt.feup.tvvs.pacman.viewer.game.strategies.MultipleElementStrategy;
 
 import java.awt.image.BufferedImage;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 
 public class MovableElementViewer extends Viewer<Element> {
     private final Map<Character, List<BufferedImage>> images;
     private final MultipleElementStrategy strategy;
+    private final Map<BufferedImage, Sprite> sprites; //every animation frame decoded once, keyed by the image the strategy picks
 
     public MovableElementViewer(MultipleElementStrategy strategy, Map<Character, List<BufferedImage>> images) {
         this.images = images;
         this.strategy = strategy;
+        this.sprites = new IdentityHashMap<>();
+        images.values().forEach(frames -> frames.forEach(this::getSprite));
+    }
+
+    private Sprite getSprite(BufferedImage image) {
+        return sprites.computeIfAbsent(image, Sprite::new);
     }
 
     @Override
@@ -26,6 +35,6 @@ public class MovableElementViewer extends Viewer<Element> {
         assert image != null;
         MovableElement movableElement = (MovableElement) element;
         Position drawPos = movableElement.getRealPosition();
-        gui.drawImage(drawPos, image);
+        gui.drawSprite(drawPos, getSprite(image));
     }
 }
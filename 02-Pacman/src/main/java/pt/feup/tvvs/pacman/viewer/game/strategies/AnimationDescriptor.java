@@ -0,0 +1,114 @@
+package pt.feup.tvvs.pacman.viewer.game.strategies;
+
+import pt.feup.tvvs.pacman.AssetRegistry;
+import pt.feup.tvvs.pacman.model.game.element.Direction;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+//which images a sprite shows in every state and direction and for how long, read from a small text file with one
+//animation per line: <state> <direction, or * for all> <image key> <ticks of the first frame> <ticks of the second> ...
+//the frames are the key's images in order, so animations get more frames or other timings without touching the code
+public class AnimationDescriptor<S extends Enum<S>> {
+    private final Class<S> states;
+    private final List<Animation<S>> animations;
+
+    public AnimationDescriptor(Class<S> states, List<Animation<S>> animations) {
+        this.states = states;
+        this.animations = Collections.unmodifiableList(new ArrayList<>(animations));
+    }
+
+    //the descriptor in the classpath file, parsed once and shared
+    public static <S extends Enum<S>> AnimationDescriptor<S> load(String path, Class<S> states) throws IOException {
+        return AssetRegistry.getInstance().get("animations:" + path,
+                key -> parse(new String(AssetRegistry.getInstance().getBytes(path), StandardCharsets.UTF_8), states));
+    }
+
+    public static <S extends Enum<S>> AnimationDescriptor<S> parse(String text, Class<S> states) throws IOException {
+        List<Animation<S>> animations = new ArrayList<>();
+        String[] lines = text.split("\\R");
+        for (int number = 1; number <= lines.length; ++number) {
+            String line = lines[number - 1].trim();
+            if (line.isEmpty() || line.startsWith("#")) continue;
+            String[] fields = line.split("\\s+");
+            if (fields.length < 4 || fields[2].length() != 1)
+                throw new IOException("Bad animation on line " + number + ": " + line);
+            try {
+                S state = Enum.valueOf(states, fields[0]);
+                Direction direction = fields[1].equals("*") ? null : Direction.valueOf(fields[1]);
+                int[] frameTicks = new int[fields.length - 3];
+                for (int i = 0; i < frameTicks.length; ++i) {
+                    frameTicks[i] = Integer.parseInt(fields[i + 3]);
+                    if (frameTicks[i] <= 0) throw new IOException("Frames must last at least a tick on line " + number + ": " + line);
+                }
+                animations.add(new Animation<>(state, direction, fields[2].charAt(0), frameTicks));
+            } catch (IllegalArgumentException e) { //unknown state or direction, or ticks that aren't a number
+                throw new IOException("Bad animation on line " + number + ": " + line, e);
+            }
+        }
+        return new AnimationDescriptor<>(states, animations);
+    }
+
+    //lays out the animations with the images under their keys; a key without images leaves its animations missing
+    public AnimationTable<S> createTable(Map<Character, List<BufferedImage>> images) {
+        BufferedImage[][] table = new BufferedImage[AnimationTable.size(states.getEnumConstants().length)][];
+        for (Animation<S> animation : animations) {
+            List<BufferedImage> frames = images.get(animation.imageKey);
+            if (frames == null) continue;
+            int cycleLength = 0;
+            for (int ticks : animation.frameTicks) cycleLength += ticks;
+            BufferedImage[] cycle = new BufferedImage[cycleLength];
+            int tick = 0;
+            for (int frame = 0; frame < animation.frameTicks.length; ++frame) {
+                BufferedImage image = frames.get(frame);
+                for (int i = 0; i < animation.frameTicks[frame]; ++i) cycle[tick++] = image;
+            }
+            if (animation.direction != null) table[AnimationTable.indexOf(animation.state, animation.direction)] = cycle;
+            else for (Direction direction : Direction.values()) table[AnimationTable.indexOf(animation.state, direction)] = cycle;
+        }
+        return new AnimationTable<>(table);
+    }
+
+    public List<Animation<S>> getAnimations() {
+        return animations;
+    }
+
+    public static class Animation<S extends Enum<S>> {
+        private final S state;
+        private final Direction direction; //null for every direction
+        private final char imageKey;
+        private final int[] frameTicks;
+
+        public Animation(S state, Direction direction, char imageKey, int[] frameTicks) {
+            this.state = state;
+            this.direction = direction;
+            this.imageKey = imageKey;
+            this.frameTicks = frameTicks.clone();
+        }
+
+        public S getState() {
+            return state;
+        }
+
+        public Direction getDirection() {
+            return direction;
+        }
+
+        public char getImageKey() {
+            return imageKey;
+        }
+
+        public int getFrameCount() {
+            return frameTicks.length;
+        }
+
+        public int getFrameTicks(int frame) {
+            return frameTicks[frame];
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package pt.feup.tvvs.pacman.viewer.game.strategies;
+
+import pt.feup.tvvs.pacman.model.game.element.Direction;
+
+import java.awt.image.BufferedImage;
+
+//the image every (state, direction) animation shows on each tick of its cycle, worked out once, so looking one up is
+//indexing an array by the ordinals and the tick instead of a map lookup and a modulo per animation frame
+public class AnimationTable<S extends Enum<S>> {
+    private static final int DIRECTIONS = Direction.values().length;
+
+    private final BufferedImage[][] animations; //[state ordinal * DIRECTIONS + direction ordinal][tick of the cycle], null when missing
+
+    AnimationTable(BufferedImage[][] animations) {
+        this.animations = animations;
+    }
+
+    static int indexOf(Enum<?> state, Direction direction) {
+        return state.ordinal() * DIRECTIONS + direction.ordinal();
+    }
+
+    static int size(int states) {
+        return states * DIRECTIONS;
+    }
+
+    //image shown on the tick, or null when the descriptor has no animation for the state and direction
+    public BufferedImage getImage(S state, Direction direction, long tick) {
+        BufferedImage[] cycle = animations[indexOf(state, direction)];
+        return cycle == null ? null : cycle[(int) Math.floorMod(tick, (long) cycle.length)];
+    }
+
+    //ticks the animation takes before it starts over, 0 when missing
+    public int getCycleLength(S state, Direction direction) {
+        BufferedImage[] cycle = animations[indexOf(state, direction)];
+        return cycle == null ? 0 : cycle.length;
+    }
+}
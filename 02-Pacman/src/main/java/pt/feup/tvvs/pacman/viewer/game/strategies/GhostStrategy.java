@@ -5,26 +5,42 @@ import pt.feup.tvvs.pacman.model.game.element.ghost.Ghost;
 import pt.feup.tvvs.pacman.model.game.element.ghost.GhostState;
 
 import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
 import java.util.Map;
 
+//the animations come from PNGs/ghosts/animations.txt, laid out in a table the first time a ghost's images are drawn
 public class GhostStrategy extends MultipleElementStrategy {
+    private static final String ANIMATIONS = "PNGs/ghosts/animations.txt";
+
+    private final AnimationDescriptor<GhostState> descriptor;
+    private Map<Character, List<BufferedImage>> tableImages; //images the table was laid out with
+    private AnimationTable<GhostState> table;
+
+    public GhostStrategy() {
+        this(loadDescriptor());
+    }
+
+    public GhostStrategy(AnimationDescriptor<GhostState> descriptor) {
+        this.descriptor = descriptor;
+    }
+
+    private static AnimationDescriptor<GhostState> loadDescriptor() {
+        try {
+            return AnimationDescriptor.load(ANIMATIONS, GhostState.class);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
     @Override
     public BufferedImage getCurrentImage(Element element, Map<Character, List<BufferedImage>> images, long frameCount) {
         Ghost ghost = (Ghost) element;
-        //first use the module operator to limit the value to only 20 different values, then assign the first ten to the first image and the rest to the second image
-        int index = (ghost.getState() != GhostState.DEAD ? (frameCount % 20 < 10 ? 0 : 1) : 0);
-        if (ghost.isScared()) return images.get('S').get(index);
-        switch (ghost.getDirection()) {
-            case UP:
-                return images.get(ghost.getState() == GhostState.ALIVE ? 'U' : 'u').get(index);
-            case DOWN:
-                return images.get(ghost.getState() == GhostState.ALIVE ? 'D' : 'd').get(index);
-            case RIGHT:
-                return images.get(ghost.getState() == GhostState.ALIVE ? 'R' : 'r').get(index);
-            case LEFT:
-                return images.get(ghost.getState() == GhostState.ALIVE ? 'L' : 'l').get(index);
+        if (images != tableImages) {
+            table = descriptor.createTable(images);
+            tableImages = images;
         }
-        return null;
+        return table.getImage(ghost.getState(), ghost.getDirection(), frameCount);
     }
 }
@@ -4,29 +4,44 @@ import pt.feup.tvvs.pacman.model.Element;
 import pt.feup.tvvs.pacman.model.game.element.pacman.Pacman;
 
 import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
 import java.util.Map;
 
-
+//the animations come from PNGs/pacman/animations.txt, laid out in a table the first time the images are drawn
 public class PacmanStrategy extends MultipleElementStrategy {
+    private static final String ANIMATIONS = "PNGs/pacman/animations.txt";
+
+    public enum State {ALIVE, DYING}
+
+    private final AnimationDescriptor<State> descriptor;
+    private Map<Character, List<BufferedImage>> tableImages; //images the table was laid out with
+    private AnimationTable<State> table;
+
+    public PacmanStrategy() {
+        this(loadDescriptor());
+    }
+
+    public PacmanStrategy(AnimationDescriptor<State> descriptor) {
+        this.descriptor = descriptor;
+    }
+
+    private static AnimationDescriptor<State> loadDescriptor() {
+        try {
+            return AnimationDescriptor.load(ANIMATIONS, State.class);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
     @Override
     public BufferedImage getCurrentImage(Element element, Map<Character, List<BufferedImage>> images, long frameCount) {
         Pacman pacman = (Pacman) element;
-        //first use the module operator to limit the value to only 20 different values, then assign the first ten to the first image and the rest to the second image
-        int index = (frameCount % 20 < 10 ? 0 : 1);
-        if (pacman.isDying())
-            return images.get('X').get(0);
-
-        switch (pacman.getDirection()) {
-            case UP:
-                return images.get('U').get(index);
-            case DOWN:
-                return images.get('D').get(index);
-            case RIGHT:
-                return images.get('R').get(index);
-            case LEFT:
-                return images.get('L').get(index);
+        if (images != tableImages) {
+            table = descriptor.createTable(images);
+            tableImages = images;
         }
-        return null;
+        return table.getImage(pacman.isDying() ? State.DYING : State.ALIVE, pacman.getDirection(), frameCount);
     }
 }
@@ -0,0 +1,88 @@
+package pt.feup.tvvs.pacman;
+
+import org.junit.jupiter.api.Test;
+
+import java.awt.image.BufferedImage;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class AssetRegistryWhiteBoxTests {
+
+    @Test
+    public void get_decodesEachKeyOnce() throws IOException {
+        AssetRegistry registry = new AssetRegistry(Runnable::run);
+        AtomicInteger decodes = new AtomicInteger();
+
+        Object first = registry.get("key", key -> new Object[]{decodes.incrementAndGet()});
+        Object second = registry.get("key", key -> new Object[]{decodes.incrementAndGet()});
+
+        assertThat(second).isSameAs(first);
+        assertThat(decodes.get()).isEqualTo(1);
+        assertThat(registry.isLoaded("key")).isTrue();
+        assertThat(registry.isLoaded("other")).isFalse();
+    }
+
+    @Test
+    public void get_failuresAreNotKept() throws IOException {
+        AssetRegistry registry = new AssetRegistry(Runnable::run);
+
+        assertThatThrownBy(() -> registry.get("key", key -> {
+            throw new IOException("broken");
+        })).isInstanceOf(IOException.class).hasMessage("broken");
+        assertThat(registry.isLoaded("key")).isFalse();
+
+        assertThat(registry.<String>get("key", key -> "fixed")).isEqualTo("fixed");
+    }
+
+    @Test
+    public void getImage_missingResource_throws() {
+        AssetRegistry registry = new AssetRegistry(Runnable::run);
+
+        assertThatThrownBy(() -> registry.getImage("PNGs/this_does_not_exist.png")).isInstanceOf(FileNotFoundException.class);
+        assertThatThrownBy(() -> registry.getBytes("Audio/this_does_not_exist.wav")).isInstanceOf(FileNotFoundException.class);
+    }
+
+    @Test
+    public void load_waitsForTheDecodingInProgress() throws IOException {
+        List<Runnable> queued = new ArrayList<>();
+        AssetRegistry registry = new AssetRegistry(queued::add);
+
+        CompletableFuture<Object> loading = registry.load("key", key -> "background");
+        assertThat(registry.load("key", key -> "again")).isSameAs(loading);
+        assertThat(queued).hasSize(1);
+        assertThat(registry.isLoaded("key")).isFalse();
+
+        queued.get(0).run();
+        assertThat(registry.<String>get("key", key -> "caller")).isEqualTo("background");
+    }
+
+    @Test
+    public void preload_decodesEveryImageAndSound() throws IOException {
+        AssetRegistry registry = new AssetRegistry(Runnable::run);
+
+        registry.preload().join();
+
+        assertThat(registry.isLoaded("PNGs/wall.png")).isTrue();
+        assertThat(registry.isLoaded("PNGs/ghosts/blinky/blinkyleft1.png")).isTrue();
+        assertThat(registry.isLoaded("Fonts/ingamefont.png")).isTrue();
+        assertThat(registry.isLoaded("Fonts/ingamefontmap.txt")).isTrue();
+        assertThat(registry.isLoaded("Audio/pacmanDeath.wav")).isTrue();
+        BufferedImage wall = registry.getImage("PNGs/wall.png");
+        assertThat(registry.getImage("PNGs/wall.png")).isSameAs(wall);
+    }
+
+    @Test
+    public void listResources_walksSubfolders() {
+        assertThat(AssetRegistry.listResources("PNGs", ".png"))
+                .contains("PNGs/wall.png", "PNGs/items/coin.png", "PNGs/ghosts/common/scaredghost1.png")
+                .allMatch(path -> path.endsWith(".png"));
+        assertThat(AssetRegistry.listResources("NoAssetsHere", ".png")).isEmpty();
+    }
+}
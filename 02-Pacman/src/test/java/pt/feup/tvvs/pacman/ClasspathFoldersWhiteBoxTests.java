@@ -0,0 +1,56 @@
+package pt.feup.tvvs.pacman;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ClasspathFoldersWhiteBoxTests {
+
+    @Test
+    public void forEach_visitsTheFolderInEveryDirectoryAndJar() throws IOException {
+        Path directory = Files.createTempDirectory("classes");
+        Files.createDirectories(directory.resolve("Maps/singleplayer"));
+        Files.writeString(directory.resolve("Maps/singleplayer/a.txt"), "WW\n");
+        Path jar = Files.createTempFile("resources", ".jar");
+        try (ZipOutputStream zip = new ZipOutputStream(Files.newOutputStream(jar))) {
+            zip.putNextEntry(new ZipEntry("Maps/"));
+            zip.putNextEntry(new ZipEntry("Maps/singleplayer/"));
+            zip.putNextEntry(new ZipEntry("Maps/singleplayer/b.txt"));
+            zip.write("WW\n".getBytes());
+            zip.closeEntry();
+        }
+
+        List<String> files = new ArrayList<>();
+        try (URLClassLoader loader = new URLClassLoader(new URL[]{directory.toUri().toURL(), jar.toUri().toURL()}, null)) {
+            ClasspathFolders.forEach(loader, "Maps", folder -> {
+                try (Stream<Path> paths = Files.walk(folder)) {
+                    files.addAll(paths.filter(Files::isRegularFile).map(path -> path.getFileName().toString()).collect(Collectors.toList()));
+                } catch (IOException e) {
+                    throw new RuntimeException(e);
+                }
+            });
+        }
+
+        assertThat(files).containsExactly("a.txt", "b.txt");
+    }
+
+    @Test
+    public void forEach_skipsMissingFolders() {
+        List<Path> folders = new ArrayList<>();
+        ClasspathFolders.forEach("NoSuchFolder", folders::add);
+
+        assertThat(folders).isEmpty();
+    }
+}
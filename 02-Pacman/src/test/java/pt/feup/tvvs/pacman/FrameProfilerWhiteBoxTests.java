@@ -0,0 +1,85 @@
+package pt.feup.tvvs.pacman;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import pt.feup.tvvs.pacman.gui.GUI;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class FrameProfilerWhiteBoxTests {
+
+    @Test
+    public void disabledProfiler_recordsNothing(@TempDir Path directory) throws Exception {
+        FrameProfiler profiler = new FrameProfiler(false, false);
+        profiler.setContext("singleplayer/map", GUI.SCREEN_RESOLUTION._720p);
+        profiler.start(FrameProfiler.Phase.DRAW);
+        profiler.end(FrameProfiler.Phase.DRAW);
+
+        Path file = directory.resolve("profile.csv");
+        profiler.export(file);
+
+        assertThat(profiler.isEnabled()).isFalse();
+        assertThat(profiler.getRollingNanos(FrameProfiler.Phase.DRAW)).isZero();
+        assertThat(Files.readAllLines(file)).hasSize(1); //header only
+    }
+
+    @Test
+    public void phases_areExportedPerContextAndResolution(@TempDir Path directory) throws Exception {
+        FrameProfiler profiler = new FrameProfiler(true, false);
+        profiler.setContext("singleplayer/map", GUI.SCREEN_RESOLUTION._720p);
+        profiler.start(FrameProfiler.Phase.PACMAN);
+        profiler.end(FrameProfiler.Phase.PACMAN);
+        profiler.setContext("singleplayer/map", GUI.SCREEN_RESOLUTION._1080p);
+        profiler.start(FrameProfiler.Phase.PACMAN);
+        profiler.end(FrameProfiler.Phase.PACMAN);
+        profiler.start(FrameProfiler.Phase.REFRESH);
+        profiler.end(FrameProfiler.Phase.REFRESH);
+
+        Path csv = directory.resolve("profile.csv");
+        profiler.export(csv);
+        List<String> lines = Files.readAllLines(csv);
+
+        assertThat(lines).hasSize(4);
+        assertThat(lines.get(0)).startsWith("context,resolution,phase,count");
+        assertThat(lines.get(1)).startsWith("singleplayer/map,720p,PACMAN,1,");
+        assertThat(lines.get(2)).startsWith("singleplayer/map,1080p,PACMAN,1,");
+        assertThat(lines.get(3)).startsWith("singleplayer/map,1080p,REFRESH,1,");
+    }
+
+    @Test
+    public void jsonFile_getsOneObjectPerPhase(@TempDir Path directory) throws Exception {
+        FrameProfiler profiler = new FrameProfiler(true, false);
+        profiler.setContext("multiplayer/\"quoted\"", GUI.SCREEN_RESOLUTION._360p);
+        profiler.start(FrameProfiler.Phase.INPUT);
+        profiler.end(FrameProfiler.Phase.INPUT);
+
+        Path json = directory.resolve("profile.json");
+        profiler.export(json);
+        String content = Files.readString(json);
+
+        assertThat(content).startsWith("[").contains("\"context\": \"multiplayer/\\\"quoted\\\"\"")
+                .contains("\"phase\": \"INPUT\"").contains("\"count\": 1").doesNotContain("PACMAN");
+    }
+
+    @Test
+    public void rollingAverages_followTheCurrentContext() {
+        FrameProfiler profiler = new FrameProfiler(false, true);
+        assertThat(profiler.isEnabled()).isTrue();
+
+        profiler.setContext("menus", GUI.SCREEN_RESOLUTION._720p);
+        profiler.start(FrameProfiler.Phase.DRAW);
+        byte[][] garbage = new byte[64][];
+        for (int i = 0; i < garbage.length; ++i) garbage[i] = new byte[1024];
+        profiler.end(FrameProfiler.Phase.DRAW);
+
+        assertThat(profiler.getRollingNanos(FrameProfiler.Phase.DRAW)).isPositive();
+        assertThat(profiler.getRollingBytes(FrameProfiler.Phase.DRAW)).isGreaterThanOrEqualTo(64 * 1024);
+
+        profiler.setContext("singleplayer/map", GUI.SCREEN_RESOLUTION._720p);
+        assertThat(profiler.getRollingNanos(FrameProfiler.Phase.DRAW)).isZero();
+    }
+}
@@ -0,0 +1,55 @@
+package pt.feup.tvvs.pacman;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+public class FrameTimeHistogramWhiteBoxTests {
+
+    @Test
+    public void emptyHistogram_reportsZeros() {
+        FrameTimeHistogram histogram = new FrameTimeHistogram("tick");
+
+        assertThat(histogram.getCount()).isZero();
+        assertThat(histogram.getPercentileNanos(0.99)).isZero();
+        assertThat(histogram.getMeanNanos()).isZero();
+    }
+
+    @Test
+    public void percentiles_areWithinBucketPrecision() {
+        FrameTimeHistogram histogram = new FrameTimeHistogram("tick");
+        // 1ms .. 100ms
+        for (int i = 1; i <= 100; ++i) histogram.record(i * 1_000_000L);
+
+        assertThat(histogram.getCount()).isEqualTo(100);
+        assertThat((double) histogram.getPercentileNanos(0.5)).isCloseTo(50e6, within(50e6 * 0.04));
+        assertThat((double) histogram.getPercentileNanos(0.99)).isCloseTo(99e6, within(99e6 * 0.04));
+        assertThat(histogram.getPercentileNanos(1.0)).isEqualTo(100_000_000L);
+        assertThat(histogram.getMaxNanos()).isEqualTo(100_000_000L);
+        assertThat(histogram.getMeanNanos()).isEqualTo(50_500_000L);
+    }
+
+    @Test
+    public void shortDurations_areExactToTheMicrosecond() {
+        FrameTimeHistogram histogram = new FrameTimeHistogram("render");
+        histogram.record(10_000);
+        histogram.record(20_000);
+        histogram.record(30_500);
+
+        assertThat(histogram.getPercentileNanos(0.5)).isEqualTo(20_999);
+        assertThat(histogram.getPercentileNanos(1.0)).isEqualTo(30_500);
+    }
+
+    @Test
+    public void reset_and_toString() {
+        FrameTimeHistogram histogram = new FrameTimeHistogram("render");
+        histogram.record(2_000_000);
+
+        assertThat(histogram.toString()).startsWith("render: n=1").contains("max=2.000ms");
+
+        histogram.reset();
+        assertThat(histogram.getCount()).isZero();
+        assertThat(histogram.getMaxNanos()).isZero();
+    }
+}
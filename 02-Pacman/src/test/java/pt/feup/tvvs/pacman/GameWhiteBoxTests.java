@@ -11,6 +11,8 @@ import pt.feup.tvvs.pacman.gui.GUI;
 import pt.feup.tvvs.pacman.states.State;
 
 import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatCode;
@@ -150,4 +152,30 @@ public class GameWhiteBoxTests {
         Game g = Game.getInstance(gui, audioManager);
         assertThat(g).isNotNull();
     }
+
+    @Test
+    public void gameLoop_update_runsTicksThenRendersOnce_andRecordsTimes() throws InterruptedException {
+        GameLoop loop = new GameLoop(1000);
+        List<String> calls = new ArrayList<>();
+
+        loop.update(() -> calls.add("tick"), () -> calls.add("render"));
+
+        assertThat(calls).endsWith("render");
+        assertThat(calls).filteredOn("render"::equals).hasSize(1);
+        assertThat(calls).filteredOn("tick"::equals).hasSize((int) loop.getFrameCount());
+        assertThat(loop.getFrameCount()).isBetween(1L, 5L);
+        assertThat(loop.getTickTimes().getCount()).isEqualTo(loop.getFrameCount());
+        assertThat(loop.getRenderTimes().getCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void gameLoop_keepsTheTickRate() throws InterruptedException {
+        GameLoop loop = new GameLoop(100); // 10 ms per tick
+        long start = System.nanoTime();
+        while (loop.getFrameCount() < 20) loop.update(() -> {}, () -> {});
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        // 20 ticks of 10 ms each, the first one waits a whole tick
+        assertThat(elapsedMillis).isGreaterThanOrEqualTo(195);
+    }
 }
@@ -0,0 +1,82 @@
+package pt.feup.tvvs.pacman;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import pt.feup.tvvs.pacman.gui.GUI;
+import pt.feup.tvvs.pacman.states.State;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+public class RenderThreadWhiteBoxTests {
+
+    @Test
+    public void publishedFrame_isDrawnFromItsSnapshot() throws Exception {
+        GUI gui = mock(GUI.class);
+        State<?> state = mock(State.class);
+        when(state.snapshot(any())).thenReturn("snapshot");
+        RenderThread renderThread = new RenderThread(gui);
+        renderThread.start();
+
+        renderThread.publish(state, 16);
+
+        verify(state, timeout(1000)).render(gui, "snapshot", 16);
+        renderThread.stop();
+        assertThat(renderThread.getDrawTimes().getCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void resize_isDoneOnTheRenderThread() throws Exception {
+        GUI gui = mock(GUI.class);
+        when(gui.getResolution()).thenReturn(GUI.SCREEN_RESOLUTION._360p);
+        RenderThread renderThread = new RenderThread(gui);
+        assertThat(renderThread.getResolution()).isEqualTo(GUI.SCREEN_RESOLUTION._360p);
+
+        renderThread.resize(100, 50, GUI.SCREEN_RESOLUTION._720p);
+        assertThat(renderThread.getResolution()).isEqualTo(GUI.SCREEN_RESOLUTION._720p);
+        verify(gui, never()).resizeScreen(anyInt(), anyInt(), any());
+
+        renderThread.start();
+        verify(gui, timeout(1000)).resizeScreen(100, 50, GUI.SCREEN_RESOLUTION._720p);
+        renderThread.stop();
+    }
+
+    @Test
+    public void clear_isDoneOnTheRenderThreadBeforeTheNextFrame() throws Exception {
+        GUI gui = mock(GUI.class);
+        State<?> state = mock(State.class);
+        RenderThread renderThread = new RenderThread(gui);
+        renderThread.start();
+
+        renderThread.clear();
+        verify(gui, after(50).never()).clear();
+        renderThread.publish(state, 16);
+        verify(state, timeout(1000)).render(any(), any(), eq(16L));
+        renderThread.publish(state, 32);
+        verify(state, timeout(1000)).render(any(), any(), eq(32L));
+        renderThread.stop();
+
+        InOrder order = inOrder(gui, state);
+        order.verify(gui).clear();
+        order.verify(state).render(any(), any(), eq(16L));
+        verify(gui, times(1)).clear();
+    }
+
+    @Test
+    public void failedDrawing_isThrownByTheNextPublish() throws Exception {
+        GUI gui = mock(GUI.class);
+        State<?> state = mock(State.class);
+        doThrow(new IllegalStateException("broken")).when(state).render(any(), any(), anyLong());
+        RenderThread renderThread = new RenderThread(gui);
+        renderThread.start();
+
+        renderThread.publish(state, 0);
+        verify(state, timeout(1000)).render(any(), any(), anyLong());
+        renderThread.stop();
+
+        assertThatThrownBy(() -> renderThread.publish(state, 16)).isInstanceOf(IllegalStateException.class).hasMessage("broken");
+    }
+}
@@ -4,7 +4,9 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
 import org.mockito.MockedConstruction;
+import org.mockito.MockedStatic;
 
+import javax.sound.sampled.AudioSystem;
 import java.lang.reflect.Field;
 import java.util.Map;
 
@@ -158,4 +160,21 @@ public class AudioManagerWhiteBoxTests {
     private org.assertj.core.data.Offset<Float> within(float delta) {
         return org.assertj.core.data.Offset.offset(delta);
     }
+
+    @Test
+    public void createMuted_isNotTheSingleton_andNeverBuildsRealPlayers() {
+        try (MockedStatic<AudioSystem> audioSystem = mockStatic(AudioSystem.class)) {
+            AudioManager muted = AudioManager.createMuted();
+            // a real player would fail on the missing file
+            muted.addAudio("siren", "some-path.wav");
+            AudioPlayer siren = muted.getAudio("siren");
+            siren.playInLoop();
+            muted.setMasterVolume(0.5f);
+
+            assertThat(muted).isNotSameAs(AudioManager.getInstance());
+            assertThat(siren).isNotNull();
+            assertThat(siren.isPlaying()).isFalse();
+            audioSystem.verifyNoInteractions();
+        }
+    }
 }
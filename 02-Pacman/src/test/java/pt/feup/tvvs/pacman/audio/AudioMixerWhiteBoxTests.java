@@ -0,0 +1,115 @@
+package pt.feup.tvvs.pacman.audio;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class AudioMixerWhiteBoxTests {
+    private final Object coin = new Object();
+    private final Object siren = new Object();
+
+    private static short[] constant(int frames, int value) {
+        short[] pcm = new short[frames * 2];
+        Arrays.fill(pcm, (short) value);
+        return pcm;
+    }
+
+    @Test
+    public void mix_sumsOverlappingVoicesWithTheirGain() {
+        AudioMixer mixer = new AudioMixer(4);
+        mixer.play(coin, constant(4, 1000), 1f, false);
+        mixer.play(coin, constant(2, 1000), 0.5f, false);
+        short[] out = new short[8];
+
+        mixer.mix(out, 4);
+
+        assertThat(out).containsExactly(1500, 1500, 1500, 1500, 1000, 1000, 1000, 1000);
+        assertThat(mixer.getActiveVoices()).isZero(); //both one shots ended
+    }
+
+    @Test
+    public void mix_clampsToSixteenBits() {
+        AudioMixer mixer = new AudioMixer(4);
+        mixer.play(coin, constant(1, 30000), 1f, false);
+        mixer.play(coin, constant(1, 30000), 1f, false);
+        mixer.play(siren, constant(1, -30000), 1f, false);
+        mixer.play(siren, constant(1, -30000), 1f, false);
+        mixer.play(siren, constant(1, -30000), 1f, false); //steals the oldest coin
+        short[] out = new short[2];
+
+        mixer.mix(out, 1);
+
+        assertThat(out).containsExactly(Short.MIN_VALUE, Short.MIN_VALUE);
+    }
+
+    @Test
+    public void mix_loopsWrapAround() {
+        AudioMixer mixer = new AudioMixer(2);
+        mixer.play(siren, new short[]{1, 1, 2, 2}, 1f, true);
+        short[] out = new short[10];
+
+        mixer.mix(out, 5);
+
+        assertThat(out).containsExactly(1, 1, 2, 2, 1, 1, 2, 2, 1, 1);
+        assertThat(mixer.isPlaying(siren)).isTrue();
+    }
+
+    @Test
+    public void play_withEveryVoiceBusy_stealsTheOldestOneShotBeforeAnyLoop() {
+        AudioMixer mixer = new AudioMixer(3);
+        mixer.play(siren, constant(100, 1), 1f, true);
+        int oldest = mixer.play(coin, constant(100, 1), 1f, false);
+        int newer = mixer.play(coin, constant(100, 1), 1f, false);
+
+        assertThat(mixer.play(coin, constant(100, 1), 1f, false)).isEqualTo(oldest);
+        assertThat(mixer.play(coin, constant(100, 1), 1f, false)).isEqualTo(newer);
+        assertThat(mixer.isPlaying(siren)).isTrue();
+        assertThat(mixer.getActiveVoices()).isEqualTo(3);
+    }
+
+    @Test
+    public void play_withOnlyLoopsBusy_stealsTheOldestLoop() {
+        AudioMixer mixer = new AudioMixer(2);
+        int oldest = mixer.play(siren, constant(100, 1), 1f, true);
+        mixer.play(coin, constant(100, 1), 1f, true);
+
+        assertThat(mixer.play(coin, constant(100, 1), 1f, false)).isEqualTo(oldest);
+        assertThat(mixer.isPlaying(siren)).isFalse();
+    }
+
+    @Test
+    public void stopAndSetGain_onlyTouchTheOwnersVoices() {
+        AudioMixer mixer = new AudioMixer(4);
+        mixer.play(coin, constant(10, 100), 1f, false);
+        mixer.play(coin, constant(10, 100), 1f, false);
+        mixer.play(siren, constant(10, 100), 1f, true);
+        short[] out = new short[2];
+
+        mixer.setGain(siren, 0.5f);
+        mixer.stop(coin);
+        mixer.mix(out, 1);
+
+        assertThat(mixer.isPlaying(coin)).isFalse();
+        assertThat(mixer.getActiveVoices()).isEqualTo(1);
+        assertThat(out).containsExactly(50, 50);
+    }
+
+    @Test
+    public void decode_convertsToTheMixFormat() throws IOException {
+        byte[] file;
+        try (InputStream input = getClass().getClassLoader().getResourceAsStream("Audio/collectibleEaten.wav")) {
+            assertThat(input).isNotNull();
+            file = input.readAllBytes();
+        }
+
+        short[] pcm = AudioMixer.decode(file); //8109 frames at 44.1kHz
+
+        assertThat(pcm.length / 2).isCloseTo(8109 * 48000 / 44100, org.assertj.core.data.Offset.offset(4));
+        assertThatThrownBy(() -> AudioMixer.decode(new byte[]{1, 2, 3})).isInstanceOf(IOException.class);
+    }
+}
@@ -106,4 +106,63 @@ public class AudioPlayerWhiteBoxTests {
             verifyNoInteractions(mockClip, mockControl);
         }
     }
+
+    @Test
+    public void silentPlayer_neverTouchesAudioSystem() {
+        try (MockedStatic<AudioSystem> audioSystem = mockStatic(AudioSystem.class)) {
+            AudioPlayer player = AudioPlayer.silent();
+
+            player.playOnce();
+            player.playInLoop();
+            player.setVolume(0.5f);
+            player.stopPlaying();
+
+            assertThat(player.isPlaying()).isFalse();
+            assertThat(player.getVolume()).isEqualTo(0.5f);
+            audioSystem.verifyNoInteractions();
+        }
+    }
+
+    @Test
+    public void mixedPlayer_playOnce_overlapsVoicesInsteadOfRestarting() {
+        AudioMixer mixer = mock(AudioMixer.class);
+        AudioPlayer player = new AudioPlayer("Audio/collectibleEaten.wav", mixer);
+        verify(mixer).open();
+
+        player.setVolume(0.5f);
+        player.playOnce();
+        player.playOnce();
+
+        verify(mixer, times(2)).play(eq(player), any(short[].class), eq(0.5f), eq(false));
+        verify(mixer, never()).stop(player);
+    }
+
+    @Test
+    public void mixedPlayer_loopAndStop_goThroughItsOwnVoices() {
+        AudioMixer mixer = mock(AudioMixer.class);
+        AudioPlayer player = new AudioPlayer("Audio/ghostsAlive.wav", mixer);
+        AudioPlayer other = new AudioPlayer("Audio/ghostsAlive.wav", mixer);
+
+        player.playInLoop();
+        InOrder inOrder = inOrder(mixer);
+        inOrder.verify(mixer).stop(player);
+        inOrder.verify(mixer).play(eq(player), any(short[].class), eq(1f), eq(true));
+
+        player.setVolume(0.2f);
+        verify(mixer).setGain(player, 0.2f);
+        when(mixer.isPlaying(player)).thenReturn(true);
+        assertThat(player.isPlaying()).isTrue();
+        assertThat(other.isPlaying()).isFalse();
+        player.stopPlaying();
+        verify(mixer, times(2)).stop(player);
+        verify(mixer, never()).stop(other);
+    }
+
+    @Test
+    public void mixedPlayer_missingFile_throwsRuntimeException() {
+        AudioMixer mixer = mock(AudioMixer.class);
+        assertThatThrownBy(() -> new AudioPlayer("this-file-should-not-exist-1234567890.wav", mixer))
+                .isInstanceOf(RuntimeException.class);
+        verifyNoInteractions(mixer);
+    }
 }
@@ -265,4 +265,33 @@ public class CollisionControllerWhiteBoxTests {
         verify(ghostsScaredSiren).stopPlaying();
         verify(ghostsAliveSiren).playInLoop();
     }
+
+    @Test
+    public void update_reportsAllPacmansCaught_withoutAGame() {
+        Pacman pacman = new Pacman(new Position(1, 1));
+        arena.addPacman(pacman);
+
+        Set<Ghost> ghosts = new HashSet<>();
+        ghosts.add(new Blinky(new Position(1, 1)));
+        arena.setGhosts(ghosts);
+
+        CollisionController controller = new CollisionController(arena, audioManager);
+
+        assertThat(controller.update()).isTrue();
+        assertThat(pacman.isDying()).isTrue();
+        verify(audioManager, never()).stopAllAudios();
+    }
+
+    @Test
+    public void update_withoutCollision_returnsFalse() {
+        arena.addPacman(new Pacman(new Position(1, 1)));
+
+        Set<Ghost> ghosts = new HashSet<>();
+        ghosts.add(new Blinky(new Position(8, 8)));
+        arena.setGhosts(ghosts);
+
+        CollisionController controller = new CollisionController(arena, audioManager);
+
+        assertThat(controller.update()).isFalse();
+    }
 }
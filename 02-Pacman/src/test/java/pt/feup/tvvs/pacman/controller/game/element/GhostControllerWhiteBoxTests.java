@@ -7,6 +7,7 @@ import pt.feup.tvvs.pacman.gui.GUI;
 import pt.feup.tvvs.pacman.model.Position;
 import pt.feup.tvvs.pacman.model.game.Arena;
 import pt.feup.tvvs.pacman.model.game.element.Direction;
+import pt.feup.tvvs.pacman.model.game.element.Wall;
 import pt.feup.tvvs.pacman.model.game.element.ghost.Blinky;
 import pt.feup.tvvs.pacman.model.game.element.ghost.Ghost;
 import pt.feup.tvvs.pacman.model.game.element.ghost.GhostState;
@@ -23,23 +24,22 @@ import static org.mockito.Mockito.*;
 public class GhostControllerWhiteBoxTests {
 
     @Test
-    public void testGetNextPosition_reflection() throws Exception {
+    public void testGetDirectionTowards_testsTheNeighbourTiles() throws Exception {
         Arena arena = new Arena(10,10);
         GhostController controller = new GhostController(arena);
+        Ghost ghost = new Blinky(new Position(5,5));
+        ghost.setDirection(Direction.UP);
+        ghost.setOutsideGate();
+        Position target = new Position(5,0);
+        arena.addWall(new Wall(new Position(5,4)));
 
-        Method m = GhostController.class.getDeclaredMethod("getNextPosition", Position.class, Direction.class);
+        Method m = GhostController.class.getDeclaredMethod("getDirectionTowards", Ghost.class, Position.class);
         m.setAccessible(true);
 
-        Position p = new Position(5,5);
-        Position up = (Position) m.invoke(controller, p, Direction.UP);
-        Position down = (Position) m.invoke(controller, p, Direction.DOWN);
-        Position left = (Position) m.invoke(controller, p, Direction.LEFT);
-        Position right = (Position) m.invoke(controller, p, Direction.RIGHT);
-
-        assertThat(up).isEqualTo(new Position(5,4));
-        assertThat(down).isEqualTo(new Position(5,6));
-        assertThat(left).isEqualTo(new Position(4,5));
-        assertThat(right).isEqualTo(new Position(6,5));
+        // up is walled and down is opposite, left and right tie so the first one iterated wins
+        assertThat((Direction) m.invoke(controller, ghost, target)).isEqualTo(Direction.LEFT);
+        arena.addWall(new Wall(new Position(4,5)));
+        assertThat((Direction) m.invoke(controller, ghost, target)).isEqualTo(Direction.RIGHT);
     }
 
     @Test
@@ -183,4 +183,36 @@ public class GhostControllerWhiteBoxTests {
         // direction should be inverted to RIGHT
         assertThat(ghost.getDirection()).isEqualTo(Direction.RIGHT);
     }
+
+    @Test
+    public void testGetDirectionTowards_pathfinding_walksAroundWalls() throws Exception {
+        //column 2 is a wall except on the top row, the target sits right behind it
+        Arena arena = new Arena(5, 5);
+        for (int y = 1; y < 5; ++y) arena.addWall(new Wall(new Position(2, y)));
+        Ghost ghost = new Blinky(new Position(1, 2));
+        ghost.setDirection(Direction.LEFT);
+        Position target = new Position(3, 3);
+
+        Method m = GhostController.class.getDeclaredMethod("getDirectionTowards", Ghost.class, Position.class);
+        m.setAccessible(true);
+
+        //straight line distance leads down into the dead end, the walking distance leads over the wall
+        assertThat((Direction) m.invoke(new GhostController(arena), ghost, target)).isEqualTo(Direction.DOWN);
+        assertThat((Direction) m.invoke(new GhostController(arena, true), ghost, target)).isEqualTo(Direction.UP);
+    }
+
+    @Test
+    public void testGetDirectionTowards_pathfinding_unreachableTarget_fallsBackToStraightLine() throws Exception {
+        Arena arena = new Arena(5, 5);
+        Ghost ghost = new Blinky(new Position(2, 2));
+        ghost.setDirection(Direction.UP);
+        //scatter corners sit outside the arena
+        Position target = new Position(5, 5);
+
+        Method m = GhostController.class.getDeclaredMethod("getDirectionTowards", Ghost.class, Position.class);
+        m.setAccessible(true);
+
+        assertThat((Direction) m.invoke(new GhostController(arena, true), ghost, target))
+                .isEqualTo(m.invoke(new GhostController(arena), ghost, target));
+    }
 }
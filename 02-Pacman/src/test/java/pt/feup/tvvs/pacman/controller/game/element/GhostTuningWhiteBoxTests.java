@@ -0,0 +1,46 @@
+package pt.feup.tvvs.pacman.controller.game.element;
+
+import org.junit.jupiter.api.Test;
+import pt.feup.tvvs.pacman.controller.game.element.behaviours.ClydeMovementBehaviour;
+import pt.feup.tvvs.pacman.controller.game.element.behaviours.InkyMovementBehaviour;
+import pt.feup.tvvs.pacman.model.Position;
+import pt.feup.tvvs.pacman.model.game.Arena;
+import pt.feup.tvvs.pacman.model.game.element.ghost.Clyde;
+import pt.feup.tvvs.pacman.model.game.element.ghost.Inky;
+import pt.feup.tvvs.pacman.model.game.element.pacman.Pacman;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class GhostTuningWhiteBoxTests {
+
+    @Test
+    public void modeSwitches_followTheTuning() {
+        GhostTuning tuning = new GhostTuning(10, 20, 30, 36, 60, 25);
+
+        assertThat(tuning.isChaseMode(9)).isFalse();
+        assertThat(tuning.isChaseMode(10)).isTrue();
+        assertThat(tuning.isChaseMode(20)).isFalse();
+        assertThat(tuning.isChaseMode(30)).isTrue();
+        assertThat(tuning.isModeSwitch(20)).isTrue();
+        assertThat(tuning.isModeSwitch(21)).isFalse();
+        assertThatThrownBy(() -> new GhostTuning(30, 20, 10, 36, 60, 25)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void releases_followTheTuning() {
+        Arena arena = new Arena(20, 20);
+        for (int i = 0; i < 5; i++) arena.incrementCollectedCollectibles();
+        GhostTuning tuning = new GhostTuning(450, 2700, 3200, 36, 5, 5);
+        Pacman pacman = new Pacman(new Position(1, 1));
+        Clyde clyde = new Clyde(new Position(5, 5));
+        clyde.setInsideGate();
+        Inky inky = new Inky(new Position(5, 5));
+        inky.setInsideGate();
+
+        assertThat(new ClydeMovementBehaviour().getTargetPosition(clyde, arena, pacman, true)).isEqualTo(new Position(10, 11));
+        assertThat(new ClydeMovementBehaviour(tuning).getTargetPosition(clyde, arena, pacman, true)).isEqualTo(arena.getGhostGate().getPosition());
+        assertThat(new InkyMovementBehaviour().getTargetPosition(inky, arena, pacman, true)).isEqualTo(new Position(8, 11));
+        assertThat(new InkyMovementBehaviour(tuning).getTargetPosition(inky, arena, pacman, true)).isEqualTo(arena.getGhostGate().getPosition());
+    }
+}
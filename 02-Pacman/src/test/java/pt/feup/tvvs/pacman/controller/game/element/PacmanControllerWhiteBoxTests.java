@@ -22,18 +22,40 @@ import static org.mockito.Mockito.*;
 public class PacmanControllerWhiteBoxTests {
 
     @Test
-    public void calculateNextPosition_reflection() throws Exception {
+    public void collidesWithAlivePacman_reflection() throws Exception {
         Arena arena = new Arena(10, 10);
         PacmanController controller = new PacmanController(arena);
+        Pacman alive = new Pacman(new Position(5, 5));
+        Pacman dying = new Pacman(new Position(2, 2));
+        dying.setDying(true);
+        arena.addPacman(alive);
+        arena.addPacman(dying);
 
-        Method m = PacmanController.class.getDeclaredMethod("calculateNextPosition", Position.class, Direction.class);
+        Method m = PacmanController.class.getDeclaredMethod("collidesWithAlivePacman", int.class, int.class);
         m.setAccessible(true);
 
-        Position p = new Position(5, 5);
-        assertThat((Position) m.invoke(controller, p, Direction.UP)).isEqualTo(new Position(5, 4));
-        assertThat((Position) m.invoke(controller, p, Direction.DOWN)).isEqualTo(new Position(5, 6));
-        assertThat((Position) m.invoke(controller, p, Direction.LEFT)).isEqualTo(new Position(4, 5));
-        assertThat((Position) m.invoke(controller, p, Direction.RIGHT)).isEqualTo(new Position(6, 5));
+        assertThat((boolean) m.invoke(controller, 5, 5)).isTrue();
+        assertThat((boolean) m.invoke(controller, 6, 5)).isFalse(); // a whole tile apart is not a collision
+        assertThat((boolean) m.invoke(controller, 2, 2)).isFalse(); // dying pacmans are ignored
+    }
+
+    @Test
+    public void movePacman_treats_the_arena_edge_as_a_wall() throws Exception {
+        Arena arena = new Arena(10, 10);
+        PacmanController controller = new PacmanController(arena);
+        Pacman pacman = new Pacman(new Position(0, 3));
+        pacman.setDirection(Direction.LEFT);
+        arena.addPacman(pacman);
+
+        Method m = PacmanController.class.getDeclaredMethod("movePacman", Pacman.class, Direction.class);
+        m.setAccessible(true);
+        m.invoke(controller, pacman, null);
+        m.invoke(controller, pacman, Direction.UP);
+
+        // left leaves the arena, so only the turn up is taken
+        assertThat(pacman.getDirection()).isEqualTo(Direction.UP);
+        assertThat(pacman.getCounter()).isEqualTo(1);
+        assertThat(pacman.getPosition()).isEqualTo(new Position(0, 3));
     }
 
     @Test
@@ -254,18 +276,17 @@ public class PacmanControllerWhiteBoxTests {
     }
 
     @Test
-    public void calculateNextPosition_nullDirection_returnsNull() throws Exception {
+    public void collidesWithAlivePacman_negativeTile_throws() throws Exception {
         Arena arena = new Arena(10, 10);
         PacmanController controller = new PacmanController(arena);
 
-        Method m = PacmanController.class.getDeclaredMethod("calculateNextPosition", Position.class, Direction.class);
+        Method m = PacmanController.class.getDeclaredMethod("collidesWithAlivePacman", int.class, int.class);
         m.setAccessible(true);
 
-        Position p = new Position(5, 5);
-        // calling the method with a null enum will raise a NullPointerException due to switch on null
-        assertThrows(NullPointerException.class, () -> {
+        // the tile is tested with a pacman standing on it, which can't have negative coordinates
+        assertThrows(IllegalArgumentException.class, () -> {
             try {
-                m.invoke(controller, p, (Direction) null);
+                m.invoke(controller, -1, 5);
             } catch (Exception e) {
                 // unwrap InvocationTargetException
                 throw e.getCause() == null ? e : (RuntimeException) e.getCause();
@@ -43,6 +43,24 @@ public class PinkyMovementBehaviourWhiteBoxTests {
         assertThat(target).isEqualTo(new Position(0,0));
     }
 
+    @Test
+    public void computedTargets_reuse_one_position() {
+        Arena arena = new Arena(10, 10);
+        PinkyMovementBehaviour behaviour = new PinkyMovementBehaviour();
+
+        Blinky ghost = new Blinky(new Position(2,2));
+        ghost.setOutsideGate();
+
+        Pacman pacman = new Pacman(new Position(3,3));
+        pacman.setDirection(Direction.RIGHT);
+
+        Position scatter = behaviour.getTargetPosition(ghost, arena, pacman, false);
+        Position chase = behaviour.getTargetPosition(ghost, arena, pacman, true);
+
+        assertThat(chase).isSameAs(scatter);
+        assertThat(chase).isEqualTo(new Position(6,3));
+    }
+
     @Test
     public void chase_up_movesThreeUp_and_clampsAtZero() {
         Arena arena = new Arena(15, 15);
@@ -53,6 +53,11 @@ public class MenuControllerWhiteBoxTests {
             protected TextBox createTitle() {
                 return new TextBox("title", new Position(0,0), new TextColor.RGB(255,255,255));
             }
+
+            @Override
+            protected Menu createSnapshot() {
+                return createSimpleMenu();
+            }
         };
     }
 
@@ -68,6 +73,11 @@ public class MenuControllerWhiteBoxTests {
             initializeOptions();
         }
 
+        @Override
+        protected Menu createSnapshot() {
+            return new MenuOptionsImpl(resolutionSelected, masterVolumeSelected);
+        }
+
         @Override
         public boolean ResolutionSelected() {
             return resolutionSelected;
@@ -152,7 +162,7 @@ public class MenuControllerWhiteBoxTests {
 
         float nv = controller.callHandleVolumeChange(game);
         assertThat(nv).isEqualTo(0.1f);
-        verify(gui).clear();
+        verify(game).clearScreen();
         verify(audioManager).setMasterVolume(0.1f);
     }
 
@@ -249,7 +259,7 @@ public class MenuControllerWhiteBoxTests {
         // newVolume = min(0.5+0.1,1.0) => 0.6 -> rounded 0.6
         verify(audioManager).setMasterVolume(0.6f);
         assertThat(menuOptions.getMasterVolume()).isEqualTo(0.6f);
-        verify(gui).clear();
+        verify(game).clearScreen();
         verify(sel).playOnce();
 
         // test LEFT
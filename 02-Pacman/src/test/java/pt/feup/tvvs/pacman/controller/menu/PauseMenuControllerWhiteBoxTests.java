@@ -121,7 +121,7 @@ public class PauseMenuControllerWhiteBoxTests {
 
         verify(audioManager).setMasterVolume(0.6f);
         assertThat(menu.getOptions().get(2).getText()).contains("Master Volume");
-        verify(gui).clear();
+        verify(game).clearScreen();
         verify(confirm, times(1)).playOnce();
     }
 
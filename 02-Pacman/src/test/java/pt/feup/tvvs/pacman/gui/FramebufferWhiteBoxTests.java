@@ -0,0 +1,69 @@
+package pt.feup.tvvs.pacman.gui;
+
+import com.googlecode.lanterna.TextCharacter;
+import com.googlecode.lanterna.TextColor;
+import com.googlecode.lanterna.graphics.BasicTextImage;
+import org.junit.jupiter.api.Test;
+
+import java.awt.image.BufferedImage;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class FramebufferWhiteBoxTests {
+
+    @Test
+    public void drawImage_skipsTransparentPixelsAndClips() {
+        Framebuffer framebuffer = new Framebuffer(10, 10);
+        BufferedImage image = new BufferedImage(11, 11, BufferedImage.TYPE_INT_ARGB);
+        image.setRGB(0, 0, 0xFF102030);
+        image.setRGB(1, 0, 0xFF405060);
+
+        framebuffer.fill(0, 0, 10, 10, 0xFFFFFFFF);
+        framebuffer.drawImage(9, 2, image, 11, 11);
+
+        assertThat(framebuffer.getPixel(9, 2)).isEqualTo(0xFF102030);
+        assertThat(framebuffer.getPixel(9, 3)).isEqualTo(0xFFFFFFFF); //transparent, left as it was
+    }
+
+    @Test
+    public void textImage_copiesEveryCell_defaultOnesAsBlack() {
+        Framebuffer framebuffer = new Framebuffer(20, 20);
+        framebuffer.fill(0, 0, 20, 20, 0xFFFFFFFF);
+        BasicTextImage image = new BasicTextImage(11, 11);
+        image.setCharacterAt(2, 3, TextCharacter.fromCharacter(' ', TextColor.ANSI.DEFAULT, new TextColor.RGB(1, 2, 3))[0]);
+
+        framebuffer.drawTextImage(4, 4, image);
+
+        assertThat(framebuffer.getPixel(6, 7)).isEqualTo(0xFF010203);
+        assertThat(framebuffer.getPixel(4, 4)).isEqualTo(Framebuffer.BLACK);
+        assertThat(framebuffer.getPixel(15, 15)).isEqualTo(0xFFFFFFFF);
+    }
+
+    @Test
+    public void glyphsAndSprites_paintOnlyTheirOpaquePixels() {
+        Framebuffer framebuffer = new Framebuffer(20, 20);
+        BufferedImage character = new BufferedImage(5, 11, BufferedImage.TYPE_INT_ARGB);
+        character.setRGB(4, 10, 0xFFFFFFFF);
+        BufferedImage spriteImage = new BufferedImage(11, 11, BufferedImage.TYPE_INT_ARGB);
+        spriteImage.setRGB(1, 1, 0xFF00FF00);
+
+        framebuffer.drawGlyph(0, 0, new GlyphAtlas.Glyph(character), new TextColor.RGB(255, 0, 0));
+        framebuffer.drawCharacter(10, 0, character, new TextColor.RGB(0, 0, 255));
+        framebuffer.drawSprite(5, 5, new Sprite(spriteImage));
+
+        assertThat(framebuffer.getPixel(4, 10)).isEqualTo(0xFFFF0000);
+        assertThat(framebuffer.getPixel(14, 10)).isEqualTo(0xFF0000FF);
+        assertThat(framebuffer.getPixel(6, 6)).isEqualTo(0xFF00FF00);
+        assertThat(framebuffer.getPixel(0, 0)).isEqualTo(Framebuffer.BLACK);
+    }
+
+    @Test
+    public void image_sharesThePixels() {
+        Framebuffer framebuffer = new Framebuffer(4, 3);
+        framebuffer.fill(-2, 1, 4, 10, 0xFF123456);
+
+        assertThat(framebuffer.getImage().getRGB(1, 2)).isEqualTo(0xFF123456);
+        assertThat(framebuffer.getImage().getRGB(2, 2)).isEqualTo(Framebuffer.BLACK);
+        assertThat(framebuffer.getPixels()).hasSize(12);
+    }
+}
@@ -0,0 +1,41 @@
+package pt.feup.tvvs.pacman.gui;
+
+import org.junit.jupiter.api.Test;
+
+import java.awt.image.BufferedImage;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class GlyphAtlasWhiteBoxTests {
+
+    @Test
+    public void glyphMask_hasTheOpaquePixels() {
+        BufferedImage image = new BufferedImage(5, 11, BufferedImage.TYPE_INT_ARGB);
+        image.setRGB(0, 0, 0xFFFFFFFF);
+        image.setRGB(4, 10, 0xFF010203);
+
+        GlyphAtlas.Glyph glyph = new GlyphAtlas.Glyph(image);
+
+        assertThat(glyph.isSet(0, 0)).isTrue();
+        assertThat(glyph.isSet(4, 10)).isTrue();
+        assertThat(glyph.isSet(1, 0)).isFalse();
+        assertThat(Long.bitCount(glyph.getMask())).isEqualTo(2);
+        assertThat(glyph.getImage()).isSameAs(image);
+    }
+
+    @Test
+    public void lowerCaseLetters_shareTheGlyphOfTheirCapital() {
+        Map<Character, BufferedImage> characters = new HashMap<>();
+        characters.put('A', new BufferedImage(5, 11, BufferedImage.TYPE_INT_RGB));
+        characters.put('1', new BufferedImage(5, 11, BufferedImage.TYPE_INT_RGB));
+
+        GlyphAtlas atlas = new GlyphAtlas(characters);
+
+        assertThat(atlas.getGlyph('a')).isSameAs(atlas.getGlyph('A')).isNotNull();
+        assertThat(atlas.getGlyph('1').getImage()).isSameAs(characters.get('1'));
+        assertThat(atlas.getGlyph('b')).isNull();
+        assertThat(atlas.getGlyph('é')).isNull();
+    }
+}
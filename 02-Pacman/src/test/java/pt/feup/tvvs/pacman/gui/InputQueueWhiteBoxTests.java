@@ -0,0 +1,62 @@
+package pt.feup.tvvs.pacman.gui;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class InputQueueWhiteBoxTests {
+
+    @Test
+    public void drain_returnsTheActionsInOrderAcrossTheWrap() {
+        InputQueue queue = new InputQueue(4);
+        List<GUI.ACTION> out = new ArrayList<>();
+
+        for (int round = 0; round < 3; ++round) {
+            assertThat(queue.offer(GUI.ACTION.UP, 10)).isTrue();
+            assertThat(queue.offer(GUI.ACTION.W, 20)).isTrue();
+            assertThat(queue.offer(GUI.ACTION.QUIT, 30)).isTrue();
+            out.clear();
+            assertThat(queue.drain(out)).isEqualTo(3);
+            assertThat(out).containsExactly(GUI.ACTION.UP, GUI.ACTION.W, GUI.ACTION.QUIT);
+            assertThat(queue.getLatency(100)).isEqualTo(90);
+        }
+        assertThat(queue.drain(out)).isZero();
+    }
+
+    @Test
+    public void offer_whenFull_dropsTheNewAction() {
+        InputQueue queue = new InputQueue(3);
+        assertThat(queue.getCapacity()).isEqualTo(4);
+        for (int i = 0; i < 4; ++i) assertThat(queue.offer(GUI.ACTION.LEFT, i)).isTrue();
+
+        assertThat(queue.offer(GUI.ACTION.RIGHT, 4)).isFalse();
+        assertThat(queue.getDropped()).isEqualTo(1);
+
+        List<GUI.ACTION> out = new ArrayList<>();
+        queue.drain(out);
+        assertThat(out).containsOnly(GUI.ACTION.LEFT).hasSize(4);
+        assertThat(queue.offer(GUI.ACTION.RIGHT, 5)).isTrue();
+    }
+
+    @Test
+    public void producerAndConsumerThreads_loseNothing() throws InterruptedException {
+        InputQueue queue = new InputQueue(16);
+        int total = 100_000;
+        Thread producer = new Thread(() -> {
+            for (int i = 0; i < total; ) {
+                if (queue.offer(i % 2 == 0 ? GUI.ACTION.UP : GUI.ACTION.DOWN, i)) ++i;
+                else Thread.onSpinWait();
+            }
+        });
+        producer.start();
+
+        List<GUI.ACTION> out = new ArrayList<>(total);
+        while (out.size() < total) queue.drain(out);
+        producer.join();
+
+        for (int i = 0; i < total; ++i) assertThat(out.get(i)).isEqualTo(i % 2 == 0 ? GUI.ACTION.UP : GUI.ACTION.DOWN);
+    }
+}
@@ -171,6 +171,17 @@ public class LanternaGUIWhiteBoxTests {
         verify(screen).close();
     }
 
+    @Test
+    public void clear_bumps_generation() {
+        Screen screen = mock(Screen.class);
+        LanternaGUI gui = new LanternaGUI(screen, GUI.SCREEN_RESOLUTION._720p);
+        long before = gui.getGeneration();
+
+        gui.clear();
+
+        assertThat(gui.getGeneration()).isNotEqualTo(before);
+    }
+
     @Test
     public void getResolution_returns_constructed_resolution() {
         Screen screen = mock(Screen.class);
@@ -238,4 +249,126 @@ public class LanternaGUIWhiteBoxTests {
         GUI.ACTION[] actions = GUI.ACTION.values();
         assertThat(actions).extracting(Enum::name).contains("UP", "DOWN", "LEFT", "RIGHT", "QUIT", "SELECT", "W", "A", "S", "D");
     }
+
+    @Test
+    public void drawSprite_sets_only_opaque_cells_on_screen() {
+        Screen screen = mock(Screen.class);
+        LanternaGUI gui = new LanternaGUI(screen, GUI.SCREEN_RESOLUTION._720p);
+
+        BufferedImage image = new BufferedImage(11, 11, BufferedImage.TYPE_INT_ARGB);
+        image.setRGB(1, 2, 0xFFFF0000);
+        image.setRGB(3, 4, 0xFF00FF00);
+        Sprite sprite = new Sprite(image);
+
+        gui.drawSprite(new Position(10, 20), sprite);
+
+        verify(screen).setCharacter(11, 22, sprite.getCell(1, 2));
+        verify(screen).setCharacter(13, 24, sprite.getCell(3, 4));
+        verify(screen, times(2)).setCharacter(anyInt(), anyInt(), any(com.googlecode.lanterna.TextCharacter.class));
+        verify(screen, never()).newTextGraphics();
+    }
+
+    @Test
+    public void inputThread_queuesTheKeysForTheGameLoop() throws IOException, InterruptedException {
+        Screen screen = mock(Screen.class);
+        KeyStroke ksUp = mock(KeyStroke.class);
+        when(ksUp.getKeyType()).thenReturn(KeyType.ArrowUp);
+        KeyStroke ksA = mock(KeyStroke.class);
+        when(ksA.getKeyType()).thenReturn(KeyType.Character);
+        when(ksA.getCharacter()).thenReturn('a');
+        KeyStroke ksEof = mock(KeyStroke.class);
+        when(ksEof.getKeyType()).thenReturn(KeyType.EOF);
+        when(screen.readInput()).thenReturn(ksUp, ksA, ksEof);
+
+        LanternaGUI gui = new LanternaGUI(screen, GUI.SCREEN_RESOLUTION._720p);
+        gui.startInputThread();
+
+        List<GUI.ACTION> received = new java.util.ArrayList<>();
+        long deadline = System.currentTimeMillis() + 5000;
+        while (received.size() < 3 && System.currentTimeMillis() < deadline) {
+            received.addAll(gui.getNextAction());
+            Thread.sleep(1);
+        }
+
+        assertThat(received).containsExactly(GUI.ACTION.UP, GUI.ACTION.A, GUI.ACTION.QUIT);
+        assertThat(gui.getNextAction()).isSameAs(gui.getNextAction()).isEmpty();
+        verify(screen, never()).pollInput();
+        gui.close();
+    }
+
+    @Test
+    public void inputThread_quitsWhenTheScreenFailsUnexpectedly() throws IOException, InterruptedException {
+        Screen screen = mock(Screen.class);
+        when(screen.readInput()).thenThrow(new IllegalStateException("broken terminal"));
+
+        LanternaGUI gui = new LanternaGUI(screen, GUI.SCREEN_RESOLUTION._720p);
+        gui.startInputThread();
+
+        List<GUI.ACTION> received = new java.util.ArrayList<>();
+        long deadline = System.currentTimeMillis() + 5000;
+        while (received.isEmpty() && System.currentTimeMillis() < deadline) {
+            received.addAll(gui.getNextAction());
+            Thread.sleep(1);
+        }
+        Thread.sleep(20);
+
+        // one quit and no retrying the broken screen
+        assertThat(received).containsExactly(GUI.ACTION.QUIT);
+        verify(screen, times(1)).readInput();
+        gui.close();
+    }
+
+    @Test
+    public void drawGlyph_sets_the_masked_cells_in_the_text_color() {
+        Screen screen = mock(Screen.class);
+        LanternaGUI gui = new LanternaGUI(screen, GUI.SCREEN_RESOLUTION._720p);
+
+        BufferedImage image = new BufferedImage(5, 11, BufferedImage.TYPE_INT_ARGB);
+        image.setRGB(0, 0, 0xFFFFFFFF);
+        image.setRGB(4, 10, 0xFFFFFFFF);
+        TextColor color = new TextColor.RGB(10, 20, 30);
+
+        gui.drawGlyph(new Position(2, 3), new GlyphAtlas.Glyph(image), color);
+
+        com.googlecode.lanterna.TextCharacter cell = com.googlecode.lanterna.TextCharacter.fromCharacter(' ', TextColor.ANSI.DEFAULT, color)[0];
+        verify(screen).setCharacter(2, 3, cell);
+        verify(screen).setCharacter(6, 13, cell);
+        verify(screen, times(2)).setCharacter(anyInt(), anyInt(), any(com.googlecode.lanterna.TextCharacter.class));
+        verify(screen, never()).newTextGraphics();
+    }
+
+    @Test
+    public void indexedPalette_drawsWithTheClosestIndexedColors() {
+        Screen screen = mock(Screen.class);
+        TextGraphics tg = mock(TextGraphics.class);
+        when(screen.newTextGraphics()).thenReturn(tg);
+        TerminalPalette palette = new TerminalPalette(true);
+        LanternaGUI gui = new LanternaGUI(screen, GUI.SCREEN_RESOLUTION._720p, palette);
+
+        BufferedImage image = new BufferedImage(11, 11, BufferedImage.TYPE_INT_ARGB);
+        image.setRGB(1, 1, 0xFFFFFF00);
+        gui.drawImage(new Position(0, 0), image);
+        gui.drawCharacter(new Position(0, 0), image, new TextColor.RGB(250, 250, 250));
+        gui.erase(new Position(0, 0));
+
+        verify(tg).setBackgroundColor(new TextColor.Indexed(226));
+        verify(tg).setBackgroundColor(new TextColor.Indexed(231));
+        verify(tg).setBackgroundColor(new TextColor.Indexed(16));
+        verify(tg, never()).setBackgroundColor(any(TextColor.RGB.class));
+    }
+
+    @Test
+    public void drawSprite_writesOnlyTheOpaqueCells() {
+        Screen screen = mock(Screen.class);
+        LanternaGUI gui = new LanternaGUI(screen, GUI.SCREEN_RESOLUTION._720p);
+
+        BufferedImage image = new BufferedImage(11, 11, BufferedImage.TYPE_INT_ARGB);
+        for (int x = 2; x < 9; x++) image.setRGB(x, 5, 0xFF0000FF);
+        Sprite sprite = new Sprite(image);
+
+        gui.drawSprite(new Position(0, 0), sprite);
+
+        for (int x = 2; x < 9; x++) verify(screen).setCharacter(x, 5, sprite.getCell(x, 5));
+        verify(screen, times(7)).setCharacter(anyInt(), anyInt(), any(com.googlecode.lanterna.TextCharacter.class));
+    }
 }
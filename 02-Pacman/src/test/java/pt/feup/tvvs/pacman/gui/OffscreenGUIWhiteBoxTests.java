@@ -0,0 +1,101 @@
+package pt.feup.tvvs.pacman.gui;
+
+import com.googlecode.lanterna.TextColor;
+import org.junit.jupiter.api.Test;
+import pt.feup.tvvs.pacman.model.Position;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class OffscreenGUIWhiteBoxTests {
+
+    @Test
+    public void refresh_countsTheFramesDrawCallsAndOverdraw() throws IOException {
+        OffscreenGUI gui = new OffscreenGUI();
+        BufferedImage image = new BufferedImage(11, 11, BufferedImage.TYPE_INT_ARGB);
+        image.setRGB(0, 0, 0xFFFFFFFF);
+        image.setRGB(1, 0, 0xFFFFFFFF);
+
+        gui.erase(new Position(0, 0));
+        gui.drawImage(new Position(0, 0), image);
+        gui.refresh();
+
+        assertThat(gui.getFrameCount()).isEqualTo(1);
+        assertThat(gui.getDrawCalls()).isEqualTo(2);
+        assertThat(gui.getWrittenPixels()).isEqualTo(121 + 2);
+        assertThat(gui.getOverdrawnPixels()).isEqualTo(2);
+
+        gui.drawImage(new Position(0, 0), image);
+        gui.refresh();
+
+        assertThat(gui.getDrawCalls()).isEqualTo(1);
+        assertThat(gui.getWrittenPixels()).isEqualTo(2);
+        assertThat(gui.getOverdrawnPixels()).isZero();
+        assertThat(gui.getTotalDrawCalls()).isEqualTo(3);
+        assertThat(gui.getTotalOverdrawnPixels()).isEqualTo(2);
+    }
+
+    @Test
+    public void dumpFrames_writesEveryRefreshedFrame() throws IOException {
+        OffscreenGUI gui = new OffscreenGUI();
+        Path directory = Files.createTempDirectory("frames").resolve("dump");
+        gui.dumpFrames(directory);
+
+        gui.drawImage(new Position(3, 4), new BufferedImage(11, 11, BufferedImage.TYPE_INT_ARGB), 1, 1);
+        gui.getFramebuffer().fill(3, 4, 1, 1, 0xFF00FF00);
+        gui.refresh();
+        gui.refresh();
+
+        BufferedImage frame = ImageIO.read(directory.resolve("frame-00000.png").toFile());
+        assertThat(frame.getWidth()).isEqualTo(OffscreenGUI.WIDTH);
+        assertThat(frame.getHeight()).isEqualTo(OffscreenGUI.HEIGHT);
+        assertThat(frame.getRGB(3, 4)).isEqualTo(0xFF00FF00);
+        assertThat(directory.resolve("frame-00001.png")).exists();
+    }
+
+    @Test
+    public void glyphs_drawnLikeCharacters() {
+        OffscreenGUI gui = new OffscreenGUI();
+        BufferedImage character = new BufferedImage(5, 11, BufferedImage.TYPE_INT_ARGB);
+        character.setRGB(2, 5, 0xFFFFFFFF);
+
+        gui.drawGlyph(new Position(10, 10), new GlyphAtlas.Glyph(character), new TextColor.RGB(1, 2, 3));
+        gui.drawCharacter(new Position(20, 10), character, new TextColor.RGB(1, 2, 3));
+
+        assertThat(gui.getFramebuffer().getPixel(12, 15)).isEqualTo(0xFF010203);
+        assertThat(gui.getFramebuffer().getPixel(22, 15)).isEqualTo(0xFF010203);
+    }
+
+    @Test
+    public void pressedActions_returnedOnce() {
+        OffscreenGUI gui = new OffscreenGUI();
+
+        gui.press(GUI.ACTION.UP);
+        gui.press(GUI.ACTION.SELECT);
+
+        assertThat(gui.getNextAction()).containsExactly(GUI.ACTION.UP, GUI.ACTION.SELECT);
+        assertThat(gui.getNextAction()).isEmpty();
+    }
+
+    @Test
+    public void resizeScreen_keepsTheLogicalSizeAndChangesGeneration() {
+        OffscreenGUI gui = new OffscreenGUI();
+        Framebuffer framebuffer = gui.getFramebuffer();
+        long generation = gui.getGeneration();
+
+        gui.resizeScreen(OffscreenGUI.WIDTH, OffscreenGUI.HEIGHT, GUI.SCREEN_RESOLUTION._1080p);
+
+        assertThat(gui.getFramebuffer()).isSameAs(framebuffer);
+        assertThat(gui.getResolution()).isEqualTo(GUI.SCREEN_RESOLUTION._1080p);
+        assertThat(gui.getGeneration()).isNotEqualTo(generation);
+
+        gui.resizeScreen(100, 50, GUI.SCREEN_RESOLUTION._360p);
+
+        assertThat(gui.getFramebuffer().getWidth()).isEqualTo(100);
+    }
+}
@@ -0,0 +1,58 @@
+package pt.feup.tvvs.pacman.gui;
+
+import com.googlecode.lanterna.TextCharacter;
+import com.googlecode.lanterna.TextColor;
+import org.junit.jupiter.api.Test;
+
+import java.awt.image.BufferedImage;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SpriteWhiteBoxTests {
+
+    @Test
+    public void transparentPixels_haveNoCell() {
+        BufferedImage image = new BufferedImage(11, 11, BufferedImage.TYPE_INT_ARGB);
+        image.setRGB(5, 6, 0xFF102030);
+
+        Sprite sprite = new Sprite(image);
+
+        assertThat(sprite.getCell(0, 0)).isNull();
+        TextCharacter cell = sprite.getCell(5, 6);
+        assertThat(cell.getCharacterString()).isEqualTo(" ");
+        assertThat(cell.getBackgroundColor()).isEqualTo(new TextColor.RGB(0x10, 0x20, 0x30));
+        assertThat(cell.getForegroundColor()).isEqualTo(TextColor.ANSI.DEFAULT);
+    }
+
+    @Test
+    public void pixelsOfTheSameColor_shareTheirCell() {
+        BufferedImage image = new BufferedImage(11, 11, BufferedImage.TYPE_INT_ARGB);
+        image.setRGB(1, 1, 0xFFFFFF00);
+        image.setRGB(9, 9, 0xFFFFFF00);
+
+        Sprite sprite = new Sprite(image);
+
+        assertThat(sprite.getCell(1, 1)).isSameAs(sprite.getCell(9, 9));
+    }
+
+    @Test
+    public void indexedPalette_quantisesTheCellsWhenLoaded() {
+        BufferedImage image = new BufferedImage(11, 11, BufferedImage.TYPE_INT_ARGB);
+        image.setRGB(0, 0, 0xFF2121DE);
+
+        Sprite sprite = new Sprite(image, 11, 11, new TerminalPalette(true));
+
+        assertThat(sprite.getCell(0, 0).getBackgroundColor()).isEqualTo(new TextColor.Indexed(20));
+    }
+
+    @Test
+    public void sizeIsClampedToOneTile() {
+        Sprite big = new Sprite(new BufferedImage(20, 15, BufferedImage.TYPE_INT_ARGB));
+        Sprite small = new Sprite(new BufferedImage(2, 3, BufferedImage.TYPE_INT_ARGB));
+
+        assertThat(big.getWidth()).isEqualTo(11);
+        assertThat(big.getHeight()).isEqualTo(11);
+        assertThat(small.getWidth()).isEqualTo(2);
+        assertThat(small.getHeight()).isEqualTo(3);
+    }
+}
@@ -0,0 +1,31 @@
+package pt.feup.tvvs.pacman.gui;
+
+import org.junit.jupiter.api.Test;
+
+import java.awt.Canvas;
+import java.awt.event.KeyEvent;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SwingGUIWhiteBoxTests {
+
+    private static KeyEvent pressed(int keyCode, char character) {
+        return new KeyEvent(new Canvas(), KeyEvent.KEY_PRESSED, 0, 0, keyCode, character);
+    }
+
+    @Test
+    public void keys_areBoundLikeOnTheTerminal() {
+        assertThat(SwingGUI.toAction(pressed(KeyEvent.VK_UP, KeyEvent.CHAR_UNDEFINED))).isEqualTo(GUI.ACTION.UP);
+        assertThat(SwingGUI.toAction(pressed(KeyEvent.VK_LEFT, KeyEvent.CHAR_UNDEFINED))).isEqualTo(GUI.ACTION.LEFT);
+        assertThat(SwingGUI.toAction(pressed(KeyEvent.VK_ENTER, '\n'))).isEqualTo(GUI.ACTION.SELECT);
+        assertThat(SwingGUI.toAction(pressed(KeyEvent.VK_ESCAPE, (char) 27))).isEqualTo(GUI.ACTION.QUIT);
+        assertThat(SwingGUI.toAction(pressed(KeyEvent.VK_Q, 'q'))).isEqualTo(GUI.ACTION.QUIT);
+        assertThat(SwingGUI.toAction(pressed(KeyEvent.VK_D, 'd'))).isEqualTo(GUI.ACTION.D);
+    }
+
+    @Test
+    public void otherKeys_haveNoAction() {
+        assertThat(SwingGUI.toAction(pressed(KeyEvent.VK_X, 'x'))).isNull();
+        assertThat(SwingGUI.toAction(pressed(KeyEvent.VK_SHIFT, KeyEvent.CHAR_UNDEFINED))).isNull();
+    }
+}
@@ -0,0 +1,52 @@
+package pt.feup.tvvs.pacman.gui;
+
+import com.googlecode.lanterna.TextColor;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TerminalPaletteWhiteBoxTests {
+
+    @Test
+    public void trueColors_areKept() {
+        TerminalPalette palette = new TerminalPalette(false);
+        TextColor color = new TextColor.RGB(1, 2, 3);
+
+        assertThat(palette.isIndexed()).isFalse();
+        assertThat(palette.toColor(0x010203)).isEqualTo(color);
+        assertThat(palette.toColor(color)).isSameAs(color);
+    }
+
+    @Test
+    public void trueColors_areSharedBetweenPixelsOfTheSameColor() {
+        TerminalPalette palette = new TerminalPalette(false);
+        TextColor color = palette.toColor(0xFF2121DE);
+
+        assertThat(palette.toColor(0xFF2121DE)).isSameAs(color);
+        assertThat(palette.toColor(0x2121DE)).isSameAs(color);
+        assertThat(color).isEqualTo(new TextColor.RGB(0x21, 0x21, 0xDE));
+        assertThat(palette.toColor(0x2121DF)).isEqualTo(new TextColor.RGB(0x21, 0x21, 0xDF));
+    }
+
+    @Test
+    public void nearestIndex_picksTheCubeOrTheGrayRamp() {
+        assertThat(TerminalPalette.nearestIndex(0x000000)).isEqualTo(16);
+        assertThat(TerminalPalette.nearestIndex(0xFFFFFF)).isEqualTo(231);
+        assertThat(TerminalPalette.nearestIndex(0xFF0000)).isEqualTo(196);
+        assertThat(TerminalPalette.nearestIndex(0x808080)).isEqualTo(244);
+        assertThat(TerminalPalette.nearestIndex(0xFF000000 | 0x5F87AF)).isEqualTo(67);
+    }
+
+    @Test
+    public void indexedColors_areSharedAndNeverSystemColors() {
+        TerminalPalette palette = new TerminalPalette(true);
+
+        TextColor color = palette.toColor(0xFFB8FF);
+
+        assertThat(color).isInstanceOf(TextColor.Indexed.class);
+        assertThat(palette.toColor(0xFFB8FF)).isSameAs(color);
+        assertThat(palette.toColor(new TextColor.RGB(255, 184, 255))).isSameAs(color);
+        for (int rgb = 0; rgb <= 0xFFFFFF; rgb += 0x010305)
+            assertThat(TerminalPalette.nearestIndex(rgb)).isBetween(16, 255);
+    }
+}
@@ -70,6 +70,19 @@ public class ElementWhiteBoxTests {
                 .hasMessageContaining("cannot have negatives");
     }
 
+    @Test
+    public void setPosition_coordinates_updates_the_same_position_instance() {
+        Position p = new Position(4, 4);
+        TestElement e = new TestElement(p);
+        e.setPosition(7, 2);
+        assertThat(e.getPosition()).isSameAs(p);
+        assertThat(p).isEqualTo(new Position(7, 2));
+        assertThatThrownBy(() -> e.setPosition(3, -1))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("cannot have negatives");
+        assertThat(p).isEqualTo(new Position(7, 2));
+    }
+
     @Test
     public void equals_and_hashCode_behaviour_same_class_same_position() {
         TestElement a = new TestElement(new Position(5, 6));
@@ -10,6 +10,13 @@ import static org.mockito.Mockito.verify;
 
 public class PositionWhiteBoxTests {
 
+    @Test
+    public void static_squaredDistance_matches_instance_version() {
+        assertThat(Position.squaredDistance(1, 2, 4, 6)).isEqualTo(25);
+        assertThat(Position.squaredDistance(4, 6, 1, 2)).isEqualTo(25);
+        assertThat(new Position(-3, 7).squaredDistance(new Position(2, -5))).isCloseTo(Position.squaredDistance(-3, 7, 2, -5), within(1e-9));
+    }
+
     @Test
     public void constructor_and_getters_setters_work() {
         Position p = new Position(3, 4);
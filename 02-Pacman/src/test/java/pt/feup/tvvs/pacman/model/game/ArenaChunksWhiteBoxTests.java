@@ -0,0 +1,121 @@
+package pt.feup.tvvs.pacman.model.game;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import pt.feup.tvvs.pacman.model.Position;
+import pt.feup.tvvs.pacman.model.game.element.Wall;
+import pt.feup.tvvs.pacman.model.game.element.collectibles.Coin;
+import pt.feup.tvvs.pacman.model.game.element.collectibles.Collectible;
+import pt.feup.tvvs.pacman.model.game.element.pacman.Pacman;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.StringReader;
+import java.lang.reflect.Field;
+import java.nio.channels.Channels;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ArenaChunksWhiteBoxTests {
+    private static final int WIDTH = 400, HEIGHT = 200;
+
+    private Arena arena;
+    private ArenaChunks chunks;
+
+    //walls around the border, coins everywhere else and a pacman on (1, 1)
+    @BeforeEach
+    public void setUp() throws Exception {
+        StringBuilder map = new StringBuilder();
+        for (int y = 0; y < HEIGHT; ++y) {
+            for (int x = 0; x < WIDTH; ++x) {
+                if (x == 0 || y == 0 || x == WIDTH - 1 || y == HEIGHT - 1) map.append('W');
+                else if (x == 1 && y == 1) map.append('P');
+                else map.append('o');
+            }
+            map.append('\n');
+        }
+        byte[] compiled = new MapCompiler(WIDTH, HEIGHT).compile(new BufferedReader(new StringReader(map.toString())));
+        arena = ArenaLoader.load(Channels.newChannel(new ByteArrayInputStream(compiled)));
+
+        Field field = Arena.class.getDeclaredField("chunks");
+        field.setAccessible(true);
+        chunks = (ArenaChunks) field.get(arena);
+    }
+
+    private int collectiblesLeft() {
+        return arena.getCollectibles().size() + chunks.getUnloadedCollectibles();
+    }
+
+    @Test
+    public void onlyTheChunksAroundThePacmanAreLoaded() {
+        assertThat(arena.getWidth()).isEqualTo(WIDTH);
+        assertThat(arena.getHeight()).isEqualTo(HEIGHT);
+        assertThat(chunks.getLoadedCount()).isEqualTo(4);
+        assertThat(chunks.isLoaded(31, 31)).isTrue();
+        assertThat(chunks.isLoaded(32, 1)).isFalse();
+
+        assertThat(arena.getWalls()).contains(new Wall(new Position(0, 5))).doesNotContain(new Wall(new Position(WIDTH - 1, 5)));
+        assertThat(arena.isEmpty(WIDTH - 1, 5)).isFalse(); //walls far away still block
+        assertThat(arena.getCollectible(2, 1)).isNotNull();
+        assertThat(arena.getCollectible(40, 1)).isNull();
+        assertThat(collectiblesLeft()).isEqualTo((WIDTH - 2) * (HEIGHT - 2) - 1);
+        assertThat(arena.hasCollectiblesLeft()).isTrue();
+    }
+
+    @Test
+    public void releasedChunks_rememberWhatWasEaten() {
+        int left = collectiblesLeft();
+        arena.removeCollectible(arena.getCollectible(2, 1));
+        arena.addBlankPosition(new Position(2, 1));
+
+        Pacman pacman = arena.getPacmans().get(0);
+        pacman.setPosition(200, 100);
+        arena.updateChunks();
+
+        assertThat(chunks.isLoaded(1, 1)).isFalse();
+        assertThat(chunks.getLoadedCount()).isEqualTo(9);
+        assertThat(arena.getBlankPositions()).doesNotContain(new Position(2, 1));
+        assertThat(arena.getWalls()).doesNotContain(new Wall(new Position(0, 5)));
+        assertThat(collectiblesLeft()).isEqualTo(left - 1);
+
+        pacman.setPosition(1, 1);
+        arena.updateChunks();
+
+        assertThat(chunks.getTile(2, 1)).isEqualTo(MapCompiler.BLANK);
+        assertThat(arena.getCollectible(2, 1)).isNull();
+        assertThat(arena.isBlank(new Position(2, 1))).isTrue();
+        assertThat(arena.getCollectible(3, 1)).isNotNull();
+        assertThat(collectiblesLeft()).isEqualTo(left - 1);
+    }
+
+    @Test
+    public void chunksAreKeptUntilThePacmanIsWellAway() {
+        long version = chunks.getVersion();
+        arena.getPacmans().get(0).setPosition(40, 1); //next chunk over
+        arena.updateChunks();
+
+        assertThat(chunks.isLoaded(1, 1)).isTrue();
+        assertThat(chunks.isLoaded(40, 1)).isTrue();
+        assertThat(chunks.getLoadedCount()).isEqualTo(8);
+        assertThat(chunks.getVersion()).isGreaterThan(version);
+        assertThat(arena.getChunksVersion()).isEqualTo(chunks.getVersion());
+    }
+
+    @Test
+    public void snapshot_filledAgain_onlyCatchesUpOnTheChunksLoadedAndReleased() {
+        Arena snapshot = arena.snapshot(null);
+        Set<Collectible> drawnCollectibles = snapshot.getCollectibles();
+
+        arena.getPacmans().get(0).setPosition(200, 100);
+        arena.updateChunks();
+        arena.snapshot(snapshot);
+
+        assertThat(snapshot.getCollectibles()).isSameAs(drawnCollectibles).hasSameElementsAs(arena.getCollectibles());
+        assertThat(snapshot.getWalls()).isSameAs(arena.getWalls());
+        assertThat(snapshot.getChunksVersion()).isEqualTo(arena.getChunksVersion());
+        assertThat(snapshot.getCollectible(2, 1)).isNull();
+        assertThat(snapshot.getCollectible(200, 100)).isSameAs(arena.getCollectible(200, 100)).isNotNull();
+        assertThat(snapshot.countCollectibles(Coin.class)).isEqualTo(arena.countCollectibles(Coin.class));
+    }
+}
@@ -1,4 +1,150 @@
 package pt.feup.tvvs.pacman.model.game;
 
+import org.junit.jupiter.api.Test;
+import pt.feup.tvvs.pacman.model.Position;
+import pt.feup.tvvs.pacman.model.game.element.ghost.Blinky;
+import pt.feup.tvvs.pacman.model.game.element.ghost.Pinky;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
 public class ArenaLoaderWhiteBoxTests {
+
+    private static Arena load(String mapFile) throws IOException {
+        Arena arena = new Arena(29, 16);
+        new ArenaLoader(arena).loadMap(mapFile);
+        return arena;
+    }
+
+    @Test
+    public void compiledMaps_matchTheirTextMaps() throws IOException {
+        List<Path> textMaps;
+        try (Stream<Path> paths = Files.walk(Path.of("src/main/resources/Maps"))) {
+            textMaps = paths.filter(path -> path.toString().endsWith(".txt")).collect(Collectors.toList());
+        }
+        assertThat(textMaps).isNotEmpty();
+
+        for (Path textMap : textMaps) {
+            Arena text = load(textMap.toString());
+            Arena compiled = load(MapCompiler.compiledPathOf(textMap).toString());
+
+            assertThat(compiled.getWalls()).isEqualTo(text.getWalls());
+            assertThat(compiled.getCollectibles()).isEqualTo(text.getCollectibles());
+            assertThat(compiled.getBlankPositions()).isEqualTo(text.getBlankPositions());
+            assertThat(compiled.getGhosts()).isEqualTo(text.getGhosts());
+            assertThat(compiled.getPacmans()).isEqualTo(text.getPacmans());
+            assertThat(compiled.getGhostGate()).isEqualTo(text.getGhostGate());
+        }
+    }
+
+    @Test
+    public void load_sizesTheArenaFromTheMap() throws IOException {
+        Arena shipped = ArenaLoader.load("src/main/resources/Maps/singleplayer/1 Normal Map.pmap");
+        assertThat(shipped.getWidth()).isEqualTo(29);
+        assertThat(shipped.getHeight()).isEqualTo(16);
+
+        Path textMap = Files.writeString(Files.createTempDirectory("maps").resolve("map.txt"), "WWWWWWWWWWWWWWWWWWWWWWWWWWWWWWWWWWWWWWWW\nWP  o\n");
+        Arena text = ArenaLoader.load(textMap.toString());
+        assertThat(text.getWidth()).isEqualTo(40);
+        assertThat(text.getHeight()).isEqualTo(2);
+        assertThat(text.getWalls()).hasSize(41);
+        assertThat(text.getCollectible(4, 1)).isNotNull();
+    }
+
+    @Test
+    public void load_rejectsTruncatedMaps() throws IOException {
+        byte[] map = new MapCompiler(100, 100).compile(new BufferedReader(new StringReader("WWWW\nWPbW\n")));
+        byte[] truncated = Arrays.copyOf(map, map.length - 1);
+
+        assertThatThrownBy(() -> ArenaLoader.load(Channels.newChannel(new ByteArrayInputStream(truncated))))
+                .isInstanceOf(IOException.class);
+    }
+
+    @Test
+    public void loadMap_fromBuffer_placesTilesAndSpawns() throws Exception {
+        byte[] map = new MapCompiler(100, 100).compile(new BufferedReader(new StringReader("WWWW\nWPbW\nWDpo\n")));
+        Arena arena = new Arena(4, 3);
+
+        new ArenaLoader(arena).loadMap(ByteBuffer.wrap(map));
+
+        assertThat(arena.getWalls()).hasSize(7);
+        assertThat(arena.getPacmans()).hasSize(1);
+        assertThat(arena.getPacmans().get(0).getRespawnPosition()).isEqualTo(new Position(1, 1));
+        assertThat(arena.getGhosts()).containsExactlyInAnyOrder(new Blinky(new Position(2, 1)), new Pinky(new Position(2, 2)));
+        assertThat(arena.getBlankPositions()).containsExactlyInAnyOrder(new Position(1, 1), new Position(2, 1), new Position(2, 2));
+        assertThat(arena.getGhostGate().getPosition()).isEqualTo(new Position(1, 2));
+        assertThat(arena.getCollectible(3, 2)).isNotNull();
+    }
+
+    @Test
+    public void loadMap_fromBuffer_leavesOutWhatDoesNotFit() throws Exception {
+        byte[] map = new MapCompiler(100, 100).compile(new BufferedReader(new StringReader("WWWW\nWWWb\n")));
+        Arena arena = new Arena(2, 1);
+
+        new ArenaLoader(arena).loadMap(ByteBuffer.wrap(map));
+
+        assertThat(arena.getWalls()).hasSize(2);
+        assertThat(arena.getGhosts()).isEmpty();
+    }
+
+    @Test
+    public void loadMap_rejectsOtherFiles() {
+        Arena arena = new Arena(4, 4);
+        assertThatThrownBy(() -> new ArenaLoader(arena).loadMap(ByteBuffer.wrap("WWWW\nWWWW\nWWWW\nWWWW\n".getBytes())))
+                .isInstanceOf(IOException.class);
+    }
+
+    @Test
+    public void preferCompiled_onlyWhenTheCompiledMapIsUpToDate() throws IOException {
+        Path folder = Files.createTempDirectory("maps");
+        Path textMap = Files.writeString(folder.resolve("map.txt"), "WW\n");
+        assertThat(ArenaLoader.preferCompiled(textMap.toString())).isEqualTo(textMap.toString());
+
+        Path compiledMap = MapCompiler.compiledPathOf(textMap);
+        new MapCompiler(100, 100).compile(textMap, compiledMap);
+        // older than its text map, but compiled from it as it is
+        assertThat(compiledMap.toFile().setLastModified(textMap.toFile().lastModified() - 1000)).isTrue();
+        assertThat(ArenaLoader.preferCompiled(textMap.toString())).isEqualTo(compiledMap.toString());
+
+        // other line endings are the same map
+        Files.writeString(textMap, "WW\r\n");
+        assertThat(ArenaLoader.preferCompiled(textMap.toString())).isEqualTo(compiledMap.toString());
+
+        Files.writeString(textMap, "WWW\n");
+        assertThat(compiledMap.toFile().setLastModified(textMap.toFile().lastModified() + 1000)).isTrue();
+        assertThat(ArenaLoader.preferCompiled(textMap.toString())).isEqualTo(textMap.toString());
+    }
+
+    @Test
+    public void preferCompiled_skipsCompiledMapsOfOtherVersions() throws IOException {
+        Path folder = Files.createTempDirectory("maps");
+        Path textMap = Files.writeString(folder.resolve("map.txt"), "WW\n");
+        Files.write(MapCompiler.compiledPathOf(textMap), new byte[]{'P', 'M', 'A', 'P', 0, 1});
+
+        assertThat(ArenaLoader.preferCompiled(textMap.toString())).isEqualTo(textMap.toString());
+    }
+
+    @Test
+    public void shippedCompiledMaps_matchTheirTextMaps() throws IOException {
+        try (Stream<Path> paths = Files.walk(Paths.get("src/main/resources/Maps"))) {
+            for (Path textMap : paths.filter(path -> path.toString().endsWith(MapCompiler.TEXT_EXTENSION)).collect(Collectors.toList())) {
+                // regenerate them with MapCompiler after editing a map
+                assertThat(ArenaLoader.preferCompiled(textMap.toString())).isEqualTo(MapCompiler.compiledPathOf(textMap).toString());
+            }
+        }
+    }
 }
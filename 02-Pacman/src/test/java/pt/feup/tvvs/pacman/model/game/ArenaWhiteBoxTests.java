@@ -1,4 +1,263 @@
 package pt.feup.tvvs.pacman.model.game;
 
+import org.junit.jupiter.api.Test;
+import pt.feup.tvvs.pacman.model.Position;
+import pt.feup.tvvs.pacman.model.game.element.Direction;
+import pt.feup.tvvs.pacman.model.game.element.Wall;
+import pt.feup.tvvs.pacman.model.game.element.collectibles.Cherry;
+import pt.feup.tvvs.pacman.model.game.element.collectibles.Coin;
+import pt.feup.tvvs.pacman.model.game.element.collectibles.Collectible;
+import pt.feup.tvvs.pacman.model.game.element.collectibles.PowerUp;
+import pt.feup.tvvs.pacman.model.game.element.ghost.Blinky;
+import pt.feup.tvvs.pacman.model.game.element.ghost.Ghost;
+import pt.feup.tvvs.pacman.model.game.element.ghost.GhostState;
+import pt.feup.tvvs.pacman.model.game.element.pacman.Pacman;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
 public class ArenaWhiteBoxTests {
+
+    @Test
+    public void addWall_marksTileAsNotEmpty() {
+        Arena arena = new Arena(10, 10);
+        arena.addWall(new Wall(new Position(3, 4)));
+
+        assertThat(arena.isEmpty(new Position(3, 4))).isFalse();
+        assertThat(arena.isEmpty(3, 4)).isFalse();
+        assertThat(arena.isEmpty(new Position(4, 3))).isTrue();
+        assertThat(arena.getTile(3, 4) & Arena.TILE_WALL).isNotZero();
+    }
+
+    @Test
+    public void setWalls_replacesPreviousWallTiles() {
+        Arena arena = new Arena(10, 10);
+        arena.addWall(new Wall(new Position(1, 1)));
+
+        Set<Wall> walls = new HashSet<>();
+        walls.add(new Wall(new Position(2, 2)));
+        arena.setWalls(walls);
+
+        assertThat(arena.isEmpty(new Position(1, 1))).isTrue();
+        assertThat(arena.isEmpty(new Position(2, 2))).isFalse();
+    }
+
+    @Test
+    public void positionsOutsideTheArena_areEmpty() {
+        Arena arena = new Arena(5, 5);
+
+        assertThat(arena.isEmpty(new Position(7, 2))).isTrue();
+        assertThat(arena.isEmpty(-1, 0)).isTrue();
+        assertThat(arena.getTile(5, 5)).isZero();
+    }
+
+    @Test
+    public void ghostGate_isTrackedWhenMoved() {
+        Arena arena = new Arena(20, 20);
+        assertThat(arena.isGhostGate(new Position(10, 10))).isTrue();
+
+        arena.setGhostGatePosition(new Position(4, 6));
+
+        assertThat(arena.isGhostGate(new Position(10, 10))).isFalse();
+        assertThat(arena.isGhostGate(4, 6)).isTrue();
+    }
+
+    @Test
+    public void ghostGate_outsideSmallArena_isStillRecognised() {
+        Arena arena = new Arena(5, 5);
+
+        assertThat(arena.isGhostGate(10, 10)).isTrue();
+        assertThat(arena.isGhostGate(1, 1)).isFalse();
+    }
+
+    @Test
+    public void collectibleTiles_followAddRemoveAndSet() {
+        Arena arena = new Arena(10, 10);
+        Coin coin = new Coin(new Position(2, 3));
+        arena.addCollectible(coin);
+        assertThat(arena.hasCollectible(new Position(2, 3))).isTrue();
+
+        assertThat(arena.removeCollectible(coin)).isTrue();
+        assertThat(arena.hasCollectible(new Position(2, 3))).isFalse();
+        assertThat(arena.getCollectibles()).doesNotContain(coin);
+        assertThat(arena.removeCollectible(coin)).isFalse();
+
+        Set<Collectible> collectibles = new HashSet<>();
+        collectibles.add(new Coin(new Position(5, 5)));
+        arena.setCollectibles(collectibles);
+        assertThat(arena.hasCollectible(new Position(5, 5))).isTrue();
+    }
+
+    @Test
+    public void collectibleGrid_andTally_followAddRemoveAndSet() {
+        Arena arena = new Arena(10, 10);
+        Coin coin = new Coin(new Position(2, 3));
+        PowerUp powerUp = new PowerUp(new Position(4, 4));
+        arena.addCollectible(coin);
+        arena.addCollectible(new Coin(new Position(2, 3))); //same coin again, not counted twice
+        arena.addCollectible(powerUp);
+
+        assertThat(arena.getCollectible(2, 3)).isSameAs(coin);
+        assertThat(arena.getCollectible(4, 4)).isSameAs(powerUp);
+        assertThat(arena.getCollectible(3, 3)).isNull();
+        assertThat(arena.getCollectible(-1, 20)).isNull();
+        assertThat(arena.countCollectibles(Coin.class)).isEqualTo(1);
+        assertThat(arena.countCollectibles(PowerUp.class)).isEqualTo(1);
+        assertThat(arena.countCollectibles(Cherry.class)).isZero();
+
+        arena.removeCollectible(coin);
+        assertThat(arena.getCollectible(2, 3)).isNull();
+        assertThat(arena.countCollectibles(Coin.class)).isZero();
+
+        Set<Collectible> collectibles = new HashSet<>();
+        collectibles.add(new Cherry(new Position(1, 1)));
+        arena.setCollectibles(collectibles);
+        assertThat(arena.getCollectible(4, 4)).isNull();
+        assertThat(arena.getCollectible(1, 1)).isInstanceOf(Cherry.class);
+        assertThat(arena.countCollectibles(PowerUp.class)).isZero();
+        assertThat(arena.countCollectibles(Cherry.class)).isEqualTo(1);
+    }
+
+    @Test
+    public void addBlankPosition_marksBlankTile() {
+        Arena arena = new Arena(10, 10);
+        arena.addBlankPosition(new Position(7, 8));
+
+        assertThat(arena.isBlank(new Position(7, 8))).isTrue();
+        assertThat(arena.isBlank(new Position(8, 7))).isFalse();
+    }
+
+    @Test
+    public void copy_writesLeaveTheTemplateUntouched() {
+        Arena template = new Arena(5, 5);
+        template.addWall(new Wall(new Position(0, 0)));
+        Coin coin = new Coin(new Position(1, 1));
+        template.addCollectible(coin);
+        template.addBlankPosition(new Position(2, 2));
+
+        Arena copy = new Arena(template);
+        assertThat(copy.getWalls()).isEqualTo(template.getWalls());
+        assertThat(copy.getCollectible(1, 1)).isSameAs(coin);
+        assertThat(copy.getPacmans()).isEmpty();
+
+        copy.removeCollectible(coin);
+        copy.addBlankPosition(new Position(1, 1));
+        copy.addWall(new Wall(new Position(4, 4)));
+        copy.setGhostGatePosition(new Position(3, 3));
+
+        assertThat(template.getCollectible(1, 1)).isSameAs(coin);
+        assertThat(template.countCollectibles(Coin.class)).isEqualTo(1);
+        assertThat(template.hasCollectible(new Position(1, 1))).isTrue();
+        assertThat(template.isBlank(new Position(1, 1))).isFalse();
+        assertThat(template.isEmpty(4, 4)).isTrue();
+        assertThat(template.getWalls()).hasSize(1);
+        assertThat(template.getGhostGate().getPosition()).isEqualTo(new Position(10, 10));
+        assertThat(copy.countCollectibles(Coin.class)).isZero();
+        assertThat(copy.isEmpty(4, 4)).isFalse();
+    }
+
+    @Test
+    public void arenaLoadedWhole_hasCollectiblesLeft_followsTheSet() {
+        Arena arena = new Arena(10, 10);
+        assertThat(arena.hasCollectiblesLeft()).isFalse();
+
+        Coin coin = new Coin(new Position(1, 1));
+        arena.addCollectible(coin);
+        assertThat(arena.hasCollectiblesLeft()).isTrue();
+
+        arena.removeCollectible(coin);
+        arena.updateChunks(); //nothing to stream
+        assertThat(arena.hasCollectiblesLeft()).isFalse();
+        assertThat(arena.getChunksVersion()).isZero();
+    }
+
+    @Test
+    public void snapshot_keepsWhatWasDrawnWhileTheArenaGoesOn() {
+        Arena arena = new Arena(10, 10);
+        Coin coin = new Coin(new Position(1, 1));
+        arena.addCollectible(coin);
+        arena.addPacman(new Pacman(new Position(2, 2)));
+        Ghost ghost = new Blinky(new Position(5, 5));
+        arena.addGhost(ghost);
+        arena.setScore(30);
+
+        Arena snapshot = arena.snapshot(null);
+        arena.removeCollectible(coin);
+        arena.incrementScore(10);
+        arena.getPacmans().get(0).setPosition(3, 2);
+        arena.getPacmans().get(0).setDirection(Direction.RIGHT);
+        ghost.setPosition(6, 5);
+        ghost.setState(GhostState.SCARED);
+
+        assertThat(snapshot.getOrigin()).isSameAs(arena);
+        assertThat(arena.getOrigin()).isSameAs(arena);
+        assertThat(snapshot.getCollectible(1, 1)).isSameAs(coin);
+        assertThat(snapshot.getScore()).isEqualTo(30);
+        assertThat(snapshot.getPacmans().get(0).getPosition()).isEqualTo(new Position(2, 2));
+        Ghost copy = snapshot.getGhosts().iterator().next();
+        assertThat(copy).isNotSameAs(ghost).isInstanceOf(Blinky.class);
+        assertThat(copy.getPosition()).isEqualTo(new Position(5, 5));
+        assertThat(copy.getState()).isEqualTo(GhostState.ALIVE);
+        assertThat(arena.getCollectible(1, 1)).isNull();
+    }
+
+    @Test
+    public void snapshot_ofTheSameArena_isFilledAgain() {
+        Arena arena = new Arena(10, 10);
+        arena.addPacman(new Pacman(new Position(2, 2)));
+        Arena first = arena.snapshot(null);
+        Pacman copy = first.getPacmans().get(0);
+
+        arena.getPacmans().get(0).setPosition(4, 2);
+        Arena second = arena.snapshot(first);
+
+        assertThat(second).isSameAs(first);
+        assertThat(second.getPacmans().get(0)).isSameAs(copy);
+        assertThat(copy.getPosition()).isEqualTo(new Position(4, 2));
+        assertThat(new Arena(10, 10).snapshot(first)).isNotSameAs(first);
+    }
+
+    @Test
+    public void snapshot_filledAgain_catchesUpOnTheChangedTiles() {
+        Arena arena = new Arena(12, 12); //the ghost gate starts inside
+        Coin coin = new Coin(new Position(1, 1));
+        Cherry cherry = new Cherry(new Position(2, 1));
+        arena.addCollectible(coin);
+        arena.addCollectible(cherry);
+        Arena snapshot = arena.snapshot(null);
+        Set<Collectible> drawnCollectibles = snapshot.getCollectibles();
+
+        arena.removeCollectible(coin);
+        arena.addBlankPosition(new Position(1, 1));
+        arena.setGhostGatePosition(new Position(4, 4));
+        assertThat(snapshot.getCollectible(1, 1)).isSameAs(coin); //the pickup leaves the drawn snapshot alone
+        assertThat(drawnCollectibles).containsExactlyInAnyOrder(coin, cherry);
+
+        arena.snapshot(snapshot);
+        assertThat(snapshot.getCollectibles()).isSameAs(drawnCollectibles).containsExactly(cherry);
+        assertThat(snapshot.getCollectible(1, 1)).isNull();
+        assertThat(snapshot.countCollectibles(Coin.class)).isZero();
+        assertThat(snapshot.countCollectibles(Cherry.class)).isEqualTo(1);
+        assertThat(snapshot.getBlankPositions()).containsExactly(new Position(1, 1));
+        assertThat(snapshot.isBlank(new Position(1, 1))).isTrue();
+        assertThat(snapshot.isGhostGate(4, 4)).isTrue();
+        assertThat(snapshot.isGhostGate(10, 10)).isFalse();
+    }
+
+    @Test
+    public void snapshot_filledAgain_copiesEverythingWhenTheWallsChange() {
+        Arena arena = new Arena(10, 10);
+        Arena snapshot = arena.snapshot(null);
+        Set<Wall> drawnWalls = snapshot.getWalls();
+
+        arena.addWall(new Wall(new Position(3, 3)));
+        assertThat(snapshot.isEmpty(3, 3)).isTrue();
+        assertThat(drawnWalls).isEmpty();
+
+        arena.snapshot(snapshot);
+        assertThat(snapshot.isEmpty(3, 3)).isFalse();
+        assertThat(snapshot.getWalls()).isSameAs(arena.getWalls()).hasSize(1);
+    }
 }
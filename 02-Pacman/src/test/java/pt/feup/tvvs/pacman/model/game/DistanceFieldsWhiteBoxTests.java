@@ -0,0 +1,76 @@
+package pt.feup.tvvs.pacman.model.game;
+
+import org.junit.jupiter.api.Test;
+import pt.feup.tvvs.pacman.model.Position;
+import pt.feup.tvvs.pacman.model.game.element.Wall;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class DistanceFieldsWhiteBoxTests {
+
+    //5x5 arena split by a wall on column 2, only open at the top row
+    private Arena splitArena() {
+        Arena arena = new Arena(5, 5);
+        for (int y = 1; y < 5; ++y) arena.addWall(new Wall(new Position(2, y)));
+        return arena;
+    }
+
+    @Test
+    public void distance_followsTheMazeAroundWalls() {
+        DistanceFields fields = splitArena().getDistanceFields(false);
+
+        assertThat(fields.distance(1, 3, 3, 3)).isEqualTo(8);
+        assertThat(fields.distance(3, 3, 1, 3)).isEqualTo(8);
+        assertThat(fields.distance(3, 3, 3, 3)).isZero();
+        assertThat(fields.distance(0, 0, 4, 0)).isEqualTo(4);
+    }
+
+    @Test
+    public void wallsAndOutsideTiles_areUnreachable() {
+        DistanceFields fields = splitArena().getDistanceFields(false);
+
+        assertThat(fields.isReachable(2, 2)).isFalse();
+        assertThat(fields.isReachable(5, 0)).isFalse();
+        assertThat(fields.distance(1, 1, 2, 2)).isEqualTo(DistanceFields.UNREACHABLE);
+        assertThat(fields.distance(-1, 0, 1, 1)).isEqualTo(DistanceFields.UNREACHABLE);
+        assertThat(fields.distance(1, 1, 0, 5)).isEqualTo(DistanceFields.UNREACHABLE);
+    }
+
+    @Test
+    public void enclosedTiles_areUnreachableFromOutside() {
+        Arena arena = new Arena(5, 5);
+        arena.addWall(new Wall(new Position(0, 1)));
+        arena.addWall(new Wall(new Position(1, 0)));
+
+        assertThat(arena.getDistanceFields(false).distance(0, 0, 4, 4)).isEqualTo(DistanceFields.UNREACHABLE);
+    }
+
+    @Test
+    public void arena_rebuildsFieldsWhenWallsChange() {
+        Arena arena = splitArena();
+        DistanceFields before = arena.getDistanceFields(false);
+        assertThat(arena.getDistanceFields(false)).isSameAs(before);
+
+        arena.addWall(new Wall(new Position(2, 0)));
+
+        assertThat(arena.getDistanceFields(false)).isNotSameAs(before);
+        assertThat(arena.getDistanceFields(false).distance(1, 3, 3, 3)).isEqualTo(DistanceFields.UNREACHABLE);
+    }
+
+    @Test
+    public void ghostGate_isOnlyWalkableForTheGhostsThatMayCrossIt() {
+        Arena arena = splitArena();
+        arena.setGhostGatePosition(new Position(2, 0)); //the only way over the wall
+
+        assertThat(arena.getDistanceFields(false).isReachable(2, 0)).isFalse();
+        assertThat(arena.getDistanceFields(false).distance(1, 3, 3, 3)).isEqualTo(DistanceFields.UNREACHABLE);
+        assertThat(arena.getDistanceFields(true).distance(1, 3, 3, 3)).isEqualTo(8);
+    }
+
+    @Test
+    public void bigArenas_haveNoFields() {
+        assertThat(new Arena(64, 32).getDistanceFields(false)).isNotNull();
+        assertThat(new Arena(64, 33).getDistanceFields(false)).isNull();
+        assertThat(new Arena(2000, 2000).getDistanceFields(true)).isNull();
+    }
+}
@@ -0,0 +1,100 @@
+package pt.feup.tvvs.pacman.model.game;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class MapCompilerWhiteBoxTests {
+
+    private static ByteBuffer compile(MapCompiler compiler, String map) throws IOException {
+        return ByteBuffer.wrap(compiler.compile(new BufferedReader(new StringReader(map))));
+    }
+
+    private static int tileAt(ByteBuffer map, int width, int x, int y) {
+        int index = y * width + x;
+        int tiles = map.get(MapCompiler.HEADER_SIZE + (index >> 1));
+        return (index & 1) == 0 ? tiles >> 4 & 0xF : tiles & 0xF;
+    }
+
+    @Test
+    public void header_holdsTheSizeOfTheMap() throws IOException {
+        ByteBuffer map = compile(new MapCompiler(100, 100), "WWW\nWuoDW\n");
+
+        assertThat(map.getInt()).isEqualTo(MapCompiler.MAGIC);
+        assertThat(map.getShort()).isEqualTo(MapCompiler.VERSION);
+        assertThat(map.getInt()).isEqualTo(5);
+        assertThat(map.getInt()).isEqualTo(2);
+        assertThat(map.getInt()).isZero();
+        assertThat(map.getInt()).isEqualTo(MapCompiler.sourceHash(new BufferedReader(new StringReader("WWW\r\nWuoDW"))));
+        assertThat(map.capacity()).isEqualTo(MapCompiler.HEADER_SIZE + 5);
+    }
+
+    @Test
+    public void tiles_arePackedTwoPerByte() throws IOException {
+        ByteBuffer map = compile(new MapCompiler(100, 100), "WuoD\nOACK S\n");
+
+        assertThat(tileAt(map, 6, 0, 0)).isEqualTo(MapCompiler.WALL);
+        assertThat(tileAt(map, 6, 1, 0)).isEqualTo(MapCompiler.POWER_UP);
+        assertThat(tileAt(map, 6, 2, 0)).isEqualTo(MapCompiler.COIN);
+        assertThat(tileAt(map, 6, 3, 0)).isEqualTo(MapCompiler.GATE);
+        assertThat(tileAt(map, 6, 4, 0)).isEqualTo(MapCompiler.NONE); //short line
+        assertThat(tileAt(map, 6, 0, 1)).isEqualTo(MapCompiler.ORANGE);
+        assertThat(tileAt(map, 6, 1, 1)).isEqualTo(MapCompiler.APPLE);
+        assertThat(tileAt(map, 6, 2, 1)).isEqualTo(MapCompiler.CHERRY);
+        assertThat(tileAt(map, 6, 3, 1)).isEqualTo(MapCompiler.KEY);
+        assertThat(tileAt(map, 6, 4, 1)).isEqualTo(MapCompiler.BLANK);
+        assertThat(tileAt(map, 6, 5, 1)).isEqualTo(MapCompiler.STRAWBERRY);
+    }
+
+    @Test
+    public void spawns_keepTheMapOrder_andOnlyTwoPacmans() throws IOException {
+        ByteBuffer map = compile(new MapCompiler(100, 100), "PbP\npicP\n");
+
+        assertThat(map.getInt(14)).isEqualTo(6);
+        map.position(MapCompiler.HEADER_SIZE + 4);
+        byte[] kinds = {MapCompiler.PACMAN, MapCompiler.BLINKY, MapCompiler.PACMAN, MapCompiler.PINKY, MapCompiler.INKY};
+        int[][] tiles = {{0, 0}, {1, 0}, {2, 0}, {0, 1}, {1, 1}};
+        for (int i = 0; i < kinds.length; ++i) {
+            assertThat(map.get()).isEqualTo(kinds[i]);
+            assertThat(map.getInt()).isEqualTo(tiles[i][0]);
+            assertThat(map.getInt()).isEqualTo(tiles[i][1]);
+        }
+        assertThat(map.get()).isEqualTo(MapCompiler.CLYDE);
+        map.getInt();
+        map.getInt();
+        assertThat(map.hasRemaining()).isFalse();
+
+        assertThat(tileAt(map, 4, 0, 0)).isEqualTo(MapCompiler.BLANK);
+        assertThat(tileAt(map, 4, 3, 1)).isEqualTo(MapCompiler.NONE); //third pacman is dropped
+    }
+
+    @Test
+    public void unknownCharacters_becomeBlank_withAWarning() throws IOException {
+        MapCompiler compiler = new MapCompiler(100, 100);
+        ByteBuffer map = compile(compiler, "WxW\n");
+
+        assertThat(tileAt(map, 3, 1, 0)).isEqualTo(MapCompiler.BLANK);
+        assertThat(compiler.getWarnings()).containsExactly("Unknown element 'x' at (1, 0)");
+    }
+
+    @Test
+    public void compile_truncatesToTheMaximumSize() throws IOException {
+        ByteBuffer map = compile(new MapCompiler(2, 1), "WWWW\nWWWW\n");
+
+        map.position(6);
+        assertThat(map.getInt()).isEqualTo(2);
+        assertThat(map.getInt()).isEqualTo(1);
+    }
+
+    @Test
+    public void compiledPath_replacesTheTextExtension() {
+        assertThat(MapCompiler.compiledPathOf(Path.of("Maps", "1 Normal Map.txt")))
+                .isEqualTo(Path.of("Maps", "1 Normal Map.pmap"));
+    }
+}
@@ -0,0 +1,109 @@
+package pt.feup.tvvs.pacman.model.game;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import pt.feup.tvvs.pacman.model.Position;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class MapRepositoryWhiteBoxTests {
+    private Path maps;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        maps = Files.createTempDirectory("maps");
+        Path folder = Files.createDirectories(maps.resolve("custom"));
+        Files.writeString(folder.resolve("b.txt"), "WWWW\nWPoW\nWWWW\n");
+        Files.writeString(folder.resolve("a.txt"), "WWW\nWPW\n");
+        new MapCompiler(100, 100).compile(folder.resolve("a.txt"), folder.resolve("c.pmap"));
+        Files.writeString(folder.resolve("notes.md"), "not a map");
+    }
+
+    private MapRepository repository(int cacheSize) {
+        return new MapRepository("NoMapsHere", List.of(maps), cacheSize);
+    }
+
+    @Test
+    public void getMapNames_listsTextAndCompiledMapsSorted() throws IOException {
+        MapRepository repository = repository(8);
+
+        assertThat(repository.getMapNames("custom")).containsExactly("a", "b", "c");
+        assertThat(repository.getMapNames("missing")).isEmpty();
+
+        Files.writeString(Files.createDirectories(maps.resolve("later")).resolve("d.txt"), "W\n");
+        assertThat(repository.getMapNames("later")).containsExactly("d");
+    }
+
+    @Test
+    public void getMapNames_findsTheShippedMapsOnTheClasspath() {
+        MapRepository repository = new MapRepository(MapRepository.CLASSPATH_ROOT, List.of(), 8);
+
+        assertThat(repository.getMapNames("singleplayer")).contains("1 Normal Map", "5 Final Boss");
+    }
+
+    @Test
+    public void getTemplate_parsesEachMapOnce_untilItsFileChanges() throws IOException {
+        MapRepository repository = repository(8);
+        MapTemplate template = repository.getTemplate("custom", "b");
+
+        assertThat(repository.getTemplate("custom", "b")).isSameAs(template);
+        assertThat(template.getWidth()).isEqualTo(4);
+        assertThat(template.getHeight()).isEqualTo(3);
+
+        Path file = maps.resolve("custom").resolve("b.txt");
+        Files.writeString(file, "WWWWW\nWPooW\nWWWWW\n");
+        Files.setLastModifiedTime(file, FileTime.fromMillis(Files.getLastModifiedTime(file).toMillis() + 2000));
+        MapTemplate changed = repository.getTemplate("custom", "b");
+        assertThat(changed).isNotSameAs(template);
+        assertThat(changed.getWidth()).isEqualTo(5);
+    }
+
+    @Test
+    public void getTemplate_dropsTheLeastRecentlyUsed() throws IOException {
+        MapRepository repository = repository(2);
+        MapTemplate a = repository.getTemplate("custom", "a");
+        MapTemplate b = repository.getTemplate("custom", "b");
+        repository.getTemplate("custom", "a");
+        repository.getTemplate("custom", "c");
+
+        assertThat(repository.getTemplate("custom", "a")).isSameAs(a);
+        assertThat(repository.getTemplate("custom", "b")).isNotSameAs(b);
+    }
+
+    @Test
+    public void getTemplate_failsForMissingMaps() throws IOException {
+        MapRepository repository = repository(8);
+        assertThatThrownBy(() -> repository.getTemplate("custom", "z")).isInstanceOf(NoSuchFileException.class);
+
+        repository.getTemplate("custom", "a");
+        Files.delete(maps.resolve("custom").resolve("a.txt"));
+        assertThatThrownBy(() -> repository.getTemplate("custom", "a")).isInstanceOf(IOException.class);
+    }
+
+    @Test
+    public void createArena_givesEachGameItsOwnArena() throws IOException {
+        MapRepository repository = repository(8);
+        Arena first = repository.createArena("custom", "b");
+        Arena second = repository.createArena("custom", "b");
+
+        assertThat(first).isNotSameAs(second);
+        assertThat(first.getPacmans().get(0)).isNotSameAs(second.getPacmans().get(0));
+
+        first.removeCollectible(first.getCollectible(2, 1));
+        first.addBlankPosition(new Position(2, 1));
+        first.getPacmans().get(0).setPosition(2, 1);
+
+        assertThat(second.getCollectible(2, 1)).isNotNull();
+        assertThat(second.getBlankPositions()).doesNotContain(new Position(2, 1));
+        assertThat(second.getPacmans().get(0).getPosition()).isEqualTo(new Position(1, 1));
+        assertThat(repository.createArena("custom", "b").hasCollectiblesLeft()).isTrue();
+    }
+}
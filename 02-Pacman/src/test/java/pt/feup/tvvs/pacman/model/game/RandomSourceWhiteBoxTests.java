@@ -0,0 +1,55 @@
+package pt.feup.tvvs.pacman.model.game;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class RandomSourceWhiteBoxTests {
+
+    @Test
+    public void sameSeed_givesTheSameNumbers() {
+        RandomSource first = new RandomSource(42);
+        RandomSource second = new RandomSource(42);
+        RandomSource other = new RandomSource(43);
+
+        long[] firstNumbers = new long[100], secondNumbers = new long[100], otherNumbers = new long[100];
+        for (int i = 0; i < 100; ++i) {
+            firstNumbers[i] = first.nextLong();
+            secondNumbers[i] = second.nextLong();
+            otherNumbers[i] = other.nextLong();
+        }
+
+        assertThat(secondNumbers).containsExactly(firstNumbers);
+        assertThat(otherNumbers).isNotEqualTo(firstNumbers);
+        assertThat(first.getSeed()).isEqualTo(42);
+    }
+
+    @Test
+    public void nextLong_isSplitMix64() {
+        //first outputs of the reference implementation seeded with 0
+        RandomSource random = new RandomSource(0);
+
+        assertThat(random.nextLong()).isEqualTo(0xE220A8397B1DCDAFL);
+        assertThat(random.nextLong()).isEqualTo(0x6E789E6AA1B965F4L);
+    }
+
+    @Test
+    public void nextInt_staysWithinTheBoundAndReachesEveryValue() {
+        RandomSource random = new RandomSource(7);
+        int[] seen = new int[29];
+
+        for (int i = 0; i < 29 * 200; ++i) ++seen[random.nextInt(29)];
+
+        for (int count : seen) assertThat(count).isBetween(100, 300);
+    }
+
+    @Test
+    public void arenas_getTheirOwnUnseededSource() {
+        Arena arena = new Arena(5, 5);
+        RandomSource seeded = new RandomSource(1);
+
+        assertThat(arena.getRandom()).isNotNull();
+        arena.setRandom(seeded);
+        assertThat(arena.getRandom()).isSameAs(seeded);
+    }
+}
@@ -0,0 +1,84 @@
+package pt.feup.tvvs.pacman.model.game;
+
+import org.junit.jupiter.api.Test;
+import pt.feup.tvvs.pacman.model.Position;
+import pt.feup.tvvs.pacman.model.game.element.Direction;
+import pt.feup.tvvs.pacman.model.game.element.ghost.Blinky;
+import pt.feup.tvvs.pacman.model.game.element.ghost.Ghost;
+import pt.feup.tvvs.pacman.model.game.element.pacman.Pacman;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SpatialIndexWhiteBoxTests {
+
+    private static List<Ghost> found(SpatialIndex<Ghost> index, int count) {
+        List<Ghost> ghosts = new ArrayList<>();
+        for (int i = 0; i < count; ++i) ghosts.add(index.getFound(i));
+        return ghosts;
+    }
+
+    @Test
+    public void findNear_returnsOnlyTheGhostsOnTheSurroundingTiles() {
+        SpatialIndex<Ghost> index = new SpatialIndex<>(10, 10);
+        Ghost near = new Blinky(new Position(5, 4));
+        Ghost diagonal = new Blinky(new Position(6, 6));
+        Ghost far = new Blinky(new Position(8, 5));
+        index.rebuild(List.of(far, near, diagonal));
+
+        int count = index.findNear(new Pacman(new Position(5, 5)));
+
+        assertThat(found(index, count)).containsExactly(near, diagonal);
+        assertThat(index.size()).isEqualTo(3);
+    }
+
+    @Test
+    public void findNear_keepsTheOrderTheGhostsWereAdded() {
+        SpatialIndex<Ghost> index = new SpatialIndex<>(10, 10);
+        Ghost a = new Blinky(new Position(6, 5));
+        Ghost b = new Blinky(new Position(4, 4));
+        Ghost c = new Blinky(new Position(6, 5));
+        index.rebuild(List.of(a, b, c));
+
+        assertThat(found(index, index.findNear(new Pacman(new Position(5, 5))))).containsExactly(a, b, c);
+    }
+
+    @Test
+    public void findNear_usesTheRealPositionBetweenTiles() {
+        SpatialIndex<Ghost> index = new SpatialIndex<>(10, 10);
+        Ghost ghost = new Blinky(new Position(7, 5));
+        ghost.setDirection(Direction.LEFT);
+        ghost.setCounter(5); //halfway to (6, 5)
+        index.rebuild(List.of(ghost));
+
+        assertThat(index.findNear(new Pacman(new Position(5, 5)))).isEqualTo(1);
+        assertThat(index.findNear(new Pacman(new Position(4, 5)))).isZero();
+    }
+
+    @Test
+    public void elementsOffTheEdge_areStillFound() {
+        SpatialIndex<Ghost> index = new SpatialIndex<>(5, 5);
+        Ghost ghost = new Blinky(new Position(0, 2));
+        ghost.setDirection(Direction.LEFT);
+        ghost.setCounter(8); //sliding off the left border
+        index.rebuild(List.of(ghost));
+
+        assertThat(index.findNear(new Pacman(new Position(0, 2)))).isEqualTo(1);
+        assertThat(index.findNear(new Pacman(new Position(20, 20)))).isZero();
+    }
+
+    @Test
+    public void rebuild_forgetsThePreviousElements_andGrows() {
+        SpatialIndex<Ghost> index = new SpatialIndex<>(10, 10);
+        index.rebuild(List.of(new Blinky(new Position(5, 5))));
+
+        List<Ghost> crowd = new ArrayList<>();
+        for (int i = 0; i < 20; ++i) crowd.add(new Blinky(new Position(1, 1)));
+        index.rebuild(crowd);
+
+        assertThat(index.findNear(new Pacman(new Position(5, 5)))).isZero();
+        assertThat(found(index, index.findNear(new Pacman(new Position(1, 1))))).containsExactlyElementsOf(crowd);
+    }
+}
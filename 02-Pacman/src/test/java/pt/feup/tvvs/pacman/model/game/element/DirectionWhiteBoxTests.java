@@ -1,4 +1,28 @@
 package pt.feup.tvvs.pacman.model.game.element;
 
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
 public class DirectionWhiteBoxTests {
+
+    @Test
+    public void offsets_point_to_the_neighbour_tile() {
+        assertThat(Direction.UP.getDx()).isEqualTo(0);
+        assertThat(Direction.UP.getDy()).isEqualTo(-1);
+        assertThat(Direction.DOWN.getDx()).isEqualTo(0);
+        assertThat(Direction.DOWN.getDy()).isEqualTo(1);
+        assertThat(Direction.LEFT.getDx()).isEqualTo(-1);
+        assertThat(Direction.LEFT.getDy()).isEqualTo(0);
+        assertThat(Direction.RIGHT.getDx()).isEqualTo(1);
+        assertThat(Direction.RIGHT.getDy()).isEqualTo(0);
+    }
+
+    @Test
+    public void opposite_offsets_cancel_out() {
+        for (Direction direction : Direction.values()) {
+            assertThat(direction.getDx() + direction.getOpposite().getDx()).isEqualTo(0);
+            assertThat(direction.getDy() + direction.getOpposite().getDy()).isEqualTo(0);
+        }
+    }
 }
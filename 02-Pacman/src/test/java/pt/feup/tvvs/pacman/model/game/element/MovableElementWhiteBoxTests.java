@@ -1,4 +1,54 @@
 package pt.feup.tvvs.pacman.model.game.element;
 
+import org.junit.jupiter.api.Test;
+import pt.feup.tvvs.pacman.model.Position;
+import pt.feup.tvvs.pacman.model.game.element.pacman.Pacman;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
 public class MovableElementWhiteBoxTests {
+
+    @Test
+    public void nextCoordinates_match_getNextPosition() {
+        Pacman pacman = new Pacman(new Position(5, 5));
+        for (Direction direction : Direction.values()) {
+            pacman.setDirection(direction);
+            assertThat(new Position(pacman.getNextX(), pacman.getNextY())).isEqualTo(pacman.getNextPosition());
+        }
+        pacman.setDirection(Direction.UP);
+        assertThat(pacman.getNextPosition()).isEqualTo(new Position(5, 4));
+    }
+
+    @Test
+    public void incrementCounter_moves_the_same_position_instance() {
+        Position position = new Position(5, 5);
+        Pacman pacman = new Pacman(position);
+        pacman.setDirection(Direction.RIGHT);
+        pacman.setCounter(10);
+        pacman.incrementCounter();
+        assertThat(pacman.getPosition()).isSameAs(position);
+        assertThat(position).isEqualTo(new Position(6, 5));
+        assertThat(pacman.getCounter()).isEqualTo(0);
+    }
+
+    @Test
+    public void realCoordinates_include_the_counter() {
+        Pacman pacman = new Pacman(new Position(3, 2));
+        pacman.setDirection(Direction.LEFT);
+        pacman.setCounter(4);
+        assertThat(pacman.getRealX()).isEqualTo(3 * 11 - 4);
+        assertThat(pacman.getRealY()).isEqualTo(2 * 11);
+        assertThat(pacman.getRealPosition()).isEqualTo(new Position(29, 22));
+    }
+
+    @Test
+    public void collidingWith_uses_the_real_coordinates() {
+        Pacman a = new Pacman(new Position(3, 3));
+        Pacman b = new Pacman(new Position(4, 3));
+        assertThat(a.collidingWith(b)).isFalse(); // exactly one tile apart
+        a.setDirection(Direction.RIGHT);
+        a.setCounter(1);
+        assertThat(a.collidingWith(b)).isTrue();
+        assertThat(b.collidingWith(a)).isTrue();
+    }
 }
@@ -1,5 +1,55 @@
 package pt.feup.tvvs.pacman.model.menu;
 
+import com.googlecode.lanterna.TextColor;
+import org.junit.jupiter.api.Test;
+import pt.feup.tvvs.pacman.gui.GUI;
+import pt.feup.tvvs.pacman.model.Position;
+import pt.feup.tvvs.pacman.model.game.element.Direction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
 public class MainMenuWhiteBoxTests {
 
+    @Test
+    public void snapshot_keepsWhatWasDrawnWhileTheMenuGoesOn() {
+        MainMenu menu = new MainMenu(GUI.SCREEN_RESOLUTION._720p, 0.5f);
+        menu.getBlinky().setCounter(4);
+
+        MainMenu snapshot = (MainMenu) menu.snapshot(null);
+        menu.selectNextOption();
+        menu.setMasterVolume(0.8f);
+        menu.getBlinky().setPosition(6, 4);
+        menu.getBlinky().setDirection(Direction.RIGHT);
+
+        assertThat(snapshot).isNotSameAs(menu);
+        assertThat(snapshot.getSelectedOption()).isZero();
+        assertThat(snapshot.getOptions().get(0).getColor()).isEqualTo(new TextColor.RGB(255, 255, 0));
+        assertThat(snapshot.getOptions().get(1).getColor()).isEqualTo(new TextColor.RGB(255, 255, 255));
+        assertThat(snapshot.getOptions().get(3).getText()).isEqualTo("Master Volume: 5");
+        assertThat(snapshot.getBlinky()).isNotSameAs(menu.getBlinky());
+        assertThat(snapshot.getBlinky().getPosition()).isEqualTo(new Position(7, 4));
+        assertThat(snapshot.getBlinky().getCounter()).isEqualTo(4);
+        assertThat(snapshot.getBlankPositions()).isSameAs(menu.getBlankPositions());
+        assertThat(snapshot.getTitle().getText()).isEqualTo("PACMAN");
+        assertThat(menu.getOptions().get(3).getText()).isEqualTo("Master Volume: 8");
+    }
+
+    @Test
+    public void snapshot_ofTheSameMenu_isFilledAgain() {
+        MainMenu menu = new MainMenu(GUI.SCREEN_RESOLUTION._720p, 0.5f);
+        Menu first = menu.snapshot(null);
+
+        menu.selectNextOption();
+        menu.setMasterVolume(0.8f);
+        menu.getPinky().setPosition(22, 13);
+        Menu second = menu.snapshot(first);
+
+        assertThat(second).isSameAs(first);
+        assertThat(second.getSelectedOption()).isEqualTo(1);
+        assertThat(second.getOptions().get(1).getColor()).isEqualTo(new TextColor.RGB(255, 255, 0));
+        assertThat(second.getOptions().get(3).getText()).isEqualTo("Master Volume: 8");
+        assertThat(second.getOptions().get(3)).isNotSameAs(menu.getOptions().get(3));
+        assertThat(((MainMenu) second).getPinky().getPosition()).isEqualTo(new Position(22, 13));
+        assertThat(new MainMenu(GUI.SCREEN_RESOLUTION._720p, 0.5f).snapshot(first)).isNotSameAs(first);
+    }
 }
@@ -0,0 +1,62 @@
+package pt.feup.tvvs.pacman.simulation;
+
+import org.junit.jupiter.api.Test;
+import pt.feup.tvvs.pacman.controller.game.element.GhostTuning;
+import pt.feup.tvvs.pacman.model.game.ArenaLoader;
+import pt.feup.tvvs.pacman.model.game.MapTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+//short games on a tiny map, the shipped maps played to the end are left to main and the benchmarks
+public class BatchSimulatorWhiteBoxTests {
+    private static final long MAX_TICKS = 600;
+    private static final String MAP = String.join("\n",
+            "WWWWWWWWWWWW",
+            "WooooPoooooW",
+            "WoWWWDWWWWoW",
+            "WoWWbpicWWoW",
+            "WoWWWWWWWWoW",
+            "WooooooooooW",
+            "WWWWWWWWWWWW");
+
+    private MapTemplate tinyMap() throws IOException {
+        return ArenaLoader.compileTemplate(new BufferedReader(new StringReader(MAP)));
+    }
+
+    @Test
+    public void simulate_givesTheSameStatisticsOnAnyNumberOfThreads() throws IOException {
+        MapTemplate template = tinyMap();
+        ForkJoinPool single = new ForkJoinPool(1);
+        ForkJoinPool many = new ForkJoinPool(4);
+        try {
+            BatchSimulator.Stats alone = new BatchSimulator(single, GhostTuning.DEFAULT, false, MAX_TICKS).simulate(template, 0, 20);
+            BatchSimulator.Stats shared = new BatchSimulator(many, GhostTuning.DEFAULT, false, MAX_TICKS).simulate(template, 0, 20);
+
+            assertThat(alone.getGames()).isEqualTo(20);
+            assertThat(alone.getWins() + alone.getLosses() + alone.getUnfinished()).isEqualTo(20);
+            assertThat(shared.toString()).isEqualTo(alone.toString());
+            assertThat(shared.getScores().getSum()).isEqualTo(alone.getScores().getSum());
+            assertThat(shared.getFirstCatchTicks().getSum()).isEqualTo(alone.getFirstCatchTicks().getSum());
+        } finally {
+            single.shutdown();
+            many.shutdown();
+        }
+    }
+
+    @Test
+    public void play_dependsOnTheGhostTuning() throws IOException {
+        MapTemplate template = tinyMap();
+        BatchSimulator normal = new BatchSimulator(ForkJoinPool.commonPool(), GhostTuning.DEFAULT, false, MAX_TICKS);
+        BatchSimulator alwaysChasing = new BatchSimulator(ForkJoinPool.commonPool(), new GhostTuning(0, 0, 0, 36, 60, 25), false, MAX_TICKS);
+
+        BatchSimulator.Stats first = normal.play(template, 7);
+
+        assertThat(normal.play(template, 7).toString()).isEqualTo(first.toString());
+        assertThat(alwaysChasing.play(template, 7).toString()).isNotEqualTo(first.toString());
+    }
+}
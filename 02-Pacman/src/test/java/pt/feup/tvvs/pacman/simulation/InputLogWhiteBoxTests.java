@@ -0,0 +1,85 @@
+package pt.feup.tvvs.pacman.simulation;
+
+import org.junit.jupiter.api.Test;
+import pt.feup.tvvs.pacman.gui.GUI;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class InputLogWhiteBoxTests {
+
+    private static InputLog roundTrip(InputLog log) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        log.write(bytes);
+        return InputLog.read(new ByteArrayInputStream(bytes.toByteArray()));
+    }
+
+    private static List<String> ticksOf(InputLog log) {
+        List<String> ticks = new ArrayList<>();
+        for (InputLog.Tick tick : log) ticks.add(tick.getTime() + " " + tick.getActions());
+        return ticks;
+    }
+
+    @Test
+    public void roundTrip_keepsEveryTicksInputAndFrameTime() throws IOException {
+        InputLog log = new InputLog("singleplayer", "1 Normal Map", 1234, true, 100);
+        log.add(Collections.emptyList(), 100);
+        log.add(List.of(GUI.ACTION.LEFT), 101);
+        log.add(Collections.emptyList(), 102);
+        log.add(Collections.emptyList(), 110); //paused for a while
+        log.add(List.of(GUI.ACTION.UP, GUI.ACTION.D), 111);
+        log.add(Collections.emptyList(), 112);
+        log.add(Collections.emptyList(), 113);
+        log.setFinalScore(560);
+
+        InputLog read = roundTrip(log);
+
+        assertThat(read.getFolder()).isEqualTo("singleplayer");
+        assertThat(read.getMap()).isEqualTo("1 Normal Map");
+        assertThat(read.getSeed()).isEqualTo(1234);
+        assertThat(read.isGhostPathfinding()).isTrue();
+        assertThat(read.getTicks()).isEqualTo(7);
+        assertThat(read.getFinalScore()).isEqualTo(560);
+        assertThat(ticksOf(read)).containsExactly("100 []", "101 [LEFT]", "102 []", "110 []", "111 [UP, D]", "112 []", "113 []");
+        assertThat(ticksOf(read)).isEqualTo(ticksOf(log));
+    }
+
+    @Test
+    public void readLog_keepsRecording() throws IOException {
+        InputLog log = new InputLog("multiplayer", "2 Spirals", 1, false, 0);
+        log.add(List.of(GUI.ACTION.W), 0);
+        log.add(Collections.emptyList(), 1);
+
+        InputLog read = roundTrip(log);
+        read.add(List.of(GUI.ACTION.S), 2);
+        read.add(Collections.emptyList(), 5);
+
+        assertThat(ticksOf(read)).containsExactly("0 [W]", "1 []", "2 [S]", "5 []");
+    }
+
+    @Test
+    public void idleTicks_takeNoSpace() throws IOException {
+        InputLog idle = new InputLog("singleplayer", "map", 0, false, 0);
+        for (int tick = 0; tick < 100_000; ++tick) idle.add(Collections.emptyList(), tick);
+        idle.add(List.of(GUI.ACTION.RIGHT), 100_000);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+        idle.write(bytes);
+
+        assertThat(bytes.size()).isLessThan(100); //header, one entry and the tick count
+        assertThat(roundTrip(idle).getTicks()).isEqualTo(100_001);
+    }
+
+    @Test
+    public void read_rejectsOtherFiles() {
+        assertThatThrownBy(() -> InputLog.read(new ByteArrayInputStream(new byte[]{'P', 'M', 'A', 'P', 0, 1})))
+                .isInstanceOf(IOException.class);
+    }
+}
@@ -0,0 +1,66 @@
+package pt.feup.tvvs.pacman.simulation;
+
+import org.junit.jupiter.api.Test;
+import pt.feup.tvvs.pacman.gui.GUI;
+import pt.feup.tvvs.pacman.model.game.Arena;
+import pt.feup.tvvs.pacman.model.game.MapRepository;
+import pt.feup.tvvs.pacman.model.game.RandomSource;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ReplayerWhiteBoxTests {
+    private static final GUI.ACTION[] KEYS = {GUI.ACTION.UP, GUI.ACTION.RIGHT, GUI.ACTION.DOWN, GUI.ACTION.LEFT};
+
+    //plays a game with random keys and a pause now and then, recording it like the game does
+    private static InputLog play(String map, long seed) throws IOException {
+        Arena arena = MapRepository.getInstance().createArena("singleplayer", map);
+        arena.setRandom(new RandomSource(seed));
+        SimulationEngine engine = new SimulationEngine(arena);
+        InputLog log = new InputLog("singleplayer", map, seed, false, 500);
+        Random keys = new Random(seed);
+        long time = 500;
+        while (!engine.isFinished() && engine.getTick() < 20_000) {
+            List<GUI.ACTION> actions = new ArrayList<>();
+            int roll = keys.nextInt(100);
+            if (roll < 10) actions.add(KEYS[keys.nextInt(KEYS.length)]);
+            else if (roll == 10) time += keys.nextInt(100); //paused
+            log.add(actions, time);
+            engine.step(actions, time++);
+        }
+        log.setFinalScore(arena.getScore());
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        log.write(bytes);
+        return InputLog.read(new ByteArrayInputStream(bytes.toByteArray()));
+    }
+
+    @Test
+    public void replay_endsWithTheRecordedScore() throws IOException {
+        for (String map : List.of("1 Normal Map", "3 Stripes", "5 Final Boss")) {
+            InputLog log = play(map, map.hashCode());
+
+            Replayer.Result result = Replayer.replay(log);
+
+            assertThat(result.isMatching()).as(map).isTrue();
+            assertThat(result.getScore()).isEqualTo(log.getFinalScore()).isPositive();
+            assertThat(result.getTicks()).isEqualTo(log.getTicks());
+        }
+    }
+
+    @Test
+    public void replay_ofAnotherGame_doesNotMatch() throws IOException {
+        InputLog log = play("1 Normal Map", 3);
+        InputLog other = new InputLog("singleplayer", "1 Normal Map", 3, false, 500);
+        for (InputLog.Tick tick : log) other.add(Collections.emptyList(), tick.getTime()); //same game with no input
+        other.setFinalScore(log.getFinalScore());
+
+        assertThat(Replayer.replay(other).isMatching()).isFalse();
+    }
+}
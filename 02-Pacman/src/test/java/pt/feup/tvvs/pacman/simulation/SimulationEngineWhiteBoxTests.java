@@ -0,0 +1,99 @@
+package pt.feup.tvvs.pacman.simulation;
+
+import org.junit.jupiter.api.Test;
+import pt.feup.tvvs.pacman.controller.game.DyingStateController;
+import pt.feup.tvvs.pacman.gui.GUI;
+import pt.feup.tvvs.pacman.model.Position;
+import pt.feup.tvvs.pacman.model.game.Arena;
+import pt.feup.tvvs.pacman.model.game.element.Wall;
+import pt.feup.tvvs.pacman.model.game.element.collectibles.Coin;
+import pt.feup.tvvs.pacman.model.game.element.ghost.Blinky;
+import pt.feup.tvvs.pacman.model.game.element.pacman.Pacman;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SimulationEngineWhiteBoxTests {
+
+    private Arena arenaWithPacmanOnGhost(int lives) {
+        Arena arena = new Arena(20, 20);
+        Pacman pacman = new Pacman(new Position(3, 3));
+        pacman.setRespawnPosition(new Position(3, 3));
+        pacman.setLife(lives);
+        arena.addPacman(pacman);
+        Blinky blinky = new Blinky(new Position(3, 3));
+        blinky.setRespawnPosition(new Position(8, 8));
+        arena.addGhost(blinky);
+        arena.addCollectible(new Coin(new Position(15, 15)));
+        return arena;
+    }
+
+    @Test
+    public void emptyArena_isWonOnFirstTick_andStaysFinished() {
+        Arena arena = new Arena(10, 10);
+        arena.addPacman(new Pacman(new Position(1, 1)));
+        SimulationEngine engine = new SimulationEngine(arena);
+        List<SimulationEvent> events = new ArrayList<>();
+        engine.addListener((event, tick) -> events.add(event));
+
+        engine.step(Collections.emptyList());
+        engine.step(Collections.emptyList());
+
+        assertThat(engine.getStatus()).isEqualTo(SimulationEngine.Status.WON);
+        assertThat(engine.isFinished()).isTrue();
+        assertThat(engine.getTick()).isEqualTo(1);
+        assertThat(events).containsExactly(SimulationEvent.WON);
+    }
+
+    @Test
+    public void caughtPacmanWithoutLives_losesAfterDyingCountdown() {
+        SimulationEngine engine = new SimulationEngine(arenaWithPacmanOnGhost(1));
+        List<SimulationEvent> events = new ArrayList<>();
+        engine.addListener((event, tick) -> events.add(event));
+
+        engine.step(Collections.emptyList());
+        assertThat(engine.getStatus()).isEqualTo(SimulationEngine.Status.DYING);
+
+        long ticks = engine.run(1000, Collections.emptyIterator());
+
+        assertThat(ticks).isEqualTo(DyingStateController.DYING_TICKS);
+        assertThat(engine.getStatus()).isEqualTo(SimulationEngine.Status.LOST);
+        assertThat(events).containsExactly(SimulationEvent.PACMANS_CAUGHT, SimulationEvent.LOST);
+    }
+
+    @Test
+    public void caughtPacmanWithLivesLeft_respawnsAndKeepsPlaying() {
+        Arena arena = arenaWithPacmanOnGhost(2);
+        SimulationEngine engine = new SimulationEngine(arena);
+        List<SimulationEvent> events = new ArrayList<>();
+        engine.addListener((event, tick) -> events.add(event));
+
+        engine.run(DyingStateController.DYING_TICKS + 1, List.of(List.of(GUI.ACTION.LEFT)).iterator());
+
+        assertThat(events).containsExactly(SimulationEvent.PACMANS_CAUGHT, SimulationEvent.RESPAWNED);
+        assertThat(engine.getStatus()).isEqualTo(SimulationEngine.Status.RUNNING);
+        assertThat(arena.getPacmans().get(0).isDying()).isFalse();
+        assertThat(arena.getGhosts().iterator().next().getPosition()).isEqualTo(new Position(8, 8));
+    }
+
+    @Test
+    public void run_stopsAtMaxTicks() {
+        Arena arena = new Arena(20, 20);
+        for (int i = 0; i < 20; ++i) {
+            arena.addWall(new Wall(new Position(i, 0)));
+            arena.addWall(new Wall(new Position(i, 19)));
+            arena.addWall(new Wall(new Position(0, i)));
+            arena.addWall(new Wall(new Position(19, i)));
+        }
+        arena.addPacman(new Pacman(new Position(1, 1)));
+        arena.addCollectible(new Coin(new Position(15, 15)));
+        SimulationEngine engine = new SimulationEngine(arena);
+
+        assertThat(engine.run(50, Collections.emptyIterator())).isEqualTo(50);
+        assertThat(engine.getTick()).isEqualTo(50);
+        assertThat(engine.getStatus()).isEqualTo(SimulationEngine.Status.RUNNING);
+    }
+}
@@ -136,4 +136,36 @@ public class StateWhiteBoxTests {
 
         assertThatThrownBy(() -> state.step(game, gui, 9L)).hasRootCauseInstanceOf(FontFormatException.class);
     }
+
+    @Test
+    public void tick_steps_controller_without_drawing_and_render_only_draws() throws Exception {
+        String model = "m";
+        AudioManager audio = mock(AudioManager.class);
+        Controller<String> controller = mock(Controller.class);
+        Viewer<String> viewer = mock(Viewer.class);
+
+        State<String> state = new State<String>(model, audio) {
+            @Override
+            public Viewer<String> createViewer() {
+                return viewer;
+            }
+
+            @Override
+            public Controller<String> createController(AudioManager audioManager) {
+                return controller;
+            }
+        };
+
+        GUI gui = mock(GUI.class);
+        when(gui.getNextAction()).thenReturn(Collections.emptyList());
+        Game game = mock(Game.class);
+
+        state.tick(game, gui, 3L);
+        verify(controller).step(eq(game), anyList(), eq(3L));
+        verifyNoInteractions(viewer);
+
+        state.render(gui, 4L);
+        verify(viewer).drawElement(eq(gui), eq(model), eq(4L));
+        verify(gui, times(1)).getNextAction();
+    }
 }
@@ -7,6 +7,7 @@ import pt.feup.tvvs.pacman.Game;
 import pt.feup.tvvs.pacman.audio.AudioManager;
 import pt.feup.tvvs.pacman.audio.AudioPlayer;
 import pt.feup.tvvs.pacman.gui.GUI;
+import pt.feup.tvvs.pacman.gui.GlyphAtlas;
 import pt.feup.tvvs.pacman.model.menu.MainMenu;
 import pt.feup.tvvs.pacman.viewer.game.ImageLoader;
 
@@ -54,7 +55,7 @@ public class MainMenuStateMutationTests {
     public void step_with_real_viewer_and_controller_does_not_throw() throws Exception {
         // Mock ImageLoader statics so ViewerFactory/CreateViewer succeed
         try (MockedStatic<ImageLoader> loader = org.mockito.Mockito.mockStatic(ImageLoader.class)) {
-            loader.when(ImageLoader::loadFontImages).thenReturn(makeFontImages());
+            loader.when(ImageLoader::loadGlyphAtlas).thenReturn(new GlyphAtlas(makeFontImages()));
             loader.when(() -> ImageLoader.loadTextImage("PNGs/pacman/pacmanright.png")).thenReturn(new BasicTextImage(11,11));
             loader.when(() -> ImageLoader.loadGhostImages("blinky")).thenReturn(makeGhostImages());
             loader.when(() -> ImageLoader.loadGhostImages("pinky")).thenReturn(makeGhostImages());
@@ -0,0 +1,89 @@
+package pt.feup.tvvs.pacman.viewer;
+
+import org.junit.jupiter.api.Test;
+import pt.feup.tvvs.pacman.gui.Framebuffer;
+import pt.feup.tvvs.pacman.gui.GUI;
+import pt.feup.tvvs.pacman.gui.OffscreenGUI;
+import pt.feup.tvvs.pacman.model.game.Arena;
+import pt.feup.tvvs.pacman.model.game.MapRepository;
+import pt.feup.tvvs.pacman.model.menu.AlertMenu;
+import pt.feup.tvvs.pacman.model.menu.MainMenu;
+import pt.feup.tvvs.pacman.viewer.game.ArenaViewer;
+import pt.feup.tvvs.pacman.viewer.menu.AlertMenuViewer;
+import pt.feup.tvvs.pacman.viewer.menu.MainMenuViewer;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+//draws the viewers offscreen and compares the frames pixel by pixel with the ones in src/test/resources/Golden
+//run with -Dpacman.updateGolden=true to write the golden frames again after a wanted rendering change
+public class GoldenFramesWhiteBoxTests {
+    private static final Path GOLDEN = Paths.get("src/test/resources/Golden");
+    private static final Path ACTUAL = Paths.get("target/golden");
+
+    private static Arena createArena() throws IOException {
+        return MapRepository.getInstance().createArena("singleplayer", "1 Normal Map");
+    }
+
+    private static void assertMatchesGolden(OffscreenGUI gui, String name) throws IOException {
+        if (Boolean.getBoolean("pacman.updateGolden")) {
+            Files.createDirectories(GOLDEN);
+            gui.writePng(GOLDEN.resolve(name + ".png"));
+            return;
+        }
+        BufferedImage golden;
+        try (InputStream resource = GoldenFramesWhiteBoxTests.class.getResourceAsStream("/Golden/" + name + ".png")) {
+            assertThat(resource).as("golden frame " + name).isNotNull();
+            golden = ImageIO.read(resource);
+        }
+        Framebuffer framebuffer = gui.getFramebuffer();
+        assertThat(golden.getWidth()).isEqualTo(framebuffer.getWidth());
+        assertThat(golden.getHeight()).isEqualTo(framebuffer.getHeight());
+        int different = 0;
+        for (int y = 0; y < golden.getHeight(); ++y)
+            for (int x = 0; x < golden.getWidth(); ++x)
+                if (golden.getRGB(x, y) != framebuffer.getPixel(x, y)) ++different;
+        if (different != 0) { //kept to be looked at next to the golden one
+            Files.createDirectories(ACTUAL);
+            gui.writePng(ACTUAL.resolve(name + ".png"));
+        }
+        assertThat(different).as("pixels different from the golden " + name).isZero();
+    }
+
+    @Test
+    public void arena_matchesGolden() throws IOException {
+        OffscreenGUI gui = new OffscreenGUI();
+        Arena arena = createArena();
+        ArenaViewer viewer = new ArenaViewer();
+
+        viewer.drawElement(gui, arena, 0);
+        viewer.drawElement(gui, arena, 1);
+
+        assertMatchesGolden(gui, "arena");
+    }
+
+    @Test
+    public void mainMenu_matchesGolden() throws IOException {
+        OffscreenGUI gui = new OffscreenGUI();
+
+        new MainMenuViewer().drawElement(gui, new MainMenu(GUI.SCREEN_RESOLUTION._360p, 1f), 0);
+
+        assertMatchesGolden(gui, "mainMenu");
+    }
+
+    @Test
+    public void alertMenu_matchesGolden() throws IOException {
+        OffscreenGUI gui = new OffscreenGUI();
+
+        new AlertMenuViewer("PNGs/gameover.png").drawElement(gui, new AlertMenu(createArena(), "PNGs/gameover.png"), 0);
+
+        assertMatchesGolden(gui, "alertMenu");
+    }
+}
@@ -0,0 +1,40 @@
+package pt.feup.tvvs.pacman.viewer;
+
+import org.junit.jupiter.api.Test;
+import pt.feup.tvvs.pacman.FrameProfiler;
+import pt.feup.tvvs.pacman.gui.GUI;
+import pt.feup.tvvs.pacman.model.Position;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+public class ProfilerOverlayViewerWhiteBoxTests {
+
+    @Test
+    public void drawElement_erasesTheBoxAndWritesEveryPhase() throws Exception {
+        FrameProfiler profiler = mock(FrameProfiler.class);
+        when(profiler.getRollingNanos(any())).thenReturn(12_000L);
+        when(profiler.getRollingBytes(any())).thenReturn(64L);
+        GUI gui = mock(GUI.class);
+
+        new ProfilerOverlayViewer().drawElement(gui, profiler, 0);
+
+        verify(gui).erase(new Position(0, 11));
+        verify(profiler).getRollingNanos(FrameProfiler.Phase.INPUT);
+        verify(profiler).getRollingBytes(FrameProfiler.Phase.REFRESH);
+        verify(gui, atLeastOnce()).drawCharacter(any(), any(), any());
+    }
+
+    @Test
+    public void texts_areOnlyUpdatedEveryFewFrames() throws Exception {
+        FrameProfiler profiler = mock(FrameProfiler.class);
+        GUI gui = mock(GUI.class);
+        ProfilerOverlayViewer viewer = new ProfilerOverlayViewer();
+
+        viewer.drawElement(gui, profiler, 0);
+        viewer.drawElement(gui, profiler, 1);
+        viewer.drawElement(gui, profiler, 15);
+
+        verify(profiler, times(2)).getRollingNanos(FrameProfiler.Phase.DRAW);
+    }
+}
@@ -3,6 +3,7 @@ package pt.feup.tvvs.pacman.viewer;
 import com.googlecode.lanterna.graphics.BasicTextImage;
 import org.junit.jupiter.api.Test;
 import org.mockito.MockedStatic;
+import pt.feup.tvvs.pacman.gui.GlyphAtlas;
 import pt.feup.tvvs.pacman.model.Element;
 import pt.feup.tvvs.pacman.model.game.element.Wall;
 import pt.feup.tvvs.pacman.model.game.element.collectibles.Coin;
@@ -71,7 +72,7 @@ public class ViewerFactoryWhiteBoxTests {
             loader.when(() -> ImageLoader.loadTextImage("PNGs/items/strawberry.png")).thenReturn(new BasicTextImage(11,11));
             loader.when(() -> ImageLoader.loadTextImage("PNGs/items/powerup.png")).thenReturn(new BasicTextImage(11,11));
 
-            loader.when(ImageLoader::loadFontImages).thenReturn(makeFontImages());
+            loader.when(ImageLoader::loadGlyphAtlas).thenReturn(new GlyphAtlas(makeFontImages()));
             loader.when(ImageLoader::loadPacmanImages).thenReturn(makePacmanImages());
             loader.when(() -> ImageLoader.loadGhostImages("blinky")).thenReturn(makeGhostImages());
             loader.when(() -> ImageLoader.loadGhostImages("pinky")).thenReturn(makeGhostImages());
@@ -90,7 +91,7 @@ public class ViewerFactoryWhiteBoxTests {
 
             // verify ImageLoader was called for major resources
             loader.verify(() -> ImageLoader.loadTextImage("PNGs/wall.png"));
-            loader.verify(ImageLoader::loadFontImages);
+            loader.verify(ImageLoader::loadGlyphAtlas);
             loader.verify(ImageLoader::loadPacmanImages);
             loader.verify(() -> ImageLoader.loadGhostImages("blinky"));
         }
@@ -99,7 +100,7 @@ public class ViewerFactoryWhiteBoxTests {
     @Test
     public void createMainMenuViewers_returns_expected_viewers_and_uses_ImageLoader() throws Exception {
         try (MockedStatic<ImageLoader> loader = mockStatic(ImageLoader.class)) {
-            loader.when(ImageLoader::loadFontImages).thenReturn(makeFontImages());
+            loader.when(ImageLoader::loadGlyphAtlas).thenReturn(new GlyphAtlas(makeFontImages()));
             loader.when(() -> ImageLoader.loadTextImage("PNGs/pacman/pacmanright.png")).thenReturn(new BasicTextImage(11,11));
             loader.when(() -> ImageLoader.loadGhostImages("blinky")).thenReturn(makeGhostImages());
             loader.when(() -> ImageLoader.loadGhostImages("pinky")).thenReturn(makeGhostImages());
@@ -112,7 +113,7 @@ public class ViewerFactoryWhiteBoxTests {
             assertThat(viewers.get(TextBox.class)).isInstanceOf(TextBoxViewer.class);
             assertThat(viewers).containsKey(Pacman.class);
 
-            loader.verify(ImageLoader::loadFontImages);
+            loader.verify(ImageLoader::loadGlyphAtlas);
             loader.verify(() -> ImageLoader.loadTextImage("PNGs/pacman/pacmanright.png"));
             loader.verify(() -> ImageLoader.loadGhostImages("blinky"));
         }
@@ -121,7 +122,7 @@ public class ViewerFactoryWhiteBoxTests {
     @Test
     public void createPauseMapSelectionAndAlertViewers_return_textboxviewer_and_alert_delegates() throws Exception {
         try (MockedStatic<ImageLoader> loader = mockStatic(ImageLoader.class)) {
-            loader.when(ImageLoader::loadFontImages).thenReturn(makeFontImages());
+            loader.when(ImageLoader::loadGlyphAtlas).thenReturn(new GlyphAtlas(makeFontImages()));
 
             Map<Class<?>, Viewer<Element>> pause = ViewerFactory.createPauseMenuViewers();
             assertThat(pause).containsKey(TextBox.class);
@@ -134,12 +135,12 @@ public class ViewerFactoryWhiteBoxTests {
             loader.when(() -> ImageLoader.loadTextImage("PNGs/wall.png")).thenReturn(new BasicTextImage(11,11));
             loader.when(ImageLoader::loadPacmanImages).thenReturn(makePacmanImages());
             loader.when(() -> ImageLoader.loadGhostImages("blinky")).thenReturn(makeGhostImages());
-            loader.when(ImageLoader::loadFontImages).thenReturn(makeFontImages());
+            loader.when(ImageLoader::loadGlyphAtlas).thenReturn(new GlyphAtlas(makeFontImages()));
 
             Map<Class<?>, Viewer<Element>> alert = ViewerFactory.createAlertMenuViewers();
             assertThat(alert).containsKey(Wall.class);
 
-            loader.verify(ImageLoader::loadFontImages, atLeastOnce());
+            loader.verify(ImageLoader::loadGlyphAtlas, atLeastOnce());
         }
     }
 }
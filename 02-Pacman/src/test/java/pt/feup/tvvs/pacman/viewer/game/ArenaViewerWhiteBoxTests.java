@@ -7,6 +7,8 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import pt.feup.tvvs.pacman.gui.GUI;
+import pt.feup.tvvs.pacman.gui.GlyphAtlas;
+import pt.feup.tvvs.pacman.gui.Sprite;
 import pt.feup.tvvs.pacman.model.Position;
 import pt.feup.tvvs.pacman.model.game.Arena;
 import pt.feup.tvvs.pacman.model.game.element.ghost.Blinky;
@@ -14,7 +16,6 @@ import pt.feup.tvvs.pacman.model.game.element.Wall;
 import pt.feup.tvvs.pacman.model.game.element.collectibles.Coin;
 import pt.feup.tvvs.pacman.model.game.element.pacman.Pacman;
 
-import java.awt.image.BufferedImage;
 import java.io.IOException;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -54,10 +55,10 @@ public class ArenaViewerWhiteBoxTests {
         // verify blank position erase (position multiplied by 11)
         verify(gui, times(1)).erase(new Position(2 * 11, 3 * 11));
 
-        // viewers will call drawImage/drawCharacter at least once for the elements and textboxes
+        // viewers will call drawImage/drawGlyph at least once for the elements and textboxes
         verify(gui, atLeast(1)).drawImage(any(Position.class), any(BasicTextImage.class));
-        verify(gui, atLeast(1)).drawImage(any(Position.class), any(BufferedImage.class));
-        verify(gui, atLeast(1)).drawCharacter(any(Position.class), any(BufferedImage.class), any(TextColor.class));
+        verify(gui, atLeast(1)).drawSprite(any(Position.class), any(Sprite.class));
+        verify(gui, atLeast(1)).drawGlyph(any(Position.class), any(GlyphAtlas.Glyph.class), any(TextColor.class));
     }
 
     @Test
@@ -81,8 +82,8 @@ public class ArenaViewerWhiteBoxTests {
         verify(gui, times(1)).clear();
         verify(gui, times(1)).refresh();
 
-        // since there are two pacmans the viewer draws two separate lives textboxes -> drawCharacter called
-        verify(gui, atLeast(1)).drawCharacter(any(Position.class), any(BufferedImage.class), any(TextColor.class));
+        // since there are two pacmans the viewer draws two separate lives textboxes -> drawGlyph called
+        verify(gui, atLeast(1)).drawGlyph(any(Position.class), any(GlyphAtlas.Glyph.class), any(TextColor.class));
     }
 
     @Test
@@ -103,4 +104,63 @@ public class ArenaViewerWhiteBoxTests {
         // even when refresh throws, clear should have been called before
         verify(gui, times(1)).clear();
     }
+
+    @Test
+    public void drawElements_secondFrame_onlyRepaintsTilesUnderMovingElements() throws Exception {
+        GUI gui = mock(GUI.class);
+
+        Arena arena = new Arena(10, 10);
+        arena.addBlankPosition(new Position(2, 3));
+        arena.addWall(new Wall(new Position(1, 1)));
+        Pacman p = new Pacman(new Position(6, 6));
+        arena.addPacman(p);
+
+        ArenaViewer viewer = new ArenaViewer();
+        viewer.drawElement(gui, arena, 0L);
+        viewer.drawElement(gui, arena, 1L);
+
+        // the maze is drawn only once
+        verify(gui, times(1)).erase(new Position(2 * 11, 3 * 11));
+        verify(gui, times(1)).drawImage(eq(new Position(11, 11)), any(BasicTextImage.class));
+        // the tile under the pacman is repainted and the pacman drawn again
+        verify(gui, times(1)).erase(new Position(6 * 11, 6 * 11));
+        verify(gui, times(2)).drawSprite(eq(new Position(6 * 11, 6 * 11)), any(Sprite.class));
+        verify(gui, times(1)).clear();
+    }
+
+    @Test
+    public void drawElements_eatenCollectible_isErasedAndNotDrawnAgain() throws Exception {
+        GUI gui = mock(GUI.class);
+
+        Arena arena = new Arena(10, 10);
+        Coin coin = new Coin(new Position(4, 4));
+        arena.addCollectible(coin);
+        arena.addCollectible(new Coin(new Position(8, 8)));
+        arena.addPacman(new Pacman(new Position(4, 4)));
+
+        ArenaViewer viewer = new ArenaViewer();
+        viewer.drawElement(gui, arena, 0L);
+        arena.removeCollectible(coin);
+        viewer.drawElement(gui, arena, 1L);
+
+        verify(gui, times(1)).drawImage(eq(new Position(44, 44)), any(BasicTextImage.class));
+        verify(gui, times(1)).erase(new Position(44, 44));
+    }
+
+    @Test
+    public void drawElements_guiGenerationChange_redrawsWholeMaze() throws Exception {
+        GUI gui = mock(GUI.class);
+
+        Arena arena = new Arena(10, 10);
+        arena.addWall(new Wall(new Position(1, 1)));
+        arena.addPacman(new Pacman(new Position(6, 6)));
+
+        ArenaViewer viewer = new ArenaViewer();
+        viewer.drawElement(gui, arena, 0L);
+        // something else cleared the screen in between (e.g. the pause menu)
+        when(gui.getGeneration()).thenReturn(1L);
+        viewer.drawElement(gui, arena, 1L);
+
+        verify(gui, times(2)).drawImage(eq(new Position(11, 11)), any(BasicTextImage.class));
+    }
 }
@@ -0,0 +1,42 @@
+package pt.feup.tvvs.pacman.viewer.game;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class HudTextWhiteBoxTests {
+
+    @Test
+    public void set_writesTheLabelAndTheNumber() {
+        HudText hud = new HudText();
+
+        hud.set("Score:", 1230, 11);
+        assertThat(hud.toString()).isEqualTo("Score:1230");
+        assertThat(hud.getX()).isEqualTo(11);
+
+        hud.set("Lives:", 0, 274);
+        assertThat(hud.toString()).isEqualTo("Lives:0");
+        assertThat(hud.length()).isEqualTo(7);
+
+        hud.set("Score:", -45, 11);
+        assertThat(hud.toString()).isEqualTo("Score:-45");
+        assertThat(hud.subSequence(6, 9).toString()).isEqualTo("-45");
+    }
+
+    @Test
+    public void shows_onlyWhileNothingChanged() {
+        String label = "Score:";
+        HudText hud = new HudText();
+        assertThat(hud.isUnset()).isTrue();
+        assertThat(hud.shows(label, 0, 11)).isFalse();
+
+        hud.set(label, 10, 11);
+        assertThat(hud.shows(label, 10, 11)).isTrue();
+        assertThat(hud.shows(label, 20, 11)).isFalse();
+        assertThat(hud.shows(label, 10, 12)).isFalse();
+
+        hud.clear();
+        assertThat(hud.isUnset()).isTrue();
+        assertThat(hud.shows(label, 10, 11)).isFalse();
+    }
+}
@@ -73,4 +73,17 @@ public class ImageLoaderWhiteBoxTests {
         assertThat(aImg.getWidth()).isEqualTo(5);
         assertThat(aImg.getHeight()).isEqualTo(11);
     }
+
+    @Test
+    public void loaders_shareOneUnmodifiableCopy() throws Exception {
+        Map<Character, List<BufferedImage>> ghost = ImageLoader.loadGhostImages("inky");
+        assertThat(ImageLoader.loadGhostImages("inky")).isSameAs(ghost);
+        assertThat(ImageLoader.loadPacmanImages()).isSameAs(ImageLoader.loadPacmanImages());
+        assertThat(ImageLoader.loadFontImages()).isSameAs(ImageLoader.loadFontImages());
+        assertThat(ImageLoader.loadTextImage("PNGs/wall.png")).isSameAs(ImageLoader.loadTextImage("PNGs/wall.png"));
+        assertThat(ImageLoader.loadBufferedImage("PNGs/ghosts/common/scaredghost1.png")).isSameAs(ghost.get('S').get(0));
+
+        assertThatThrownBy(() -> ghost.get('L').add(null)).isInstanceOf(UnsupportedOperationException.class);
+        assertThatThrownBy(() -> ImageLoader.loadFontImages().clear()).isInstanceOf(UnsupportedOperationException.class);
+    }
 }
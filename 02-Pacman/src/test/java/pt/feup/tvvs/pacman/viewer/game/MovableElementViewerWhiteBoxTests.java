@@ -2,9 +2,11 @@ package pt.feup.tvvs.pacman.viewer.game;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import pt.feup.tvvs.pacman.gui.GUI;
+import pt.feup.tvvs.pacman.gui.Sprite;
 import pt.feup.tvvs.pacman.model.Position;
 import pt.feup.tvvs.pacman.model.game.element.Wall;
 import pt.feup.tvvs.pacman.model.game.element.pacman.Pacman;
@@ -14,6 +16,7 @@ import java.awt.image.BufferedImage;
 import java.util.List;
 import java.util.Map;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.assertj.core.api.Assertions.assertThatCode;
 import static org.mockito.ArgumentMatchers.eq;
@@ -42,7 +45,7 @@ public class MovableElementViewerWhiteBoxTests {
         viewer.drawElement(gui, pacman, 5L);
 
         verify(strategy, times(1)).getCurrentImage(pacman, Map.of(), 5L);
-        verify(gui, times(1)).drawImage(expected, img);
+        verify(gui, times(1)).drawSprite(eq(expected), argThat(sprite -> sprite.getImage() == img));
     }
 
     @Test
@@ -69,4 +72,23 @@ public class MovableElementViewerWhiteBoxTests {
 
         assertThatThrownBy(() -> viewer.drawElement(gui, pacman, 10L)).hasMessageContaining("boom");
     }
+
+    @Test
+    public void drawElement_reusesTheSpriteDecodedForEachImage() {
+        GUI gui = mock(GUI.class);
+        MultipleElementStrategy strategy = mock(MultipleElementStrategy.class);
+        BufferedImage img = new BufferedImage(11, 11, BufferedImage.TYPE_INT_ARGB);
+        Map<Character, List<BufferedImage>> images = Map.of('R', List.of(img));
+        when(strategy.getCurrentImage(any(), any(), anyLong())).thenReturn(img);
+
+        MovableElementViewer viewer = new MovableElementViewer(strategy, images);
+        Pacman pacman = new Pacman(new Position(0, 0));
+        viewer.drawElement(gui, pacman, 0L);
+        viewer.drawElement(gui, pacman, 1L);
+
+        ArgumentCaptor<Sprite> sprites = ArgumentCaptor.forClass(Sprite.class);
+        verify(gui, times(2)).drawSprite(any(Position.class), sprites.capture());
+        assertThat(sprites.getAllValues().get(0)).isSameAs(sprites.getAllValues().get(1));
+        assertThat(sprites.getValue().getImage()).isSameAs(img);
+    }
 }
@@ -0,0 +1,77 @@
+package pt.feup.tvvs.pacman.viewer.game.strategies;
+
+import org.junit.jupiter.api.Test;
+import pt.feup.tvvs.pacman.model.game.element.Direction;
+import pt.feup.tvvs.pacman.model.game.element.ghost.GhostState;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class AnimationDescriptorWhiteBoxTests {
+    private static final BufferedImage FIRST = new BufferedImage(1, 1, BufferedImage.TYPE_INT_ARGB);
+    private static final BufferedImage SECOND = new BufferedImage(1, 1, BufferedImage.TYPE_INT_ARGB);
+    private static final BufferedImage THIRD = new BufferedImage(1, 1, BufferedImage.TYPE_INT_ARGB);
+
+    @Test
+    public void parse_readsTheAnimationsAndSkipsComments() throws IOException {
+        AnimationDescriptor<GhostState> descriptor = AnimationDescriptor.parse("# comment\n\nALIVE UP U 3 1\r\nSCARED * S 5\n", GhostState.class);
+
+        assertThat(descriptor.getAnimations()).hasSize(2);
+        AnimationDescriptor.Animation<GhostState> up = descriptor.getAnimations().get(0);
+        assertThat(up.getState()).isEqualTo(GhostState.ALIVE);
+        assertThat(up.getDirection()).isEqualTo(Direction.UP);
+        assertThat(up.getImageKey()).isEqualTo('U');
+        assertThat(up.getFrameCount()).isEqualTo(2);
+        assertThat(up.getFrameTicks(0)).isEqualTo(3);
+        assertThat(descriptor.getAnimations().get(1).getDirection()).isNull();
+    }
+
+    @Test
+    public void parse_rejectsBadLines() {
+        assertThatThrownBy(() -> AnimationDescriptor.parse("ALIVE UP U", GhostState.class)).isInstanceOf(IOException.class).hasMessageContaining("line 1");
+        assertThatThrownBy(() -> AnimationDescriptor.parse("\nHAPPY UP U 1", GhostState.class)).isInstanceOf(IOException.class).hasMessageContaining("line 2");
+        assertThatThrownBy(() -> AnimationDescriptor.parse("ALIVE UP U 1 x", GhostState.class)).isInstanceOf(IOException.class);
+        assertThatThrownBy(() -> AnimationDescriptor.parse("ALIVE UP U 0", GhostState.class)).isInstanceOf(IOException.class);
+        assertThatThrownBy(() -> AnimationDescriptor.parse("ALIVE UP UP 1", GhostState.class)).isInstanceOf(IOException.class);
+    }
+
+    @Test
+    public void table_showsEveryFrameForItsTicks() throws IOException {
+        AnimationTable<GhostState> table = AnimationDescriptor.parse("ALIVE LEFT L 2 1 3", GhostState.class)
+                .createTable(Map.of('L', List.of(FIRST, SECOND, THIRD)));
+
+        assertThat(table.getCycleLength(GhostState.ALIVE, Direction.LEFT)).isEqualTo(6);
+        assertThat(table.getImage(GhostState.ALIVE, Direction.LEFT, 0)).isSameAs(FIRST);
+        assertThat(table.getImage(GhostState.ALIVE, Direction.LEFT, 1)).isSameAs(FIRST);
+        assertThat(table.getImage(GhostState.ALIVE, Direction.LEFT, 2)).isSameAs(SECOND);
+        assertThat(table.getImage(GhostState.ALIVE, Direction.LEFT, 5)).isSameAs(THIRD);
+        assertThat(table.getImage(GhostState.ALIVE, Direction.LEFT, 6)).isSameAs(FIRST);
+        assertThat(table.getImage(GhostState.ALIVE, Direction.LEFT, -1)).isSameAs(THIRD);
+    }
+
+    @Test
+    public void table_sharesWildcardAnimationsAndLeavesMissingOnesNull() throws IOException {
+        AnimationTable<GhostState> table = AnimationDescriptor.parse("SCARED * S 1\nDEAD UP u 1", GhostState.class)
+                .createTable(Map.of('S', List.of(FIRST)));
+
+        for (Direction direction : Direction.values())
+            assertThat(table.getImage(GhostState.SCARED, direction, 7)).isSameAs(FIRST);
+        assertThat(table.getImage(GhostState.DEAD, Direction.UP, 0)).isNull();
+        assertThat(table.getImage(GhostState.ALIVE, Direction.UP, 0)).isNull();
+        assertThat(table.getCycleLength(GhostState.DEAD, Direction.UP)).isZero();
+    }
+
+    @Test
+    public void load_parsesTheGameDescriptorsOnce() throws IOException {
+        AnimationDescriptor<GhostState> ghosts = AnimationDescriptor.load("PNGs/ghosts/animations.txt", GhostState.class);
+
+        assertThat(AnimationDescriptor.load("PNGs/ghosts/animations.txt", GhostState.class)).isSameAs(ghosts);
+        assertThat(ghosts.getAnimations()).extracting(AnimationDescriptor.Animation::getState).contains(GhostState.values());
+        assertThat(AnimationDescriptor.load("PNGs/pacman/animations.txt", PacmanStrategy.State.class).getAnimations()).isNotEmpty();
+    }
+}
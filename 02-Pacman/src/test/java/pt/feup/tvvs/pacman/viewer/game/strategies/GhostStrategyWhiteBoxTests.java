@@ -107,6 +107,22 @@ public class GhostStrategyWhiteBoxTests {
         assertThat(strategy.getCurrentImage(ghost, images, 9L)).isSameAs(images.get('l').get(0));
     }
 
+    @Test
+    public void descriptor_setsTheFrameCountAndTimings() throws java.io.IOException {
+        Blinky ghost = new Blinky(new Position(1,1));
+        ghost.setState(GhostState.ALIVE);
+        ghost.setDirection(pt.feup.tvvs.pacman.model.game.element.Direction.UP);
+        Map<Character, List<BufferedImage>> images = makeImages();
+        images.put('U', List.of(images.get('U').get(0), images.get('U').get(1), images.get('S').get(0)));
+
+        GhostStrategy strategy = new GhostStrategy(AnimationDescriptor.parse("ALIVE UP U 1 2 3", GhostState.class));
+
+        assertThat(strategy.getCurrentImage(ghost, images, 0L)).isSameAs(images.get('U').get(0));
+        assertThat(strategy.getCurrentImage(ghost, images, 2L)).isSameAs(images.get('U').get(1));
+        assertThat(strategy.getCurrentImage(ghost, images, 5L)).isSameAs(images.get('U').get(2));
+        assertThat(strategy.getCurrentImage(ghost, images, 6L)).isSameAs(images.get('U').get(0));
+    }
+
     @Test
     public void uses_map_and_list_get_with_expected_keys_and_index_when_mocked() {
         // Use Mockito to verify interactions with the images map when ghost is alive and direction UP
@@ -6,6 +6,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import pt.feup.tvvs.pacman.gui.GUI;
+import pt.feup.tvvs.pacman.gui.Sprite;
 import pt.feup.tvvs.pacman.model.Position;
 import pt.feup.tvvs.pacman.model.menu.MainMenu;
 
@@ -33,9 +34,9 @@ public class MainMenuViewerWhiteBoxTests {
         // pick a known blank from MainMenu.createBlankPosition: (3,4) should be present
         verify(gui, atLeastOnce()).erase(new Position(3 * 11, 4 * 11));
 
-        // verify that characters/images were drawn for options/title/pacman/ghosts (calls to drawCharacter/drawImage happen)
+        // verify that characters/sprites were drawn for options/title/pacman/ghosts (calls to drawCharacter/drawSprite happen)
         verify(gui, atLeastOnce()).drawCharacter(any(Position.class), any(java.awt.image.BufferedImage.class), any(TextColor.class));
-        verify(gui, atLeastOnce()).drawImage(any(Position.class), any(java.awt.image.BufferedImage.class));
+        verify(gui, atLeastOnce()).drawSprite(any(Position.class), any(Sprite.class));
     }
 
     @Test